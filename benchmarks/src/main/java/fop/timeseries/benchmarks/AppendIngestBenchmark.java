@@ -0,0 +1,82 @@
+package fop.timeseries.benchmarks;
+
+import java.time.ZonedDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fop.timeseries.TimeSeries;
+import fop.timeseries.impl.ColumnarTimeSeries;
+import fop.timeseries.impl.SimpleTimeSeries;
+import fop.timeseries.util.TimeSeriesConstants;
+
+/*
+ * Ingest of a mostly ordered stream: outOfOrderPercent of the points land up to a second before the
+ * current end, the rest are in timestamp order.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AppendIngestBenchmark
+{
+    @Param({"1000000"})
+    private int size;
+
+    @Param({"0", "1"})
+    private int outOfOrderPercent;
+
+    private ZonedDateTime[] eventDateTimes;
+
+    @Setup
+    public void setup()
+    {
+        Random random = new Random(42);
+        ZonedDateTime start = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, TimeSeriesConstants.UTC);
+        eventDateTimes = new ZonedDateTime[size];
+        for(int i = 0; i < size; i++)
+        {
+            ZonedDateTime eventDateTime = start.plusNanos(i * 1_000_000L);
+            if(random.nextInt(100) < outOfOrderPercent)
+            {
+                eventDateTime = eventDateTime.minusNanos(random.nextInt(1_000_000_000));
+            }
+            eventDateTimes[i] = eventDateTime;
+        }
+    }
+
+    @Benchmark
+    public TimeSeries<Integer> simpleTimeSeries()
+    {
+        return ingest(new SimpleTimeSeries<>());
+    }
+
+    @Benchmark
+    public TimeSeries<Integer> columnarTimeSeries()
+    {
+        return ingest(new ColumnarTimeSeries<>());
+    }
+
+    private TimeSeries<Integer> ingest(TimeSeries<Integer> timeSeries)
+    {
+        for(int i = 0; i < eventDateTimes.length; i++)
+        {
+            timeSeries.add(eventDateTimes[i], i);
+        }
+        timeSeries.size();
+        return timeSeries;
+    }
+}
@@ -0,0 +1,100 @@
+package fop.timeseries.benchmarks;
+
+import java.time.Instant;
+import java.util.Random;
+
+import fop.timeseries.TimeSeries;
+import fop.timeseries.impl.ColumnarTimeSeries;
+import fop.timeseries.impl.ConcurrentTimeSeries;
+import fop.timeseries.impl.SimpleTimeSeries;
+import fop.timeseries.util.ImmutableBuilders;
+import fop.timeseries.util.TimeSeriesUtils;
+
+/*
+ * Points and series shared by the benchmark suites: size points 1 ms apart from 2020-01-01 with
+ * boxed values made up front, so a benchmark measures the store and not Long.valueOf().
+ */
+final class BenchmarkData
+{
+    static final long START_EPOCH_NANOS = TimeSeriesUtils.toEpochNanos(Instant.parse("2020-01-01T00:00:00Z"));
+    static final long SPACING_NANOS = 1_000_000L;
+
+    private BenchmarkData() {}
+
+    static long[] epochNanos(int size, boolean shuffled)
+    {
+        long[] epochNanos = new long[size];
+        for(int i = 0; i < size; i++)
+        {
+            epochNanos[i] = START_EPOCH_NANOS + i * SPACING_NANOS;
+        }
+        if(shuffled)
+        {
+            Random random = new Random(42);
+            for(int i = size - 1; i > 0; i--)
+            {
+                int j = random.nextInt(i + 1);
+                long swap = epochNanos[i];
+                epochNanos[i] = epochNanos[j];
+                epochNanos[j] = swap;
+            }
+        }
+        return epochNanos;
+    }
+
+    static Long[] values(int size)
+    {
+        Long[] values = new Long[size];
+        for(int i = 0; i < size; i++)
+        {
+            values[i] = (long)i;
+        }
+        return values;
+    }
+
+    /*
+     * store is one of simple, columnar, concurrent or immutable.
+     */
+    static TimeSeries<Long> newTimeSeries(String store, int expectedSize)
+    {
+        switch(store)
+        {
+            case "simple":
+            case "immutable":
+                return new SimpleTimeSeries<>();
+            case "columnar":
+                return new ColumnarTimeSeries<>(expectedSize);
+            case "concurrent":
+                return new ConcurrentTimeSeries<>();
+            default:
+                throw new IllegalArgumentException("Unknown store: " + store);
+        }
+    }
+
+    static TimeSeries<Long> load(String store, int size)
+    {
+        TimeSeries<Long> timeSeries = newTimeSeries(store, size);
+        long[] epochNanos = epochNanos(size, false);
+        Long[] values = values(size);
+        for(int i = 0; i < size; i++)
+        {
+            timeSeries.add(epochNanos[i], values[i]);
+        }
+        return "immutable".equals(store) ? ImmutableBuilders.from(timeSeries) : timeSeries;
+    }
+
+    /*
+     * Random points of a loaded series, every other one moved off the grid by 1 ns so half the
+     * queries miss.
+     */
+    static long[] queries(int size, int count)
+    {
+        Random random = new Random(7);
+        long[] queries = new long[count];
+        for(int i = 0; i < count; i++)
+        {
+            queries[i] = START_EPOCH_NANOS + random.nextInt(size) * SPACING_NANOS + (i & 1);
+        }
+        return queries;
+    }
+}
@@ -0,0 +1,49 @@
+package fop.timeseries.benchmarks;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/*
+ * Entry point of benchmarks.jar. Takes the usual JMH command line but turns on the GC profiler and
+ * writes a JSON report to jmh-result.json unless -prof, -rf or -rff say otherwise, so every run
+ * leaves allocation figures and a file that can be diffed against another commit. FootprintProfiler
+ * is always on, it only reports the sizes benchmarks record.
+ */
+public final class BenchmarkRunner
+{
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws Exception
+    {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if(commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams() || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats())
+        {
+            Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if(commandLine.getProfilers().isEmpty())
+        {
+            options.addProfiler(GCProfiler.class);
+        }
+        if(commandLine.getProfilers().stream().noneMatch(p->p.getKlass().equals(FootprintProfiler.class.getName())))
+        {
+            options.addProfiler(FootprintProfiler.class);
+        }
+        if(!commandLine.getResultFormat().hasValue())
+        {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if(!commandLine.getResult().hasValue())
+        {
+            options.result("jmh-result.json");
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,98 @@
+package fop.timeseries.benchmarks;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fop.timeseries.ImmutableTimeSeries;
+import fop.timeseries.TimeSeries;
+import fop.timeseries.impl.AbstractTimeSeries.TimeSeriesEntry;
+import fop.timeseries.impl.SimpleTimeSeries;
+import fop.timeseries.util.ImmutableBuilders;
+import fop.timeseries.util.TimeSeriesConstants;
+
+/*
+ * Loading a history of points into a series either one add at a time or through the bulk
+ * constructors and builders, which sort once and build the store in a single linear pass. The
+ * 10^7 case needs several gigabytes of heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class BulkLoadBenchmark
+{
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    @Param({"true", "false"})
+    private boolean sorted;
+
+    private List<TimeSeries.Entry<Integer>> entries;
+
+    @Setup
+    public void setup()
+    {
+        ZonedDateTime start = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, TimeSeriesConstants.UTC);
+        entries = new ArrayList<>(size);
+        for(int i = 0; i < size; i++)
+        {
+            entries.add(TimeSeriesEntry.of(start.plusNanos(i * 1_000_000L), i));
+        }
+        if(!sorted)
+        {
+            Collections.shuffle(entries, new Random(42));
+        }
+    }
+
+    @Benchmark
+    public TimeSeries<Integer> simpleTimeSeriesAdd()
+    {
+        TimeSeries<Integer> timeSeries = new SimpleTimeSeries<>();
+        for(TimeSeries.Entry<Integer> entry : entries)
+        {
+            timeSeries.add(entry.getEventDateTime(), entry.getEvent());
+        }
+        return timeSeries;
+    }
+
+    @Benchmark
+    public TimeSeries<Integer> simpleTimeSeriesBulk()
+    {
+        return new SimpleTimeSeries<>(entries);
+    }
+
+    @Benchmark
+    public ImmutableTimeSeries<Integer> immutableTimeSeriesWith()
+    {
+        ImmutableTimeSeries<Integer> timeSeries = ImmutableBuilders.<Integer>builder().build();
+        for(TimeSeries.Entry<Integer> entry : entries)
+        {
+            timeSeries = timeSeries.with(entry.getEventDateTime(), entry.getEvent());
+        }
+        return timeSeries;
+    }
+
+    @Benchmark
+    public ImmutableTimeSeries<Integer> immutableTimeSeriesBuilder()
+    {
+        return ImmutableBuilders.<Integer>builder().add(entries).build();
+    }
+}
@@ -0,0 +1,130 @@
+package fop.timeseries.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.AbstractMap;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import fop.timeseries.ImmutableTimeSeries;
+import fop.timeseries.TimeSeries;
+import fop.timeseries.io.TimeSeriesCodec;
+import fop.timeseries.io.ValueCodecs;
+import fop.timeseries.util.ImmutableBuilders;
+import fop.timeseries.util.TimeSeriesConstants;
+
+/*
+ * Encode/decode of a millisecond price series with TimeSeriesCodec against Java serialization of
+ * the same points in the shape the map backed stores keep them, Instant keys to ZonedDateTime and
+ * value. The bytes per point of the format under test go to the JSON report as bytesPerPoint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class CodecBenchmark
+{
+    @Param({"100000", "1000000"})
+    private int size;
+
+    private ImmutableTimeSeries<Double> timeSeries;
+    private TreeMap<Instant, AbstractMap.SimpleImmutableEntry<ZonedDateTime, Double>> store;
+    private TimeSeriesCodec<Double> codec;
+    private ByteBuffer encodeBuffer;
+    private ByteBuffer encoded;
+    private byte[] serialized;
+
+    @Setup
+    public void setup() throws IOException
+    {
+        ZonedDateTime start = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, TimeSeriesConstants.UTC);
+        Random random = new Random(42);
+        ImmutableBuilders.Builder<Double> builder = ImmutableBuilders.builder();
+        store = new TreeMap<>();
+        double price = 100;
+        for(int i = 0; i < size; i++)
+        {
+            ZonedDateTime eventDateTime = start.plusNanos(i * 1_000_000L);
+            price = Math.round((price + random.nextGaussian() * 0.05) * 100) / 100.0;
+            builder.add(eventDateTime, price);
+            store.put(eventDateTime.toInstant(), new AbstractMap.SimpleImmutableEntry<>(eventDateTime, price));
+        }
+        timeSeries = builder.build();
+
+        codec = new TimeSeriesCodec<>(ValueCodecs.gorillaDouble());
+        encodeBuffer = ByteBuffer.allocate(size * 20 + 64);
+        codec.encode(timeSeries, encodeBuffer);
+        encodeBuffer.flip();
+        encoded = ByteBuffer.allocate(encodeBuffer.remaining()).put(encodeBuffer);
+        serialized = javaSerialize();
+    }
+
+    @Setup(Level.Iteration)
+    public void recordFootprint(BenchmarkParams benchmarkParams)
+    {
+        int bytes = benchmarkParams.getBenchmark().contains(".javaSerialization") ? serialized.length : encoded.capacity();
+        FootprintProfiler.record("bytesPerPoint", (double)bytes / size, "B/point");
+    }
+
+    @Benchmark
+    public ByteBuffer codecEncode()
+    {
+        encodeBuffer.clear();
+        codec.encode(timeSeries, encodeBuffer);
+        return encodeBuffer;
+    }
+
+    @Benchmark
+    public TimeSeries<Double> codecDecode()
+    {
+        return codec.decode(encoded.duplicate().rewind());
+    }
+
+    @Benchmark
+    public byte[] javaSerializationEncode() throws IOException
+    {
+        return javaSerialize();
+    }
+
+    @Benchmark
+    public Object javaSerializationDecode() throws IOException, ClassNotFoundException
+    {
+        try(ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(serialized)))
+        {
+            return input.readObject();
+        }
+    }
+
+    private byte[] javaSerialize() throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try(ObjectOutputStream output = new ObjectOutputStream(bytes))
+        {
+            output.writeObject(store);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,121 @@
+package fop.timeseries.benchmarks;
+
+import java.time.ZonedDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fop.timeseries.TimeSeries;
+import fop.timeseries.impl.ConcurrentTimeSeries;
+import fop.timeseries.impl.SimpleTimeSeries;
+import fop.timeseries.util.TimeSeriesConstants;
+
+/*
+ * Writer throughput of ConcurrentTimeSeries against a SimpleTimeSeries behind one global lock, from
+ * 1 to 8 writer threads. Timestamps are spread over a day so writers do not all fight for the tail.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConcurrentIngestBenchmark
+{
+    private static final ZonedDateTime START = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, TimeSeriesConstants.UTC);
+    private static final long DAY_NANOS = TimeUnit.DAYS.toNanos(1);
+
+    private TimeSeries<Long> concurrentTimeSeries;
+    private TimeSeries<Long> lockedTimeSeries;
+
+    @Setup(Level.Iteration)
+    public void setup()
+    {
+        concurrentTimeSeries = new ConcurrentTimeSeries<>();
+        lockedTimeSeries = new SimpleTimeSeries<>();
+    }
+
+    private void addConcurrent()
+    {
+        long offset = ThreadLocalRandom.current().nextLong(DAY_NANOS);
+        concurrentTimeSeries.add(START.plusNanos(offset), offset);
+    }
+
+    private void addLocked()
+    {
+        long offset = ThreadLocalRandom.current().nextLong(DAY_NANOS);
+        ZonedDateTime eventDateTime = START.plusNanos(offset);
+        synchronized(lockedTimeSeries)
+        {
+            lockedTimeSeries.add(eventDateTime, offset);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void concurrent01()
+    {
+        addConcurrent();
+    }
+
+    @Benchmark
+    @Threads(2)
+    public void concurrent02()
+    {
+        addConcurrent();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void concurrent04()
+    {
+        addConcurrent();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void concurrent08()
+    {
+        addConcurrent();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void locked01()
+    {
+        addLocked();
+    }
+
+    @Benchmark
+    @Threads(2)
+    public void locked02()
+    {
+        addLocked();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void locked04()
+    {
+        addLocked();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void locked08()
+    {
+        addLocked();
+    }
+}
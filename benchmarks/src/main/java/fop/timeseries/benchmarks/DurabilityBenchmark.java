@@ -0,0 +1,149 @@
+package fop.timeseries.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fop.timeseries.io.DurableTimeSeries;
+import fop.timeseries.io.FsyncPolicy;
+import fop.timeseries.io.ValueCodecs;
+import fop.timeseries.util.TimeSeriesConstants;
+
+/*
+ * Ingest throughput of DurableTimeSeries under each fsync policy, and time to reopen a series whose
+ * state is either all in the log or all in a compacted snapshot. Numbers depend heavily on the
+ * disk behind java.io.tmpdir.
+ */
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class DurabilityBenchmark
+{
+    private static final ZonedDateTime START = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, TimeSeriesConstants.UTC);
+
+    private static FsyncPolicy policyOf(String name)
+    {
+        switch(name)
+        {
+            case "perWrite":
+                return FsyncPolicy.perWrite();
+            case "interval10ms":
+                return FsyncPolicy.interval(Duration.ofMillis(10));
+            default:
+                return FsyncPolicy.never();
+        }
+    }
+
+    private static void delete(Path directory) throws IOException
+    {
+        try(Stream<Path> files = Files.walk(directory))
+        {
+            for(Path path : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList()))
+            {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class IngestState
+    {
+        @Param({"perWrite", "interval10ms", "never"})
+        private String policy;
+
+        private Path directory;
+        private DurableTimeSeries<Double> timeSeries;
+        private long next;
+
+        @Setup(Level.Iteration)
+        public void setup() throws IOException
+        {
+            directory = Files.createTempDirectory("durability-benchmark");
+            timeSeries = DurableTimeSeries.open(directory, ValueCodecs.gorillaDouble(), policyOf(policy), 0);
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() throws IOException
+        {
+            timeSeries.close();
+            delete(directory);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 2, time = 2)
+    @Measurement(iterations = 3, time = 2)
+    public void ingest(IngestState state)
+    {
+        long i = state.next++;
+        state.timeSeries.add(START.plusNanos(i * 1_000_000L), i * 0.01);
+    }
+
+    @State(Scope.Benchmark)
+    public static class RecoveryState
+    {
+        @Param({"1000000"})
+        private int size;
+
+        @Param({"true", "false"})
+        private boolean compacted;
+
+        private Path directory;
+
+        @Setup(Level.Trial)
+        public void setup() throws IOException
+        {
+            directory = Files.createTempDirectory("durability-benchmark");
+            try(DurableTimeSeries<Double> timeSeries = DurableTimeSeries.open(directory, ValueCodecs.gorillaDouble(), FsyncPolicy.never(), 0))
+            {
+                for(int i = 0; i < size; i++)
+                {
+                    timeSeries.add(START.plusNanos(i * 1_000_000L), i * 0.01);
+                }
+                if(compacted)
+                {
+                    timeSeries.compact();
+                }
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException
+        {
+            delete(directory);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2, time = 5)
+    @Measurement(iterations = 3, time = 5)
+    public int recover(RecoveryState state) throws IOException
+    {
+        try(DurableTimeSeries<Double> timeSeries = DurableTimeSeries.open(state.directory, ValueCodecs.gorillaDouble(), FsyncPolicy.never(), 0))
+        {
+            return timeSeries.size();
+        }
+    }
+}
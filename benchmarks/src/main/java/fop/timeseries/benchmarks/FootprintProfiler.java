@@ -0,0 +1,51 @@
+package fop.timeseries.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+/*
+ * Reports sizes the benchmarks measure themselves, bytes per point of an encoding or retained heap
+ * per event, as secondary results so they land in the JSON report next to the timings. Aux counters
+ * are summed over iterations, which is meaningless for a size, these are averaged. A benchmark
+ * calls record() from an iteration setup and every iteration reports what was recorded since the
+ * previous one.
+ */
+public final class FootprintProfiler implements InternalProfiler
+{
+    private static final Map<String, ScalarResult> RECORDED = new ConcurrentHashMap<>();
+
+    public static void record(String label, double value, String unit)
+    {
+        RECORDED.put(label, new ScalarResult(label, value, unit, AggregationPolicy.AVG));
+    }
+
+    @Override
+    public String getDescription()
+    {
+        return "Sizes recorded by the benchmarks";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams)
+    {
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams, IterationResult result)
+    {
+        List<ScalarResult> results = new ArrayList<>(RECORDED.values());
+        RECORDED.clear();
+        return results;
+    }
+}
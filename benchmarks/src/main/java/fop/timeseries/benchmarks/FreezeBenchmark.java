@@ -0,0 +1,69 @@
+package fop.timeseries.benchmarks;
+
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fop.timeseries.ImmutableTimeSeries;
+import fop.timeseries.impl.SimpleTimeSeries;
+import fop.timeseries.util.ImmutableBuilders;
+import fop.timeseries.util.TimeSeriesConstants;
+
+/*
+ * Turning a loaded SimpleTimeSeries into an immutable one: through the builder, through
+ * ImmutableBuilders.from() and by freeze(). Freezing the same series again is allowed, so one
+ * series serves every invocation. The 10^7 case needs several gigabytes of heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class FreezeBenchmark
+{
+    @Param({"1000000", "10000000"})
+    private int size;
+
+    private SimpleTimeSeries<Integer> timeSeries;
+
+    @Setup
+    public void setup()
+    {
+        ZonedDateTime start = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, TimeSeriesConstants.UTC);
+        timeSeries = new SimpleTimeSeries<>();
+        for(int i = 0; i < size; i++)
+        {
+            timeSeries.add(start.plusNanos(i * 1_000_000L), i);
+        }
+    }
+
+    @Benchmark
+    public ImmutableTimeSeries<Integer> builder()
+    {
+        return ImmutableBuilders.<Integer>builder().add(timeSeries.getEntries()).build();
+    }
+
+    @Benchmark
+    public ImmutableTimeSeries<Integer> from()
+    {
+        return ImmutableBuilders.from(timeSeries);
+    }
+
+    @Benchmark
+    public ImmutableTimeSeries<Integer> freeze()
+    {
+        return timeSeries.freeze();
+    }
+}
@@ -0,0 +1,62 @@
+package fop.timeseries.benchmarks;
+
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fop.timeseries.ImmutableTimeSeries;
+import fop.timeseries.util.ImmutableBuilders;
+import fop.timeseries.util.TimeSeriesConstants;
+import fop.timeseries.util.TimeSeriesUtils;
+
+/*
+ * Deriving a new version of an immutable series of size points with one more point after its end
+ * or one point replaced in its middle. The original is never changed, so every operation starts
+ * from the same series.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ImmutableWithBenchmark
+{
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    private ImmutableTimeSeries<Long> timeSeries;
+    private ZonedDateTime append;
+    private ZonedDateTime replace;
+
+    @Setup
+    public void setup()
+    {
+        timeSeries = ImmutableBuilders.from(BenchmarkData.load("simple", size));
+        append = TimeSeriesUtils.toZonedDateTime(BenchmarkData.START_EPOCH_NANOS + size * BenchmarkData.SPACING_NANOS, TimeSeriesConstants.UTC);
+        replace = TimeSeriesUtils.toZonedDateTime(BenchmarkData.START_EPOCH_NANOS + size / 2 * BenchmarkData.SPACING_NANOS, TimeSeriesConstants.UTC);
+    }
+
+    @Benchmark
+    public ImmutableTimeSeries<Long> withAppend()
+    {
+        return timeSeries.with(append, -1L);
+    }
+
+    @Benchmark
+    public ImmutableTimeSeries<Long> withReplace()
+    {
+        return timeSeries.with(replace, -1L);
+    }
+}
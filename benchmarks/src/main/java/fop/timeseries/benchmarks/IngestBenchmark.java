@@ -0,0 +1,61 @@
+package fop.timeseries.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fop.timeseries.TimeSeries;
+
+/*
+ * Loading size points into an empty series in timestamp order or shuffled. The 10^7 case needs
+ * several gigabytes of heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class IngestBenchmark
+{
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    @Param({"inOrder", "random"})
+    private String order;
+
+    @Param({"simple", "columnar", "concurrent"})
+    private String store;
+
+    private long[] epochNanos;
+    private Long[] values;
+
+    @Setup
+    public void setup()
+    {
+        epochNanos = BenchmarkData.epochNanos(size, "random".equals(order));
+        values = BenchmarkData.values(size);
+    }
+
+    @Benchmark
+    public TimeSeries<Long> add()
+    {
+        TimeSeries<Long> timeSeries = BenchmarkData.newTimeSeries(store, size);
+        for(int i = 0; i < epochNanos.length; i++)
+        {
+            timeSeries.add(epochNanos[i], values[i]);
+        }
+        timeSeries.size();
+        return timeSeries;
+    }
+}
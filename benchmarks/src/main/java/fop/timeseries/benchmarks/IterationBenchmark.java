@@ -0,0 +1,71 @@
+package fop.timeseries.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fop.timeseries.TimeSeries;
+
+/*
+ * Walking every point of a loaded series through its entries, its events and a sequential stream.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class IterationBenchmark
+{
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    @Param({"simple", "columnar", "immutable"})
+    private String store;
+
+    private TimeSeries<Long> timeSeries;
+
+    @Setup
+    public void setup()
+    {
+        timeSeries = BenchmarkData.load(store, size);
+    }
+
+    @Benchmark
+    public long entries()
+    {
+        long sum = 0;
+        for(TimeSeries.Entry<Long> entry : timeSeries)
+        {
+            sum += entry.getEvent();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long events()
+    {
+        long sum = 0;
+        for(Long event : timeSeries.events())
+        {
+            sum += event;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long stream()
+    {
+        return timeSeries.stream().mapToLong(TimeSeries.Entry::getEvent).sum();
+    }
+}
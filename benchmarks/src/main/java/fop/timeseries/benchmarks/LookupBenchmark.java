@@ -0,0 +1,88 @@
+package fop.timeseries.benchmarks;
+
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fop.timeseries.TimeSeries;
+import fop.timeseries.util.TimeSeriesConstants;
+import fop.timeseries.util.TimeSeriesUtils;
+
+/*
+ * Point lookups on a loaded series, one query per operation cycling through random times of which
+ * half hit a point and half miss it by a nanosecond.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class LookupBenchmark
+{
+    private static final int QUERY_COUNT = 1 << 12;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    @Param({"simple", "columnar", "immutable"})
+    private String store;
+
+    private TimeSeries<Long> timeSeries;
+    private long[] queryEpochNanos;
+    private ZonedDateTime[] queryDateTimes;
+    private int query;
+
+    @Setup
+    public void setup()
+    {
+        timeSeries = BenchmarkData.load(store, size);
+        queryEpochNanos = BenchmarkData.queries(size, QUERY_COUNT);
+        queryDateTimes = new ZonedDateTime[QUERY_COUNT];
+        for(int i = 0; i < QUERY_COUNT; i++)
+        {
+            queryDateTimes[i] = TimeSeriesUtils.toZonedDateTime(queryEpochNanos[i], TimeSeriesConstants.UTC);
+        }
+    }
+
+    private int nextQuery()
+    {
+        query = (query + 1) & (QUERY_COUNT - 1);
+        return query;
+    }
+
+    @Benchmark
+    public Long get()
+    {
+        return timeSeries.get(queryDateTimes[nextQuery()]);
+    }
+
+    @Benchmark
+    public Long getEpochNanos()
+    {
+        return timeSeries.get(queryEpochNanos[nextQuery()]);
+    }
+
+    @Benchmark
+    public boolean contains()
+    {
+        return timeSeries.contains(queryDateTimes[nextQuery()]);
+    }
+
+    @Benchmark
+    public TimeSeries.Entry<Long> floor()
+    {
+        return timeSeries.floor(queryDateTimes[nextQuery()]);
+    }
+}
@@ -0,0 +1,121 @@
+package fop.timeseries.benchmarks;
+
+import java.lang.ref.Reference;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import fop.timeseries.MultiTimeSeries;
+import fop.timeseries.impl.CompactMultiTimeSeries;
+import fop.timeseries.impl.SimpleMultiTimeSeries;
+import fop.timeseries.util.TimeSeriesConstants;
+
+/*
+ * Order book style ingest: one to three events per instant, instants 1 ms apart, with
+ * outOfOrderPercent of the events landing up to a second before the current end. Events are cached
+ * Integers, so the bytesPerEvent each benchmark reports, measured once per trial, is the retained
+ * heap of the store's own structure.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class MultiIngestBenchmark
+{
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    @Param({"0", "1"})
+    private int outOfOrderPercent;
+
+    private ZonedDateTime[] eventDateTimes;
+    private double bytesPerEvent;
+
+    @Setup
+    public void setup(BenchmarkParams benchmarkParams)
+    {
+        Random random = new Random(42);
+        ZonedDateTime start = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, TimeSeriesConstants.UTC);
+        eventDateTimes = new ZonedDateTime[size];
+        ZonedDateTime instant = start;
+        for(int i = 0; i < size; i++)
+        {
+            if(random.nextInt(2) == 0)
+            {
+                instant = instant.plusNanos(1_000_000L);
+            }
+            ZonedDateTime eventDateTime = instant;
+            if(random.nextInt(100) < outOfOrderPercent)
+            {
+                eventDateTime = eventDateTime.minusNanos(random.nextInt(1_000_000) * 1_000L);
+            }
+            eventDateTimes[i] = eventDateTime;
+        }
+        bytesPerEvent = retainedBytesPerEvent(benchmarkParams.getBenchmark().endsWith(".compactMultiTimeSeries"));
+    }
+
+    @Setup(Level.Iteration)
+    public void recordFootprint()
+    {
+        FootprintProfiler.record("bytesPerEvent", bytesPerEvent, "B/event");
+    }
+
+    @Benchmark
+    public MultiTimeSeries<Integer, List<Integer>> simpleMultiTimeSeries()
+    {
+        return ingest(new SimpleMultiTimeSeries<>(ArrayList::new));
+    }
+
+    @Benchmark
+    public MultiTimeSeries<Integer, List<Integer>> compactMultiTimeSeries()
+    {
+        return ingest(new CompactMultiTimeSeries<>());
+    }
+
+    private MultiTimeSeries<Integer, List<Integer>> ingest(MultiTimeSeries<Integer, List<Integer>> timeSeries)
+    {
+        for(int i = 0; i < eventDateTimes.length; i++)
+        {
+            timeSeries.addEvent(eventDateTimes[i], i & 127);
+        }
+        timeSeries.size();
+        return timeSeries;
+    }
+
+    private double retainedBytesPerEvent(boolean compact)
+    {
+        long before = usedHeap();
+        Object timeSeries = compact ? compactMultiTimeSeries() : simpleMultiTimeSeries();
+        long after = usedHeap();
+        Reference.reachabilityFence(timeSeries);
+        return (double)(after - before) / size;
+    }
+
+    private static long usedHeap()
+    {
+        for(int i = 0; i < 3; i++)
+        {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
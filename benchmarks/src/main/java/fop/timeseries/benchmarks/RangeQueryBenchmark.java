@@ -0,0 +1,84 @@
+package fop.timeseries.benchmarks;
+
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fop.timeseries.TimeSeries;
+import fop.timeseries.util.TimeSeriesConstants;
+import fop.timeseries.util.TimeSeriesUtils;
+
+/*
+ * Summing the events of a half open range of width points starting at a random point, widths wider
+ * than the series are cut down to the series.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class RangeQueryBenchmark
+{
+    private static final int QUERY_COUNT = 1 << 10;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    @Param({"10", "1000", "100000"})
+    private int width;
+
+    @Param({"simple", "columnar", "immutable"})
+    private String store;
+
+    private TimeSeries<Long> timeSeries;
+    private ZonedDateTime[] fromDateTimes;
+    private ZonedDateTime[] toDateTimes;
+    private int query;
+
+    @Setup
+    public void setup()
+    {
+        timeSeries = BenchmarkData.load(store, size);
+        int points = Math.min(width, size);
+        long[] starts = BenchmarkData.queries(size - points + 1, QUERY_COUNT);
+        fromDateTimes = new ZonedDateTime[QUERY_COUNT];
+        toDateTimes = new ZonedDateTime[QUERY_COUNT];
+        for(int i = 0; i < QUERY_COUNT; i++)
+        {
+            long from = starts[i] - (i & 1);
+            fromDateTimes[i] = TimeSeriesUtils.toZonedDateTime(from, TimeSeriesConstants.UTC);
+            toDateTimes[i] = TimeSeriesUtils.toZonedDateTime(from + points * BenchmarkData.SPACING_NANOS, TimeSeriesConstants.UTC);
+        }
+    }
+
+    @Benchmark
+    public long subSet()
+    {
+        query = (query + 1) & (QUERY_COUNT - 1);
+        long sum = 0;
+        for(TimeSeries.Entry<Long> entry : timeSeries.getEntriesSubSet(fromDateTimes[query], true, toDateTimes[query], false))
+        {
+            sum += entry.getEvent();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int subSetSize()
+    {
+        query = (query + 1) & (QUERY_COUNT - 1);
+        return timeSeries.getEntriesSubSet(fromDateTimes[query], true, toDateTimes[query], false).size();
+    }
+}
@@ -0,0 +1,103 @@
+package fop.timeseries.benchmarks;
+
+import java.time.ZonedDateTime;
+import java.util.NavigableSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import fop.timeseries.TimeSeries;
+import fop.timeseries.impl.AbstractTimeSeries.TimeSeriesEntry;
+import fop.timeseries.impl.SimpleTimeSeries;
+import fop.timeseries.util.TimeSeriesConstants;
+
+/*
+ * Compares the copying read path (snapshot() then navigate, which is what every read used to do)
+ * against the live range views served straight from the backing NavigableMap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RangeViewBenchmark
+{
+    @Param({"1000000"})
+    private int size;
+
+    @Param({"10"})
+    private int window;
+
+    private SimpleTimeSeries<Long> timeSeries;
+    private ZonedDateTime from;
+    private ZonedDateTime to;
+
+    @Setup
+    public void setup()
+    {
+        timeSeries = new SimpleTimeSeries<>();
+        ZonedDateTime start = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, TimeSeriesConstants.UTC);
+        for(long i = 0; i < size; i++)
+        {
+            timeSeries.add(start.plusSeconds(i), i);
+        }
+        from = start.plusSeconds(size / 2);
+        to = from.plusSeconds(window);
+    }
+
+    @Benchmark
+    public void snapshotSubSet(Blackhole blackhole)
+    {
+        consume(timeSeries.snapshot().subSet(TimeSeriesEntry.of(from, null), true, TimeSeriesEntry.of(to, null), true), blackhole);
+    }
+
+    @Benchmark
+    public void viewSubSet(Blackhole blackhole)
+    {
+        consume(timeSeries.getEntriesSubSet(from, true, to, true), blackhole);
+    }
+
+    @Benchmark
+    public void snapshotIteration(Blackhole blackhole)
+    {
+        consume(timeSeries.snapshot(), blackhole);
+    }
+
+    @Benchmark
+    public void viewIteration(Blackhole blackhole)
+    {
+        consume(timeSeries.getEntries(), blackhole);
+    }
+
+    @Benchmark
+    public TimeSeries.Entry<Long> snapshotLast()
+    {
+        return timeSeries.snapshot().headSet(TimeSeriesEntry.of(to, null), true).last();
+    }
+
+    @Benchmark
+    public TimeSeries.Entry<Long> viewHeadSetLast()
+    {
+        return timeSeries.getEntriesHeadSet(to, true).last();
+    }
+
+    private static void consume(NavigableSet<TimeSeries.Entry<Long>> entries, Blackhole blackhole)
+    {
+        for(TimeSeries.Entry<Long> entry : entries)
+        {
+            blackhole.consume(entry.getEvent());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package fop.timeseries.benchmarks;
+
+import java.time.Instant;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import fop.timeseries.TimeSeries;
+import fop.timeseries.impl.ColumnarTimeSeries;
+import fop.timeseries.impl.SimpleTimeSeries;
+import fop.timeseries.util.TimeSeriesConstants;
+import fop.timeseries.util.TimeSeriesUtils;
+
+/*
+ * Feeds that carry epoch nanos or Instants rather than ZonedDateTime: ingest, point lookups, full
+ * iteration and a sorted snapshot. Run with -prof gc to see the bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimestampAccessBenchmark
+{
+    @Param({"100000"})
+    private int size;
+
+    private long[] epochNanos;
+    private Instant[] lookupInstants;
+    private long[] lookupEpochNanos;
+    private SimpleTimeSeries<Integer> simpleTimeSeries;
+    private ColumnarTimeSeries<Integer> columnarTimeSeries;
+
+    @Setup
+    public void setup()
+    {
+        Random random = new Random(42);
+        long start = TimeSeriesUtils.toEpochNanos(Instant.parse("2020-01-01T00:00:00Z"));
+        epochNanos = new long[size];
+        lookupInstants = new Instant[size];
+        lookupEpochNanos = new long[size];
+        simpleTimeSeries = new SimpleTimeSeries<>();
+        columnarTimeSeries = new ColumnarTimeSeries<>();
+        for(int i = 0; i < size; i++)
+        {
+            epochNanos[i] = start + i * 1_000_000L;
+            simpleTimeSeries.add(TimeSeriesUtils.toZonedDateTime(epochNanos[i], TimeSeriesConstants.UTC), i);
+            columnarTimeSeries.add(epochNanos[i], i);
+        }
+        for(int i = 0; i < size; i++)
+        {
+            lookupEpochNanos[i] = epochNanos[random.nextInt(size)];
+            lookupInstants[i] = TimeSeriesUtils.toInstant(lookupEpochNanos[i]);
+        }
+    }
+
+    @Benchmark
+    public TimeSeries<Integer> simpleIngest()
+    {
+        TimeSeries<Integer> timeSeries = new SimpleTimeSeries<>();
+        for(int i = 0; i < epochNanos.length; i++)
+        {
+            timeSeries.add(epochNanos[i], i);
+        }
+        return timeSeries;
+    }
+
+    @Benchmark
+    public TimeSeries<Integer> columnarIngest()
+    {
+        TimeSeries<Integer> timeSeries = new ColumnarTimeSeries<>(epochNanos.length);
+        for(int i = 0; i < epochNanos.length; i++)
+        {
+            timeSeries.add(epochNanos[i], i);
+        }
+        return timeSeries;
+    }
+
+    @Benchmark
+    public void simpleGet(Blackhole blackhole)
+    {
+        for(Instant lookupInstant : lookupInstants)
+        {
+            blackhole.consume(simpleTimeSeries.get(lookupInstant));
+        }
+    }
+
+    @Benchmark
+    public void columnarGet(Blackhole blackhole)
+    {
+        for(long lookup : lookupEpochNanos)
+        {
+            blackhole.consume(columnarTimeSeries.get(lookup));
+        }
+    }
+
+    @Benchmark
+    public long columnarIterate()
+    {
+        long sum = 0;
+        for(TimeSeries.Entry<Integer> entry : columnarTimeSeries)
+        {
+            sum += entry.getEvent();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int simpleSnapshot()
+    {
+        return simpleTimeSeries.snapshot().size();
+    }
+}
@@ -0,0 +1,14 @@
+package fop.timeseries;
+
+/*
+ * Stateful fold over the events of one bucket. The same instance is reset and reused for every
+ * bucket of a pass, so implementations should keep their state in fields rather than allocate.
+ */
+public interface Aggregator<E, R>
+{
+    public void reset();
+
+    public void accept(E event);
+
+    public R result();
+}
@@ -0,0 +1,21 @@
+package fop.timeseries;
+
+/*
+ * Decides which event survives when several sources hold a point at the same instant. Events are
+ * offered in source order, earlier is the one from the source listed first.
+ */
+@FunctionalInterface
+public interface CollisionPolicy<E>
+{
+    public E resolve(E earlier, E later);
+
+    public static <E> CollisionPolicy<E> keepFirst()
+    {
+        return (earlier, later)->earlier;
+    }
+
+    public static <E> CollisionPolicy<E> keepLast()
+    {
+        return (earlier, later)->later;
+    }
+}
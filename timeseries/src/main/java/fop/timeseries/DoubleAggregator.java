@@ -0,0 +1,13 @@
+package fop.timeseries;
+
+/*
+ * Primitive counterpart of Aggregator, reset and reused for every bucket without boxing.
+ */
+public interface DoubleAggregator
+{
+    public void reset();
+
+    public void accept(double value);
+
+    public double result();
+}
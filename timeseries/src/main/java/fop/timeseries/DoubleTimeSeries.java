@@ -0,0 +1,80 @@
+package fop.timeseries;
+
+import java.time.ZoneId;
+
+public interface DoubleTimeSeries
+{
+    public void add(long epochNanos, double value);
+
+    public double getAsDouble(long epochNanos);
+
+    public double getOrDefault(long epochNanos, double defaultValue);
+
+    /*
+     * Value as of each query time, that is at the latest point at or before it, or defaultValue
+     * where there is none. Queries must be in ascending order and are answered in one forward pass.
+     */
+    public double[] floorAll(long[] sortedEpochNanos, double defaultValue);
+
+    public boolean remove(long epochNanos);
+
+    public boolean contains(long epochNanos);
+
+    public int size();
+
+    public default boolean isEmpty()
+    {
+        return size()==0;
+    }
+
+    public default boolean isNotEmpty()
+    {
+        return size()>0;
+    }
+
+    public long startEpochNanos();
+
+    public long endEpochNanos();
+
+    /*
+     * Positional access in ascending time order, index runs from 0 to size() - 1.
+     */
+    public long epochNanosAt(int index);
+
+    public double valueAt(int index);
+
+    public void forEach(LongDoubleConsumer consumer);
+
+    public void forEach(long fromEpochNanos, boolean fromInclusive, long toEpochNanos, boolean toInclusive, LongDoubleConsumer consumer);
+
+    /*
+     * Aggregations over a range without points: count is 0, sum is 0, and mean, min and max are NaN.
+     */
+    public int count(long fromEpochNanos, boolean fromInclusive, long toEpochNanos, boolean toInclusive);
+
+    public double sum();
+
+    public double sum(long fromEpochNanos, boolean fromInclusive, long toEpochNanos, boolean toInclusive);
+
+    public double min();
+
+    public double min(long fromEpochNanos, boolean fromInclusive, long toEpochNanos, boolean toInclusive);
+
+    public double max();
+
+    public double max(long fromEpochNanos, boolean fromInclusive, long toEpochNanos, boolean toInclusive);
+
+    public double mean();
+
+    public double mean(long fromEpochNanos, boolean fromInclusive, long toEpochNanos, boolean toInclusive);
+
+    /*
+     * Zone of the times handed out by asTimeSeries(), rolling windows and joins keep it.
+     */
+    public ZoneId getZone();
+
+    /*
+     * Boxed view backed by this series, adding a null event throws NullPointerException.
+     */
+    public TimeSeries<Double> asTimeSeries();
+}
@@ -0,0 +1,7 @@
+package fop.timeseries;
+
+@FunctionalInterface
+public interface LongDoubleConsumer
+{
+    public void accept(long epochNanos, double value);
+}
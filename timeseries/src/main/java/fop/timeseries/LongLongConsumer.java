@@ -0,0 +1,7 @@
+package fop.timeseries;
+
+@FunctionalInterface
+public interface LongLongConsumer
+{
+    public void accept(long epochNanos, long value);
+}
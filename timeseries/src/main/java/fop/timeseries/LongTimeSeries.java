@@ -0,0 +1,81 @@
+package fop.timeseries;
+
+import java.time.ZoneId;
+
+public interface LongTimeSeries
+{
+    public void add(long epochNanos, long value);
+
+    public long getAsLong(long epochNanos);
+
+    public long getOrDefault(long epochNanos, long defaultValue);
+
+    /*
+     * Value as of each query time, that is at the latest point at or before it, or defaultValue
+     * where there is none. Queries must be in ascending order and are answered in one forward pass.
+     */
+    public long[] floorAll(long[] sortedEpochNanos, long defaultValue);
+
+    public boolean remove(long epochNanos);
+
+    public boolean contains(long epochNanos);
+
+    public int size();
+
+    public default boolean isEmpty()
+    {
+        return size()==0;
+    }
+
+    public default boolean isNotEmpty()
+    {
+        return size()>0;
+    }
+
+    public long startEpochNanos();
+
+    public long endEpochNanos();
+
+    /*
+     * Positional access in ascending time order, index runs from 0 to size() - 1.
+     */
+    public long epochNanosAt(int index);
+
+    public long valueAt(int index);
+
+    public void forEach(LongLongConsumer consumer);
+
+    public void forEach(long fromEpochNanos, boolean fromInclusive, long toEpochNanos, boolean toInclusive, LongLongConsumer consumer);
+
+    /*
+     * Aggregations over a range without points: count is 0, sum is 0, mean is NaN, and min and max
+     * throw NoSuchElementException since no long value can stand for missing.
+     */
+    public int count(long fromEpochNanos, boolean fromInclusive, long toEpochNanos, boolean toInclusive);
+
+    public long sum();
+
+    public long sum(long fromEpochNanos, boolean fromInclusive, long toEpochNanos, boolean toInclusive);
+
+    public long min();
+
+    public long min(long fromEpochNanos, boolean fromInclusive, long toEpochNanos, boolean toInclusive);
+
+    public long max();
+
+    public long max(long fromEpochNanos, boolean fromInclusive, long toEpochNanos, boolean toInclusive);
+
+    public double mean();
+
+    public double mean(long fromEpochNanos, boolean fromInclusive, long toEpochNanos, boolean toInclusive);
+
+    /*
+     * Zone of the times handed out by asTimeSeries().
+     */
+    public ZoneId getZone();
+
+    /*
+     * Boxed view backed by this series, adding a null event throws NullPointerException.
+     */
+    public TimeSeries<Long> asTimeSeries();
+}
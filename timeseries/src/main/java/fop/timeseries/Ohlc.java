@@ -0,0 +1,69 @@
+package fop.timeseries;
+
+import java.util.Objects;
+
+public final class Ohlc
+{
+    private final double open;
+    private final double high;
+    private final double low;
+    private final double close;
+
+    public Ohlc(double open, double high, double low, double close)
+    {
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+    }
+
+    public double getOpen()
+    {
+        return open;
+    }
+
+    public double getHigh()
+    {
+        return high;
+    }
+
+    public double getLow()
+    {
+        return low;
+    }
+
+    public double getClose()
+    {
+        return close;
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if(this == obj)
+        {
+            return true;
+        }
+        if(!(obj instanceof Ohlc))
+        {
+            return false;
+        }
+        Ohlc other = (Ohlc)obj;
+        return Double.compare(open, other.open) == 0
+                && Double.compare(high, other.high) == 0
+                && Double.compare(low, other.low) == 0
+                && Double.compare(close, other.close) == 0;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(open, high, low, close);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Ohlc[open=" + open + ", high=" + high + ", low=" + low + ", close=" + close + "]";
+    }
+}
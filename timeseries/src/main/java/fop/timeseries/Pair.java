@@ -0,0 +1,57 @@
+package fop.timeseries;
+
+import java.util.Objects;
+
+public final class Pair<L, R>
+{
+    private final L left;
+    private final R right;
+
+    private Pair(L left, R right)
+    {
+        this.left = left;
+        this.right = right;
+    }
+
+    public static <L, R> Pair<L, R> of(L left, R right)
+    {
+        return new Pair<>(left, right);
+    }
+
+    public L getLeft()
+    {
+        return left;
+    }
+
+    public R getRight()
+    {
+        return right;
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if(this == obj)
+        {
+            return true;
+        }
+        if(!(obj instanceof Pair))
+        {
+            return false;
+        }
+        Pair<?, ?> other = (Pair<?, ?>)obj;
+        return Objects.equals(left, other.left) && Objects.equals(right, other.right);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(left, right);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "(" + left + ", " + right + ")";
+    }
+}
@@ -0,0 +1,262 @@
+package fop.timeseries;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import fop.timeseries.util.TimeSeriesConstants;
+
+public interface TimeSeries<E> extends Iterable<TimeSeries.Entry<E>>
+{
+    public void add(ZonedDateTime eventDateTime, E event);
+
+    public E get(ZonedDateTime eventDateTime);
+
+    public E remove(ZonedDateTime eventDateTime);
+    
+    public boolean contains(ZonedDateTime eventDateTime);
+
+    /*
+     * Instant and epoch nanos overloads. The defaults go through the ZonedDateTime methods in UTC,
+     * series keyed by instant or epoch nanos override them so no ZonedDateTime is built. A bare null
+     * time is ambiguous between the ZonedDateTime and Instant overloads and has to be cast.
+     */
+    public default void add(Instant eventInstant, E event)
+    {
+        add(ZonedDateTime.ofInstant(eventInstant, TimeSeriesConstants.UTC), event);
+    }
+
+    public default void add(long eventEpochNanos, E event)
+    {
+        add(ZonedDateTime.ofInstant(instantOf(eventEpochNanos), TimeSeriesConstants.UTC), event);
+    }
+
+    public default E get(Instant eventInstant)
+    {
+        return get(ZonedDateTime.ofInstant(eventInstant, TimeSeriesConstants.UTC));
+    }
+
+    public default E get(long eventEpochNanos)
+    {
+        return get(ZonedDateTime.ofInstant(instantOf(eventEpochNanos), TimeSeriesConstants.UTC));
+    }
+
+    public default E remove(Instant eventInstant)
+    {
+        return remove(ZonedDateTime.ofInstant(eventInstant, TimeSeriesConstants.UTC));
+    }
+
+    public default E remove(long eventEpochNanos)
+    {
+        return remove(ZonedDateTime.ofInstant(instantOf(eventEpochNanos), TimeSeriesConstants.UTC));
+    }
+
+    public default boolean contains(Instant eventInstant)
+    {
+        return contains(ZonedDateTime.ofInstant(eventInstant, TimeSeriesConstants.UTC));
+    }
+
+    public default boolean contains(long eventEpochNanos)
+    {
+        return contains(ZonedDateTime.ofInstant(instantOf(eventEpochNanos), TimeSeriesConstants.UTC));
+    }
+
+    public int size();
+    
+    public default boolean isEmpty()
+    {
+        return size()==0;
+    }
+    
+    public default boolean isNotEmpty()
+    {
+        return size()>0;
+    }
+
+    public NavigableSet<TimeSeries.Entry<E>> getEntries();
+    
+    public default NavigableSet<TimeSeries.Entry<E>> snapshot()
+    {
+        return new TreeSet<TimeSeries.Entry<E>>(getEntries());
+    }
+    
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesSubSet(ZonedDateTime fromEventDateTime, boolean fromInclusive, ZonedDateTime toEventDateTime,   boolean toInclusive);
+    
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesHeadSet(ZonedDateTime toEventDateTime, boolean inclusive);
+    
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesTailSet(ZonedDateTime fromEventDateTime, boolean inclusive);
+    
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesSubSet(ZonedDateTime fromEventDateTime, ZonedDateTime toEventDateTime);
+
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesHeadSet(ZonedDateTime toEventDateTime);
+
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesTailSet(ZonedDateTime fromEventDateTime);
+
+    public default NavigableSet<TimeSeries.Entry<E>> getEntriesSubSet(Instant fromEventInstant, boolean fromInclusive, Instant toEventInstant, boolean toInclusive)
+    {
+        return getEntriesSubSet(ZonedDateTime.ofInstant(fromEventInstant, TimeSeriesConstants.UTC), fromInclusive, ZonedDateTime.ofInstant(toEventInstant, TimeSeriesConstants.UTC), toInclusive);
+    }
+
+    public default NavigableSet<TimeSeries.Entry<E>> getEntriesHeadSet(Instant toEventInstant, boolean inclusive)
+    {
+        return getEntriesHeadSet(ZonedDateTime.ofInstant(toEventInstant, TimeSeriesConstants.UTC), inclusive);
+    }
+
+    public default NavigableSet<TimeSeries.Entry<E>> getEntriesTailSet(Instant fromEventInstant, boolean inclusive)
+    {
+        return getEntriesTailSet(ZonedDateTime.ofInstant(fromEventInstant, TimeSeriesConstants.UTC), inclusive);
+    }
+
+    public default NavigableSet<TimeSeries.Entry<E>> getEntriesSubSet(long fromEventEpochNanos, boolean fromInclusive, long toEventEpochNanos, boolean toInclusive)
+    {
+        return getEntriesSubSet(instantOf(fromEventEpochNanos), fromInclusive, instantOf(toEventEpochNanos), toInclusive);
+    }
+
+    public default NavigableSet<TimeSeries.Entry<E>> getEntriesHeadSet(long toEventEpochNanos, boolean inclusive)
+    {
+        return getEntriesHeadSet(instantOf(toEventEpochNanos), inclusive);
+    }
+
+    public default NavigableSet<TimeSeries.Entry<E>> getEntriesTailSet(long fromEventEpochNanos, boolean inclusive)
+    {
+        return getEntriesTailSet(instantOf(fromEventEpochNanos), inclusive);
+    }
+    
+    public NavigableSet<ZonedDateTime> eventDateTimes();
+    
+    public Collection<E> events();
+
+    public TimeSeries.Entry<E> start();
+
+    public TimeSeries.Entry<E> end();
+    
+    public Iterator<TimeSeries.Entry<E>> iterator();
+
+    public Iterator<TimeSeries.Entry<E>> descendingIterator();
+
+    /*
+     * Ascending and splittable, array backed series split by index and report exact sizes for every
+     * piece, map backed ones bisect their key range.
+     */
+    @Override
+    public default Spliterator<TimeSeries.Entry<E>> spliterator()
+    {
+        return getEntries().spliterator();
+    }
+
+    public default Stream<TimeSeries.Entry<E>> stream()
+    {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public default Stream<TimeSeries.Entry<E>> parallelStream()
+    {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /*
+     * Entries from fromEventDateTime inclusive to toEventDateTime exclusive.
+     */
+    public default Stream<TimeSeries.Entry<E>> rangeStream(ZonedDateTime fromEventDateTime, ZonedDateTime toEventDateTime)
+    {
+        return rangeStream(fromEventDateTime, true, toEventDateTime, false);
+    }
+
+    public default Stream<TimeSeries.Entry<E>> rangeStream(ZonedDateTime fromEventDateTime, boolean fromInclusive, ZonedDateTime toEventDateTime, boolean toInclusive)
+    {
+        return StreamSupport.stream(getEntriesSubSet(fromEventDateTime, fromInclusive, toEventDateTime, toInclusive).spliterator(), false);
+    }
+
+    public default TimeSeries.Entry<E> floor(ZonedDateTime eventDateTime)
+    {
+        NavigableSet<TimeSeries.Entry<E>> headSet = getEntriesHeadSet(eventDateTime, true);
+        return headSet.isEmpty() ? null : headSet.last();
+    }
+
+    public default TimeSeries.Entry<E> lower(ZonedDateTime eventDateTime)
+    {
+        NavigableSet<TimeSeries.Entry<E>> headSet = getEntriesHeadSet(eventDateTime, false);
+        return headSet.isEmpty() ? null : headSet.last();
+    }
+
+    public default TimeSeries.Entry<E> ceiling(ZonedDateTime eventDateTime)
+    {
+        NavigableSet<TimeSeries.Entry<E>> tailSet = getEntriesTailSet(eventDateTime, true);
+        return tailSet.isEmpty() ? null : tailSet.first();
+    }
+
+    public default TimeSeries.Entry<E> higher(ZonedDateTime eventDateTime)
+    {
+        NavigableSet<TimeSeries.Entry<E>> tailSet = getEntriesTailSet(eventDateTime, false);
+        return tailSet.isEmpty() ? null : tailSet.first();
+    }
+
+    /*
+     * Closest entry in either direction, the earlier one on a tie.
+     */
+    public default TimeSeries.Entry<E> nearest(ZonedDateTime eventDateTime)
+    {
+        TimeSeries.Entry<E> floor = floor(eventDateTime);
+        TimeSeries.Entry<E> ceiling = ceiling(eventDateTime);
+        if(Objects.isNull(floor) || Objects.isNull(ceiling))
+        {
+            return Objects.isNull(floor) ? ceiling : floor;
+        }
+        Duration before = Duration.between(floor.getEventDateTime(), eventDateTime);
+        Duration after = Duration.between(eventDateTime, ceiling.getEventDateTime());
+        return after.compareTo(before) < 0 ? ceiling : floor;
+    }
+
+    /*
+     * floor() for every query time in one merge pass over the series, queries must be in ascending
+     * order. Missing answers are null.
+     */
+    public default List<TimeSeries.Entry<E>> floorAll(ZonedDateTime[] sortedEventDateTimes)
+    {
+        List<TimeSeries.Entry<E>> floors = new ArrayList<>(sortedEventDateTimes.length);
+        if(sortedEventDateTimes.length == 0)
+        {
+            return floors;
+        }
+        TimeSeries.Entry<E> floor = floor(sortedEventDateTimes[0]);
+        Iterator<TimeSeries.Entry<E>> entryIterator = getEntriesTailSet(sortedEventDateTimes[0], false).iterator();
+        TimeSeries.Entry<E> next = entryIterator.hasNext() ? entryIterator.next() : null;
+        for(int i = 0; i < sortedEventDateTimes.length; i++)
+        {
+            ZonedDateTime eventDateTime = sortedEventDateTimes[i];
+            if(i > 0 && eventDateTime.isBefore(sortedEventDateTimes[i - 1]))
+            {
+                throw new IllegalArgumentException("Query times must be in ascending order: " + eventDateTime);
+            }
+            while(Objects.nonNull(next) && !next.getEventDateTime().isAfter(eventDateTime))
+            {
+                floor = next;
+                next = entryIterator.hasNext() ? entryIterator.next() : null;
+            }
+            floors.add(floor);
+        }
+        return floors;
+    }
+
+    private static Instant instantOf(long epochNanos)
+    {
+        return Instant.ofEpochSecond(0, epochNanos);
+    }
+
+    public static interface Entry<E> extends Comparable<Entry<E>>
+    {
+        public ZonedDateTime getEventDateTime();
+
+        public E getEvent();
+    }
+}
@@ -0,0 +1,260 @@
+package fop.timeseries;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.DoubleBinaryOperator;
+
+import fop.timeseries.impl.ColumnarTimeSeries;
+import fop.timeseries.impl.SimpleDoubleTimeSeries;
+import fop.timeseries.util.TimeSeriesConstants;
+import fop.timeseries.util.TimeSeriesUtils;
+
+/*
+ * Joins of two series that walk both of them forward together once, O(n + m). Except for inner(),
+ * every point of the left series produces one output point at its own time, the combiner gets null
+ * for the right side where nothing matched. Pass Pair::of as the combiner to keep both events.
+ * Tolerances are inclusive: a right point exactly tolerance away still matches.
+ */
+public final class TimeSeriesJoins
+{
+    private TimeSeriesJoins() {}
+
+    /*
+     * Latest right point at or before each left point.
+     */
+    public static <L, R, V> TimeSeries<V> asOf(TimeSeries<L> left, TimeSeries<R> right, BiFunction<? super L, ? super R, ? extends V> combiner)
+    {
+        return asOf(left, right, Long.MAX_VALUE, combiner);
+    }
+
+    public static <L, R, V> TimeSeries<V> asOf(TimeSeries<L> left, TimeSeries<R> right, Duration tolerance, BiFunction<? super L, ? super R, ? extends V> combiner)
+    {
+        return asOf(left, right, toleranceNanos(tolerance), combiner);
+    }
+
+    /*
+     * Earliest right point at or after each left point.
+     */
+    public static <L, R, V> TimeSeries<V> forward(TimeSeries<L> left, TimeSeries<R> right, BiFunction<? super L, ? super R, ? extends V> combiner)
+    {
+        return forward(left, right, Long.MAX_VALUE, combiner);
+    }
+
+    public static <L, R, V> TimeSeries<V> forward(TimeSeries<L> left, TimeSeries<R> right, Duration tolerance, BiFunction<? super L, ? super R, ? extends V> combiner)
+    {
+        return forward(left, right, toleranceNanos(tolerance), combiner);
+    }
+
+    /*
+     * Closest right point in either direction, the earlier one on a tie.
+     */
+    public static <L, R, V> TimeSeries<V> nearest(TimeSeries<L> left, TimeSeries<R> right, Duration tolerance, BiFunction<? super L, ? super R, ? extends V> combiner)
+    {
+        long toleranceNanos = toleranceNanos(tolerance);
+        ColumnarTimeSeries<V> joined = new ColumnarTimeSeries<>(zoneOf(left), left.size());
+        Cursor<R> rightCursor = new Cursor<>(right);
+        TimeSeries.Entry<R> rightFloor = null;
+        long rightFloorEpochNanos = 0;
+        for(TimeSeries.Entry<L> leftEntry : left)
+        {
+            long leftEpochNanos = epochNanosOf(leftEntry);
+            while(rightCursor.hasEntry() && rightCursor.epochNanos <= leftEpochNanos)
+            {
+                rightFloor = rightCursor.entry;
+                rightFloorEpochNanos = rightCursor.epochNanos;
+                rightCursor.advance();
+            }
+            long before = Objects.nonNull(rightFloor) ? leftEpochNanos - rightFloorEpochNanos : Long.MAX_VALUE;
+            long after = rightCursor.hasEntry() ? rightCursor.epochNanos - leftEpochNanos : Long.MAX_VALUE;
+            R match = null;
+            if(before <= after && before <= toleranceNanos)
+            {
+                match = rightFloor.getEvent();
+            }
+            else if(after < before && after <= toleranceNanos)
+            {
+                match = rightCursor.entry.getEvent();
+            }
+            joined.add(leftEpochNanos, combiner.apply(leftEntry.getEvent(), match));
+        }
+        return joined;
+    }
+
+    /*
+     * Points whose instant is in both series.
+     */
+    public static <L, R, V> TimeSeries<V> inner(TimeSeries<L> left, TimeSeries<R> right, BiFunction<? super L, ? super R, ? extends V> combiner)
+    {
+        ColumnarTimeSeries<V> joined = new ColumnarTimeSeries<>(zoneOf(left), Math.min(left.size(), right.size()));
+        Cursor<L> leftCursor = new Cursor<>(left);
+        Cursor<R> rightCursor = new Cursor<>(right);
+        while(leftCursor.hasEntry() && rightCursor.hasEntry())
+        {
+            if(leftCursor.epochNanos < rightCursor.epochNanos)
+            {
+                leftCursor.advance();
+            }
+            else if(leftCursor.epochNanos > rightCursor.epochNanos)
+            {
+                rightCursor.advance();
+            }
+            else
+            {
+                joined.add(leftCursor.epochNanos, combiner.apply(leftCursor.entry.getEvent(), rightCursor.entry.getEvent()));
+                leftCursor.advance();
+                rightCursor.advance();
+            }
+        }
+        return joined;
+    }
+
+    /*
+     * Points whose instant is in either series, the combiner gets null for the side that has none.
+     */
+    public static <L, R, V> TimeSeries<V> outer(TimeSeries<L> left, TimeSeries<R> right, BiFunction<? super L, ? super R, ? extends V> combiner)
+    {
+        ColumnarTimeSeries<V> joined = new ColumnarTimeSeries<>(left.isNotEmpty() ? zoneOf(left) : zoneOf(right), left.size() + right.size());
+        Cursor<L> leftCursor = new Cursor<>(left);
+        Cursor<R> rightCursor = new Cursor<>(right);
+        while(leftCursor.hasEntry() || rightCursor.hasEntry())
+        {
+            if(!rightCursor.hasEntry() || (leftCursor.hasEntry() && leftCursor.epochNanos < rightCursor.epochNanos))
+            {
+                joined.add(leftCursor.epochNanos, combiner.apply(leftCursor.entry.getEvent(), null));
+                leftCursor.advance();
+            }
+            else if(!leftCursor.hasEntry() || rightCursor.epochNanos < leftCursor.epochNanos)
+            {
+                joined.add(rightCursor.epochNanos, combiner.apply(null, rightCursor.entry.getEvent()));
+                rightCursor.advance();
+            }
+            else
+            {
+                joined.add(leftCursor.epochNanos, combiner.apply(leftCursor.entry.getEvent(), rightCursor.entry.getEvent()));
+                leftCursor.advance();
+                rightCursor.advance();
+            }
+        }
+        return joined;
+    }
+
+    /*
+     * Primitive as-of join, the combiner gets NaN for the right side where nothing matched.
+     */
+    public static DoubleTimeSeries asOf(DoubleTimeSeries left, DoubleTimeSeries right, DoubleBinaryOperator combiner)
+    {
+        return asOf(left, right, Long.MAX_VALUE, combiner);
+    }
+
+    public static DoubleTimeSeries asOf(DoubleTimeSeries left, DoubleTimeSeries right, Duration tolerance, DoubleBinaryOperator combiner)
+    {
+        return asOf(left, right, toleranceNanos(tolerance), combiner);
+    }
+
+    private static DoubleTimeSeries asOf(DoubleTimeSeries left, DoubleTimeSeries right, long toleranceNanos, DoubleBinaryOperator combiner)
+    {
+        ZoneId zone = left.getZone();
+        int leftSize = left.size();
+        int rightSize = right.size();
+        SimpleDoubleTimeSeries joined = new SimpleDoubleTimeSeries(zone, leftSize);
+        int rightIndex = -1;
+        for(int leftIndex = 0; leftIndex < leftSize; leftIndex++)
+        {
+            long leftEpochNanos = left.epochNanosAt(leftIndex);
+            while(rightIndex + 1 < rightSize && right.epochNanosAt(rightIndex + 1) <= leftEpochNanos)
+            {
+                rightIndex++;
+            }
+            boolean matched = rightIndex >= 0 && leftEpochNanos - right.epochNanosAt(rightIndex) <= toleranceNanos;
+            joined.add(leftEpochNanos, combiner.applyAsDouble(left.valueAt(leftIndex), matched ? right.valueAt(rightIndex) : Double.NaN));
+        }
+        return joined;
+    }
+
+    private static <L, R, V> TimeSeries<V> asOf(TimeSeries<L> left, TimeSeries<R> right, long toleranceNanos, BiFunction<? super L, ? super R, ? extends V> combiner)
+    {
+        ColumnarTimeSeries<V> joined = new ColumnarTimeSeries<>(zoneOf(left), left.size());
+        Cursor<R> rightCursor = new Cursor<>(right);
+        TimeSeries.Entry<R> rightFloor = null;
+        long rightFloorEpochNanos = 0;
+        for(TimeSeries.Entry<L> leftEntry : left)
+        {
+            long leftEpochNanos = epochNanosOf(leftEntry);
+            while(rightCursor.hasEntry() && rightCursor.epochNanos <= leftEpochNanos)
+            {
+                rightFloor = rightCursor.entry;
+                rightFloorEpochNanos = rightCursor.epochNanos;
+                rightCursor.advance();
+            }
+            boolean matched = Objects.nonNull(rightFloor) && leftEpochNanos - rightFloorEpochNanos <= toleranceNanos;
+            joined.add(leftEpochNanos, combiner.apply(leftEntry.getEvent(), matched ? rightFloor.getEvent() : null));
+        }
+        return joined;
+    }
+
+    private static <L, R, V> TimeSeries<V> forward(TimeSeries<L> left, TimeSeries<R> right, long toleranceNanos, BiFunction<? super L, ? super R, ? extends V> combiner)
+    {
+        ColumnarTimeSeries<V> joined = new ColumnarTimeSeries<>(zoneOf(left), left.size());
+        Cursor<R> rightCursor = new Cursor<>(right);
+        for(TimeSeries.Entry<L> leftEntry : left)
+        {
+            long leftEpochNanos = epochNanosOf(leftEntry);
+            while(rightCursor.hasEntry() && rightCursor.epochNanos < leftEpochNanos)
+            {
+                rightCursor.advance();
+            }
+            boolean matched = rightCursor.hasEntry() && rightCursor.epochNanos - leftEpochNanos <= toleranceNanos;
+            joined.add(leftEpochNanos, combiner.apply(leftEntry.getEvent(), matched ? rightCursor.entry.getEvent() : null));
+        }
+        return joined;
+    }
+
+    private static long toleranceNanos(Duration tolerance)
+    {
+        if(tolerance.isNegative())
+        {
+            throw new IllegalArgumentException("Tolerance must not be negative: " + tolerance);
+        }
+        return tolerance.toNanos();
+    }
+
+    private static ZoneId zoneOf(TimeSeries<?> timeSeries)
+    {
+        return timeSeries.isNotEmpty() ? timeSeries.start().getEventDateTime().getZone() : TimeSeriesConstants.UTC;
+    }
+
+    private static long epochNanosOf(TimeSeries.Entry<?> entry)
+    {
+        return TimeSeriesUtils.toEpochNanos(entry);
+    }
+
+    private static final class Cursor<E>
+    {
+        private final Iterator<TimeSeries.Entry<E>> iterator;
+        private TimeSeries.Entry<E> entry;
+        private long epochNanos;
+
+        private Cursor(TimeSeries<E> timeSeries)
+        {
+            this.iterator = timeSeries.iterator();
+            advance();
+        }
+
+        private boolean hasEntry()
+        {
+            return Objects.nonNull(entry);
+        }
+
+        private void advance()
+        {
+            entry = iterator.hasNext() ? iterator.next() : null;
+            if(Objects.nonNull(entry))
+            {
+                epochNanos = epochNanosOf(entry);
+            }
+        }
+    }
+}
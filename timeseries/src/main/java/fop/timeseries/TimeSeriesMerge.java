@@ -0,0 +1,264 @@
+package fop.timeseries;
+
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import fop.timeseries.impl.AbstractTimeSeries.TimeSeriesEntry;
+import fop.timeseries.impl.ColumnarTimeSeries;
+import fop.timeseries.impl.SimpleMultiTimeSeries;
+import fop.timeseries.util.TimeSeriesConstants;
+import fop.timeseries.util.TimeSeriesUtils;
+
+/*
+ * K-way merge of many series into one ordered stream. A binary heap holds one cursor per source,
+ * so the merge itself needs O(k) memory and O(log k) per point no matter how long the sources are.
+ * Points at the same instant come out in source order. Streams are lazy and read the live sources,
+ * which must not change while a stream is consumed.
+ */
+public final class TimeSeriesMerge
+{
+    private TimeSeriesMerge() {}
+
+    /*
+     * Every point of every source, equal instants included.
+     */
+    public static <E> Stream<TimeSeries.Entry<E>> merge(List<? extends TimeSeries<E>> sources)
+    {
+        return stream(new MergeIterator<>(sources));
+    }
+
+    /*
+     * One point per instant, colliding events folded with the policy in source order.
+     */
+    public static <E> Stream<TimeSeries.Entry<E>> merge(List<? extends TimeSeries<E>> sources, CollisionPolicy<E> policy)
+    {
+        return stream(new CollapsingIterator<>(new MergeIterator<>(sources), policy));
+    }
+
+    public static <E> TimeSeries<E> mergeToTimeSeries(List<? extends TimeSeries<E>> sources, CollisionPolicy<E> policy)
+    {
+        ColumnarTimeSeries<E> merged = new ColumnarTimeSeries<>(zoneOf(sources), totalSize(sources));
+        Iterator<TimeSeries.Entry<E>> entryIterator = new CollapsingIterator<>(new MergeIterator<>(sources), policy);
+        while(entryIterator.hasNext())
+        {
+            TimeSeries.Entry<E> entry = entryIterator.next();
+            merged.add(entry.getEventDateTime(), entry.getEvent());
+        }
+        return merged;
+    }
+
+    /*
+     * Every event of every source, the events sharing an instant combined into one bucket.
+     */
+    public static <E, C extends Collection<E>> MultiTimeSeries<E, C> mergeToMultiTimeSeries(List<? extends TimeSeries<E>> sources, Supplier<C> bucketFactory)
+    {
+        MultiTimeSeries<E, C> merged = new SimpleMultiTimeSeries<>(bucketFactory);
+        MergeIterator<E> entryIterator = new MergeIterator<>(sources);
+        long bucketEpochNanos = 0;
+        C bucket = null;
+        while(entryIterator.hasNext())
+        {
+            long eventEpochNanos = entryIterator.peekEpochNanos();
+            TimeSeries.Entry<E> entry = entryIterator.next();
+            if(Objects.isNull(bucket) || eventEpochNanos != bucketEpochNanos)
+            {
+                bucket = bucketFactory.get();
+                bucketEpochNanos = eventEpochNanos;
+                merged.add(entry.getEventDateTime(), bucket);
+            }
+            bucket.add(entry.getEvent());
+        }
+        return merged;
+    }
+
+    private static <E> Stream<TimeSeries.Entry<E>> stream(Iterator<TimeSeries.Entry<E>> entryIterator)
+    {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(entryIterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private static int totalSize(List<? extends TimeSeries<?>> sources)
+    {
+        long totalSize = 0;
+        for(TimeSeries<?> source : sources)
+        {
+            totalSize += source.size();
+        }
+        return (int)Math.min(Integer.MAX_VALUE - 8, totalSize);
+    }
+
+    private static ZoneId zoneOf(List<? extends TimeSeries<?>> sources)
+    {
+        for(TimeSeries<?> source : sources)
+        {
+            if(source.isNotEmpty())
+            {
+                return source.start().getEventDateTime().getZone();
+            }
+        }
+        return TimeSeriesConstants.UTC;
+    }
+
+    private static final class Cursor<E>
+    {
+        private final Iterator<TimeSeries.Entry<E>> iterator;
+        private final int sourceIndex;
+        private TimeSeries.Entry<E> entry;
+        private long epochNanos;
+
+        private Cursor(Iterator<TimeSeries.Entry<E>> iterator, int sourceIndex)
+        {
+            this.iterator = iterator;
+            this.sourceIndex = sourceIndex;
+        }
+
+        private boolean advance()
+        {
+            if(!iterator.hasNext())
+            {
+                entry = null;
+                return false;
+            }
+            entry = iterator.next();
+            epochNanos = TimeSeriesUtils.toEpochNanos(entry);
+            return true;
+        }
+
+        private boolean precedes(Cursor<E> other)
+        {
+            return epochNanos < other.epochNanos || (epochNanos == other.epochNanos && sourceIndex < other.sourceIndex);
+        }
+    }
+
+    private static final class MergeIterator<E> implements Iterator<TimeSeries.Entry<E>>
+    {
+        private final Cursor<E>[] heap;
+        private int heapSize;
+
+        @SuppressWarnings("unchecked")
+        private MergeIterator(List<? extends TimeSeries<E>> sources)
+        {
+            this.heap = new Cursor[sources.size()];
+            for(int i = 0; i < sources.size(); i++)
+            {
+                Cursor<E> cursor = new Cursor<>(sources.get(i).iterator(), i);
+                if(cursor.advance())
+                {
+                    heap[heapSize++] = cursor;
+                }
+            }
+            for(int i = (heapSize >>> 1) - 1; i >= 0; i--)
+            {
+                siftDown(i);
+            }
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return heapSize > 0;
+        }
+
+        private long peekEpochNanos()
+        {
+            return heap[0].epochNanos;
+        }
+
+        @Override
+        public TimeSeries.Entry<E> next()
+        {
+            if(!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            Cursor<E> top = heap[0];
+            TimeSeries.Entry<E> entry = top.entry;
+            if(!top.advance())
+            {
+                heap[0] = heap[--heapSize];
+                heap[heapSize] = null;
+            }
+            if(heapSize > 0)
+            {
+                siftDown(0);
+            }
+            return entry;
+        }
+
+        private void siftDown(int index)
+        {
+            Cursor<E> cursor = heap[index];
+            int half = heapSize >>> 1;
+            while(index < half)
+            {
+                int child = (index << 1) + 1;
+                int right = child + 1;
+                if(right < heapSize && heap[right].precedes(heap[child]))
+                {
+                    child = right;
+                }
+                if(!heap[child].precedes(cursor))
+                {
+                    break;
+                }
+                heap[index] = heap[child];
+                index = child;
+            }
+            heap[index] = cursor;
+        }
+    }
+
+    private static final class CollapsingIterator<E> implements Iterator<TimeSeries.Entry<E>>
+    {
+        private final MergeIterator<E> entryIterator;
+        private final CollisionPolicy<E> policy;
+
+        private CollapsingIterator(MergeIterator<E> entryIterator, CollisionPolicy<E> policy)
+        {
+            this.entryIterator = entryIterator;
+            this.policy = Objects.requireNonNull(policy);
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return entryIterator.hasNext();
+        }
+
+        /*
+         * The first entry at an instant is handed out as is unless the policy picks a different
+         * event, in which case a new entry is made at the time of the first one.
+         */
+        @Override
+        public TimeSeries.Entry<E> next()
+        {
+            long eventEpochNanos = entryIterator.peekEpochNanos();
+            TimeSeries.Entry<E> first = entryIterator.next();
+            TimeSeries.Entry<E> survivor = first;
+            E event = first.getEvent();
+            while(entryIterator.hasNext() && entryIterator.peekEpochNanos() == eventEpochNanos)
+            {
+                TimeSeries.Entry<E> later = entryIterator.next();
+                E resolved = policy.resolve(event, later.getEvent());
+                if(resolved == later.getEvent())
+                {
+                    survivor = later;
+                }
+                else if(resolved != event)
+                {
+                    survivor = null;
+                }
+                event = resolved;
+            }
+            return Objects.nonNull(survivor) ? survivor : TimeSeriesEntry.of(first.getEventDateTime(), event);
+        }
+    }
+}
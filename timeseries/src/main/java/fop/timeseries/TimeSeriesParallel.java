@@ -0,0 +1,237 @@
+package fop.timeseries;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collector;
+
+import fop.timeseries.impl.ColumnarTimeSeries;
+import fop.timeseries.util.TimeSeriesConstants;
+import fop.timeseries.util.TimeSeriesUtils;
+
+/*
+ * Fork-join operators over the splittable entry views of a series. The store is cut into
+ * consecutive time ranges by its own spliterator, every range is processed by one task, and results
+ * are stitched back left to right, so outputs come out sorted without a sort. Anything whose size
+ * estimate is at most SEQUENTIAL_THRESHOLD runs in the calling thread instead.
+ */
+public final class TimeSeriesParallel
+{
+    public static final int SEQUENTIAL_THRESHOLD = 1 << 13;
+
+    private TimeSeriesParallel() {}
+
+    public static <E, R> TimeSeries<R> mapValues(TimeSeries<E> timeSeries, Function<? super E, ? extends R> mapper)
+    {
+        return mapValues(timeSeries, mapper, ForkJoinPool.commonPool());
+    }
+
+    public static <E, R> TimeSeries<R> mapValues(TimeSeries<E> timeSeries, Function<? super E, ? extends R> mapper, ForkJoinPool pool)
+    {
+        ChunkList chunks = run(timeSeries.spliterator(), pool, spliterator->{
+            Chunk chunk = new Chunk(spliterator.estimateSize());
+            spliterator.forEachRemaining(e->chunk.add(TimeSeriesUtils.toEpochNanos(e), mapper.apply(e.getEvent())));
+            return new ChunkList(chunk);
+        }, ChunkList::concat);
+        return chunks.toTimeSeries(zoneOf(timeSeries));
+    }
+
+    public static <E> TimeSeries<E> filter(TimeSeries<E> timeSeries, Predicate<? super TimeSeries.Entry<E>> predicate)
+    {
+        return filter(timeSeries, predicate, ForkJoinPool.commonPool());
+    }
+
+    public static <E> TimeSeries<E> filter(TimeSeries<E> timeSeries, Predicate<? super TimeSeries.Entry<E>> predicate, ForkJoinPool pool)
+    {
+        ChunkList chunks = run(timeSeries.spliterator(), pool, spliterator->{
+            Chunk chunk = new Chunk(spliterator.estimateSize());
+            spliterator.forEachRemaining(e->{
+                if(predicate.test(e))
+                {
+                    chunk.add(TimeSeriesUtils.toEpochNanos(e), e.getEvent());
+                }
+            });
+            return new ChunkList(chunk);
+        }, ChunkList::concat);
+        return chunks.toTimeSeries(zoneOf(timeSeries));
+    }
+
+    /*
+     * Folds all events with an associative accumulator, identity must be neutral for it.
+     */
+    public static <E> E reduce(TimeSeries<E> timeSeries, E identity, BinaryOperator<E> accumulator)
+    {
+        return reduce(timeSeries, identity, accumulator, ForkJoinPool.commonPool());
+    }
+
+    public static <E> E reduce(TimeSeries<E> timeSeries, E identity, BinaryOperator<E> accumulator, ForkJoinPool pool)
+    {
+        return run(timeSeries.spliterator(), pool, spliterator->{
+            Object[] result = {identity};
+            spliterator.forEachRemaining(e->result[0] = accumulator.apply(elementOf(result), e.getEvent()));
+            return elementOf(result);
+        }, accumulator);
+    }
+
+    public static <E, A, R> R aggregate(TimeSeries<E> timeSeries, Collector<? super E, A, R> collector)
+    {
+        return aggregate(timeSeries.spliterator(), collector, ForkJoinPool.commonPool());
+    }
+
+    public static <E, A, R> R aggregate(TimeSeries<E> timeSeries, Collector<? super E, A, R> collector, ForkJoinPool pool)
+    {
+        return aggregate(timeSeries.spliterator(), collector, pool);
+    }
+
+    /*
+     * Collects the events from fromEventDateTime inclusive to toEventDateTime exclusive.
+     */
+    public static <E, A, R> R aggregate(TimeSeries<E> timeSeries, ZonedDateTime fromEventDateTime, ZonedDateTime toEventDateTime, Collector<? super E, A, R> collector)
+    {
+        return aggregate(timeSeries, fromEventDateTime, toEventDateTime, collector, ForkJoinPool.commonPool());
+    }
+
+    public static <E, A, R> R aggregate(TimeSeries<E> timeSeries, ZonedDateTime fromEventDateTime, ZonedDateTime toEventDateTime, Collector<? super E, A, R> collector, ForkJoinPool pool)
+    {
+        return aggregate(timeSeries.getEntriesSubSet(fromEventDateTime, true, toEventDateTime, false).spliterator(), collector, pool);
+    }
+
+    private static <E, A, R> R aggregate(Spliterator<TimeSeries.Entry<E>> entries, Collector<? super E, A, R> collector, ForkJoinPool pool)
+    {
+        BiConsumer<A, ? super E> accumulator = collector.accumulator();
+        A container = run(entries, pool, spliterator->{
+            A partial = collector.supplier().get();
+            spliterator.forEachRemaining(e->accumulator.accept(partial, e.getEvent()));
+            return partial;
+        }, collector.combiner());
+        return collector.finisher().apply(container);
+    }
+
+    private static <E, R> R run(Spliterator<TimeSeries.Entry<E>> spliterator, ForkJoinPool pool, Function<Spliterator<TimeSeries.Entry<E>>, R> leaf, BinaryOperator<R> combiner)
+    {
+        if(spliterator.estimateSize() <= SEQUENTIAL_THRESHOLD)
+        {
+            return leaf.apply(spliterator);
+        }
+        return pool.invoke(new SplittingTask<>(spliterator, leaf, combiner));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> E elementOf(Object[] holder)
+    {
+        return (E)holder[0];
+    }
+
+    private static ZoneId zoneOf(TimeSeries<?> timeSeries)
+    {
+        TimeSeries.Entry<?> start = timeSeries.start();
+        return Objects.nonNull(start) ? start.getEventDateTime().getZone() : TimeSeriesConstants.UTC;
+    }
+
+    private static final class SplittingTask<E, R> extends RecursiveTask<R>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final Spliterator<TimeSeries.Entry<E>> spliterator;
+        private final Function<Spliterator<TimeSeries.Entry<E>>, R> leaf;
+        private final BinaryOperator<R> combiner;
+
+        private SplittingTask(Spliterator<TimeSeries.Entry<E>> spliterator, Function<Spliterator<TimeSeries.Entry<E>>, R> leaf, BinaryOperator<R> combiner)
+        {
+            this.spliterator = spliterator;
+            this.leaf = leaf;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected R compute()
+        {
+            Spliterator<TimeSeries.Entry<E>> prefix;
+            if(spliterator.estimateSize() > SEQUENTIAL_THRESHOLD && Objects.nonNull(prefix = spliterator.trySplit()))
+            {
+                SplittingTask<E, R> left = new SplittingTask<>(prefix, leaf, combiner);
+                left.fork();
+                R right = new SplittingTask<>(spliterator, leaf, combiner).compute();
+                return combiner.apply(left.join(), right);
+            }
+            return leaf.apply(spliterator);
+        }
+    }
+
+    /*
+     * Output of one task as parallel columns, chained in time order with the outputs of the tasks
+     * that follow it.
+     */
+    private static final class Chunk
+    {
+        private long[] epochNanos;
+        private Object[] events;
+        private int size;
+        private Chunk next;
+
+        private Chunk(long estimatedSize)
+        {
+            int capacity = (int)Math.min(Math.max(estimatedSize, 16), 2 * SEQUENTIAL_THRESHOLD);
+            this.epochNanos = new long[capacity];
+            this.events = new Object[capacity];
+        }
+
+        private void add(long eventEpochNanos, Object event)
+        {
+            if(size == epochNanos.length)
+            {
+                epochNanos = Arrays.copyOf(epochNanos, size << 1);
+                events = Arrays.copyOf(events, size << 1);
+            }
+            epochNanos[size] = eventEpochNanos;
+            events[size++] = event;
+        }
+    }
+
+    private static final class ChunkList
+    {
+        private final Chunk head;
+        private final Chunk tail;
+        private final long size;
+
+        private ChunkList(Chunk chunk)
+        {
+            this(chunk, chunk, chunk.size);
+        }
+
+        private ChunkList(Chunk head, Chunk tail, long size)
+        {
+            this.head = head;
+            this.tail = tail;
+            this.size = size;
+        }
+
+        private static ChunkList concat(ChunkList left, ChunkList right)
+        {
+            left.tail.next = right.head;
+            return new ChunkList(left.head, right.tail, left.size + right.size);
+        }
+
+        @SuppressWarnings("unchecked")
+        private <R> TimeSeries<R> toTimeSeries(ZoneId zone)
+        {
+            ColumnarTimeSeries<R> timeSeries = new ColumnarTimeSeries<>(zone, (int)size);
+            for(Chunk chunk = head; Objects.nonNull(chunk); chunk = chunk.next)
+            {
+                for(int i = 0; i < chunk.size; i++)
+                {
+                    timeSeries.add(chunk.epochNanos[i], (R)chunk.events[i]);
+                }
+            }
+            return timeSeries;
+        }
+    }
+}
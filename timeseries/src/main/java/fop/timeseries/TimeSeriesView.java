@@ -0,0 +1,273 @@
+package fop.timeseries;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import fop.timeseries.impl.AbstractTimeSeries.TimeSeriesEntry;
+import fop.timeseries.impl.SimpleTimeSeries;
+import fop.timeseries.util.ImmutableBuilders;
+
+/*
+ * Lazy pipeline over a series. Every operator returns a new view and nothing is read until the view
+ * is iterated, at which point all stages run fused over one iterator of the source, so no
+ * intermediate series is built. between() is always pushed down to a range scan of the source,
+ * shifted back by whatever shift() came before it. The source is read live, a view iterated twice
+ * sees changes made in between.
+ */
+public final class TimeSeriesView<E> implements Iterable<TimeSeries.Entry<E>>
+{
+    private final TimeSeries<?> source;
+    private final ZonedDateTime fromEventDateTime;
+    private final boolean fromInclusive;
+    private final ZonedDateTime toEventDateTime;
+    private final boolean toInclusive;
+    private final Duration shift;
+    private final Stage[] stages;
+
+    private TimeSeriesView(TimeSeries<?> source, ZonedDateTime fromEventDateTime, boolean fromInclusive, ZonedDateTime toEventDateTime, boolean toInclusive, Duration shift, Stage[] stages)
+    {
+        this.source = source;
+        this.fromEventDateTime = fromEventDateTime;
+        this.fromInclusive = fromInclusive;
+        this.toEventDateTime = toEventDateTime;
+        this.toInclusive = toInclusive;
+        this.shift = shift;
+        this.stages = stages;
+    }
+
+    public static <E> TimeSeriesView<E> of(TimeSeries<E> source)
+    {
+        return new TimeSeriesView<>(Objects.requireNonNull(source), null, false, null, false, Duration.ZERO, new Stage[0]);
+    }
+
+    /*
+     * Points from fromEventDateTime inclusive to toEventDateTime exclusive, in the time of this view.
+     */
+    public TimeSeriesView<E> between(ZonedDateTime fromEventDateTime, ZonedDateTime toEventDateTime)
+    {
+        return between(fromEventDateTime, true, toEventDateTime, false);
+    }
+
+    public TimeSeriesView<E> between(ZonedDateTime fromEventDateTime, boolean fromInclusive, ZonedDateTime toEventDateTime, boolean toInclusive)
+    {
+        ZonedDateTime from = fromEventDateTime.minus(shift);
+        ZonedDateTime to = toEventDateTime.minus(shift);
+        boolean fromIn = fromInclusive;
+        boolean toIn = toInclusive;
+        if(Objects.nonNull(this.fromEventDateTime))
+        {
+            int fromCompare = from.toInstant().compareTo(this.fromEventDateTime.toInstant());
+            if(fromCompare <= 0)
+            {
+                fromIn = fromCompare == 0 ? fromIn && this.fromInclusive : this.fromInclusive;
+                from = this.fromEventDateTime;
+            }
+            int toCompare = to.toInstant().compareTo(this.toEventDateTime.toInstant());
+            if(toCompare >= 0)
+            {
+                toIn = toCompare == 0 ? toIn && this.toInclusive : this.toInclusive;
+                to = this.toEventDateTime;
+            }
+        }
+        return new TimeSeriesView<>(source, from, fromIn, to, toIn, shift, stages);
+    }
+
+    public <R> TimeSeriesView<R> mapValues(Function<? super E, ? extends R> mapper)
+    {
+        return then(cursor->{
+            cursor.event = mapper.apply(cursor.<E>event());
+            return true;
+        }, shift);
+    }
+
+    /*
+     * Moves every point by the same duration, which keeps the view in time order.
+     */
+    public TimeSeriesView<E> shift(Duration duration)
+    {
+        return then(cursor->{
+            cursor.eventDateTime = cursor.eventDateTime.plus(duration);
+            return true;
+        }, shift.plus(duration));
+    }
+
+    /*
+     * The entry handed to the predicate is reused for the next point and must not be kept.
+     */
+    @SuppressWarnings("unchecked")
+    public TimeSeriesView<E> filter(Predicate<? super TimeSeries.Entry<E>> predicate)
+    {
+        return then(cursor->predicate.test((TimeSeries.Entry<E>)(TimeSeries.Entry<?>)cursor), shift);
+    }
+
+    private <R> TimeSeriesView<R> then(Stage stage, Duration shift)
+    {
+        Stage[] next = Arrays.copyOf(stages, stages.length + 1);
+        next[stages.length] = stage;
+        return new TimeSeriesView<>(source, fromEventDateTime, fromInclusive, toEventDateTime, toInclusive, shift, next);
+    }
+
+    @Override
+    public Iterator<TimeSeries.Entry<E>> iterator()
+    {
+        return new FusedIterator<>(sourceIterator(), stages);
+    }
+
+    @Override
+    public Spliterator<TimeSeries.Entry<E>> spliterator()
+    {
+        return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    public Stream<TimeSeries.Entry<E>> stream()
+    {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /*
+     * Materializes the view in one pass, the output is already sorted so the build is linear.
+     */
+    public TimeSeries<E> collect()
+    {
+        return new SimpleTimeSeries<>(toList());
+    }
+
+    public ImmutableTimeSeries<E> toImmutable()
+    {
+        return ImmutableBuilders.<E>builder().add(toList()).build();
+    }
+
+    private List<TimeSeries.Entry<E>> toList()
+    {
+        List<TimeSeries.Entry<E>> entries = new ArrayList<>();
+        forEach(entries::add);
+        return entries;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Iterator<TimeSeries.Entry<?>> sourceIterator()
+    {
+        if(Objects.isNull(fromEventDateTime))
+        {
+            return (Iterator<TimeSeries.Entry<?>>)(Iterator<?>)source.iterator();
+        }
+        int compare = fromEventDateTime.toInstant().compareTo(toEventDateTime.toInstant());
+        if(compare > 0 || (compare == 0 && !(fromInclusive && toInclusive)))
+        {
+            return Collections.emptyIterator();
+        }
+        return (Iterator<TimeSeries.Entry<?>>)(Iterator<?>)source.getEntriesSubSet(fromEventDateTime, fromInclusive, toEventDateTime, toInclusive).iterator();
+    }
+
+    @FunctionalInterface
+    private static interface Stage
+    {
+        public boolean apply(Cursor cursor);
+    }
+
+    /*
+     * Mutable point the stages work on, only a point that passes every stage is copied out.
+     */
+    private static final class Cursor implements TimeSeries.Entry<Object>
+    {
+        private ZonedDateTime eventDateTime;
+        private Object event;
+
+        @SuppressWarnings("unchecked")
+        private <T> T event()
+        {
+            return (T)event;
+        }
+
+        @Override
+        public ZonedDateTime getEventDateTime()
+        {
+            return eventDateTime;
+        }
+
+        @Override
+        public Object getEvent()
+        {
+            return event;
+        }
+
+        @Override
+        public int compareTo(TimeSeries.Entry<Object> o)
+        {
+            return eventDateTime.toInstant().compareTo(o.getEventDateTime().toInstant());
+        }
+
+        @Override
+        public String toString()
+        {
+            return "{" + eventDateTime + ": " + event + "}";
+        }
+    }
+
+    private static final class FusedIterator<E> implements Iterator<TimeSeries.Entry<E>>
+    {
+        private final Iterator<TimeSeries.Entry<?>> source;
+        private final Stage[] stages;
+        private final Cursor cursor = new Cursor();
+        private TimeSeries.Entry<E> next;
+
+        private FusedIterator(Iterator<TimeSeries.Entry<?>> source, Stage[] stages)
+        {
+            this.source = source;
+            this.stages = stages;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            while(Objects.isNull(next) && source.hasNext())
+            {
+                TimeSeries.Entry<?> entry = source.next();
+                cursor.eventDateTime = entry.getEventDateTime();
+                cursor.event = entry.getEvent();
+                if(passes())
+                {
+                    next = TimeSeriesEntry.of(cursor.eventDateTime, cursor.<E>event());
+                }
+            }
+            return Objects.nonNull(next);
+        }
+
+        private boolean passes()
+        {
+            for(Stage stage : stages)
+            {
+                if(!stage.apply(cursor))
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public TimeSeries.Entry<E> next()
+        {
+            if(!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            TimeSeries.Entry<E> entry = next;
+            next = null;
+            return entry;
+        }
+    }
+}
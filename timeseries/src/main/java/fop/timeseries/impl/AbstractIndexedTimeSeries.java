@@ -0,0 +1,483 @@
+package fop.timeseries.impl;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import fop.timeseries.TimeSeries;
+import fop.timeseries.impl.AbstractTimeSeries.TimeSeriesEntry;
+import fop.timeseries.util.TimeSeriesUtils;
+
+/*
+ * Base for time series whose points are addressable by position in ascending time order, for
+ * example parallel sorted arrays. Timestamps are epoch nanos and the zone is kept once per series,
+ * entries are only materialized when a caller asks for them.
+ */
+public abstract class AbstractIndexedTimeSeries<E> implements TimeSeries<E>
+{
+    protected final ZoneId zone;
+    private final EntrySetView<E> entriesView;
+
+    protected AbstractIndexedTimeSeries(ZoneId zone)
+    {
+        this.zone = Objects.requireNonNull(zone);
+        this.entriesView = EntrySetView.of(new IndexedEntrySource());
+    }
+
+    protected abstract long epochNanosAt(int index);
+
+    protected abstract E eventAt(int index);
+
+    /*
+     * Same contract as Arrays.binarySearch: the index of the point if present, otherwise
+     * (-(insertion point) - 1).
+     */
+    protected int indexOf(long epochNanos)
+    {
+        int low = 0;
+        int high = size() - 1;
+        while(low <= high)
+        {
+            int mid = (low + high) >>> 1;
+            long midEpochNanos = epochNanosAt(mid);
+            if(midEpochNanos < epochNanos)
+            {
+                low = mid + 1;
+            }
+            else if(midEpochNanos > epochNanos)
+            {
+                high = mid - 1;
+            }
+            else
+            {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    protected TimeSeries.Entry<E> entryAt(int index)
+    {
+        return TimeSeriesEntry.of(TimeSeriesUtils.toInstant(epochNanosAt(index)), zone, eventAt(index));
+    }
+
+    protected Iterator<TimeSeries.Entry<E>> iterator(int fromIndex, int toIndex, boolean descending)
+    {
+        return new Iterator<TimeSeries.Entry<E>>()
+        {
+            private int cursor = descending ? toIndex - 1 : fromIndex;
+
+            @Override
+            public boolean hasNext()
+            {
+                return descending ? cursor >= fromIndex : cursor < toIndex;
+            }
+
+            @Override
+            public TimeSeries.Entry<E> next()
+            {
+                if(!hasNext())
+                {
+                    throw new NoSuchElementException();
+                }
+                return entryAt(descending ? cursor-- : cursor++);
+            }
+        };
+    }
+
+    public ZoneId getZone()
+    {
+        return zone;
+    }
+
+    @Override
+    public E get(ZonedDateTime eventDateTime)
+    {
+        return get(eventDateTime.toInstant());
+    }
+
+    @Override
+    public boolean contains(ZonedDateTime eventDateTime)
+    {
+        return contains(eventDateTime.toInstant());
+    }
+
+    @Override
+    public E get(Instant eventInstant)
+    {
+        int index = indexOf(eventInstant);
+        return index >= 0 ? eventAt(index) : null;
+    }
+
+    @Override
+    public E get(long eventEpochNanos)
+    {
+        int index = indexOf(eventEpochNanos);
+        return index >= 0 ? eventAt(index) : null;
+    }
+
+    @Override
+    public boolean contains(Instant eventInstant)
+    {
+        return indexOf(eventInstant) >= 0;
+    }
+
+    @Override
+    public boolean contains(long eventEpochNanos)
+    {
+        return indexOf(eventEpochNanos) >= 0;
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> getEntries()
+    {
+        return entriesView;
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesSubSet(ZonedDateTime fromEventDateTime, boolean fromInclusive, ZonedDateTime toEventDateTime, boolean toInclusive)
+    {
+        return entriesView.subSet(Instant.from(fromEventDateTime), fromInclusive, Instant.from(toEventDateTime), toInclusive);
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesHeadSet(ZonedDateTime toEventDateTime, boolean inclusive)
+    {
+        return entriesView.headSet(Instant.from(toEventDateTime), inclusive);
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesTailSet(ZonedDateTime fromEventDateTime, boolean inclusive)
+    {
+        return entriesView.tailSet(Instant.from(fromEventDateTime), inclusive);
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesSubSet(Instant fromEventInstant, boolean fromInclusive, Instant toEventInstant, boolean toInclusive)
+    {
+        return entriesView.subSet(fromEventInstant, fromInclusive, toEventInstant, toInclusive);
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesHeadSet(Instant toEventInstant, boolean inclusive)
+    {
+        return entriesView.headSet(toEventInstant, inclusive);
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesTailSet(Instant fromEventInstant, boolean inclusive)
+    {
+        return entriesView.tailSet(fromEventInstant, inclusive);
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesSubSet(ZonedDateTime fromEventDateTime, ZonedDateTime toEventDateTime)
+    {
+        return getEntriesSubSet(fromEventDateTime, false, toEventDateTime, false);
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesHeadSet(ZonedDateTime toEventDateTime)
+    {
+        return getEntriesHeadSet(toEventDateTime, false);
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesTailSet(ZonedDateTime fromEventDateTime)
+    {
+        return getEntriesTailSet(fromEventDateTime, false);
+    }
+
+    @Override
+    public NavigableSet<ZonedDateTime> eventDateTimes()
+    {
+        return new EventDateTimeSetView<>(entriesView);
+    }
+
+    @Override
+    public Collection<E> events()
+    {
+        return new EventCollectionView<>(entriesView);
+    }
+
+    @Override
+    public TimeSeries.Entry<E> start()
+    {
+        return isNotEmpty() ? entryAt(0) : null;
+    }
+
+    @Override
+    public TimeSeries.Entry<E> end()
+    {
+        return isNotEmpty() ? entryAt(size() - 1) : null;
+    }
+
+    @Override
+    public TimeSeries.Entry<E> floor(ZonedDateTime eventDateTime)
+    {
+        return entryAtOrNull(floorIndex(saturatedEpochNanos(Instant.from(eventDateTime)), true));
+    }
+
+    @Override
+    public TimeSeries.Entry<E> lower(ZonedDateTime eventDateTime)
+    {
+        return entryAtOrNull(floorIndex(saturatedEpochNanos(Instant.from(eventDateTime)), false));
+    }
+
+    @Override
+    public TimeSeries.Entry<E> ceiling(ZonedDateTime eventDateTime)
+    {
+        return entryAtOrNull(ceilingIndex(saturatedEpochNanos(Instant.from(eventDateTime)), true));
+    }
+
+    @Override
+    public TimeSeries.Entry<E> higher(ZonedDateTime eventDateTime)
+    {
+        return entryAtOrNull(ceilingIndex(saturatedEpochNanos(Instant.from(eventDateTime)), false));
+    }
+
+    /*
+     * Gallops forward from the previous answer, so dense queries cost about O(1) each and sparse
+     * ones O(log n) each, with no entry materialized except the answers.
+     */
+    @Override
+    public List<TimeSeries.Entry<E>> floorAll(ZonedDateTime[] sortedEventDateTimes)
+    {
+        List<TimeSeries.Entry<E>> floors = new ArrayList<>(sortedEventDateTimes.length);
+        int size = size();
+        int index = -1;
+        long previousEpochNanos = Long.MIN_VALUE;
+        for(ZonedDateTime eventDateTime : sortedEventDateTimes)
+        {
+            long eventEpochNanos = saturatedEpochNanos(Instant.from(eventDateTime));
+            if(eventEpochNanos < previousEpochNanos)
+            {
+                throw new IllegalArgumentException("Query times must be in ascending order: " + eventDateTime);
+            }
+            previousEpochNanos = eventEpochNanos;
+
+            int bound = index + 1;
+            int step = 1;
+            while(bound < size && epochNanosAt(bound) <= eventEpochNanos)
+            {
+                index = bound;
+                bound = step < size - bound ? bound + step : size;
+                step <<= 1;
+            }
+            int low = index + 1;
+            int high = Math.min(bound, size) - 1;
+            while(low <= high)
+            {
+                int mid = (low + high) >>> 1;
+                if(epochNanosAt(mid) <= eventEpochNanos)
+                {
+                    index = mid;
+                    low = mid + 1;
+                }
+                else
+                {
+                    high = mid - 1;
+                }
+            }
+            floors.add(entryAtOrNull(index));
+        }
+        return floors;
+    }
+
+    private TimeSeries.Entry<E> entryAtOrNull(int index)
+    {
+        return index >= 0 && index < size() ? entryAt(index) : null;
+    }
+
+    @Override
+    public Iterator<TimeSeries.Entry<E>> iterator()
+    {
+        return entriesView.iterator();
+    }
+
+    @Override
+    public Iterator<TimeSeries.Entry<E>> descendingIterator()
+    {
+        return entriesView.descendingIterator();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "TimeSeries:" + entriesView;
+    }
+
+    private int floorIndex(long epochNanos, boolean inclusive)
+    {
+        int index = indexOf(epochNanos);
+        if(index >= 0)
+        {
+            return inclusive ? index : index - 1;
+        }
+        return -index - 2;
+    }
+
+    private int ceilingIndex(long epochNanos, boolean inclusive)
+    {
+        int index = indexOf(epochNanos);
+        if(index >= 0)
+        {
+            return inclusive ? index : index + 1;
+        }
+        return -index - 1;
+    }
+
+    /*
+     * Points are stored as epoch nanos, so an instant outside that range is simply not there.
+     */
+    private int indexOf(Instant eventInstant)
+    {
+        long eventEpochNanos;
+        try
+        {
+            eventEpochNanos = TimeSeriesUtils.toEpochNanos(eventInstant);
+        }
+        catch(ArithmeticException e)
+        {
+            return -1;
+        }
+        return indexOf(eventEpochNanos);
+    }
+
+    private static long saturatedEpochNanos(Instant eventInstant)
+    {
+        try
+        {
+            return TimeSeriesUtils.toEpochNanos(eventInstant);
+        }
+        catch(ArithmeticException e)
+        {
+            return eventInstant.getEpochSecond() < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    private final class IndexedEntrySource implements EntryRangeSource<E>
+    {
+        @Override
+        public TimeSeries.Entry<E> lowerEntry(Instant eventInstant, boolean inclusive)
+        {
+            int index = Objects.isNull(eventInstant) ? AbstractIndexedTimeSeries.this.size() - 1 : floorIndex(saturatedEpochNanos(eventInstant), inclusive);
+            return index >= 0 ? entryAt(index) : null;
+        }
+
+        @Override
+        public TimeSeries.Entry<E> higherEntry(Instant eventInstant, boolean inclusive)
+        {
+            int index = Objects.isNull(eventInstant) ? 0 : ceilingIndex(saturatedEpochNanos(eventInstant), inclusive);
+            return index < AbstractIndexedTimeSeries.this.size() ? entryAt(index) : null;
+        }
+
+        @Override
+        public Iterator<TimeSeries.Entry<E>> iterator(Instant fromEventInstant, boolean fromInclusive, Instant toEventInstant, boolean toInclusive, boolean descending)
+        {
+            return AbstractIndexedTimeSeries.this.iterator(fromIndex(fromEventInstant, fromInclusive), toIndex(toEventInstant, toInclusive), descending);
+        }
+
+        @Override
+        public int size(Instant fromEventInstant, boolean fromInclusive, Instant toEventInstant, boolean toInclusive)
+        {
+            return Math.max(0, toIndex(toEventInstant, toInclusive) - fromIndex(fromEventInstant, fromInclusive));
+        }
+
+        @Override
+        public Spliterator<TimeSeries.Entry<E>> spliterator(Instant fromEventInstant, boolean fromInclusive, Instant toEventInstant, boolean toInclusive)
+        {
+            int fromIndex = fromIndex(fromEventInstant, fromInclusive);
+            return new IndexSpliterator(fromIndex, Math.max(fromIndex, toIndex(toEventInstant, toInclusive)));
+        }
+
+        private int fromIndex(Instant fromEventInstant, boolean fromInclusive)
+        {
+            return Objects.isNull(fromEventInstant) ? 0 : ceilingIndex(saturatedEpochNanos(fromEventInstant), fromInclusive);
+        }
+
+        private int toIndex(Instant toEventInstant, boolean toInclusive)
+        {
+            return Objects.isNull(toEventInstant) ? AbstractIndexedTimeSeries.this.size() : floorIndex(saturatedEpochNanos(toEventInstant), toInclusive) + 1;
+        }
+    }
+
+    /*
+     * Splits the index range in halves, so every piece knows its exact size. Traversing a whole
+     * piece goes through iterator(int, int, boolean) which stores may serve faster than entryAt().
+     */
+    private final class IndexSpliterator implements Spliterator<TimeSeries.Entry<E>>
+    {
+        private int index;
+        private final int fence;
+
+        private IndexSpliterator(int index, int fence)
+        {
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public Spliterator<TimeSeries.Entry<E>> trySplit()
+        {
+            int mid = (index + fence) >>> 1;
+            if(mid <= index)
+            {
+                return null;
+            }
+            IndexSpliterator prefix = new IndexSpliterator(index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super TimeSeries.Entry<E>> action)
+        {
+            if(index >= fence)
+            {
+                return false;
+            }
+            action.accept(entryAt(index++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super TimeSeries.Entry<E>> action)
+        {
+            if(index < fence)
+            {
+                Iterator<TimeSeries.Entry<E>> entryIterator = iterator(index, fence, false);
+                index = fence;
+                entryIterator.forEachRemaining(action);
+            }
+        }
+
+        @Override
+        public long estimateSize()
+        {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics()
+        {
+            return Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED | Spliterator.SORTED | Spliterator.NONNULL;
+        }
+
+        @Override
+        public Comparator<? super TimeSeries.Entry<E>> getComparator()
+        {
+            return null;
+        }
+    }
+}
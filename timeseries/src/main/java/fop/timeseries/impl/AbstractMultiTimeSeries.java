@@ -1,13 +1,16 @@
 package fop.timeseries.impl;
 
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.Collection;
+import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.TreeSet;
 import java.util.function.Supplier;
 
 import fop.timeseries.MultiTimeSeries;
 import fop.timeseries.TimeSeries;
+import fop.timeseries.util.TimeSeriesUtils;
 
 public abstract class AbstractMultiTimeSeries<E, C extends Collection<E>> extends AbstractTimeSeries<C> implements MultiTimeSeries<E, C>
 {
@@ -26,6 +29,12 @@ public abstract class AbstractMultiTimeSeries<E, C extends Collection<E>> extend
         this.entryCollectionFactory = entryCollectionFactory;
     }
 
+    protected AbstractMultiTimeSeries(NavigableMap<Instant, TimeSeries.Entry<C>> timeSeriesStore, Supplier<C> entryCollectionFactory)
+    {
+        super(timeSeriesStore);
+        this.entryCollectionFactory = entryCollectionFactory;
+    }
+
     public AbstractMultiTimeSeries(TimeSeries<C> timeSeries, Supplier<C> entryCollectionFactory)
     {
         super(timeSeries);
@@ -34,18 +43,15 @@ public abstract class AbstractMultiTimeSeries<E, C extends Collection<E>> extend
 
     public AbstractMultiTimeSeries(Collection<Entry<C>> entries, Supplier<C> entryCollectionFactory)
     {
+        super(TimeSeriesUtils.sortedMergedEntries(entries, entryCollectionFactory));
         this.entryCollectionFactory = entryCollectionFactory;
-        entries.forEach(e->{
-            ZonedDateTime eventDateTime = e.getEventDateTime();
-            C eventCollection = e.getEvent();
-            eventCollection.forEach(v->addEvent(eventDateTime, v));
-        });
     }
     
     @Override
     public boolean contains(ZonedDateTime eventDateTime, E event) 
     {
-        return contains(eventDateTime) && Objects.nonNull(get(eventDateTime)) && get(eventDateTime).contains(event);
+        C eventCollection = get(eventDateTime);
+        return Objects.nonNull(eventCollection) && eventCollection.contains(event);
     }
     
     @Override
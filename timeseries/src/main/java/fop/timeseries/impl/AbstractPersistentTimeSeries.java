@@ -0,0 +1,86 @@
+package fop.timeseries.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import fop.timeseries.TimeSeries;
+import fop.timeseries.util.TimeSeriesConstants;
+import fop.timeseries.util.TimeSeriesUtils;
+
+/*
+ * Read side of the immutable time series. Each instance wraps one version of a persistent tree,
+ * deriving a new version shares all untouched nodes with this one.
+ */
+public abstract class AbstractPersistentTimeSeries<E> extends AbstractIndexedTimeSeries<E>
+{
+    final PersistentEntryTree<E> entryTree;
+
+    AbstractPersistentTimeSeries(PersistentEntryTree<E> entryTree)
+    {
+        super(TimeSeriesConstants.UTC);
+        this.entryTree = entryTree;
+    }
+
+    static <E> PersistentEntryTree<E> put(PersistentEntryTree<E> entryTree, TimeSeries.Entry<E> entry)
+    {
+        return entryTree.put(TimeSeriesUtils.toEpochNanos(entry), entry);
+    }
+
+    static <E> PersistentEntryTree<E> fromEntries(Collection<? extends TimeSeries.Entry<E>> entries)
+    {
+        return fromSortedUniqueEntries(TimeSeriesUtils.sortedUniqueEntries(entries));
+    }
+
+    /*
+     * Single pass over entries that are already in ascending order without duplicate instants,
+     * such as the entries of another series.
+     */
+    static <E> PersistentEntryTree<E> fromSortedUniqueEntries(Collection<? extends TimeSeries.Entry<E>> entries)
+    {
+        List<TimeSeries.Entry<E>> values = new ArrayList<>(entries);
+        long[] keys = new long[values.size()];
+        for(int i = 0; i < keys.length; i++)
+        {
+            keys[i] = TimeSeriesUtils.toEpochNanos(values.get(i));
+        }
+        return PersistentEntryTree.fromSorted(keys, values);
+    }
+
+    @Override
+    public int size()
+    {
+        return entryTree.size();
+    }
+
+    @Override
+    protected long epochNanosAt(int index)
+    {
+        return entryTree.keyAt(index);
+    }
+
+    @Override
+    protected E eventAt(int index)
+    {
+        return entryTree.entryAt(index).getEvent();
+    }
+
+    @Override
+    protected TimeSeries.Entry<E> entryAt(int index)
+    {
+        return entryTree.entryAt(index);
+    }
+
+    @Override
+    protected int indexOf(long epochNanos)
+    {
+        return entryTree.indexOf(epochNanos);
+    }
+
+    @Override
+    protected Iterator<TimeSeries.Entry<E>> iterator(int fromIndex, int toIndex, boolean descending)
+    {
+        return entryTree.iterator(fromIndex, toIndex, descending);
+    }
+}
@@ -0,0 +1,238 @@
+package fop.timeseries.impl;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import fop.timeseries.util.TimeSeriesUtils;
+
+/*
+ * Base for series of primitive values held as two parallel columns: sorted epoch nanos in a long[]
+ * here and the values in a primitive array of the subclass. This class owns the timestamp column,
+ * search, insert and remove, and moves the value column along through resizeValues and moveValues,
+ * so a subclass only stores, reads and aggregates its values. In order appends are amortized O(1),
+ * a late point is binary searched and shifted into place.
+ */
+public abstract class AbstractPrimitiveTimeSeries
+{
+    protected final ZoneId zone;
+    protected long[] epochNanos;
+    protected int size;
+    private final IngestStatistics ingestStatistics;
+
+    protected AbstractPrimitiveTimeSeries(ZoneId zone, int initialCapacity)
+    {
+        if(initialCapacity < 0)
+        {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        this.zone = Objects.requireNonNull(zone);
+        this.ingestStatistics = new IngestStatistics();
+        this.epochNanos = new long[initialCapacity];
+    }
+
+    protected abstract void resizeValues(int capacity);
+
+    /*
+     * Same as System.arraycopy within the value column.
+     */
+    protected abstract void moveValues(int fromIndex, int toIndex, int length);
+
+    /*
+     * Makes room for a point at epochNanos and returns the index its value goes to, which is the
+     * existing index when there already is a point at that time.
+     */
+    protected final int slotFor(long epochNanos)
+    {
+        if(size == 0 || epochNanos > this.epochNanos[size - 1])
+        {
+            ensureCapacity(size + 1);
+            this.epochNanos[size] = epochNanos;
+            ingestStatistics.fastPath();
+            return size++;
+        }
+
+        ingestStatistics.slowPath();
+
+        int index = indexOf(epochNanos);
+        if(index >= 0)
+        {
+            return index;
+        }
+
+        index = -index - 1;
+        ensureCapacity(size + 1);
+        System.arraycopy(this.epochNanos, index, this.epochNanos, index + 1, size - index);
+        moveValues(index, index + 1, size - index);
+        this.epochNanos[index] = epochNanos;
+        size++;
+        return index;
+    }
+
+    /*
+     * Index of the latest point at or before sortedEpochNanos[query], or -1 where there is none.
+     * Gallops forward from the answer to the previous query, so a whole batch is one forward pass.
+     */
+    protected final int floorIndex(long[] sortedEpochNanos, int query, int previousIndex)
+    {
+        long queryEpochNanos = sortedEpochNanos[query];
+        if(query > 0 && queryEpochNanos < sortedEpochNanos[query - 1])
+        {
+            throw new IllegalArgumentException("Query times must be in ascending order: " + queryEpochNanos);
+        }
+        int index = previousIndex;
+        int bound = index + 1;
+        int step = 1;
+        while(bound < size && epochNanos[bound] <= queryEpochNanos)
+        {
+            index = bound;
+            bound = step < size - bound ? bound + step : size;
+            step <<= 1;
+        }
+        int insertion = Arrays.binarySearch(epochNanos, index + 1, Math.min(bound, size), queryEpochNanos);
+        return insertion >= 0 ? insertion : -insertion - 2;
+    }
+
+    public boolean remove(long epochNanos)
+    {
+        int index = indexOf(epochNanos);
+        if(index < 0)
+        {
+            return false;
+        }
+        int tail = size - index - 1;
+        System.arraycopy(this.epochNanos, index + 1, this.epochNanos, index, tail);
+        moveValues(index + 1, index, tail);
+        size--;
+        return true;
+    }
+
+    public boolean contains(long epochNanos)
+    {
+        return indexOf(epochNanos) >= 0;
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public long startEpochNanos()
+    {
+        if(size == 0)
+        {
+            throw new NoSuchElementException();
+        }
+        return epochNanos[0];
+    }
+
+    public long endEpochNanos()
+    {
+        if(size == 0)
+        {
+            throw new NoSuchElementException();
+        }
+        return epochNanos[size - 1];
+    }
+
+    public long epochNanosAt(int index)
+    {
+        Objects.checkIndex(index, size);
+        return epochNanos[index];
+    }
+
+    public int count(long fromEpochNanos, boolean fromInclusive, long toEpochNanos, boolean toInclusive)
+    {
+        return Math.max(0, toIndex(toEpochNanos, toInclusive) - fromIndex(fromEpochNanos, fromInclusive));
+    }
+
+    public IngestStatistics getIngestStatistics()
+    {
+        return ingestStatistics;
+    }
+
+    public ZoneId getZone()
+    {
+        return zone;
+    }
+
+    protected final int indexOf(long epochNanos)
+    {
+        return Arrays.binarySearch(this.epochNanos, 0, size, epochNanos);
+    }
+
+    protected final int fromIndex(long fromEpochNanos, boolean fromInclusive)
+    {
+        int index = indexOf(fromEpochNanos);
+        if(index >= 0)
+        {
+            return fromInclusive ? index : index + 1;
+        }
+        return -index - 1;
+    }
+
+    protected final int toIndex(long toEpochNanos, boolean toInclusive)
+    {
+        int index = indexOf(toEpochNanos);
+        if(index >= 0)
+        {
+            return toInclusive ? index + 1 : index;
+        }
+        return -index - 1;
+    }
+
+    private void ensureCapacity(int minCapacity)
+    {
+        if(minCapacity > epochNanos.length)
+        {
+            int newCapacity = Math.max(minCapacity, epochNanos.length + (epochNanos.length >> 1) + 1);
+            epochNanos = Arrays.copyOf(epochNanos, newCapacity);
+            resizeValues(newCapacity);
+        }
+    }
+
+    /*
+     * Boxed TimeSeries over the columns, a subclass only adds points and boxes values.
+     */
+    protected abstract class BoxedTimeSeriesView<V> extends AbstractIndexedTimeSeries<V>
+    {
+        protected BoxedTimeSeriesView()
+        {
+            super(AbstractPrimitiveTimeSeries.this.zone);
+        }
+
+        @Override
+        public V remove(ZonedDateTime eventDateTime)
+        {
+            long eventEpochNanos = TimeSeriesUtils.toEpochNanos(eventDateTime);
+            int index = AbstractPrimitiveTimeSeries.this.indexOf(eventEpochNanos);
+            if(index < 0)
+            {
+                return null;
+            }
+            V removed = eventAt(index);
+            AbstractPrimitiveTimeSeries.this.remove(eventEpochNanos);
+            return removed;
+        }
+
+        @Override
+        public int size()
+        {
+            return size;
+        }
+
+        @Override
+        protected long epochNanosAt(int index)
+        {
+            return epochNanos[index];
+        }
+
+        @Override
+        protected int indexOf(long epochNanos)
+        {
+            return AbstractPrimitiveTimeSeries.this.indexOf(epochNanos);
+        }
+    }
+}
@@ -1,13 +1,15 @@
 package fop.timeseries.impl;
 
 import java.time.Instant;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.NavigableMap;
 import java.util.NavigableSet;
+import java.util.Objects;
 import java.util.TreeMap;
-import java.util.TreeSet;
 
 import fop.timeseries.TimeSeries;
 import fop.timeseries.util.TimeSeriesUtils;
@@ -15,10 +17,18 @@ import fop.timeseries.util.TimeSeriesUtils;
 public abstract class AbstractTimeSeries<E> implements TimeSeries<E>
 {
     protected final NavigableMap<Instant, TimeSeries.Entry<E>> timeSeriesStore;
+    private final EntrySetView<E> entriesView;
 
     protected AbstractTimeSeries()
     {
         this.timeSeriesStore = new TreeMap<Instant, TimeSeries.Entry<E>>();
+        this.entriesView = EntrySetView.of(new NavigableMapEntrySource<>(timeSeriesStore));
+    }
+
+    protected AbstractTimeSeries(NavigableMap<Instant, TimeSeries.Entry<E>> timeSeriesStore)
+    {
+        this.timeSeriesStore = timeSeriesStore;
+        this.entriesView = EntrySetView.of(new NavigableMapEntrySource<>(timeSeriesStore));
     }
 
     protected AbstractTimeSeries(TimeSeries<E> timeSeries)
@@ -28,8 +38,8 @@ public abstract class AbstractTimeSeries<E> implements TimeSeries<E>
     
     protected AbstractTimeSeries(Collection<TimeSeries.Entry<E>> entries) 
     {
-        this.timeSeriesStore = new TreeMap<Instant, TimeSeries.Entry<E>>();
-        entries.forEach(e->addEntry(Instant.from(e.getEventDateTime()), e));
+        this.timeSeriesStore = new TreeMap<Instant, TimeSeries.Entry<E>>(new SortedEntryMap<>(TimeSeriesUtils.sortedUniqueEntries(entries)));
+        this.entriesView = EntrySetView.of(new NavigableMapEntrySource<>(timeSeriesStore));
     }
     
     protected void addEntry(Instant eventInstant, TimeSeries.Entry<E> entry)
@@ -39,14 +49,15 @@ public abstract class AbstractTimeSeries<E> implements TimeSeries<E>
 
     protected E removeEntry(Instant eventInstant)
     {
-        return timeSeriesStore.containsKey(eventInstant) ? timeSeriesStore.remove(eventInstant).getEvent() : null;
+        TimeSeries.Entry<E> removedEntry = timeSeriesStore.remove(eventInstant);
+        return Objects.nonNull(removedEntry) ? removedEntry.getEvent() : null;
     }
     
     @Override
     public E get(ZonedDateTime eventDateTime)
     {
-        Instant eventInstant = Instant.from(eventDateTime);
-        return timeSeriesStore.containsKey(eventInstant) ? timeSeriesStore.get(eventInstant).getEvent() : null;
+        TimeSeries.Entry<E> entry = timeSeriesStore.get(Instant.from(eventDateTime));
+        return Objects.nonNull(entry) ? entry.getEvent() : null;
     }
     
     @Override
@@ -55,36 +66,90 @@ public abstract class AbstractTimeSeries<E> implements TimeSeries<E>
         return timeSeriesStore.containsKey(Instant.from(eventDateTime));
     }
 
+    @Override
+    public E get(Instant eventInstant)
+    {
+        return valueOf(timeSeriesStore.get(eventInstant));
+    }
+
+    @Override
+    public E get(long eventEpochNanos)
+    {
+        return get(TimeSeriesUtils.toInstant(eventEpochNanos));
+    }
+
+    @Override
+    public boolean contains(Instant eventInstant)
+    {
+        return timeSeriesStore.containsKey(eventInstant);
+    }
+
+    @Override
+    public boolean contains(long eventEpochNanos)
+    {
+        return contains(TimeSeriesUtils.toInstant(eventEpochNanos));
+    }
+
     @Override
     public int size()
     {
         return timeSeriesStore.size();
     }
     
+    @Override
+    public boolean isEmpty()
+    {
+        return timeSeriesStore.isEmpty();
+    }
+    
+    @Override
+    public boolean isNotEmpty()
+    {
+        return !timeSeriesStore.isEmpty();
+    }
+    
     @Override
     public NavigableSet<TimeSeries.Entry<E>> getEntries()
     {
-        return isNotEmpty() ? new TreeSet<TimeSeries.Entry<E>>(timeSeriesStore.values()) : new TreeSet<TimeSeries.Entry<E>>();
+        return entriesView;
     }
     
     @Override
     public NavigableSet<TimeSeries.Entry<E>> getEntriesSubSet(ZonedDateTime fromEventDateTime, boolean fromInclusive, ZonedDateTime toEventDateTime,   boolean toInclusive) 
     {
-        return getEntries().subSet(TimeSeriesEntry.of(fromEventDateTime, null), fromInclusive, TimeSeriesEntry.of(toEventDateTime, null), toInclusive);
+        return entriesView.subSet(Instant.from(fromEventDateTime), fromInclusive, Instant.from(toEventDateTime), toInclusive);
     }
     
     @Override
     public NavigableSet<TimeSeries.Entry<E>> getEntriesHeadSet(ZonedDateTime toEventDateTime, boolean inclusive)
     {
-        return getEntries().headSet(TimeSeriesEntry.of(toEventDateTime, null), inclusive);
+        return entriesView.headSet(Instant.from(toEventDateTime), inclusive);
     }
     
     @Override
     public NavigableSet<TimeSeries.Entry<E>> getEntriesTailSet(ZonedDateTime fromEventDateTime, boolean inclusive)
     {
-        return getEntries().tailSet(TimeSeriesEntry.of(fromEventDateTime, null), inclusive);
+        return entriesView.tailSet(Instant.from(fromEventDateTime), inclusive);
     }
     
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesSubSet(Instant fromEventInstant, boolean fromInclusive, Instant toEventInstant, boolean toInclusive)
+    {
+        return entriesView.subSet(fromEventInstant, fromInclusive, toEventInstant, toInclusive);
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesHeadSet(Instant toEventInstant, boolean inclusive)
+    {
+        return entriesView.headSet(toEventInstant, inclusive);
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesTailSet(Instant fromEventInstant, boolean inclusive)
+    {
+        return entriesView.tailSet(fromEventInstant, inclusive);
+    }
+
     @Override
     public NavigableSet<TimeSeries.Entry<E>> getEntriesSubSet(ZonedDateTime fromEventDateTime, ZonedDateTime toEventDateTime)
     {
@@ -106,25 +171,61 @@ public abstract class AbstractTimeSeries<E> implements TimeSeries<E>
     @Override
     public NavigableSet<ZonedDateTime> eventDateTimes()
     {
-        return TimeSeriesUtils.extractTimeSeriesEventDateTimes(getEntries());
+        return new EventDateTimeSetView<>(entriesView);
     }
     
     @Override
     public Collection<E> events()
     {
-        return TimeSeriesUtils.extractTimeSeriesEvents(getEntries());
+        return new EventCollectionView<>(entriesView);
     }
 
     @Override
     public TimeSeries.Entry<E> start()
     {
-        return isNotEmpty() ? timeSeriesStore.get(timeSeriesStore.firstKey()) : null;
+        Map.Entry<Instant, TimeSeries.Entry<E>> first = timeSeriesStore.firstEntry();
+        return Objects.nonNull(first) ? first.getValue() : null;
     }
 
     @Override
     public TimeSeries.Entry<E> end()
     {
-        return isNotEmpty() ? timeSeriesStore.get(timeSeriesStore.lastKey()) : null;
+        Map.Entry<Instant, TimeSeries.Entry<E>> last = timeSeriesStore.lastEntry();
+        return Objects.nonNull(last) ? last.getValue() : null;
+    }
+
+    @Override
+    public TimeSeries.Entry<E> floor(ZonedDateTime eventDateTime)
+    {
+        return valueOf(timeSeriesStore.floorEntry(Instant.from(eventDateTime)));
+    }
+
+    @Override
+    public TimeSeries.Entry<E> lower(ZonedDateTime eventDateTime)
+    {
+        return valueOf(timeSeriesStore.lowerEntry(Instant.from(eventDateTime)));
+    }
+
+    @Override
+    public TimeSeries.Entry<E> ceiling(ZonedDateTime eventDateTime)
+    {
+        return valueOf(timeSeriesStore.ceilingEntry(Instant.from(eventDateTime)));
+    }
+
+    @Override
+    public TimeSeries.Entry<E> higher(ZonedDateTime eventDateTime)
+    {
+        return valueOf(timeSeriesStore.higherEntry(Instant.from(eventDateTime)));
+    }
+
+    private static <E> TimeSeries.Entry<E> valueOf(Map.Entry<Instant, TimeSeries.Entry<E>> storeEntry)
+    {
+        return Objects.nonNull(storeEntry) ? storeEntry.getValue() : null;
+    }
+
+    private static <E> E valueOf(TimeSeries.Entry<E> entry)
+    {
+        return Objects.nonNull(entry) ? entry.getEvent() : null;
     }
 
     @Override
@@ -145,21 +246,36 @@ public abstract class AbstractTimeSeries<E> implements TimeSeries<E>
         return "TimeSeries:" + getEntries();
     }
     
+    /*
+     * Keeps only the instant and the zone. A new ZonedDateTime is built on every getEventDateTime()
+     * and never stored, so scanning a series does not grow its entries; code that only needs the
+     * time reads it through eventInstantOf().
+     */
     public static class TimeSeriesEntry<E> implements TimeSeries.Entry<E>
     {
         private final Instant eventInstant;
-        private final ZonedDateTime eventDateTime;
+        private final ZoneId zone;
         private final E event;
 
         public static <E> TimeSeriesEntry<E> of(ZonedDateTime eventDateTime, E event) 
         {
             return new TimeSeriesEntry<>(eventDateTime, event);
         }
+
+        public static <E> TimeSeriesEntry<E> of(Instant eventInstant, ZoneId zone, E event)
+        {
+            return new TimeSeriesEntry<>(eventInstant, zone, event);
+        }
         
         TimeSeriesEntry(ZonedDateTime eventDateTime, E event)
         {
-            this.eventDateTime = eventDateTime;
-            this.eventInstant = Instant.from(eventDateTime);
+            this(eventDateTime.toInstant(), eventDateTime.getZone(), event);
+        }
+
+        TimeSeriesEntry(Instant eventInstant, ZoneId zone, E event)
+        {
+            this.eventInstant = Objects.requireNonNull(eventInstant);
+            this.zone = Objects.requireNonNull(zone);
             this.event = event;
         }
 
@@ -167,11 +283,16 @@ public abstract class AbstractTimeSeries<E> implements TimeSeries<E>
         {
             return eventInstant;
         }
+
+        public static Instant eventInstantOf(TimeSeries.Entry<?> entry)
+        {
+            return entry instanceof TimeSeriesEntry ? ((TimeSeriesEntry<?>)entry).getEventInstant() : Instant.from(entry.getEventDateTime());
+        }
         
         @Override
         public ZonedDateTime getEventDateTime()
         {
-            return eventDateTime;
+            return ZonedDateTime.ofInstant(eventInstant, zone);
         }
 
         @Override
@@ -183,7 +304,7 @@ public abstract class AbstractTimeSeries<E> implements TimeSeries<E>
         @Override
         public int compareTo(Entry<E> otherEntry)
         {
-            return this.eventInstant.compareTo(Instant.from(otherEntry.getEventDateTime()));
+            return this.eventInstant.compareTo(eventInstantOf(otherEntry));
         }
 
         @Override
@@ -227,7 +348,7 @@ public abstract class AbstractTimeSeries<E> implements TimeSeries<E>
         @Override
         public String toString()
         {
-            return "[eventDateTime=" + eventDateTime + ", event=" + event + "]";
+            return "[eventDateTime=" + getEventDateTime() + ", event=" + event + "]";
         }
     }
 
@@ -0,0 +1,443 @@
+package fop.timeseries.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import fop.timeseries.io.BitInput;
+import fop.timeseries.io.BitOutput;
+import fop.timeseries.io.TimestampDecoder;
+import fop.timeseries.io.TimestampEncoder;
+import fop.timeseries.io.ValueCodec;
+import fop.timeseries.util.TimeSeriesConstants;
+import fop.timeseries.util.TimeSeriesUtils;
+
+/*
+ * Time series for long lived histories where only the most recent points are hot. New points go to
+ * an uncompressed head chunk, once it holds chunkCapacity points it is sealed into an immutable
+ * block of delta-of-delta timestamps and values compressed by the ValueCodec. Blocks are found by
+ * binary search over their time ranges and decoded on demand, the last decoded block is kept for
+ * sequential scans and up to cacheCapacity more in an LRU cache.
+ *
+ * A point landing inside a sealed range decodes, updates and re-seals that one block, so late
+ * writes stay correct but are slow. Reads update the cache, so even they need external
+ * synchronization.
+ */
+public class ChunkedTimeSeries<E> extends AbstractIndexedTimeSeries<E>
+{
+    public static final int DEFAULT_CHUNK_CAPACITY = 1024;
+    public static final int DEFAULT_CACHE_CAPACITY = 8;
+
+    private static final int ENCODE_BUFFER_SIZE = 1 << 12;
+
+    private final ValueCodec<E> valueCodec;
+    private final int chunkCapacity;
+    private final List<Block> blocks;
+    private final Map<Block, DecodedBlock> cache;
+    private final ByteBuffer encodeBuffer;
+    private int sealedSize;
+    private Block lastBlock;
+    private DecodedBlock lastDecoded;
+    private long[] headEpochNanos;
+    private Object[] headEvents;
+    private int headSize;
+
+    public ChunkedTimeSeries(ValueCodec<E> valueCodec)
+    {
+        this(TimeSeriesConstants.UTC, valueCodec, DEFAULT_CHUNK_CAPACITY, DEFAULT_CACHE_CAPACITY);
+    }
+
+    public ChunkedTimeSeries(ZoneId zone, ValueCodec<E> valueCodec)
+    {
+        this(zone, valueCodec, DEFAULT_CHUNK_CAPACITY, DEFAULT_CACHE_CAPACITY);
+    }
+
+    public ChunkedTimeSeries(ZoneId zone, ValueCodec<E> valueCodec, int chunkCapacity, int cacheCapacity)
+    {
+        super(zone);
+        if(chunkCapacity <= 0)
+        {
+            throw new IllegalArgumentException("Illegal chunk capacity: " + chunkCapacity);
+        }
+        if(cacheCapacity < 0)
+        {
+            throw new IllegalArgumentException("Illegal cache capacity: " + cacheCapacity);
+        }
+        this.valueCodec = Objects.requireNonNull(valueCodec);
+        this.chunkCapacity = chunkCapacity;
+        this.blocks = new ArrayList<>();
+        this.cache = cacheCapacity == 0 ? null : new LinkedHashMap<Block, DecodedBlock>(16, 0.75f, true)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Block, DecodedBlock> eldest)
+            {
+                return size() > cacheCapacity;
+            }
+        };
+        this.encodeBuffer = ByteBuffer.allocate(ENCODE_BUFFER_SIZE);
+        this.headEpochNanos = new long[chunkCapacity];
+        this.headEvents = new Object[chunkCapacity];
+    }
+
+    @Override
+    public void add(ZonedDateTime eventDateTime, E event)
+    {
+        add(TimeSeriesUtils.toEpochNanos(eventDateTime), event);
+    }
+
+    @Override
+    public void add(long eventEpochNanos, E event)
+    {
+        if(blocks.isEmpty() || eventEpochNanos > lastSealedEpochNanos())
+        {
+            addToHead(eventEpochNanos, event);
+            if(headSize == chunkCapacity)
+            {
+                seal();
+            }
+            return;
+        }
+
+        int blockIndex = Math.max(0, floorBlock(eventEpochNanos));
+        DecodedBlock decoded = decode(blocks.get(blockIndex));
+        int index = Arrays.binarySearch(decoded.epochNanos, eventEpochNanos);
+        if(index >= 0)
+        {
+            decoded.events[index] = event;
+        }
+        else
+        {
+            decoded = decoded.insert(-index - 1, eventEpochNanos, event);
+        }
+        replaceBlock(blockIndex, decoded);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E remove(ZonedDateTime eventDateTime)
+    {
+        int index = indexOf(TimeSeriesUtils.toEpochNanos(eventDateTime));
+        if(index < 0)
+        {
+            return null;
+        }
+
+        if(index >= sealedSize)
+        {
+            int headIndex = index - sealedSize;
+            E removed = (E)headEvents[headIndex];
+            int tail = headSize - headIndex - 1;
+            System.arraycopy(headEpochNanos, headIndex + 1, headEpochNanos, headIndex, tail);
+            System.arraycopy(headEvents, headIndex + 1, headEvents, headIndex, tail);
+            headEvents[--headSize] = null;
+            return removed;
+        }
+
+        int blockIndex = blockOfIndex(index);
+        DecodedBlock decoded = decode(blocks.get(blockIndex));
+        int blockOffset = index - blocks.get(blockIndex).start;
+        E removed = (E)decoded.events[blockOffset];
+        replaceBlock(blockIndex, decoded.remove(blockOffset));
+        return removed;
+    }
+
+    /*
+     * Seals the head chunk now regardless of how full it is.
+     */
+    public void seal()
+    {
+        if(headSize == 0)
+        {
+            return;
+        }
+        blocks.add(encode(sealedSize, new DecodedBlock(Arrays.copyOf(headEpochNanos, headSize), Arrays.copyOf(headEvents, headSize))));
+        sealedSize += headSize;
+        Arrays.fill(headEvents, 0, headSize, null);
+        headSize = 0;
+    }
+
+    @Override
+    public int size()
+    {
+        return sealedSize + headSize;
+    }
+
+    public int getBlockCount()
+    {
+        return blocks.size();
+    }
+
+    public long getSealedBytes()
+    {
+        long sealedBytes = 0;
+        for(Block block : blocks)
+        {
+            sealedBytes += block.data.length;
+        }
+        return sealedBytes;
+    }
+
+    @Override
+    protected long epochNanosAt(int index)
+    {
+        if(index >= sealedSize)
+        {
+            return headEpochNanos[index - sealedSize];
+        }
+        int blockIndex = blockOfIndex(index);
+        return decoded(blockIndex).epochNanos[index - blocks.get(blockIndex).start];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected E eventAt(int index)
+    {
+        if(index >= sealedSize)
+        {
+            return (E)headEvents[index - sealedSize];
+        }
+        int blockIndex = blockOfIndex(index);
+        return (E)decoded(blockIndex).events[index - blocks.get(blockIndex).start];
+    }
+
+    @Override
+    protected int indexOf(long epochNanos)
+    {
+        if(blocks.isEmpty() || epochNanos > lastSealedEpochNanos())
+        {
+            return offset(sealedSize, Arrays.binarySearch(headEpochNanos, 0, headSize, epochNanos));
+        }
+        int blockIndex = floorBlock(epochNanos);
+        if(blockIndex < 0)
+        {
+            return -1;
+        }
+        return offset(blocks.get(blockIndex).start, Arrays.binarySearch(decoded(blockIndex).epochNanos, epochNanos));
+    }
+
+    private static int offset(int start, int index)
+    {
+        return index >= 0 ? start + index : index - start;
+    }
+
+    private void addToHead(long eventEpochNanos, E event)
+    {
+        int index = Arrays.binarySearch(headEpochNanos, 0, headSize, eventEpochNanos);
+        if(index >= 0)
+        {
+            headEvents[index] = event;
+            return;
+        }
+        index = -index - 1;
+        System.arraycopy(headEpochNanos, index, headEpochNanos, index + 1, headSize - index);
+        System.arraycopy(headEvents, index, headEvents, index + 1, headSize - index);
+        headEpochNanos[index] = eventEpochNanos;
+        headEvents[index] = event;
+        headSize++;
+    }
+
+    private long lastSealedEpochNanos()
+    {
+        return blocks.get(blocks.size() - 1).lastEpochNanos;
+    }
+
+    /*
+     * Index of the last block starting at or before epochNanos, -1 if there is none.
+     */
+    private int floorBlock(long epochNanos)
+    {
+        int low = 0;
+        int high = blocks.size() - 1;
+        while(low <= high)
+        {
+            int mid = (low + high) >>> 1;
+            if(blocks.get(mid).firstEpochNanos <= epochNanos)
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    private int blockOfIndex(int index)
+    {
+        if(Objects.nonNull(lastBlock) && index >= lastBlock.start && index < lastBlock.start + lastBlock.count)
+        {
+            return lastBlock.position;
+        }
+        int low = 0;
+        int high = blocks.size() - 1;
+        while(low <= high)
+        {
+            int mid = (low + high) >>> 1;
+            if(blocks.get(mid).start <= index)
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    private void replaceBlock(int blockIndex, DecodedBlock decoded)
+    {
+        Block previous = blocks.get(blockIndex);
+        if(Objects.nonNull(cache))
+        {
+            cache.remove(previous);
+        }
+        if(previous == lastBlock)
+        {
+            lastBlock = null;
+            lastDecoded = null;
+        }
+
+        int change = decoded.epochNanos.length - previous.count;
+        if(decoded.epochNanos.length == 0)
+        {
+            blocks.remove(blockIndex);
+        }
+        else
+        {
+            blocks.set(blockIndex, encode(previous.start, decoded));
+            blockIndex++;
+        }
+        for(int i = 0; i < blocks.size(); i++)
+        {
+            Block block = blocks.get(i);
+            block.position = i;
+            if(i >= blockIndex)
+            {
+                block.start += change;
+            }
+        }
+        sealedSize += change;
+    }
+
+    private DecodedBlock decoded(int blockIndex)
+    {
+        Block block = blocks.get(blockIndex);
+        if(block == lastBlock)
+        {
+            return lastDecoded;
+        }
+        DecodedBlock decoded = Objects.nonNull(cache) ? cache.get(block) : null;
+        if(Objects.isNull(decoded))
+        {
+            decoded = decode(block);
+            if(Objects.nonNull(cache))
+            {
+                cache.put(block, decoded);
+            }
+        }
+        lastBlock = block;
+        lastDecoded = decoded;
+        return decoded;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Block encode(int start, DecodedBlock decoded)
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        encodeBuffer.clear();
+        BitOutput output = new BitOutput(encodeBuffer, Channels.newChannel(bytes));
+        TimestampEncoder timestampEncoder = new TimestampEncoder();
+        ValueCodec.Encoder<E> encoder = valueCodec.newEncoder();
+        for(int i = 0; i < decoded.epochNanos.length; i++)
+        {
+            timestampEncoder.encode(decoded.epochNanos[i], output);
+            encoder.encode((E)decoded.events[i], output);
+        }
+        output.finish();
+        long[] epochNanos = decoded.epochNanos;
+        return new Block(start, blocks.size(), epochNanos.length, epochNanos[0], epochNanos[epochNanos.length - 1], bytes.toByteArray());
+    }
+
+    private DecodedBlock decode(Block block)
+    {
+        BitInput input = new BitInput(ByteBuffer.wrap(block.data));
+        TimestampDecoder timestampDecoder = new TimestampDecoder();
+        ValueCodec.Decoder<E> decoder = valueCodec.newDecoder();
+        long[] epochNanos = new long[block.count];
+        Object[] events = new Object[block.count];
+        for(int i = 0; i < block.count; i++)
+        {
+            epochNanos[i] = timestampDecoder.decode(input);
+            events[i] = decoder.decode(input);
+        }
+        return new DecodedBlock(epochNanos, events);
+    }
+
+    private static final class Block
+    {
+        private int start;
+        private int position;
+        private final int count;
+        private final long firstEpochNanos;
+        private final long lastEpochNanos;
+        private final byte[] data;
+
+        private Block(int start, int position, int count, long firstEpochNanos, long lastEpochNanos, byte[] data)
+        {
+            this.start = start;
+            this.position = position;
+            this.count = count;
+            this.firstEpochNanos = firstEpochNanos;
+            this.lastEpochNanos = lastEpochNanos;
+            this.data = data;
+        }
+    }
+
+    private static final class DecodedBlock
+    {
+        private final long[] epochNanos;
+        private final Object[] events;
+
+        private DecodedBlock(long[] epochNanos, Object[] events)
+        {
+            this.epochNanos = epochNanos;
+            this.events = events;
+        }
+
+        private DecodedBlock insert(int index, long eventEpochNanos, Object event)
+        {
+            long[] insertedEpochNanos = new long[epochNanos.length + 1];
+            Object[] insertedEvents = new Object[events.length + 1];
+            System.arraycopy(epochNanos, 0, insertedEpochNanos, 0, index);
+            System.arraycopy(events, 0, insertedEvents, 0, index);
+            insertedEpochNanos[index] = eventEpochNanos;
+            insertedEvents[index] = event;
+            System.arraycopy(epochNanos, index, insertedEpochNanos, index + 1, epochNanos.length - index);
+            System.arraycopy(events, index, insertedEvents, index + 1, events.length - index);
+            return new DecodedBlock(insertedEpochNanos, insertedEvents);
+        }
+
+        private DecodedBlock remove(int index)
+        {
+            long[] remainingEpochNanos = new long[epochNanos.length - 1];
+            Object[] remainingEvents = new Object[events.length - 1];
+            System.arraycopy(epochNanos, 0, remainingEpochNanos, 0, index);
+            System.arraycopy(events, 0, remainingEvents, 0, index);
+            System.arraycopy(epochNanos, index + 1, remainingEpochNanos, index, epochNanos.length - index - 1);
+            System.arraycopy(events, index + 1, remainingEvents, index, events.length - index - 1);
+            return new DecodedBlock(remainingEpochNanos, remainingEvents);
+        }
+    }
+}
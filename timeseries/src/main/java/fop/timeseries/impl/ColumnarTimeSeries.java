@@ -0,0 +1,259 @@
+package fop.timeseries.impl;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Objects;
+
+import fop.timeseries.TimeSeries;
+import fop.timeseries.util.TimeSeriesConstants;
+import fop.timeseries.util.TimeSeriesUtils;
+
+/*
+ * Time series stored as two parallel columns: sorted epoch nanos in a long[] and the events in an
+ * Object[]. Lookups are binary searches and in order appends are amortized O(1). Points that arrive
+ * at or before the current end are parked in a small sorted reorder buffer which is merged into the
+ * columns in one linear pass on the next read, or once it fills up. Entries handed out carry the
+ * zone of the series rather than the zone each point was added with.
+ *
+ * That merge rewrites the columns from inside size(), lookups and iteration, so even reads need
+ * external synchronization once a late point may be buffered.
+ */
+public class ColumnarTimeSeries<E> extends AbstractIndexedTimeSeries<E>
+{
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int REORDER_BUFFER_CAPACITY = 256;
+
+    private long[] epochNanos;
+    private Object[] events;
+    private int size;
+    private long[] reorderEpochNanos;
+    private Object[] reorderEvents;
+    private int reorderSize;
+    private final IngestStatistics ingestStatistics;
+
+    public ColumnarTimeSeries()
+    {
+        this(TimeSeriesConstants.UTC, DEFAULT_CAPACITY);
+    }
+
+    public ColumnarTimeSeries(int initialCapacity)
+    {
+        this(TimeSeriesConstants.UTC, initialCapacity);
+    }
+
+    public ColumnarTimeSeries(ZoneId zone)
+    {
+        this(zone, DEFAULT_CAPACITY);
+    }
+
+    public ColumnarTimeSeries(ZoneId zone, int initialCapacity)
+    {
+        super(zone);
+        if(initialCapacity < 0)
+        {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        this.epochNanos = new long[initialCapacity];
+        this.events = new Object[initialCapacity];
+        this.ingestStatistics = new IngestStatistics();
+    }
+
+    public ColumnarTimeSeries(TimeSeries<E> timeSeries)
+    {
+        this(zoneOf(timeSeries), timeSeries.size());
+        timeSeries.forEach(e->add(e.getEventDateTime(), e.getEvent()));
+    }
+
+    private ColumnarTimeSeries(ColumnarTimeSeries<E> timeSeries)
+    {
+        this(timeSeries.zone, 0);
+        timeSeries.mergeReorderBuffer();
+        this.epochNanos = Arrays.copyOf(timeSeries.epochNanos, timeSeries.size);
+        this.events = Arrays.copyOf(timeSeries.events, timeSeries.size);
+        this.size = timeSeries.size;
+    }
+
+    private static ZoneId zoneOf(TimeSeries<?> timeSeries)
+    {
+        if(timeSeries instanceof AbstractIndexedTimeSeries)
+        {
+            return ((AbstractIndexedTimeSeries<?>)timeSeries).getZone();
+        }
+        return timeSeries.isNotEmpty() ? timeSeries.start().getEventDateTime().getZone() : TimeSeriesConstants.UTC;
+    }
+
+    @Override
+    public ColumnarTimeSeries<E> clone()
+    {
+        return new ColumnarTimeSeries<>(this);
+    }
+
+    @Override
+    public void add(ZonedDateTime eventDateTime, E event)
+    {
+        add(TimeSeriesUtils.toEpochNanos(eventDateTime), event);
+    }
+
+    @Override
+    public void add(long eventEpochNanos, E event)
+    {
+        if(size == 0 || eventEpochNanos > epochNanos[size - 1])
+        {
+            append(eventEpochNanos, event);
+            ingestStatistics.fastPath();
+            return;
+        }
+
+        ingestStatistics.slowPath();
+        if(reorderSize == REORDER_BUFFER_CAPACITY)
+        {
+            mergeReorderBuffer();
+        }
+        bufferOutOfOrder(eventEpochNanos, event);
+    }
+
+    @Override
+    public E remove(ZonedDateTime eventDateTime)
+    {
+        mergeReorderBuffer();
+        int index = indexOf(TimeSeriesUtils.toEpochNanos(eventDateTime));
+        if(index < 0)
+        {
+            return null;
+        }
+
+        E removed = eventAt(index);
+        int tail = size - index - 1;
+        System.arraycopy(epochNanos, index + 1, epochNanos, index, tail);
+        System.arraycopy(events, index + 1, events, index, tail);
+        events[--size] = null;
+        return removed;
+    }
+
+    @Override
+    public int size()
+    {
+        mergeReorderBuffer();
+        return size;
+    }
+
+    public IngestStatistics getIngestStatistics()
+    {
+        return ingestStatistics;
+    }
+
+    @Override
+    protected long epochNanosAt(int index)
+    {
+        mergeReorderBuffer();
+        return epochNanos[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected E eventAt(int index)
+    {
+        mergeReorderBuffer();
+        return (E)events[index];
+    }
+
+    @Override
+    protected int indexOf(long epochNanos)
+    {
+        mergeReorderBuffer();
+        return Arrays.binarySearch(this.epochNanos, 0, size, epochNanos);
+    }
+
+    private void append(long eventEpochNanos, E event)
+    {
+        ensureCapacity(size + 1);
+        epochNanos[size] = eventEpochNanos;
+        events[size] = event;
+        size++;
+    }
+
+    private void bufferOutOfOrder(long eventEpochNanos, E event)
+    {
+        if(Objects.isNull(reorderEpochNanos))
+        {
+            reorderEpochNanos = new long[REORDER_BUFFER_CAPACITY];
+            reorderEvents = new Object[REORDER_BUFFER_CAPACITY];
+        }
+        int index = Arrays.binarySearch(reorderEpochNanos, 0, reorderSize, eventEpochNanos);
+        if(index >= 0)
+        {
+            reorderEvents[index] = event;
+            return;
+        }
+        index = -index - 1;
+        System.arraycopy(reorderEpochNanos, index, reorderEpochNanos, index + 1, reorderSize - index);
+        System.arraycopy(reorderEvents, index, reorderEvents, index + 1, reorderSize - index);
+        reorderEpochNanos[index] = eventEpochNanos;
+        reorderEvents[index] = event;
+        reorderSize++;
+    }
+
+    /*
+     * Merges from the back so the columns can be reused in place. Every buffered point is at or
+     * before the current end and newer than any column point with the same timestamp, so on a tie
+     * the buffered event wins and the column slot is dropped.
+     */
+    private void mergeReorderBuffer()
+    {
+        if(reorderSize == 0)
+        {
+            return;
+        }
+
+        ensureCapacity(size + reorderSize);
+        int target = size + reorderSize;
+        int i = size - 1;
+        int j = reorderSize - 1;
+        while(j >= 0)
+        {
+            target--;
+            if(i >= 0 && epochNanos[i] > reorderEpochNanos[j])
+            {
+                epochNanos[target] = epochNanos[i];
+                events[target] = events[i];
+                i--;
+            }
+            else
+            {
+                if(i >= 0 && epochNanos[i] == reorderEpochNanos[j])
+                {
+                    i--;
+                }
+                epochNanos[target] = reorderEpochNanos[j];
+                events[target] = reorderEvents[j];
+                j--;
+            }
+        }
+
+        int merged = size + reorderSize;
+        int gap = target - (i + 1);
+        if(gap > 0)
+        {
+            System.arraycopy(epochNanos, target, epochNanos, i + 1, merged - target);
+            System.arraycopy(events, target, events, i + 1, merged - target);
+            merged -= gap;
+            Arrays.fill(events, merged, merged + gap, null);
+        }
+
+        size = merged;
+        Arrays.fill(reorderEvents, 0, reorderSize, null);
+        reorderSize = 0;
+        ingestStatistics.reorderBufferMerged();
+    }
+
+    private void ensureCapacity(int minCapacity)
+    {
+        if(minCapacity > epochNanos.length)
+        {
+            int newCapacity = Math.max(minCapacity, epochNanos.length + (epochNanos.length >> 1) + 1);
+            epochNanos = Arrays.copyOf(epochNanos, newCapacity);
+            events = Arrays.copyOf(events, newCapacity);
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package fop.timeseries.impl;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import fop.timeseries.MultiTimeSeries;
+import fop.timeseries.util.TimeSeriesConstants;
+import fop.timeseries.util.TimeSeriesUtils;
+
+/*
+ * Multi time series in a compressed sparse row layout: the distinct instants in a sorted long[],
+ * every event of every instant in one flat Object[] in time order, and an int[] of offsets where
+ * the events of instant i are events[offsets[i]] until events[offsets[i + 1]]. There is no per
+ * instant node, map entry or collection, so a bucket of one to three events costs only its slots.
+ * Events at one instant keep their arrival order and duplicates, like a List factory would.
+ *
+ * Events for the newest instant, or for a newer one, are appended in amortized O(1). Late events
+ * are parked in a small sorted reorder buffer and merged into the columns in one linear pass on
+ * the next read, or once it fills up. Buckets handed out are unmodifiable copies of their slots.
+ *
+ * That merge rewrites the columns from inside size(), lookups and iteration, so even reads need
+ * external synchronization once a late event may be buffered.
+ */
+public class CompactMultiTimeSeries<E> extends AbstractIndexedTimeSeries<List<E>> implements MultiTimeSeries<E, List<E>>
+{
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int REORDER_BUFFER_CAPACITY = 256;
+    private static final Object[] EMPTY_BUCKET = {};
+
+    private long[] epochNanos;
+    private int[] offsets;
+    private int instantCount;
+    private Object[] events;
+    private int eventCount;
+    private long[] reorderEpochNanos;
+    private Object[] reorderEvents;
+    private int reorderSize;
+
+    public CompactMultiTimeSeries()
+    {
+        this(TimeSeriesConstants.UTC, DEFAULT_CAPACITY);
+    }
+
+    public CompactMultiTimeSeries(ZoneId zone)
+    {
+        this(zone, DEFAULT_CAPACITY);
+    }
+
+    /*
+     * initialCapacity is in events, the instant columns start at the same capacity.
+     */
+    public CompactMultiTimeSeries(ZoneId zone, int initialCapacity)
+    {
+        super(zone);
+        if(initialCapacity < 0)
+        {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        this.epochNanos = new long[initialCapacity];
+        this.offsets = new int[initialCapacity + 1];
+        this.events = new Object[initialCapacity];
+    }
+
+    @Override
+    public void addEvent(ZonedDateTime eventDateTime, E event)
+    {
+        addEvent(TimeSeriesUtils.toEpochNanos(eventDateTime), event);
+    }
+
+    public void addEvent(long eventEpochNanos, E event)
+    {
+        if(instantCount == 0 || eventEpochNanos > epochNanos[instantCount - 1])
+        {
+            ensureInstantCapacity(instantCount + 1);
+            epochNanos[instantCount] = eventEpochNanos;
+            offsets[instantCount + 1] = eventCount;
+            instantCount++;
+        }
+        else if(eventEpochNanos < epochNanos[instantCount - 1])
+        {
+            if(reorderSize == REORDER_BUFFER_CAPACITY)
+            {
+                mergeReorderBuffer();
+            }
+            bufferOutOfOrder(eventEpochNanos, event);
+            return;
+        }
+        ensureEventCapacity(eventCount + 1);
+        events[eventCount++] = event;
+        offsets[instantCount]++;
+    }
+
+    /*
+     * Replaces every event at eventDateTime with the given ones.
+     */
+    @Override
+    public void add(ZonedDateTime eventDateTime, List<E> events)
+    {
+        mergeReorderBuffer();
+        Object[] bucket = events.toArray();
+        int index = indexOf(TimeSeriesUtils.toEpochNanos(eventDateTime));
+        if(index < 0)
+        {
+            index = -index - 1;
+            insertInstant(index, TimeSeriesUtils.toEpochNanos(eventDateTime));
+        }
+        replaceBucket(index, bucket);
+    }
+
+    @Override
+    public List<E> remove(ZonedDateTime eventDateTime)
+    {
+        int index = indexOf(TimeSeriesUtils.toEpochNanos(eventDateTime));
+        if(index < 0)
+        {
+            return null;
+        }
+        List<E> removed = eventAt(index);
+        replaceBucket(index, EMPTY_BUCKET);
+        System.arraycopy(epochNanos, index + 1, epochNanos, index, instantCount - index - 1);
+        System.arraycopy(offsets, index + 2, offsets, index + 1, instantCount - index - 1);
+        instantCount--;
+        return removed;
+    }
+
+    @Override
+    public boolean contains(ZonedDateTime eventDateTime, E event)
+    {
+        int index = indexOf(TimeSeriesUtils.toEpochNanos(eventDateTime));
+        return index >= 0 && indexOfEvent(index, event) >= 0;
+    }
+
+    /*
+     * Removes the first occurrence of event at eventDateTime, the instant stays even once it has no
+     * events left.
+     */
+    @Override
+    public boolean remove(ZonedDateTime eventDateTime, E event)
+    {
+        int index = indexOf(TimeSeriesUtils.toEpochNanos(eventDateTime));
+        int eventIndex = index >= 0 ? indexOfEvent(index, event) : -1;
+        if(eventIndex < 0)
+        {
+            return false;
+        }
+        System.arraycopy(events, eventIndex + 1, events, eventIndex, eventCount - eventIndex - 1);
+        events[--eventCount] = null;
+        for(int i = index + 1; i <= instantCount; i++)
+        {
+            offsets[i]--;
+        }
+        return true;
+    }
+
+    @Override
+    public int size()
+    {
+        mergeReorderBuffer();
+        return instantCount;
+    }
+
+    public int getEventCount()
+    {
+        return eventCount + reorderSize;
+    }
+
+    @Override
+    protected long epochNanosAt(int index)
+    {
+        mergeReorderBuffer();
+        return epochNanos[index];
+    }
+
+    @Override
+    protected List<E> eventAt(int index)
+    {
+        mergeReorderBuffer();
+        return new Bucket<>(Arrays.copyOfRange(events, offsets[index], offsets[index + 1]));
+    }
+
+    @Override
+    protected int indexOf(long epochNanos)
+    {
+        mergeReorderBuffer();
+        return Arrays.binarySearch(this.epochNanos, 0, instantCount, epochNanos);
+    }
+
+    private int indexOfEvent(int index, E event)
+    {
+        for(int i = offsets[index]; i < offsets[index + 1]; i++)
+        {
+            if(Objects.equals(events[i], event))
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void insertInstant(int index, long eventEpochNanos)
+    {
+        ensureInstantCapacity(instantCount + 1);
+        System.arraycopy(epochNanos, index, epochNanos, index + 1, instantCount - index);
+        System.arraycopy(offsets, index + 1, offsets, index + 2, instantCount - index);
+        epochNanos[index] = eventEpochNanos;
+        offsets[index + 1] = offsets[index];
+        instantCount++;
+    }
+
+    private void replaceBucket(int index, Object[] bucket)
+    {
+        int from = offsets[index];
+        int to = offsets[index + 1];
+        int delta = bucket.length - (to - from);
+        ensureEventCapacity(eventCount + delta);
+        System.arraycopy(events, to, events, to + delta, eventCount - to);
+        System.arraycopy(bucket, 0, events, from, bucket.length);
+        if(delta < 0)
+        {
+            Arrays.fill(events, eventCount + delta, eventCount, null);
+        }
+        eventCount += delta;
+        for(int i = index + 1; i <= instantCount; i++)
+        {
+            offsets[i] += delta;
+        }
+    }
+
+    /*
+     * Keeps arrival order among events with the same timestamp by inserting after them.
+     */
+    private void bufferOutOfOrder(long eventEpochNanos, E event)
+    {
+        if(Objects.isNull(reorderEpochNanos))
+        {
+            reorderEpochNanos = new long[REORDER_BUFFER_CAPACITY];
+            reorderEvents = new Object[REORDER_BUFFER_CAPACITY];
+        }
+        int low = 0;
+        int high = reorderSize;
+        while(low < high)
+        {
+            int mid = (low + high) >>> 1;
+            if(reorderEpochNanos[mid] <= eventEpochNanos)
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid;
+            }
+        }
+        System.arraycopy(reorderEpochNanos, low, reorderEpochNanos, low + 1, reorderSize - low);
+        System.arraycopy(reorderEvents, low, reorderEvents, low + 1, reorderSize - low);
+        reorderEpochNanos[low] = eventEpochNanos;
+        reorderEvents[low] = event;
+        reorderSize++;
+    }
+
+    /*
+     * Merges from the back so the columns can be reused in place. The targets of instant i and of
+     * event e never fall behind i and e, so nothing is overwritten before it is read, and offsets
+     * up to the first untouched instant keep their values. Buffered events arrived after the
+     * events already at their instant, so on a tie they go behind them.
+     */
+    private void mergeReorderBuffer()
+    {
+        if(reorderSize == 0)
+        {
+            return;
+        }
+
+        int newInstants = 0;
+        for(int j = 0; j < reorderSize; j++)
+        {
+            boolean repeated = j > 0 && reorderEpochNanos[j] == reorderEpochNanos[j - 1];
+            if(!repeated && Arrays.binarySearch(epochNanos, 0, instantCount, reorderEpochNanos[j]) < 0)
+            {
+                newInstants++;
+            }
+        }
+        ensureInstantCapacity(instantCount + newInstants);
+        ensureEventCapacity(eventCount + reorderSize);
+
+        int k = instantCount - 1;
+        int e = eventCount - 1;
+        int j = reorderSize - 1;
+        int targetInstant = instantCount + newInstants - 1;
+        int targetEvent = eventCount + reorderSize - 1;
+        while(j >= 0)
+        {
+            long bufferedEpochNanos = reorderEpochNanos[j];
+            int bucketEnd = targetEvent;
+            if(k >= 0 && epochNanos[k] > bufferedEpochNanos)
+            {
+                int bucketStart = offsets[k];
+                while(e >= bucketStart)
+                {
+                    events[targetEvent--] = events[e--];
+                }
+                epochNanos[targetInstant] = epochNanos[k--];
+            }
+            else
+            {
+                while(j >= 0 && reorderEpochNanos[j] == bufferedEpochNanos)
+                {
+                    events[targetEvent--] = reorderEvents[j--];
+                }
+                if(k >= 0 && epochNanos[k] == bufferedEpochNanos)
+                {
+                    int bucketStart = offsets[k];
+                    while(e >= bucketStart)
+                    {
+                        events[targetEvent--] = events[e--];
+                    }
+                    k--;
+                }
+                epochNanos[targetInstant] = bufferedEpochNanos;
+            }
+            offsets[targetInstant + 1] = bucketEnd + 1;
+            targetInstant--;
+        }
+
+        instantCount += newInstants;
+        eventCount += reorderSize;
+        Arrays.fill(reorderEvents, 0, reorderSize, null);
+        reorderSize = 0;
+    }
+
+    private void ensureInstantCapacity(int minCapacity)
+    {
+        if(minCapacity > epochNanos.length)
+        {
+            int newCapacity = Math.max(minCapacity, epochNanos.length + (epochNanos.length >> 1) + 1);
+            epochNanos = Arrays.copyOf(epochNanos, newCapacity);
+            offsets = Arrays.copyOf(offsets, newCapacity + 1);
+        }
+    }
+
+    private void ensureEventCapacity(int minCapacity)
+    {
+        if(minCapacity > events.length)
+        {
+            events = Arrays.copyOf(events, Math.max(minCapacity, events.length + (events.length >> 1) + 1));
+        }
+    }
+
+    private static final class Bucket<E> extends AbstractList<E>
+    {
+        private final Object[] events;
+
+        private Bucket(Object[] events)
+        {
+            this.events = events;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public E get(int index)
+        {
+            return (E)events[index];
+        }
+
+        @Override
+        public int size()
+        {
+            return events.length;
+        }
+    }
+}
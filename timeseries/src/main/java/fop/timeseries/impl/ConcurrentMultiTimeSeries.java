@@ -0,0 +1,54 @@
+package fop.timeseries.impl;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Supplier;
+
+import fop.timeseries.TimeSeries;
+
+/*
+ * Thread safe multi time series on a ConcurrentSkipListMap. A bucket is created at most once per
+ * instant even when writers race on it, the bucket collections themselves have to be thread safe
+ * too so the default factory hands out ConcurrentSkipListSets.
+ */
+public class ConcurrentMultiTimeSeries<E, C extends Collection<E>> extends AbstractMultiTimeSeries<E, C>
+{
+    @SuppressWarnings("unchecked")
+    public ConcurrentMultiTimeSeries()
+    {
+        this(()->(C)new ConcurrentSkipListSet<E>());
+    }
+
+    public ConcurrentMultiTimeSeries(Supplier<C> entryCollectionFactory)
+    {
+        super(new ConcurrentSkipListMap<Instant, TimeSeries.Entry<C>>(), entryCollectionFactory);
+    }
+
+    public ConcurrentMultiTimeSeries(TimeSeries<C> timeSeries, Supplier<C> entryCollectionFactory)
+    {
+        this(entryCollectionFactory);
+        timeSeries.forEach(e->e.getEvent().forEach(v->addEvent(e.getEventDateTime(), v)));
+    }
+
+    @Override
+    public void addEvent(ZonedDateTime eventDateTime, E event)
+    {
+        timeSeriesStore.computeIfAbsent(Instant.from(eventDateTime), k->TimeSeriesEntry.of(eventDateTime, entryCollectionFactory.get())).getEvent().add(event);
+    }
+
+    @Override
+    public void add(ZonedDateTime eventDateTime, C eventCollection)
+    {
+        TimeSeriesEntry<C> entry = TimeSeriesEntry.of(eventDateTime, eventCollection);
+        super.addEntry(entry.getEventInstant(), entry);
+    }
+
+    @Override
+    public C remove(ZonedDateTime eventDateTime)
+    {
+        return super.removeEntry(Instant.from(eventDateTime));
+    }
+}
@@ -0,0 +1,70 @@
+package fop.timeseries.impl;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import fop.timeseries.TimeSeries;
+import fop.timeseries.util.TimeSeriesConstants;
+import fop.timeseries.util.TimeSeriesUtils;
+
+/*
+ * Thread safe time series on a ConcurrentSkipListMap. Writers never block each other, entry views
+ * and iterators are weakly consistent and size() is O(n) as for the underlying map.
+ */
+public class ConcurrentTimeSeries<E> extends AbstractTimeSeries<E>
+{
+    public ConcurrentTimeSeries()
+    {
+        super(new ConcurrentSkipListMap<Instant, TimeSeries.Entry<E>>());
+    }
+
+    public ConcurrentTimeSeries(TimeSeries<E> timeSeries)
+    {
+        this();
+        timeSeries.forEach(e->addEntry(TimeSeriesEntry.eventInstantOf(e), e));
+    }
+
+    @Override
+    public ConcurrentTimeSeries<E> clone()
+    {
+        return new ConcurrentTimeSeries<>(this);
+    }
+
+    @Override
+    public void add(ZonedDateTime eventDateTime, E event)
+    {
+        TimeSeriesEntry<E> entry = TimeSeriesEntry.of(eventDateTime, event);
+        super.addEntry(entry.getEventInstant(), entry);
+    }
+
+    @Override
+    public void add(Instant eventInstant, E event)
+    {
+        super.addEntry(eventInstant, TimeSeriesEntry.of(eventInstant, TimeSeriesConstants.UTC, event));
+    }
+
+    @Override
+    public void add(long eventEpochNanos, E event)
+    {
+        add(TimeSeriesUtils.toInstant(eventEpochNanos), event);
+    }
+
+    @Override
+    public E remove(Instant eventInstant)
+    {
+        return super.removeEntry(eventInstant);
+    }
+
+    @Override
+    public E remove(long eventEpochNanos)
+    {
+        return remove(TimeSeriesUtils.toInstant(eventEpochNanos));
+    }
+
+    @Override
+    public E remove(ZonedDateTime eventDateTime)
+    {
+        return super.removeEntry(Instant.from(eventDateTime));
+    }
+}
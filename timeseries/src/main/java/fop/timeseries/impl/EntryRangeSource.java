@@ -0,0 +1,27 @@
+package fop.timeseries.impl;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Spliterator;
+
+import fop.timeseries.TimeSeries;
+
+/*
+ * Minimal set of ordered lookups a backing store has to answer so that EntrySetView can serve
+ * live, zero copy range views over it. A null bound always means unbounded on that side.
+ */
+interface EntryRangeSource<E>
+{
+    public TimeSeries.Entry<E> lowerEntry(Instant eventInstant, boolean inclusive);
+
+    public TimeSeries.Entry<E> higherEntry(Instant eventInstant, boolean inclusive);
+
+    public Iterator<TimeSeries.Entry<E>> iterator(Instant fromEventInstant, boolean fromInclusive, Instant toEventInstant, boolean toInclusive, boolean descending);
+
+    public int size(Instant fromEventInstant, boolean fromInclusive, Instant toEventInstant, boolean toInclusive);
+
+    /*
+     * Ascending, splittable traversal of the range for streams.
+     */
+    public Spliterator<TimeSeries.Entry<E>> spliterator(Instant fromEventInstant, boolean fromInclusive, Instant toEventInstant, boolean toInclusive);
+}
@@ -0,0 +1,374 @@
+package fop.timeseries.impl;
+
+import java.time.Instant;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+
+import fop.timeseries.TimeSeries;
+import fop.timeseries.impl.AbstractTimeSeries.TimeSeriesEntry;
+
+/*
+ * Read only NavigableSet of entries backed directly by the store of a time series. Bounds are kept
+ * as instants and resolved against the store on every call, so the view stays live while the
+ * series changes and a narrow range costs O(log n + k) instead of a copy of the whole series.
+ * Iterators are read only as well, their remove() throws like every other mutator of the view.
+ */
+final class EntrySetView<E> extends AbstractSet<TimeSeries.Entry<E>> implements NavigableSet<TimeSeries.Entry<E>>
+{
+    private final EntryRangeSource<E> source;
+    private final Instant fromEventInstant;
+    private final boolean fromInclusive;
+    private final Instant toEventInstant;
+    private final boolean toInclusive;
+    private final boolean descending;
+
+    static <E> EntrySetView<E> of(EntryRangeSource<E> source)
+    {
+        return new EntrySetView<>(source, null, true, null, true, false);
+    }
+
+    private EntrySetView(EntryRangeSource<E> source, Instant fromEventInstant, boolean fromInclusive, Instant toEventInstant, boolean toInclusive, boolean descending)
+    {
+        this.source = source;
+        this.fromEventInstant = fromEventInstant;
+        this.fromInclusive = fromInclusive;
+        this.toEventInstant = toEventInstant;
+        this.toInclusive = toInclusive;
+        this.descending = descending;
+    }
+
+    EntrySetView<E> subSet(Instant fromEventInstant, boolean fromInclusive, Instant toEventInstant, boolean toInclusive)
+    {
+        if(descending)
+        {
+            return ascendingRange(toEventInstant, toInclusive, fromEventInstant, fromInclusive);
+        }
+        return ascendingRange(fromEventInstant, fromInclusive, toEventInstant, toInclusive);
+    }
+
+    EntrySetView<E> headSet(Instant toEventInstant, boolean inclusive)
+    {
+        if(descending)
+        {
+            return ascendingRange(toEventInstant, inclusive, this.toEventInstant, this.toInclusive);
+        }
+        return ascendingRange(this.fromEventInstant, this.fromInclusive, toEventInstant, inclusive);
+    }
+
+    EntrySetView<E> tailSet(Instant fromEventInstant, boolean inclusive)
+    {
+        if(descending)
+        {
+            return ascendingRange(this.fromEventInstant, this.fromInclusive, fromEventInstant, inclusive);
+        }
+        return ascendingRange(fromEventInstant, inclusive, this.toEventInstant, this.toInclusive);
+    }
+
+    private EntrySetView<E> ascendingRange(Instant fromEventInstant, boolean fromInclusive, Instant toEventInstant, boolean toInclusive)
+    {
+        if(Objects.nonNull(fromEventInstant) && fromEventInstant != this.fromEventInstant && !inRange(fromEventInstant, fromInclusive))
+        {
+            throw new IllegalArgumentException("fromKey out of range");
+        }
+        if(Objects.nonNull(toEventInstant) && toEventInstant != this.toEventInstant && !inRange(toEventInstant, toInclusive))
+        {
+            throw new IllegalArgumentException("toKey out of range");
+        }
+        if(Objects.nonNull(fromEventInstant) && Objects.nonNull(toEventInstant) && fromEventInstant.compareTo(toEventInstant) > 0)
+        {
+            throw new IllegalArgumentException("fromKey > toKey");
+        }
+        return new EntrySetView<>(source, fromEventInstant, fromInclusive, toEventInstant, toInclusive, descending);
+    }
+
+    private boolean tooLow(Instant eventInstant)
+    {
+        if(Objects.isNull(fromEventInstant))
+        {
+            return false;
+        }
+        int c = eventInstant.compareTo(fromEventInstant);
+        return c < 0 || (c == 0 && !fromInclusive);
+    }
+
+    private boolean tooHigh(Instant eventInstant)
+    {
+        if(Objects.isNull(toEventInstant))
+        {
+            return false;
+        }
+        int c = eventInstant.compareTo(toEventInstant);
+        return c > 0 || (c == 0 && !toInclusive);
+    }
+
+    private boolean inRange(Instant eventInstant)
+    {
+        return !tooLow(eventInstant) && !tooHigh(eventInstant);
+    }
+
+    private boolean inRange(Instant eventInstant, boolean inclusive)
+    {
+        if(inclusive)
+        {
+            return inRange(eventInstant);
+        }
+        return (Objects.isNull(fromEventInstant) || eventInstant.compareTo(fromEventInstant) >= 0)
+                && (Objects.isNull(toEventInstant) || eventInstant.compareTo(toEventInstant) <= 0);
+    }
+
+    private TimeSeries.Entry<E> absLowest()
+    {
+        return capHigh(source.higherEntry(fromEventInstant, fromInclusive));
+    }
+
+    private TimeSeries.Entry<E> absHighest()
+    {
+        return capLow(source.lowerEntry(toEventInstant, toInclusive));
+    }
+
+    private TimeSeries.Entry<E> absCeiling(Instant eventInstant, boolean inclusive)
+    {
+        return tooLow(eventInstant) ? absLowest() : capHigh(source.higherEntry(eventInstant, inclusive));
+    }
+
+    private TimeSeries.Entry<E> absFloor(Instant eventInstant, boolean inclusive)
+    {
+        return tooHigh(eventInstant) ? absHighest() : capLow(source.lowerEntry(eventInstant, inclusive));
+    }
+
+    private TimeSeries.Entry<E> capHigh(TimeSeries.Entry<E> entry)
+    {
+        return Objects.isNull(entry) || tooHigh(TimeSeriesEntry.eventInstantOf(entry)) ? null : entry;
+    }
+
+    private TimeSeries.Entry<E> capLow(TimeSeries.Entry<E> entry)
+    {
+        return Objects.isNull(entry) || tooLow(TimeSeriesEntry.eventInstantOf(entry)) ? null : entry;
+    }
+
+    @Override
+    public TimeSeries.Entry<E> lower(TimeSeries.Entry<E> e)
+    {
+        Instant eventInstant = TimeSeriesEntry.eventInstantOf(e);
+        return descending ? absCeiling(eventInstant, false) : absFloor(eventInstant, false);
+    }
+
+    @Override
+    public TimeSeries.Entry<E> floor(TimeSeries.Entry<E> e)
+    {
+        Instant eventInstant = TimeSeriesEntry.eventInstantOf(e);
+        return descending ? absCeiling(eventInstant, true) : absFloor(eventInstant, true);
+    }
+
+    @Override
+    public TimeSeries.Entry<E> ceiling(TimeSeries.Entry<E> e)
+    {
+        Instant eventInstant = TimeSeriesEntry.eventInstantOf(e);
+        return descending ? absFloor(eventInstant, true) : absCeiling(eventInstant, true);
+    }
+
+    @Override
+    public TimeSeries.Entry<E> higher(TimeSeries.Entry<E> e)
+    {
+        Instant eventInstant = TimeSeriesEntry.eventInstantOf(e);
+        return descending ? absFloor(eventInstant, false) : absCeiling(eventInstant, false);
+    }
+
+    @Override
+    public TimeSeries.Entry<E> first()
+    {
+        return requireEntry(descending ? absHighest() : absLowest());
+    }
+
+    @Override
+    public TimeSeries.Entry<E> last()
+    {
+        return requireEntry(descending ? absLowest() : absHighest());
+    }
+
+    private static <E> TimeSeries.Entry<E> requireEntry(TimeSeries.Entry<E> entry)
+    {
+        if(Objects.isNull(entry))
+        {
+            throw new NoSuchElementException();
+        }
+        return entry;
+    }
+
+    @Override
+    public TimeSeries.Entry<E> pollFirst()
+    {
+        throw new UnsupportedOperationException("Cannot change time series through its entries view");
+    }
+
+    @Override
+    public TimeSeries.Entry<E> pollLast()
+    {
+        throw new UnsupportedOperationException("Cannot change time series through its entries view");
+    }
+
+    @Override
+    public Iterator<TimeSeries.Entry<E>> iterator()
+    {
+        return new ReadOnlyIterator<>(source.iterator(fromEventInstant, fromInclusive, toEventInstant, toInclusive, descending));
+    }
+
+    @Override
+    public Iterator<TimeSeries.Entry<E>> descendingIterator()
+    {
+        return new ReadOnlyIterator<>(source.iterator(fromEventInstant, fromInclusive, toEventInstant, toInclusive, !descending));
+    }
+
+    @Override
+    public Spliterator<TimeSeries.Entry<E>> spliterator()
+    {
+        if(descending)
+        {
+            return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL);
+        }
+        return source.spliterator(fromEventInstant, fromInclusive, toEventInstant, toInclusive);
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> descendingSet()
+    {
+        return new EntrySetView<>(source, fromEventInstant, fromInclusive, toEventInstant, toInclusive, !descending);
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> subSet(TimeSeries.Entry<E> fromElement, boolean fromInclusive, TimeSeries.Entry<E> toElement, boolean toInclusive)
+    {
+        return subSet(TimeSeriesEntry.eventInstantOf(fromElement), fromInclusive, TimeSeriesEntry.eventInstantOf(toElement), toInclusive);
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> headSet(TimeSeries.Entry<E> toElement, boolean inclusive)
+    {
+        return headSet(TimeSeriesEntry.eventInstantOf(toElement), inclusive);
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> tailSet(TimeSeries.Entry<E> fromElement, boolean inclusive)
+    {
+        return tailSet(TimeSeriesEntry.eventInstantOf(fromElement), inclusive);
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> subSet(TimeSeries.Entry<E> fromElement, TimeSeries.Entry<E> toElement)
+    {
+        return subSet(fromElement, true, toElement, false);
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> headSet(TimeSeries.Entry<E> toElement)
+    {
+        return headSet(toElement, false);
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> tailSet(TimeSeries.Entry<E> fromElement)
+    {
+        return tailSet(fromElement, true);
+    }
+
+    @Override
+    public Comparator<? super TimeSeries.Entry<E>> comparator()
+    {
+        return descending ? Collections.reverseOrder() : null;
+    }
+
+    @Override
+    public int size()
+    {
+        return source.size(fromEventInstant, fromInclusive, toEventInstant, toInclusive);
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return Objects.isNull(absLowest());
+    }
+
+    @Override
+    public boolean contains(Object o)
+    {
+        if(!(o instanceof TimeSeries.Entry))
+        {
+            return false;
+        }
+        Instant eventInstant = TimeSeriesEntry.eventInstantOf((TimeSeries.Entry<?>)o);
+        if(!inRange(eventInstant))
+        {
+            return false;
+        }
+        TimeSeries.Entry<E> entry = source.higherEntry(eventInstant, true);
+        return Objects.nonNull(entry) && eventInstant.equals(TimeSeriesEntry.eventInstantOf(entry));
+    }
+
+    @Override
+    public boolean remove(Object o)
+    {
+        throw new UnsupportedOperationException("Cannot change time series through its entries view");
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c)
+    {
+        throw new UnsupportedOperationException("Cannot change time series through its entries view");
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c)
+    {
+        throw new UnsupportedOperationException("Cannot change time series through its entries view");
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super TimeSeries.Entry<E>> filter)
+    {
+        throw new UnsupportedOperationException("Cannot change time series through its entries view");
+    }
+
+    @Override
+    public void clear()
+    {
+        throw new UnsupportedOperationException("Cannot change time series through its entries view");
+    }
+
+    static final class ReadOnlyIterator<T> implements Iterator<T>
+    {
+        private final Iterator<T> iterator;
+
+        ReadOnlyIterator(Iterator<T> iterator)
+        {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public T next()
+        {
+            return iterator.next();
+        }
+
+        @Override
+        public void remove()
+        {
+            throw new UnsupportedOperationException("Cannot change time series through its entries view");
+        }
+    }
+}
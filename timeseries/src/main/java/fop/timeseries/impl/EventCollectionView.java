@@ -0,0 +1,49 @@
+package fop.timeseries.impl;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+
+import fop.timeseries.TimeSeries;
+
+final class EventCollectionView<E> extends AbstractCollection<E>
+{
+    private final Collection<TimeSeries.Entry<E>> entries;
+
+    EventCollectionView(Collection<TimeSeries.Entry<E>> entries)
+    {
+        this.entries = entries;
+    }
+
+    @Override
+    public Iterator<E> iterator()
+    {
+        Iterator<TimeSeries.Entry<E>> entryIterator = entries.iterator();
+        return new Iterator<E>()
+        {
+            @Override
+            public boolean hasNext()
+            {
+                return entryIterator.hasNext();
+            }
+
+            @Override
+            public E next()
+            {
+                return entryIterator.next().getEvent();
+            }
+        };
+    }
+
+    @Override
+    public int size()
+    {
+        return entries.size();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return entries.isEmpty();
+    }
+}
@@ -0,0 +1,233 @@
+package fop.timeseries.impl;
+
+import java.time.ZonedDateTime;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import fop.timeseries.TimeSeries;
+import fop.timeseries.impl.AbstractTimeSeries.TimeSeriesEntry;
+
+/*
+ * Read only NavigableSet of event times backed by the entries view of a time series, so it follows
+ * the series as it changes and costs nothing until it is read. Lookups go to the entries view with
+ * a probe entry at the same instant, and every element is a fresh ZonedDateTime in the zone the
+ * point was added with.
+ */
+final class EventDateTimeSetView<E> extends AbstractSet<ZonedDateTime> implements NavigableSet<ZonedDateTime>
+{
+    private final NavigableSet<TimeSeries.Entry<E>> entries;
+    private final boolean descending;
+
+    EventDateTimeSetView(NavigableSet<TimeSeries.Entry<E>> entries)
+    {
+        this(entries, false);
+    }
+
+    private EventDateTimeSetView(NavigableSet<TimeSeries.Entry<E>> entries, boolean descending)
+    {
+        this.entries = entries;
+        this.descending = descending;
+    }
+
+    private static <E> TimeSeries.Entry<E> probe(ZonedDateTime eventDateTime)
+    {
+        return TimeSeriesEntry.of(eventDateTime, null);
+    }
+
+    private static ZonedDateTime eventDateTimeOf(TimeSeries.Entry<?> entry)
+    {
+        return Objects.isNull(entry) ? null : entry.getEventDateTime();
+    }
+
+    @Override
+    public ZonedDateTime lower(ZonedDateTime e)
+    {
+        return eventDateTimeOf(entries.lower(probe(e)));
+    }
+
+    @Override
+    public ZonedDateTime floor(ZonedDateTime e)
+    {
+        return eventDateTimeOf(entries.floor(probe(e)));
+    }
+
+    @Override
+    public ZonedDateTime ceiling(ZonedDateTime e)
+    {
+        return eventDateTimeOf(entries.ceiling(probe(e)));
+    }
+
+    @Override
+    public ZonedDateTime higher(ZonedDateTime e)
+    {
+        return eventDateTimeOf(entries.higher(probe(e)));
+    }
+
+    @Override
+    public ZonedDateTime first()
+    {
+        return entries.first().getEventDateTime();
+    }
+
+    @Override
+    public ZonedDateTime last()
+    {
+        return entries.last().getEventDateTime();
+    }
+
+    @Override
+    public ZonedDateTime pollFirst()
+    {
+        throw new UnsupportedOperationException("Cannot change time series through its event times view");
+    }
+
+    @Override
+    public ZonedDateTime pollLast()
+    {
+        throw new UnsupportedOperationException("Cannot change time series through its event times view");
+    }
+
+    @Override
+    public Iterator<ZonedDateTime> iterator()
+    {
+        return eventDateTimes(entries.iterator());
+    }
+
+    @Override
+    public Iterator<ZonedDateTime> descendingIterator()
+    {
+        return eventDateTimes(entries.descendingIterator());
+    }
+
+    private static <E> Iterator<ZonedDateTime> eventDateTimes(Iterator<TimeSeries.Entry<E>> entryIterator)
+    {
+        return new Iterator<ZonedDateTime>()
+        {
+            @Override
+            public boolean hasNext()
+            {
+                return entryIterator.hasNext();
+            }
+
+            @Override
+            public ZonedDateTime next()
+            {
+                return entryIterator.next().getEventDateTime();
+            }
+
+            @Override
+            public void remove()
+            {
+                throw new UnsupportedOperationException("Cannot change time series through its event times view");
+            }
+        };
+    }
+
+    @Override
+    public NavigableSet<ZonedDateTime> descendingSet()
+    {
+        return new EventDateTimeSetView<>(entries.descendingSet(), !descending);
+    }
+
+    @Override
+    public NavigableSet<ZonedDateTime> subSet(ZonedDateTime fromElement, boolean fromInclusive, ZonedDateTime toElement, boolean toInclusive)
+    {
+        return new EventDateTimeSetView<>(entries.subSet(probe(fromElement), fromInclusive, probe(toElement), toInclusive), descending);
+    }
+
+    @Override
+    public NavigableSet<ZonedDateTime> headSet(ZonedDateTime toElement, boolean inclusive)
+    {
+        return new EventDateTimeSetView<>(entries.headSet(probe(toElement), inclusive), descending);
+    }
+
+    @Override
+    public NavigableSet<ZonedDateTime> tailSet(ZonedDateTime fromElement, boolean inclusive)
+    {
+        return new EventDateTimeSetView<>(entries.tailSet(probe(fromElement), inclusive), descending);
+    }
+
+    @Override
+    public NavigableSet<ZonedDateTime> subSet(ZonedDateTime fromElement, ZonedDateTime toElement)
+    {
+        return subSet(fromElement, true, toElement, false);
+    }
+
+    @Override
+    public NavigableSet<ZonedDateTime> headSet(ZonedDateTime toElement)
+    {
+        return headSet(toElement, false);
+    }
+
+    @Override
+    public NavigableSet<ZonedDateTime> tailSet(ZonedDateTime fromElement)
+    {
+        return tailSet(fromElement, true);
+    }
+
+    @Override
+    public Comparator<? super ZonedDateTime> comparator()
+    {
+        return descending ? Collections.reverseOrder() : null;
+    }
+
+    @Override
+    public int size()
+    {
+        return entries.size();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return entries.isEmpty();
+    }
+
+    @Override
+    public boolean contains(Object o)
+    {
+        if(!(o instanceof ZonedDateTime))
+        {
+            return false;
+        }
+        ZonedDateTime eventDateTime = (ZonedDateTime)o;
+        TimeSeries.Entry<E> entry = entries.ceiling(probe(eventDateTime));
+        return Objects.nonNull(entry) && eventDateTime.equals(entry.getEventDateTime());
+    }
+
+    @Override
+    public boolean remove(Object o)
+    {
+        throw new UnsupportedOperationException("Cannot change time series through its event times view");
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c)
+    {
+        throw new UnsupportedOperationException("Cannot change time series through its event times view");
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c)
+    {
+        throw new UnsupportedOperationException("Cannot change time series through its event times view");
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super ZonedDateTime> filter)
+    {
+        throw new UnsupportedOperationException("Cannot change time series through its event times view");
+    }
+
+    @Override
+    public void clear()
+    {
+        throw new UnsupportedOperationException("Cannot change time series through its event times view");
+    }
+}
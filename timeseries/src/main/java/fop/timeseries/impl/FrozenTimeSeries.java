@@ -0,0 +1,73 @@
+package fop.timeseries.impl;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.NavigableMap;
+import java.util.Objects;
+
+import fop.timeseries.ImmutableTimeSeries;
+import fop.timeseries.TimeSeries;
+import fop.timeseries.impl.AbstractTimeSeries.TimeSeriesEntry;
+
+/*
+ * Read only series over a store handed over by a mutable series, see SimpleTimeSeries.freeze().
+ * Reads go straight to that store. The first with() converts the store to the persistent tree of
+ * ImmutableTimeSeriesImpl in one pass and keeps it, so later derivations share structure as usual.
+ */
+final class FrozenTimeSeries<E> extends AbstractTimeSeries<E> implements ImmutableTimeSeries<E>, Cloneable
+{
+    private volatile ImmutableTimeSeriesImpl<E> persistent;
+
+    FrozenTimeSeries(NavigableMap<Instant, TimeSeries.Entry<E>> timeSeriesStore)
+    {
+        super(timeSeriesStore);
+    }
+
+    private ImmutableTimeSeriesImpl<E> persistent()
+    {
+        ImmutableTimeSeriesImpl<E> persistent = this.persistent;
+        if(Objects.isNull(persistent))
+        {
+            persistent = new ImmutableTimeSeriesImpl<>(AbstractPersistentTimeSeries.fromSortedUniqueEntries(timeSeriesStore.values()));
+            this.persistent = persistent;
+        }
+        return persistent;
+    }
+
+    @Override
+    public void add(ZonedDateTime eventDateTime, E event)
+    {
+        throw new UnsupportedOperationException("Cannot change FrozenTimeSeries");
+    }
+
+    @Override
+    public E remove(ZonedDateTime eventDateTime)
+    {
+        throw new UnsupportedOperationException("Cannot change FrozenTimeSeries");
+    }
+
+    @Override
+    public ImmutableTimeSeries<E> with(ZonedDateTime eventDateTime, E event)
+    {
+        return with(TimeSeriesEntry.of(eventDateTime, event));
+    }
+
+    @Override
+    public ImmutableTimeSeries<E> with(TimeSeries.Entry<E> entry)
+    {
+        return persistent().with(entry);
+    }
+
+    @Override
+    public ImmutableTimeSeries<E> with(Collection<TimeSeries.Entry<E>> entries)
+    {
+        return persistent().with(entries);
+    }
+
+    @Override
+    public FrozenTimeSeries<E> clone()
+    {
+        return this;
+    }
+}
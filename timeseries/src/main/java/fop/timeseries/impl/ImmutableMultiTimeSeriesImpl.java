@@ -0,0 +1,106 @@
+package fop.timeseries.impl;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import fop.timeseries.ImmutableMultiTimeSeries;
+import fop.timeseries.TimeSeries;
+import fop.timeseries.impl.AbstractTimeSeries.TimeSeriesEntry;
+import fop.timeseries.util.TimeSeriesUtils;
+
+public final class ImmutableMultiTimeSeriesImpl<E, C extends Collection<E>> extends AbstractPersistentTimeSeries<C> implements ImmutableMultiTimeSeries<E, C>
+{
+    private final Supplier<C> entryCollectionFactory;
+    
+    public ImmutableMultiTimeSeriesImpl(Collection<Entry<C>> entries, Supplier<C> entryCollectionFactory)
+    {
+        super(fromEntries(entries));
+        this.entryCollectionFactory = entryCollectionFactory;
+    }
+    
+    private ImmutableMultiTimeSeriesImpl(PersistentEntryTree<C> entryTree, Supplier<C> entryCollectionFactory)
+    {
+        super(entryTree);
+        this.entryCollectionFactory = entryCollectionFactory;
+    }
+    
+    @Override
+    public void addEvent(ZonedDateTime eventDateTime, E event) 
+    {
+        throw new UnsupportedOperationException("Cannot change ImmutableMultiTimeSeriesImpl");
+    }
+
+    @Override
+    public void add(ZonedDateTime eventDateTime, C eventCollection)
+    {
+        throw new UnsupportedOperationException("Cannot change ImmutableMultiTimeSeriesImpl");
+    }
+
+    @Override
+    public C remove(ZonedDateTime eventDateTime)
+    {
+        throw new UnsupportedOperationException("Cannot change ImmutableMultiTimeSeriesImpl");
+    }
+    
+    @Override
+    public boolean remove(ZonedDateTime eventDateTime, E event)
+    {
+        throw new UnsupportedOperationException("Cannot change ImmutableMultiTimeSeriesImpl");
+    }
+    
+    @Override
+    public boolean contains(ZonedDateTime eventDateTime, E event)
+    {
+        C eventCollection = get(eventDateTime);
+        return Objects.nonNull(eventCollection) && eventCollection.contains(event);
+    }
+
+    @Override
+    public ImmutableMultiTimeSeries<E, C> with(ZonedDateTime eventDateTime, E event)
+    {
+        return new ImmutableMultiTimeSeriesImpl<>(merge(entryTree, eventDateTime, List.of(event)), entryCollectionFactory);
+    }
+
+    @Override
+    public ImmutableMultiTimeSeries<E, C> with(ZonedDateTime eventDateTime, C eventCollection)
+    {
+        return new ImmutableMultiTimeSeriesImpl<>(merge(entryTree, eventDateTime, eventCollection), entryCollectionFactory);
+    }
+
+    @Override
+    public ImmutableMultiTimeSeries<E, C> with(Entry<C> entry)
+    {
+        return with(entry.getEventDateTime(), entry.getEvent());
+    }
+
+    @Override
+    public ImmutableMultiTimeSeries<E, C> with(Collection<Entry<C>> entries)
+    {
+        PersistentEntryTree<C> mergedEntryTree = entryTree;
+        for(Entry<C> entry : entries)
+        {
+            mergedEntryTree = merge(mergedEntryTree, entry.getEventDateTime(), entry.getEvent());
+        }
+        return new ImmutableMultiTimeSeriesImpl<>(mergedEntryTree, entryCollectionFactory);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private PersistentEntryTree<C> merge(PersistentEntryTree<C> entryTree, ZonedDateTime eventDateTime, Collection<E> events)
+    {
+        long eventEpochNanos = TimeSeriesUtils.toEpochNanos(eventDateTime);
+        Entry<C> existingEntry = entryTree.get(eventEpochNanos);
+        C eventCollection = entryCollectionFactory.get();
+        if(Objects.nonNull(existingEntry))
+        {
+            eventCollection.addAll(existingEntry.getEvent());
+            eventDateTime = existingEntry.getEventDateTime();
+        }
+        eventCollection.addAll(events);
+        C unmodifiableEventCollection = (C)Collections.unmodifiableCollection(eventCollection);
+        return entryTree.put(eventEpochNanos, TimeSeriesEntry.of(eventDateTime, unmodifiableEventCollection));
+    }
+}
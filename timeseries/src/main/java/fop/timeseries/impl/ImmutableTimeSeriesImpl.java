@@ -0,0 +1,78 @@
+package fop.timeseries.impl;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+
+import fop.timeseries.ImmutableTimeSeries;
+import fop.timeseries.TimeSeries;
+import fop.timeseries.impl.AbstractTimeSeries.TimeSeriesEntry;
+
+public final class ImmutableTimeSeriesImpl<E> extends AbstractPersistentTimeSeries<E> implements ImmutableTimeSeries<E>, Cloneable
+{
+    public ImmutableTimeSeriesImpl(Collection<TimeSeries.Entry<E>> entries)
+    {
+        super(fromEntries(entries));
+    }
+    
+    ImmutableTimeSeriesImpl(PersistentEntryTree<E> entryTree)
+    {
+        super(entryTree);
+    }
+
+    /*
+     * Copies the entries of timeSeries straight into the tree in one pass, they are already sorted
+     * and unique so nothing is sorted or merged on the way.
+     */
+    public static <E> ImmutableTimeSeriesImpl<E> copyOf(TimeSeries<E> timeSeries)
+    {
+        return new ImmutableTimeSeriesImpl<>(fromSortedUniqueEntries(timeSeries.getEntries()));
+    }
+    
+    private static <E> PersistentEntryTree<E> putAll(PersistentEntryTree<E> entryTree, Collection<TimeSeries.Entry<E>> entries)
+    {
+        for(TimeSeries.Entry<E> entry : entries)
+        {
+            entryTree = put(entryTree, entry);
+        }
+        return entryTree;
+    }
+    
+    @Override
+    public void add(ZonedDateTime eventDateTime, E event)
+    {
+        throw new UnsupportedOperationException("Cannot change ImmutableTimeSeriesImpl");
+    }
+
+    @Override
+    public E remove(ZonedDateTime eventDateTime)
+    {
+        throw new UnsupportedOperationException("Cannot change ImmutableTimeSeriesImpl");
+    }
+
+    @Override
+    public ImmutableTimeSeries<E> with(ZonedDateTime eventDateTime, E event)
+    {
+        return with(TimeSeriesEntry.of(eventDateTime, event));
+    }
+    
+    @Override
+    public ImmutableTimeSeries<E> with(TimeSeries.Entry<E> entry)
+    {
+        return new ImmutableTimeSeriesImpl<>(put(entryTree, entry));
+    }
+
+    @Override
+    public ImmutableTimeSeries<E> with(Collection<Entry<E>> entries)
+    {
+        return new ImmutableTimeSeriesImpl<>(putAll(entryTree, entries));
+    }
+    
+    /*
+     * Nothing about this instance can change, so it is its own clone.
+     */
+    @Override
+    public ImmutableTimeSeriesImpl<E> clone() 
+    {
+        return this;
+    }
+}
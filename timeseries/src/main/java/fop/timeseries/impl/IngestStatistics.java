@@ -0,0 +1,48 @@
+package fop.timeseries.impl;
+
+/*
+ * Counts how points reached an array backed store: appended after the current end (fast path) or
+ * placed somewhere inside the existing range (slow path).
+ */
+public final class IngestStatistics
+{
+    private long fastPathCount;
+    private long slowPathCount;
+    private long reorderBufferMerges;
+
+    void fastPath()
+    {
+        fastPathCount++;
+    }
+
+    void slowPath()
+    {
+        slowPathCount++;
+    }
+
+    void reorderBufferMerged()
+    {
+        reorderBufferMerges++;
+    }
+
+    public long getFastPathCount()
+    {
+        return fastPathCount;
+    }
+
+    public long getSlowPathCount()
+    {
+        return slowPathCount;
+    }
+
+    public long getReorderBufferMerges()
+    {
+        return reorderBufferMerges;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "IngestStatistics[fastPath=" + fastPathCount + ", slowPath=" + slowPathCount + ", reorderBufferMerges=" + reorderBufferMerges + "]";
+    }
+}
@@ -0,0 +1,307 @@
+package fop.timeseries.impl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import fop.timeseries.util.TimeSeriesUtils;
+
+/*
+ * File backed time series for history larger than the heap. Points are fixed width records of epoch
+ * nanos followed by the value, kept in ascending order in a directory of equally sized segment
+ * files that are memory mapped. Every segment starts with a 16 byte header: a magic number, the
+ * record width and the number of records written. Opening only maps the files, reads go straight
+ * through the mapping and touch just the pages they need.
+ *
+ * Appends fill the last segment and roll over into a new one when it is full. A point with an
+ * existing timestamp is overwritten in place, anything else before the end is rejected since
+ * records are never moved. Durability is up to the OS until flush() is called. Once closed the
+ * series can no longer be read or written, open the directory again to keep using it.
+ */
+public class MappedTimeSeries<E> extends AbstractIndexedTimeSeries<E> implements Closeable
+{
+    public static final int DEFAULT_SEGMENT_CAPACITY = 1 << 20;
+
+    private static final int MAGIC = 0x54534547;
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_WIDTH_OFFSET = 4;
+    private static final int COUNT_OFFSET = 8;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+
+    private final Path directory;
+    private final ValueLayout<E> layout;
+    private final int recordSize;
+    private final int segmentCapacity;
+    private final List<MappedByteBuffer> segments;
+    private int size;
+    private boolean closed;
+
+    private MappedTimeSeries(Path directory, ZoneId zone, ValueLayout<E> layout, int segmentCapacity)
+    {
+        super(zone);
+        this.directory = directory;
+        this.layout = layout;
+        this.recordSize = Long.BYTES + layout.size();
+        this.segmentCapacity = segmentCapacity;
+        this.segments = new ArrayList<>();
+    }
+
+    public static <E> MappedTimeSeries<E> open(Path directory, ZoneId zone, ValueLayout<E> layout) throws IOException
+    {
+        return open(directory, zone, layout, DEFAULT_SEGMENT_CAPACITY);
+    }
+
+    /*
+     * segmentCapacity only applies to a new series, an existing one keeps the capacity it was
+     * created with.
+     */
+    public static <E> MappedTimeSeries<E> open(Path directory, ZoneId zone, ValueLayout<E> layout, int segmentCapacity) throws IOException
+    {
+        if(segmentCapacity <= 0 || segmentCapacity > (Integer.MAX_VALUE - HEADER_SIZE) / (Long.BYTES + layout.size()))
+        {
+            throw new IllegalArgumentException("Illegal segment capacity: " + segmentCapacity);
+        }
+        Files.createDirectories(directory);
+        List<Path> segmentFiles;
+        try(Stream<Path> files = Files.list(directory))
+        {
+            segmentFiles = files.filter(MappedTimeSeries::isSegmentFile).sorted().collect(Collectors.toList());
+        }
+
+        int recordSize = Long.BYTES + layout.size();
+        if(!segmentFiles.isEmpty())
+        {
+            long fileSize = Files.size(segmentFiles.get(0));
+            segmentCapacity = (int)((fileSize - HEADER_SIZE) / recordSize);
+        }
+
+        MappedTimeSeries<E> timeSeries = new MappedTimeSeries<>(directory, zone, layout, segmentCapacity);
+        for(int i = 0; i < segmentFiles.size(); i++)
+        {
+            Path segmentFile = segmentFiles.get(i);
+            if(!segmentFile.equals(timeSeries.segmentFile(i)))
+            {
+                throw new IOException("Missing segment before " + segmentFile);
+            }
+            MappedByteBuffer segment = map(segmentFile, HEADER_SIZE + (long)segmentCapacity * recordSize);
+            if(segment.getInt(0) != MAGIC || segment.getInt(RECORD_WIDTH_OFFSET) != recordSize)
+            {
+                throw new IOException("Not a segment of " + recordSize + " byte records: " + segmentFile);
+            }
+            long count = segment.getLong(COUNT_OFFSET);
+            if(count < 0 || count > segmentCapacity || (count < segmentCapacity && i < segmentFiles.size() - 1))
+            {
+                throw new IOException("Corrupt record count " + count + " in " + segmentFile);
+            }
+            timeSeries.segments.add(segment);
+            timeSeries.size += (int)count;
+        }
+        return timeSeries;
+    }
+
+    private static boolean isSegmentFile(Path path)
+    {
+        String fileName = path.getFileName().toString();
+        return fileName.startsWith(SEGMENT_PREFIX) && fileName.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static MappedByteBuffer map(Path segmentFile, long length) throws IOException
+    {
+        try(FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+        }
+    }
+
+    private Path segmentFile(int segmentIndex)
+    {
+        return directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, segmentIndex, SEGMENT_SUFFIX));
+    }
+
+    @Override
+    public void add(ZonedDateTime eventDateTime, E event)
+    {
+        add(TimeSeriesUtils.toEpochNanos(eventDateTime), event);
+    }
+
+    @Override
+    public void add(long eventEpochNanos, E event)
+    {
+        ensureOpen();
+        if(size > 0 && eventEpochNanos <= epochNanosAt(size - 1))
+        {
+            int index = indexOf(eventEpochNanos);
+            if(index < 0)
+            {
+                throw new IllegalArgumentException("Mapped time series only append, " + eventEpochNanos + " is before the end");
+            }
+            layout.write(segmentOf(index), offsetOf(index) + Long.BYTES, event);
+            return;
+        }
+
+        if(size == segments.size() * segmentCapacity)
+        {
+            try
+            {
+                createSegment();
+            }
+            catch(IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }
+        ByteBuffer segment = segmentOf(size);
+        int offset = offsetOf(size);
+        segment.putLong(offset, eventEpochNanos);
+        layout.write(segment, offset + Long.BYTES, event);
+        size++;
+        segment.putLong(COUNT_OFFSET, size - (long)(segments.size() - 1) * segmentCapacity);
+    }
+
+    private void createSegment() throws IOException
+    {
+        MappedByteBuffer segment = map(segmentFile(segments.size()), HEADER_SIZE + (long)segmentCapacity * recordSize);
+        segment.putInt(0, MAGIC);
+        segment.putInt(RECORD_WIDTH_OFFSET, recordSize);
+        segment.putLong(COUNT_OFFSET, 0);
+        segments.add(segment);
+    }
+
+    @Override
+    public E remove(ZonedDateTime eventDateTime)
+    {
+        throw new UnsupportedOperationException("Mapped time series only append");
+    }
+
+    @Override
+    public int size()
+    {
+        ensureOpen();
+        return size;
+    }
+
+    @Override
+    protected long epochNanosAt(int index)
+    {
+        return segmentOf(index).getLong(offsetOf(index));
+    }
+
+    @Override
+    protected E eventAt(int index)
+    {
+        return layout.read(segmentOf(index), offsetOf(index) + Long.BYTES);
+    }
+
+    private ByteBuffer segmentOf(int index)
+    {
+        ensureOpen();
+        return segments.get(index / segmentCapacity);
+    }
+
+    private int offsetOf(int index)
+    {
+        return HEADER_SIZE + (index % segmentCapacity) * recordSize;
+    }
+
+    public Path getDirectory()
+    {
+        return directory;
+    }
+
+    public void flush()
+    {
+        ensureOpen();
+        segments.forEach(MappedByteBuffer::force);
+    }
+
+    private void ensureOpen()
+    {
+        if(closed)
+        {
+            throw new IllegalStateException("Mapped time series is closed: " + directory);
+        }
+    }
+
+    /*
+     * Flushes and drops the mappings, the OS unmaps them once they are garbage collected. Closing
+     * twice does nothing.
+     */
+    @Override
+    public void close()
+    {
+        if(!closed)
+        {
+            flush();
+            segments.clear();
+            closed = true;
+        }
+    }
+
+    /*
+     * Fixed width encoding of a value inside a record, reads and writes use absolute offsets so
+     * they never move the position of the shared buffer.
+     */
+    public static interface ValueLayout<E>
+    {
+        public static final ValueLayout<Double> DOUBLE = new ValueLayout<Double>()
+        {
+            @Override
+            public int size()
+            {
+                return Double.BYTES;
+            }
+
+            @Override
+            public void write(ByteBuffer buffer, int offset, Double value)
+            {
+                buffer.putDouble(offset, value);
+            }
+
+            @Override
+            public Double read(ByteBuffer buffer, int offset)
+            {
+                return buffer.getDouble(offset);
+            }
+        };
+
+        public static final ValueLayout<Long> LONG = new ValueLayout<Long>()
+        {
+            @Override
+            public int size()
+            {
+                return Long.BYTES;
+            }
+
+            @Override
+            public void write(ByteBuffer buffer, int offset, Long value)
+            {
+                buffer.putLong(offset, value);
+            }
+
+            @Override
+            public Long read(ByteBuffer buffer, int offset)
+            {
+                return buffer.getLong(offset);
+            }
+        };
+
+        public int size();
+
+        public void write(ByteBuffer buffer, int offset, E value);
+
+        public E read(ByteBuffer buffer, int offset);
+    }
+}
@@ -0,0 +1,223 @@
+package fop.timeseries.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+import fop.timeseries.TimeSeries;
+
+final class NavigableMapEntrySource<E> implements EntryRangeSource<E>
+{
+    private static final int CONCURRENT_RANGE_COUNT_LIMIT = 1 << 13;
+
+    private final NavigableMap<Instant, TimeSeries.Entry<E>> store;
+
+    NavigableMapEntrySource(NavigableMap<Instant, TimeSeries.Entry<E>> store)
+    {
+        this.store = store;
+    }
+
+    @Override
+    public TimeSeries.Entry<E> lowerEntry(Instant eventInstant, boolean inclusive)
+    {
+        if(Objects.isNull(eventInstant))
+        {
+            return valueOf(store.lastEntry());
+        }
+        return valueOf(inclusive ? store.floorEntry(eventInstant) : store.lowerEntry(eventInstant));
+    }
+
+    @Override
+    public TimeSeries.Entry<E> higherEntry(Instant eventInstant, boolean inclusive)
+    {
+        if(Objects.isNull(eventInstant))
+        {
+            return valueOf(store.firstEntry());
+        }
+        return valueOf(inclusive ? store.ceilingEntry(eventInstant) : store.higherEntry(eventInstant));
+    }
+
+    @Override
+    public Iterator<TimeSeries.Entry<E>> iterator(Instant fromEventInstant, boolean fromInclusive, Instant toEventInstant, boolean toInclusive, boolean descending)
+    {
+        NavigableMap<Instant, TimeSeries.Entry<E>> range = range(store, fromEventInstant, fromInclusive, toEventInstant, toInclusive);
+        return descending ? range.descendingMap().values().iterator() : range.values().iterator();
+    }
+
+    @Override
+    public int size(Instant fromEventInstant, boolean fromInclusive, Instant toEventInstant, boolean toInclusive)
+    {
+        return range(store, fromEventInstant, fromInclusive, toEventInstant, toInclusive).size();
+    }
+
+    @Override
+    public Spliterator<TimeSeries.Entry<E>> spliterator(Instant fromEventInstant, boolean fromInclusive, Instant toEventInstant, boolean toInclusive)
+    {
+        int characteristics = Spliterator.ORDERED | Spliterator.SORTED | Spliterator.NONNULL;
+        characteristics |= store instanceof ConcurrentMap ? Spliterator.CONCURRENT : Spliterator.SIZED;
+        return new KeyRangeSpliterator<>(store, fromEventInstant, fromInclusive, toEventInstant, toInclusive, characteristics);
+    }
+
+    private static <E> NavigableMap<Instant, TimeSeries.Entry<E>> range(NavigableMap<Instant, TimeSeries.Entry<E>> store, Instant fromEventInstant, boolean fromInclusive, Instant toEventInstant, boolean toInclusive)
+    {
+        if(Objects.isNull(fromEventInstant))
+        {
+            return Objects.isNull(toEventInstant) ? store : store.headMap(toEventInstant, toInclusive);
+        }
+        if(Objects.isNull(toEventInstant))
+        {
+            return store.tailMap(fromEventInstant, fromInclusive);
+        }
+        return store.subMap(fromEventInstant, fromInclusive, toEventInstant, toInclusive);
+    }
+
+    private static <E> TimeSeries.Entry<E> valueOf(Map.Entry<Instant, TimeSeries.Entry<E>> mapEntry)
+    {
+        return Objects.isNull(mapEntry) ? null : mapEntry.getValue();
+    }
+
+    /*
+     * Splits by bisecting the key range between the first and last key still in range, the map
+     * only offers ordered lookups so halves are even in time rather than in count. Counting a
+     * range walks it, so the size is only counted once someone asks for it or splits, which a
+     * plain iteration never does. Only the unsplit spliterator over a non concurrent store knows
+     * its exact size, after that the estimate halves on every split.
+     */
+    private static final class KeyRangeSpliterator<E> implements Spliterator<TimeSeries.Entry<E>>
+    {
+        private final NavigableMap<Instant, TimeSeries.Entry<E>> store;
+        private Instant fromEventInstant;
+        private boolean fromInclusive;
+        private final Instant toEventInstant;
+        private final boolean toInclusive;
+        private long estimatedSize;
+        private int characteristics;
+        private Iterator<TimeSeries.Entry<E>> iterator;
+
+        private KeyRangeSpliterator(NavigableMap<Instant, TimeSeries.Entry<E>> store, Instant fromEventInstant, boolean fromInclusive, Instant toEventInstant, boolean toInclusive, int characteristics)
+        {
+            this(store, fromEventInstant, fromInclusive, toEventInstant, toInclusive, -1, characteristics);
+        }
+
+        private KeyRangeSpliterator(NavigableMap<Instant, TimeSeries.Entry<E>> store, Instant fromEventInstant, boolean fromInclusive, Instant toEventInstant, boolean toInclusive, long estimatedSize, int characteristics)
+        {
+            this.store = store;
+            this.fromEventInstant = fromEventInstant;
+            this.fromInclusive = fromInclusive;
+            this.toEventInstant = toEventInstant;
+            this.toInclusive = toInclusive;
+            this.estimatedSize = estimatedSize;
+            this.characteristics = characteristics;
+        }
+
+        @Override
+        public Spliterator<TimeSeries.Entry<E>> trySplit()
+        {
+            if(Objects.nonNull(iterator))
+            {
+                return null;
+            }
+            Map.Entry<Instant, TimeSeries.Entry<E>> first = Objects.isNull(fromEventInstant) ? store.firstEntry() : fromInclusive ? store.ceilingEntry(fromEventInstant) : store.higherEntry(fromEventInstant);
+            Map.Entry<Instant, TimeSeries.Entry<E>> last = Objects.isNull(toEventInstant) ? store.lastEntry() : toInclusive ? store.floorEntry(toEventInstant) : store.lowerEntry(toEventInstant);
+            if(Objects.isNull(first) || Objects.isNull(last) || first.getKey().compareTo(last.getKey()) >= 0)
+            {
+                return null;
+            }
+            Instant midEventInstant = first.getKey().plus(Duration.between(first.getKey(), last.getKey()).dividedBy(2));
+            if(!midEventInstant.isAfter(first.getKey()))
+            {
+                midEventInstant = last.getKey();
+            }
+            characteristics &= ~Spliterator.SIZED;
+            estimatedSize = estimateSize() >>> 1;
+            KeyRangeSpliterator<E> prefix = new KeyRangeSpliterator<>(store, fromEventInstant, fromInclusive, midEventInstant, false, estimatedSize, characteristics);
+            fromEventInstant = midEventInstant;
+            fromInclusive = true;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super TimeSeries.Entry<E>> action)
+        {
+            Iterator<TimeSeries.Entry<E>> entryIterator = iterator();
+            if(!entryIterator.hasNext())
+            {
+                return false;
+            }
+            action.accept(entryIterator.next());
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super TimeSeries.Entry<E>> action)
+        {
+            iterator().forEachRemaining(action);
+        }
+
+        @Override
+        public long estimateSize()
+        {
+            if(estimatedSize < 0)
+            {
+                estimatedSize = countRange();
+            }
+            return estimatedSize;
+        }
+
+        /*
+         * Counting a range of a concurrent map is not exact anyway, so only narrow ranges are
+         * counted and wider ones fall back to the store size.
+         */
+        private long countRange()
+        {
+            NavigableMap<Instant, TimeSeries.Entry<E>> range = range(store, fromEventInstant, fromInclusive, toEventInstant, toInclusive);
+            if((characteristics & Spliterator.CONCURRENT) == 0)
+            {
+                return range.size();
+            }
+            if(range == store)
+            {
+                return store.size();
+            }
+            Iterator<Instant> keys = range.keySet().iterator();
+            int count = 0;
+            while(keys.hasNext())
+            {
+                if(++count > CONCURRENT_RANGE_COUNT_LIMIT)
+                {
+                    return store.size();
+                }
+                keys.next();
+            }
+            return count;
+        }
+
+        @Override
+        public int characteristics()
+        {
+            return characteristics;
+        }
+
+        @Override
+        public Comparator<? super TimeSeries.Entry<E>> getComparator()
+        {
+            return null;
+        }
+
+        private Iterator<TimeSeries.Entry<E>> iterator()
+        {
+            if(Objects.isNull(iterator))
+            {
+                iterator = range(store, fromEventInstant, fromInclusive, toEventInstant, toInclusive).values().iterator();
+            }
+            return iterator;
+        }
+    }
+}
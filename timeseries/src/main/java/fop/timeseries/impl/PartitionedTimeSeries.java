@@ -0,0 +1,492 @@
+package fop.timeseries.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import fop.timeseries.TimeSeries;
+import fop.timeseries.util.TimeBuckets;
+import fop.timeseries.util.TimeSeriesConstants;
+import fop.timeseries.util.TimeSeriesUtils;
+
+/*
+ * Time series split into fixed time partitions, hours or days on the wall clock of a zone as laid
+ * out by TimeBuckets, each with an independent store from the partition factory. Point operations
+ * go to one partition, range views only visit the partitions overlapping the range, and spliterators
+ * split along partition boundaries first so partitions are processed in parallel. Retention drops
+ * whole partitions without touching their points. Empty partitions are discarded.
+ */
+public class PartitionedTimeSeries<E> implements TimeSeries<E>
+{
+    private final TimeBuckets partitioning;
+    private final Supplier<? extends TimeSeries<E>> partitionFactory;
+    private final NavigableMap<Long, TimeSeries<E>> partitions;
+    private final EntrySetView<E> entriesView;
+
+    public PartitionedTimeSeries(Duration partitionInterval)
+    {
+        this(partitionInterval, TimeSeriesConstants.UTC, SimpleTimeSeries::new);
+    }
+
+    public PartitionedTimeSeries(Duration partitionInterval, ZoneId zone, Supplier<? extends TimeSeries<E>> partitionFactory)
+    {
+        this.partitioning = new TimeBuckets(partitionInterval, zone);
+        this.partitionFactory = Objects.requireNonNull(partitionFactory);
+        this.partitions = new TreeMap<>();
+        this.entriesView = EntrySetView.of(new PartitionEntrySource());
+    }
+
+    private long partitionOf(long epochNanos)
+    {
+        return partitioning.bucketStart(epochNanos);
+    }
+
+    private long partitionOf(Instant eventInstant)
+    {
+        return partitionOf(TimeSeriesUtils.toEpochNanos(eventInstant));
+    }
+
+    private TimeSeries<E> partition(ZonedDateTime eventDateTime)
+    {
+        return partitions.get(partitionOf(TimeSeriesUtils.toEpochNanos(eventDateTime)));
+    }
+
+    @Override
+    public void add(ZonedDateTime eventDateTime, E event)
+    {
+        partitions.computeIfAbsent(partitionOf(TimeSeriesUtils.toEpochNanos(eventDateTime)), k->partitionFactory.get()).add(eventDateTime, event);
+    }
+
+    @Override
+    public E get(ZonedDateTime eventDateTime)
+    {
+        TimeSeries<E> partition = partition(eventDateTime);
+        return Objects.nonNull(partition) ? partition.get(eventDateTime) : null;
+    }
+
+    @Override
+    public E remove(ZonedDateTime eventDateTime)
+    {
+        long partitionStart = partitionOf(TimeSeriesUtils.toEpochNanos(eventDateTime));
+        TimeSeries<E> partition = partitions.get(partitionStart);
+        if(Objects.isNull(partition))
+        {
+            return null;
+        }
+        E removed = partition.remove(eventDateTime);
+        if(partition.isEmpty())
+        {
+            partitions.remove(partitionStart);
+        }
+        return removed;
+    }
+
+    @Override
+    public boolean contains(ZonedDateTime eventDateTime)
+    {
+        TimeSeries<E> partition = partition(eventDateTime);
+        return Objects.nonNull(partition) && partition.contains(eventDateTime);
+    }
+
+    /*
+     * O(number of partitions).
+     */
+    @Override
+    public int size()
+    {
+        int size = 0;
+        for(TimeSeries<E> partition : partitions.values())
+        {
+            size += partition.size();
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return partitions.isEmpty();
+    }
+
+    @Override
+    public boolean isNotEmpty()
+    {
+        return !partitions.isEmpty();
+    }
+
+    /*
+     * Drops every partition before the one holding eventDateTime without visiting their points,
+     * the partition holding eventDateTime is kept. Returns the number of partitions dropped.
+     */
+    public int dropPartitionsBefore(ZonedDateTime eventDateTime)
+    {
+        NavigableMap<Long, TimeSeries<E>> expired = partitions.headMap(partitionOf(TimeSeriesUtils.toEpochNanos(eventDateTime)), false);
+        int dropped = expired.size();
+        expired.clear();
+        return dropped;
+    }
+
+    public boolean dropPartition(ZonedDateTime eventDateTime)
+    {
+        return Objects.nonNull(partitions.remove(partitionOf(TimeSeriesUtils.toEpochNanos(eventDateTime))));
+    }
+
+    public int getPartitionCount()
+    {
+        return partitions.size();
+    }
+
+    /*
+     * Read only view of the partitions in time order, keyed by the start of each partition.
+     */
+    public NavigableMap<ZonedDateTime, TimeSeries<E>> getPartitions()
+    {
+        NavigableMap<ZonedDateTime, TimeSeries<E>> view = new TreeMap<>(Comparator.comparing(ZonedDateTime::toInstant));
+        partitions.forEach((start, partition)->view.put(TimeSeriesUtils.toZonedDateTime(start, partitioning.getZone()), partition));
+        return Collections.unmodifiableNavigableMap(view);
+    }
+
+    /*
+     * Applies mapper to every partition on the common fork-join pool, results are in partition
+     * order.
+     */
+    public <R> List<R> mapPartitions(Function<? super TimeSeries<E>, ? extends R> mapper)
+    {
+        return new ArrayList<>(partitions.values()).parallelStream().map(mapper).collect(Collectors.toList());
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> getEntries()
+    {
+        return entriesView;
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesSubSet(ZonedDateTime fromEventDateTime, boolean fromInclusive, ZonedDateTime toEventDateTime, boolean toInclusive)
+    {
+        return entriesView.subSet(Instant.from(fromEventDateTime), fromInclusive, Instant.from(toEventDateTime), toInclusive);
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesHeadSet(ZonedDateTime toEventDateTime, boolean inclusive)
+    {
+        return entriesView.headSet(Instant.from(toEventDateTime), inclusive);
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesTailSet(ZonedDateTime fromEventDateTime, boolean inclusive)
+    {
+        return entriesView.tailSet(Instant.from(fromEventDateTime), inclusive);
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesSubSet(Instant fromEventInstant, boolean fromInclusive, Instant toEventInstant, boolean toInclusive)
+    {
+        return entriesView.subSet(fromEventInstant, fromInclusive, toEventInstant, toInclusive);
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesHeadSet(Instant toEventInstant, boolean inclusive)
+    {
+        return entriesView.headSet(toEventInstant, inclusive);
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesTailSet(Instant fromEventInstant, boolean inclusive)
+    {
+        return entriesView.tailSet(fromEventInstant, inclusive);
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesSubSet(ZonedDateTime fromEventDateTime, ZonedDateTime toEventDateTime)
+    {
+        return getEntriesSubSet(fromEventDateTime, false, toEventDateTime, false);
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesHeadSet(ZonedDateTime toEventDateTime)
+    {
+        return getEntriesHeadSet(toEventDateTime, false);
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesTailSet(ZonedDateTime fromEventDateTime)
+    {
+        return getEntriesTailSet(fromEventDateTime, false);
+    }
+
+    @Override
+    public NavigableSet<ZonedDateTime> eventDateTimes()
+    {
+        return new EventDateTimeSetView<>(entriesView);
+    }
+
+    @Override
+    public Collection<E> events()
+    {
+        return new EventCollectionView<>(entriesView);
+    }
+
+    @Override
+    public TimeSeries.Entry<E> start()
+    {
+        return partitions.isEmpty() ? null : partitions.firstEntry().getValue().start();
+    }
+
+    @Override
+    public TimeSeries.Entry<E> end()
+    {
+        return partitions.isEmpty() ? null : partitions.lastEntry().getValue().end();
+    }
+
+    @Override
+    public Iterator<TimeSeries.Entry<E>> iterator()
+    {
+        return getEntries().iterator();
+    }
+
+    @Override
+    public Iterator<TimeSeries.Entry<E>> descendingIterator()
+    {
+        return getEntries().descendingIterator();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "TimeSeries:" + getEntries();
+    }
+
+    private final class PartitionEntrySource implements EntryRangeSource<E>
+    {
+        private ZonedDateTime toZonedDateTime(Instant eventInstant)
+        {
+            return ZonedDateTime.ofInstant(eventInstant, partitioning.getZone());
+        }
+
+        private NavigableMap<Long, TimeSeries<E>> overlapping(Instant fromEventInstant, Instant toEventInstant)
+        {
+            if(Objects.isNull(fromEventInstant))
+            {
+                return Objects.isNull(toEventInstant) ? partitions : partitions.headMap(partitionOf(toEventInstant), true);
+            }
+            if(Objects.isNull(toEventInstant))
+            {
+                return partitions.tailMap(partitionOf(fromEventInstant), true);
+            }
+            long fromPartition = partitionOf(fromEventInstant);
+            long toPartition = partitionOf(toEventInstant);
+            return fromPartition <= toPartition ? partitions.subMap(fromPartition, true, toPartition, true) : Collections.emptyNavigableMap();
+        }
+
+        private NavigableSet<TimeSeries.Entry<E>> range(TimeSeries<E> partition, Instant fromEventInstant, boolean fromInclusive, Instant toEventInstant, boolean toInclusive)
+        {
+            if(Objects.isNull(fromEventInstant))
+            {
+                return Objects.isNull(toEventInstant) ? partition.getEntries() : partition.getEntriesHeadSet(toEventInstant, toInclusive);
+            }
+            if(Objects.isNull(toEventInstant))
+            {
+                return partition.getEntriesTailSet(fromEventInstant, fromInclusive);
+            }
+            return partition.getEntriesSubSet(fromEventInstant, fromInclusive, toEventInstant, toInclusive);
+        }
+
+        @Override
+        public TimeSeries.Entry<E> lowerEntry(Instant eventInstant, boolean inclusive)
+        {
+            NavigableMap<Long, TimeSeries<E>> candidates = Objects.isNull(eventInstant) ? partitions : partitions.headMap(partitionOf(eventInstant), true);
+            for(TimeSeries<E> partition : candidates.descendingMap().values())
+            {
+                TimeSeries.Entry<E> entry = Objects.isNull(eventInstant) ? partition.end() : inclusive ? partition.floor(toZonedDateTime(eventInstant)) : partition.lower(toZonedDateTime(eventInstant));
+                if(Objects.nonNull(entry))
+                {
+                    return entry;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public TimeSeries.Entry<E> higherEntry(Instant eventInstant, boolean inclusive)
+        {
+            NavigableMap<Long, TimeSeries<E>> candidates = Objects.isNull(eventInstant) ? partitions : partitions.tailMap(partitionOf(eventInstant), true);
+            for(TimeSeries<E> partition : candidates.values())
+            {
+                TimeSeries.Entry<E> entry = Objects.isNull(eventInstant) ? partition.start() : inclusive ? partition.ceiling(toZonedDateTime(eventInstant)) : partition.higher(toZonedDateTime(eventInstant));
+                if(Objects.nonNull(entry))
+                {
+                    return entry;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public Iterator<TimeSeries.Entry<E>> iterator(Instant fromEventInstant, boolean fromInclusive, Instant toEventInstant, boolean toInclusive, boolean descending)
+        {
+            NavigableMap<Long, TimeSeries<E>> overlapping = overlapping(fromEventInstant, toEventInstant);
+            Iterator<TimeSeries<E>> partitionIterator = (descending ? overlapping.descendingMap() : overlapping).values().iterator();
+            return new Iterator<TimeSeries.Entry<E>>()
+            {
+                private Iterator<TimeSeries.Entry<E>> current = Collections.emptyIterator();
+
+                @Override
+                public boolean hasNext()
+                {
+                    while(!current.hasNext() && partitionIterator.hasNext())
+                    {
+                        NavigableSet<TimeSeries.Entry<E>> range = range(partitionIterator.next(), fromEventInstant, fromInclusive, toEventInstant, toInclusive);
+                        current = descending ? range.descendingIterator() : range.iterator();
+                    }
+                    return current.hasNext();
+                }
+
+                @Override
+                public TimeSeries.Entry<E> next()
+                {
+                    if(!hasNext())
+                    {
+                        throw new NoSuchElementException();
+                    }
+                    return current.next();
+                }
+            };
+        }
+
+        @Override
+        public int size(Instant fromEventInstant, boolean fromInclusive, Instant toEventInstant, boolean toInclusive)
+        {
+            NavigableMap<Long, TimeSeries<E>> overlapping = overlapping(fromEventInstant, toEventInstant);
+            int size = 0;
+            for(TimeSeries<E> partition : overlapping.values())
+            {
+                boolean edge = partition == overlapping.firstEntry().getValue() || partition == overlapping.lastEntry().getValue();
+                size += edge ? range(partition, fromEventInstant, fromInclusive, toEventInstant, toInclusive).size() : partition.size();
+            }
+            return size;
+        }
+
+        @Override
+        public Spliterator<TimeSeries.Entry<E>> spliterator(Instant fromEventInstant, boolean fromInclusive, Instant toEventInstant, boolean toInclusive)
+        {
+            NavigableMap<Long, TimeSeries<E>> overlapping = overlapping(fromEventInstant, toEventInstant);
+            List<NavigableSet<TimeSeries.Entry<E>>> ranges = new ArrayList<>(overlapping.size());
+            long[] sizeUpTo = new long[overlapping.size() + 1];
+            for(TimeSeries<E> partition : overlapping.values())
+            {
+                ranges.add(range(partition, fromEventInstant, fromInclusive, toEventInstant, toInclusive));
+                sizeUpTo[ranges.size()] = sizeUpTo[ranges.size() - 1] + partition.size();
+            }
+            return new PartitionSpliterator<>(ranges, sizeUpTo, 0, ranges.size());
+        }
+    }
+
+    /*
+     * Splits the list of partition ranges in half until one is left and then hands over to the
+     * spliterator of that partition. Sizes are estimated from whole partitions.
+     */
+    private static final class PartitionSpliterator<E> implements Spliterator<TimeSeries.Entry<E>>
+    {
+        private final List<NavigableSet<TimeSeries.Entry<E>>> ranges;
+        private final long[] sizeUpTo;
+        private int fromIndex;
+        private final int toIndex;
+        private Spliterator<TimeSeries.Entry<E>> current;
+
+        private PartitionSpliterator(List<NavigableSet<TimeSeries.Entry<E>>> ranges, long[] sizeUpTo, int fromIndex, int toIndex)
+        {
+            this.ranges = ranges;
+            this.sizeUpTo = sizeUpTo;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+        }
+
+        private Spliterator<TimeSeries.Entry<E>> current()
+        {
+            if(Objects.isNull(current))
+            {
+                current = ranges.get(fromIndex).spliterator();
+            }
+            return current;
+        }
+
+        @Override
+        public Spliterator<TimeSeries.Entry<E>> trySplit()
+        {
+            if(toIndex - fromIndex > 1 && Objects.isNull(current))
+            {
+                int midIndex = (fromIndex + toIndex) >>> 1;
+                Spliterator<TimeSeries.Entry<E>> prefix = new PartitionSpliterator<>(ranges, sizeUpTo, fromIndex, midIndex);
+                fromIndex = midIndex;
+                return prefix;
+            }
+            return toIndex - fromIndex == 1 ? current().trySplit() : null;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super TimeSeries.Entry<E>> action)
+        {
+            while(fromIndex < toIndex)
+            {
+                if(current().tryAdvance(action))
+                {
+                    return true;
+                }
+                fromIndex++;
+                current = null;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super TimeSeries.Entry<E>> action)
+        {
+            while(fromIndex < toIndex)
+            {
+                current().forEachRemaining(action);
+                fromIndex++;
+                current = null;
+            }
+        }
+
+        @Override
+        public long estimateSize()
+        {
+            if(toIndex - fromIndex == 1 && Objects.nonNull(current))
+            {
+                return current.estimateSize();
+            }
+            return fromIndex < toIndex ? sizeUpTo[toIndex] - sizeUpTo[fromIndex] : 0;
+        }
+
+        @Override
+        public int characteristics()
+        {
+            return Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL;
+        }
+
+        @Override
+        public Comparator<? super TimeSeries.Entry<E>> getComparator()
+        {
+            return null;
+        }
+    }
+}
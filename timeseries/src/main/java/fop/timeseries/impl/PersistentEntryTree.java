@@ -0,0 +1,283 @@
+package fop.timeseries.impl;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import fop.timeseries.TimeSeries;
+
+/*
+ * Persistent AVL tree of entries keyed by epoch nanos. Nodes are never mutated, put() copies only
+ * the O(log n) nodes on the path to the key and shares everything else with the previous version.
+ * Every node also tracks the size of its subtree so that positional access is O(log n).
+ */
+final class PersistentEntryTree<E>
+{
+    private final Node<E> root;
+
+    private PersistentEntryTree(Node<E> root)
+    {
+        this.root = root;
+    }
+
+    /*
+     * Builds a perfectly balanced tree in O(n) from keys in strictly ascending order.
+     */
+    static <E> PersistentEntryTree<E> fromSorted(long[] keys, List<TimeSeries.Entry<E>> values)
+    {
+        return new PersistentEntryTree<>(build(keys, values, 0, keys.length));
+    }
+
+    private static <E> Node<E> build(long[] keys, List<TimeSeries.Entry<E>> values, int fromIndex, int toIndex)
+    {
+        if(fromIndex >= toIndex)
+        {
+            return null;
+        }
+        int mid = (fromIndex + toIndex) >>> 1;
+        return new Node<>(keys[mid], values.get(mid), build(keys, values, fromIndex, mid), build(keys, values, mid + 1, toIndex));
+    }
+
+    int size()
+    {
+        return size(root);
+    }
+
+    PersistentEntryTree<E> put(long key, TimeSeries.Entry<E> value)
+    {
+        return new PersistentEntryTree<>(put(root, key, value));
+    }
+
+    TimeSeries.Entry<E> get(long key)
+    {
+        Node<E> node = root;
+        while(Objects.nonNull(node))
+        {
+            if(key < node.key)
+            {
+                node = node.left;
+            }
+            else if(key > node.key)
+            {
+                node = node.right;
+            }
+            else
+            {
+                return node.value;
+            }
+        }
+        return null;
+    }
+
+    /*
+     * Same contract as Arrays.binarySearch.
+     */
+    int indexOf(long key)
+    {
+        Node<E> node = root;
+        int offset = 0;
+        while(Objects.nonNull(node))
+        {
+            if(key < node.key)
+            {
+                node = node.left;
+            }
+            else if(key > node.key)
+            {
+                offset += size(node.left) + 1;
+                node = node.right;
+            }
+            else
+            {
+                return offset + size(node.left);
+            }
+        }
+        return -(offset + 1);
+    }
+
+    long keyAt(int index)
+    {
+        return nodeAt(index).key;
+    }
+
+    TimeSeries.Entry<E> entryAt(int index)
+    {
+        return nodeAt(index).value;
+    }
+
+    Iterator<TimeSeries.Entry<E>> iterator(int fromIndex, int toIndex, boolean descending)
+    {
+        return new NodeIterator<>(root, fromIndex, toIndex, descending);
+    }
+
+    private Node<E> nodeAt(int index)
+    {
+        if(index < 0 || index >= size())
+        {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        Node<E> node = root;
+        while(true)
+        {
+            int leftSize = size(node.left);
+            if(index < leftSize)
+            {
+                node = node.left;
+            }
+            else if(index > leftSize)
+            {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+            else
+            {
+                return node;
+            }
+        }
+    }
+
+    private static <E> Node<E> put(Node<E> node, long key, TimeSeries.Entry<E> value)
+    {
+        if(Objects.isNull(node))
+        {
+            return new Node<>(key, value, null, null);
+        }
+        if(key < node.key)
+        {
+            return balance(node.key, node.value, put(node.left, key, value), node.right);
+        }
+        if(key > node.key)
+        {
+            return balance(node.key, node.value, node.left, put(node.right, key, value));
+        }
+        return new Node<>(key, value, node.left, node.right);
+    }
+
+    private static <E> Node<E> balance(long key, TimeSeries.Entry<E> value, Node<E> left, Node<E> right)
+    {
+        int leftHeight = height(left);
+        int rightHeight = height(right);
+        if(leftHeight > rightHeight + 1)
+        {
+            if(height(left.left) >= height(left.right))
+            {
+                return new Node<>(left.key, left.value, left.left, new Node<>(key, value, left.right, right));
+            }
+            return new Node<>(left.right.key, left.right.value, new Node<>(left.key, left.value, left.left, left.right.left), new Node<>(key, value, left.right.right, right));
+        }
+        if(rightHeight > leftHeight + 1)
+        {
+            if(height(right.right) >= height(right.left))
+            {
+                return new Node<>(right.key, right.value, new Node<>(key, value, left, right.left), right.right);
+            }
+            return new Node<>(right.left.key, right.left.value, new Node<>(key, value, left, right.left.left), new Node<>(right.key, right.value, right.left.right, right.right));
+        }
+        return new Node<>(key, value, left, right);
+    }
+
+    private static int height(Node<?> node)
+    {
+        return Objects.isNull(node) ? 0 : node.height;
+    }
+
+    private static int size(Node<?> node)
+    {
+        return Objects.isNull(node) ? 0 : node.size;
+    }
+
+    private static final class Node<E>
+    {
+        private final long key;
+        private final TimeSeries.Entry<E> value;
+        private final Node<E> left;
+        private final Node<E> right;
+        private final int height;
+        private final int size;
+
+        private Node(long key, TimeSeries.Entry<E> value, Node<E> left, Node<E> right)
+        {
+            this.key = key;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+            this.size = size(left) + size(right) + 1;
+        }
+    }
+
+    private static final class NodeIterator<E> implements Iterator<TimeSeries.Entry<E>>
+    {
+        private final boolean descending;
+        private final Object[] stack;
+        private int stackSize;
+        private int remaining;
+
+        private NodeIterator(Node<E> root, int fromIndex, int toIndex, boolean descending)
+        {
+            this.descending = descending;
+            this.stack = new Object[height(root)];
+            this.remaining = Math.max(0, toIndex - fromIndex);
+            if(remaining > 0)
+            {
+                seek(root, descending ? toIndex - 1 : fromIndex);
+            }
+        }
+
+        private void seek(Node<E> node, int index)
+        {
+            while(Objects.nonNull(node))
+            {
+                int leftSize = size(node.left);
+                if(index < leftSize)
+                {
+                    if(!descending)
+                    {
+                        stack[stackSize++] = node;
+                    }
+                    node = node.left;
+                }
+                else if(index > leftSize)
+                {
+                    if(descending)
+                    {
+                        stack[stackSize++] = node;
+                    }
+                    index -= leftSize + 1;
+                    node = node.right;
+                }
+                else
+                {
+                    stack[stackSize++] = node;
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return remaining > 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public TimeSeries.Entry<E> next()
+        {
+            if(!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            Node<E> node = (Node<E>)stack[--stackSize];
+            Node<E> child = descending ? node.left : node.right;
+            while(Objects.nonNull(child))
+            {
+                stack[stackSize++] = child;
+                child = descending ? child.right : child.left;
+            }
+            remaining--;
+            return node.value;
+        }
+    }
+}
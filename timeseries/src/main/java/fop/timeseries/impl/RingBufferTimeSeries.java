@@ -0,0 +1,241 @@
+package fop.timeseries.impl;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+import fop.timeseries.util.TimeSeriesConstants;
+import fop.timeseries.util.TimeSeriesUtils;
+
+/*
+ * Bounded time series for live monitoring, keeping at most capacity points and optionally only
+ * those within timeToLive of the newest point. Points live in two preallocated circular columns,
+ * so in order appends and the evictions they cause are O(1) and allocate nothing once the buffer
+ * is full. Late points are shifted into place from the nearer end, and points that are already
+ * expired, or older than everything in a full buffer, are dropped on arrival.
+ */
+public class RingBufferTimeSeries<E> extends AbstractIndexedTimeSeries<E>
+{
+    private final long[] epochNanos;
+    private final Object[] events;
+    private final long timeToLiveNanos;
+    private int head;
+    private int size;
+
+    public RingBufferTimeSeries(int capacity)
+    {
+        this(TimeSeriesConstants.UTC, capacity);
+    }
+
+    public RingBufferTimeSeries(int capacity, Duration timeToLive)
+    {
+        this(TimeSeriesConstants.UTC, capacity, timeToLive);
+    }
+
+    public RingBufferTimeSeries(ZoneId zone, int capacity)
+    {
+        this(zone, capacity, Long.MAX_VALUE);
+    }
+
+    public RingBufferTimeSeries(ZoneId zone, int capacity, Duration timeToLive)
+    {
+        this(zone, capacity, timeToLiveNanos(timeToLive));
+    }
+
+    private RingBufferTimeSeries(ZoneId zone, int capacity, long timeToLiveNanos)
+    {
+        super(zone);
+        if(capacity <= 0)
+        {
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        }
+        this.epochNanos = new long[capacity];
+        this.events = new Object[capacity];
+        this.timeToLiveNanos = timeToLiveNanos;
+    }
+
+    private static long timeToLiveNanos(Duration timeToLive)
+    {
+        if(timeToLive.isNegative() || timeToLive.isZero())
+        {
+            throw new IllegalArgumentException("Time to live must be positive: " + timeToLive);
+        }
+        return timeToLive.toNanos();
+    }
+
+    @Override
+    public void add(ZonedDateTime eventDateTime, E event)
+    {
+        add(TimeSeriesUtils.toEpochNanos(eventDateTime), event);
+    }
+
+    @Override
+    public void add(long eventEpochNanos, E event)
+    {
+        if(size == 0 || eventEpochNanos > epochNanosAt(size - 1))
+        {
+            if(size == epochNanos.length)
+            {
+                evictOldest();
+            }
+            int slot = slot(size++);
+            epochNanos[slot] = eventEpochNanos;
+            events[slot] = event;
+            evictBefore(expiryOf(eventEpochNanos));
+            return;
+        }
+
+        if(eventEpochNanos < expiryOf(epochNanosAt(size - 1)))
+        {
+            return;
+        }
+        int index = indexOf(eventEpochNanos);
+        if(index >= 0)
+        {
+            events[slot(index)] = event;
+            return;
+        }
+        index = -index - 1;
+        if(size == epochNanos.length)
+        {
+            if(index == 0)
+            {
+                return;
+            }
+            evictOldest();
+            index--;
+        }
+        insert(index, eventEpochNanos, event);
+    }
+
+    @Override
+    public E remove(ZonedDateTime eventDateTime)
+    {
+        int index = indexOf(TimeSeriesUtils.toEpochNanos(eventDateTime));
+        if(index < 0)
+        {
+            return null;
+        }
+        E removed = eventAt(index);
+        if(index == 0)
+        {
+            evictOldest();
+        }
+        else
+        {
+            delete(index);
+        }
+        return removed;
+    }
+
+    /*
+     * Evicts every point before eventDateTime, for sweeping by wall clock when no new points
+     * arrive. Returns the number of points evicted.
+     */
+    public int evictBefore(ZonedDateTime eventDateTime)
+    {
+        return evictBefore(TimeSeriesUtils.toEpochNanos(eventDateTime));
+    }
+
+    public int evictBefore(long epochNanos)
+    {
+        int evicted = 0;
+        while(size > 0 && this.epochNanos[head] < epochNanos)
+        {
+            evictOldest();
+            evicted++;
+        }
+        return evicted;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    public int getCapacity()
+    {
+        return epochNanos.length;
+    }
+
+    public Duration getTimeToLive()
+    {
+        return timeToLiveNanos == Long.MAX_VALUE ? null : Duration.ofNanos(timeToLiveNanos);
+    }
+
+    @Override
+    protected long epochNanosAt(int index)
+    {
+        return epochNanos[slot(index)];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected E eventAt(int index)
+    {
+        return (E)events[slot(index)];
+    }
+
+    private int slot(int index)
+    {
+        int slot = head + index;
+        return slot < epochNanos.length ? slot : slot - epochNanos.length;
+    }
+
+    private long expiryOf(long newestEpochNanos)
+    {
+        return timeToLiveNanos == Long.MAX_VALUE || newestEpochNanos < Long.MIN_VALUE + timeToLiveNanos ? Long.MIN_VALUE : newestEpochNanos - timeToLiveNanos;
+    }
+
+    private void evictOldest()
+    {
+        events[head] = null;
+        head = slot(1);
+        size--;
+    }
+
+    /*
+     * Moves whichever side of index is shorter, so inserting near either end stays cheap.
+     */
+    private void insert(int index, long eventEpochNanos, E event)
+    {
+        if(index < size - index)
+        {
+            head = head == 0 ? epochNanos.length - 1 : head - 1;
+            for(int i = 0; i < index; i++)
+            {
+                move(i + 1, i);
+            }
+        }
+        else
+        {
+            for(int i = size; i > index; i--)
+            {
+                move(i - 1, i);
+            }
+        }
+        size++;
+        int slot = slot(index);
+        epochNanos[slot] = eventEpochNanos;
+        events[slot] = event;
+    }
+
+    private void delete(int index)
+    {
+        for(int i = index; i < size - 1; i++)
+        {
+            move(i + 1, i);
+        }
+        events[slot(--size)] = null;
+    }
+
+    private void move(int fromIndex, int toIndex)
+    {
+        int from = slot(fromIndex);
+        int to = slot(toIndex);
+        epochNanos[to] = epochNanos[from];
+        events[to] = events[from];
+    }
+}
@@ -0,0 +1,243 @@
+package fop.timeseries.impl;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import fop.timeseries.DoubleTimeSeries;
+import fop.timeseries.LongDoubleConsumer;
+import fop.timeseries.TimeSeries;
+import fop.timeseries.util.TimeSeriesConstants;
+import fop.timeseries.util.TimeSeriesUtils;
+
+public class SimpleDoubleTimeSeries extends AbstractPrimitiveTimeSeries implements DoubleTimeSeries
+{
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private double[] values;
+    private TimeSeries<Double> timeSeriesView;
+
+    public SimpleDoubleTimeSeries()
+    {
+        this(TimeSeriesConstants.UTC, DEFAULT_CAPACITY);
+    }
+
+    public SimpleDoubleTimeSeries(int initialCapacity)
+    {
+        this(TimeSeriesConstants.UTC, initialCapacity);
+    }
+
+    public SimpleDoubleTimeSeries(ZoneId zone)
+    {
+        this(zone, DEFAULT_CAPACITY);
+    }
+
+    public SimpleDoubleTimeSeries(ZoneId zone, int initialCapacity)
+    {
+        super(zone, initialCapacity);
+        this.values = new double[initialCapacity];
+    }
+
+    @Override
+    public void add(long epochNanos, double value)
+    {
+        /* slotFor may grow the columns, so values is read only after it returns */
+        int index = slotFor(epochNanos);
+        values[index] = value;
+    }
+
+    @Override
+    public double getAsDouble(long epochNanos)
+    {
+        int index = indexOf(epochNanos);
+        if(index < 0)
+        {
+            throw new NoSuchElementException("No value at " + epochNanos);
+        }
+        return values[index];
+    }
+
+    @Override
+    public double getOrDefault(long epochNanos, double defaultValue)
+    {
+        int index = indexOf(epochNanos);
+        return index >= 0 ? values[index] : defaultValue;
+    }
+
+    @Override
+    public double[] floorAll(long[] sortedEpochNanos, double defaultValue)
+    {
+        double[] floors = new double[sortedEpochNanos.length];
+        int index = -1;
+        for(int i = 0; i < sortedEpochNanos.length; i++)
+        {
+            index = floorIndex(sortedEpochNanos, i, index);
+            floors[i] = index >= 0 ? values[index] : defaultValue;
+        }
+        return floors;
+    }
+
+    @Override
+    public double valueAt(int index)
+    {
+        Objects.checkIndex(index, size);
+        return values[index];
+    }
+
+    @Override
+    public void forEach(LongDoubleConsumer consumer)
+    {
+        forEach(0, size, consumer);
+    }
+
+    @Override
+    public void forEach(long fromEpochNanos, boolean fromInclusive, long toEpochNanos, boolean toInclusive, LongDoubleConsumer consumer)
+    {
+        forEach(fromIndex(fromEpochNanos, fromInclusive), toIndex(toEpochNanos, toInclusive), consumer);
+    }
+
+    private void forEach(int fromIndex, int toIndex, LongDoubleConsumer consumer)
+    {
+        for(int i = fromIndex; i < toIndex; i++)
+        {
+            consumer.accept(epochNanos[i], values[i]);
+        }
+    }
+
+    @Override
+    public double sum()
+    {
+        return sum(0, size);
+    }
+
+    @Override
+    public double sum(long fromEpochNanos, boolean fromInclusive, long toEpochNanos, boolean toInclusive)
+    {
+        return sum(fromIndex(fromEpochNanos, fromInclusive), toIndex(toEpochNanos, toInclusive));
+    }
+
+    private double sum(int fromIndex, int toIndex)
+    {
+        double sum = 0;
+        for(int i = fromIndex; i < toIndex; i++)
+        {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public double min()
+    {
+        return min(0, size);
+    }
+
+    @Override
+    public double min(long fromEpochNanos, boolean fromInclusive, long toEpochNanos, boolean toInclusive)
+    {
+        return min(fromIndex(fromEpochNanos, fromInclusive), toIndex(toEpochNanos, toInclusive));
+    }
+
+    private double min(int fromIndex, int toIndex)
+    {
+        if(fromIndex >= toIndex)
+        {
+            return Double.NaN;
+        }
+        double min = Double.POSITIVE_INFINITY;
+        for(int i = fromIndex; i < toIndex; i++)
+        {
+            min = Math.min(min, values[i]);
+        }
+        return min;
+    }
+
+    @Override
+    public double max()
+    {
+        return max(0, size);
+    }
+
+    @Override
+    public double max(long fromEpochNanos, boolean fromInclusive, long toEpochNanos, boolean toInclusive)
+    {
+        return max(fromIndex(fromEpochNanos, fromInclusive), toIndex(toEpochNanos, toInclusive));
+    }
+
+    private double max(int fromIndex, int toIndex)
+    {
+        if(fromIndex >= toIndex)
+        {
+            return Double.NaN;
+        }
+        double max = Double.NEGATIVE_INFINITY;
+        for(int i = fromIndex; i < toIndex; i++)
+        {
+            max = Math.max(max, values[i]);
+        }
+        return max;
+    }
+
+    @Override
+    public double mean()
+    {
+        return mean(0, size);
+    }
+
+    @Override
+    public double mean(long fromEpochNanos, boolean fromInclusive, long toEpochNanos, boolean toInclusive)
+    {
+        return mean(fromIndex(fromEpochNanos, fromInclusive), toIndex(toEpochNanos, toInclusive));
+    }
+
+    private double mean(int fromIndex, int toIndex)
+    {
+        return fromIndex < toIndex ? sum(fromIndex, toIndex) / (toIndex - fromIndex) : Double.NaN;
+    }
+
+    @Override
+    public TimeSeries<Double> asTimeSeries()
+    {
+        if(Objects.isNull(timeSeriesView))
+        {
+            timeSeriesView = new TimeSeriesView();
+        }
+        return timeSeriesView;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "DoubleTimeSeries:" + asTimeSeries().getEntries();
+    }
+
+    @Override
+    protected void resizeValues(int capacity)
+    {
+        values = Arrays.copyOf(values, capacity);
+    }
+
+    @Override
+    protected void moveValues(int fromIndex, int toIndex, int length)
+    {
+        System.arraycopy(values, fromIndex, values, toIndex, length);
+    }
+
+    private final class TimeSeriesView extends BoxedTimeSeriesView<Double>
+    {
+        @Override
+        public void add(ZonedDateTime eventDateTime, Double event)
+        {
+            Objects.requireNonNull(event, "Double time series cannot hold a null event");
+            SimpleDoubleTimeSeries.this.add(TimeSeriesUtils.toEpochNanos(eventDateTime), event);
+        }
+
+        @Override
+        protected Double eventAt(int index)
+        {
+            return values[index];
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package fop.timeseries.impl;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import fop.timeseries.LongTimeSeries;
+import fop.timeseries.LongLongConsumer;
+import fop.timeseries.TimeSeries;
+import fop.timeseries.util.TimeSeriesConstants;
+import fop.timeseries.util.TimeSeriesUtils;
+
+public class SimpleLongTimeSeries extends AbstractPrimitiveTimeSeries implements LongTimeSeries
+{
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] values;
+    private TimeSeries<Long> timeSeriesView;
+
+    public SimpleLongTimeSeries()
+    {
+        this(TimeSeriesConstants.UTC, DEFAULT_CAPACITY);
+    }
+
+    public SimpleLongTimeSeries(int initialCapacity)
+    {
+        this(TimeSeriesConstants.UTC, initialCapacity);
+    }
+
+    public SimpleLongTimeSeries(ZoneId zone)
+    {
+        this(zone, DEFAULT_CAPACITY);
+    }
+
+    public SimpleLongTimeSeries(ZoneId zone, int initialCapacity)
+    {
+        super(zone, initialCapacity);
+        this.values = new long[initialCapacity];
+    }
+
+    @Override
+    public void add(long epochNanos, long value)
+    {
+        /* slotFor may grow the columns, so values is read only after it returns */
+        int index = slotFor(epochNanos);
+        values[index] = value;
+    }
+
+    @Override
+    public long getAsLong(long epochNanos)
+    {
+        int index = indexOf(epochNanos);
+        if(index < 0)
+        {
+            throw new NoSuchElementException("No value at " + epochNanos);
+        }
+        return values[index];
+    }
+
+    @Override
+    public long getOrDefault(long epochNanos, long defaultValue)
+    {
+        int index = indexOf(epochNanos);
+        return index >= 0 ? values[index] : defaultValue;
+    }
+
+    @Override
+    public long[] floorAll(long[] sortedEpochNanos, long defaultValue)
+    {
+        long[] floors = new long[sortedEpochNanos.length];
+        int index = -1;
+        for(int i = 0; i < sortedEpochNanos.length; i++)
+        {
+            index = floorIndex(sortedEpochNanos, i, index);
+            floors[i] = index >= 0 ? values[index] : defaultValue;
+        }
+        return floors;
+    }
+
+    @Override
+    public long valueAt(int index)
+    {
+        Objects.checkIndex(index, size);
+        return values[index];
+    }
+
+    @Override
+    public void forEach(LongLongConsumer consumer)
+    {
+        forEach(0, size, consumer);
+    }
+
+    @Override
+    public void forEach(long fromEpochNanos, boolean fromInclusive, long toEpochNanos, boolean toInclusive, LongLongConsumer consumer)
+    {
+        forEach(fromIndex(fromEpochNanos, fromInclusive), toIndex(toEpochNanos, toInclusive), consumer);
+    }
+
+    private void forEach(int fromIndex, int toIndex, LongLongConsumer consumer)
+    {
+        for(int i = fromIndex; i < toIndex; i++)
+        {
+            consumer.accept(epochNanos[i], values[i]);
+        }
+    }
+
+    @Override
+    public long sum()
+    {
+        return sum(0, size);
+    }
+
+    @Override
+    public long sum(long fromEpochNanos, boolean fromInclusive, long toEpochNanos, boolean toInclusive)
+    {
+        return sum(fromIndex(fromEpochNanos, fromInclusive), toIndex(toEpochNanos, toInclusive));
+    }
+
+    private long sum(int fromIndex, int toIndex)
+    {
+        long sum = 0;
+        for(int i = fromIndex; i < toIndex; i++)
+        {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public long min()
+    {
+        return min(0, size);
+    }
+
+    @Override
+    public long min(long fromEpochNanos, boolean fromInclusive, long toEpochNanos, boolean toInclusive)
+    {
+        return min(fromIndex(fromEpochNanos, fromInclusive), toIndex(toEpochNanos, toInclusive));
+    }
+
+    private long min(int fromIndex, int toIndex)
+    {
+        if(fromIndex >= toIndex)
+        {
+            throw new NoSuchElementException();
+        }
+        long min = Long.MAX_VALUE;
+        for(int i = fromIndex; i < toIndex; i++)
+        {
+            min = Math.min(min, values[i]);
+        }
+        return min;
+    }
+
+    @Override
+    public long max()
+    {
+        return max(0, size);
+    }
+
+    @Override
+    public long max(long fromEpochNanos, boolean fromInclusive, long toEpochNanos, boolean toInclusive)
+    {
+        return max(fromIndex(fromEpochNanos, fromInclusive), toIndex(toEpochNanos, toInclusive));
+    }
+
+    private long max(int fromIndex, int toIndex)
+    {
+        if(fromIndex >= toIndex)
+        {
+            throw new NoSuchElementException();
+        }
+        long max = Long.MIN_VALUE;
+        for(int i = fromIndex; i < toIndex; i++)
+        {
+            max = Math.max(max, values[i]);
+        }
+        return max;
+    }
+
+    @Override
+    public double mean()
+    {
+        return mean(0, size);
+    }
+
+    @Override
+    public double mean(long fromEpochNanos, boolean fromInclusive, long toEpochNanos, boolean toInclusive)
+    {
+        return mean(fromIndex(fromEpochNanos, fromInclusive), toIndex(toEpochNanos, toInclusive));
+    }
+
+    private double mean(int fromIndex, int toIndex)
+    {
+        return fromIndex < toIndex ? (double)sum(fromIndex, toIndex) / (toIndex - fromIndex) : Double.NaN;
+    }
+
+    @Override
+    public TimeSeries<Long> asTimeSeries()
+    {
+        if(Objects.isNull(timeSeriesView))
+        {
+            timeSeriesView = new TimeSeriesView();
+        }
+        return timeSeriesView;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "LongTimeSeries:" + asTimeSeries().getEntries();
+    }
+
+    @Override
+    protected void resizeValues(int capacity)
+    {
+        values = Arrays.copyOf(values, capacity);
+    }
+
+    @Override
+    protected void moveValues(int fromIndex, int toIndex, int length)
+    {
+        System.arraycopy(values, fromIndex, values, toIndex, length);
+    }
+
+    private final class TimeSeriesView extends BoxedTimeSeriesView<Long>
+    {
+        @Override
+        public void add(ZonedDateTime eventDateTime, Long event)
+        {
+            Objects.requireNonNull(event, "Long time series cannot hold a null event");
+            SimpleLongTimeSeries.this.add(TimeSeriesUtils.toEpochNanos(eventDateTime), event);
+        }
+
+        @Override
+        protected Long eventAt(int index)
+        {
+            return values[index];
+        }
+    }
+}
@@ -3,7 +3,6 @@ package fop.timeseries.impl;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.Collection;
-import java.util.Objects;
 import java.util.function.Supplier;
 
 import fop.timeseries.TimeSeries;
@@ -33,13 +32,7 @@ public class SimpleMultiTimeSeries<E, C extends Collection<E>> extends AbstractM
     @Override
     public void addEvent(ZonedDateTime eventDateTime, E event) 
     {
-        C collection = get(eventDateTime);
-        if(Objects.isNull(collection)) {
-            collection = entryCollectionFactory.get();
-            add(eventDateTime, collection);
-        }
-        
-        collection.add(event);
+        timeSeriesStore.computeIfAbsent(Instant.from(eventDateTime), k->TimeSeriesEntry.of(eventDateTime, entryCollectionFactory.get())).getEvent().add(event);
     }
 
     @Override
@@ -0,0 +1,101 @@
+package fop.timeseries.impl;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+
+import fop.timeseries.ImmutableTimeSeries;
+import fop.timeseries.TimeSeries;
+import fop.timeseries.util.TimeSeriesConstants;
+import fop.timeseries.util.TimeSeriesUtils;
+
+public class SimpleTimeSeries<E> extends AbstractTimeSeries<E>
+{
+    private boolean frozen;
+
+    public SimpleTimeSeries()
+    {
+        super();
+    }
+
+    public SimpleTimeSeries(TimeSeries<E> timeSeries)
+    {
+        super(timeSeries);
+    }
+
+    public SimpleTimeSeries(Collection<TimeSeries.Entry<E>> entries)
+    {
+        super(entries);
+    }
+    
+    @Override
+    public SimpleTimeSeries<E> clone()
+    {
+        return new SimpleTimeSeries<>(this);
+    }
+
+    /*
+     * Hands the backing store over to an immutable series in O(1), nothing is copied. This series
+     * stays readable but can no longer be changed, add() and remove() throw from then on.
+     */
+    public ImmutableTimeSeries<E> freeze()
+    {
+        frozen = true;
+        return new FrozenTimeSeries<>(timeSeriesStore);
+    }
+
+    public boolean isFrozen()
+    {
+        return frozen;
+    }
+
+    private void ensureNotFrozen()
+    {
+        if(frozen)
+        {
+            throw new IllegalStateException("Time series was frozen, its store now belongs to an immutable series");
+        }
+    }
+
+    @Override
+    public void add(ZonedDateTime eventDateTime, E event)
+    {
+        ensureNotFrozen();
+        TimeSeriesEntry<E> entry = TimeSeriesEntry.of(eventDateTime, event);
+        super.addEntry(entry.getEventInstant(), entry);
+    }
+
+    @Override
+    public void add(Instant eventInstant, E event)
+    {
+        ensureNotFrozen();
+        super.addEntry(eventInstant, TimeSeriesEntry.of(eventInstant, TimeSeriesConstants.UTC, event));
+    }
+
+    @Override
+    public void add(long eventEpochNanos, E event)
+    {
+        add(TimeSeriesUtils.toInstant(eventEpochNanos), event);
+    }
+
+    @Override
+    public E remove(Instant eventInstant)
+    {
+        ensureNotFrozen();
+        return super.removeEntry(eventInstant);
+    }
+
+    @Override
+    public E remove(long eventEpochNanos)
+    {
+        return remove(TimeSeriesUtils.toInstant(eventEpochNanos));
+    }
+
+    @Override
+    public E remove(ZonedDateTime eventDateTime)
+    {
+        ensureNotFrozen();
+        return super.removeEntry(Instant.from(eventDateTime));
+    }
+
+}
@@ -0,0 +1,194 @@
+package fop.timeseries.impl;
+
+import java.time.Instant;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+
+import fop.timeseries.TimeSeries;
+import fop.timeseries.impl.AbstractTimeSeries.TimeSeriesEntry;
+
+/*
+ * Adapts an already sorted, duplicate free list of entries to the SortedMap shape that lets
+ * TreeMap build itself in a single linear pass instead of one put per entry. The map is read only;
+ * key lookups and sub maps binary search the list, and sub maps are subList views that remember
+ * their bounds so keys outside them are rejected as SortedMap requires.
+ */
+final class SortedEntryMap<E> extends AbstractMap<Instant, TimeSeries.Entry<E>> implements SortedMap<Instant, TimeSeries.Entry<E>>
+{
+    private final List<TimeSeries.Entry<E>> sortedUniqueEntries;
+    private final Instant fromKey;
+    private final Instant toKey;
+
+    SortedEntryMap(List<TimeSeries.Entry<E>> sortedUniqueEntries)
+    {
+        this(sortedUniqueEntries, null, null);
+    }
+
+    private SortedEntryMap(List<TimeSeries.Entry<E>> sortedUniqueEntries, Instant fromKey, Instant toKey)
+    {
+        this.sortedUniqueEntries = sortedUniqueEntries;
+        this.fromKey = fromKey;
+        this.toKey = toKey;
+    }
+
+    /*
+     * Index of the first entry at or after key, size() if there is none.
+     */
+    private int lowerBound(Instant key)
+    {
+        int low = 0;
+        int high = sortedUniqueEntries.size();
+        while(low < high)
+        {
+            int mid = (low + high) >>> 1;
+            if(TimeSeriesEntry.eventInstantOf(sortedUniqueEntries.get(mid)).compareTo(key) < 0)
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private boolean inRange(Instant key)
+    {
+        return (Objects.isNull(fromKey) || key.compareTo(fromKey) >= 0) && (Objects.isNull(toKey) || key.compareTo(toKey) <= 0);
+    }
+
+    private SortedEntryMap<E> range(Instant fromKey, Instant toKey)
+    {
+        if(Objects.nonNull(fromKey) && !inRange(fromKey))
+        {
+            throw new IllegalArgumentException("fromKey out of range");
+        }
+        if(Objects.nonNull(toKey) && !inRange(toKey))
+        {
+            throw new IllegalArgumentException("toKey out of range");
+        }
+        if(Objects.nonNull(fromKey) && Objects.nonNull(toKey) && fromKey.compareTo(toKey) > 0)
+        {
+            throw new IllegalArgumentException("fromKey > toKey");
+        }
+        int fromIndex = Objects.isNull(fromKey) ? 0 : lowerBound(fromKey);
+        int toIndex = Objects.isNull(toKey) ? sortedUniqueEntries.size() : lowerBound(toKey);
+        return new SortedEntryMap<>(sortedUniqueEntries.subList(fromIndex, toIndex),
+                Objects.isNull(fromKey) ? this.fromKey : fromKey, Objects.isNull(toKey) ? this.toKey : toKey);
+    }
+
+    @Override
+    public TimeSeries.Entry<E> get(Object key)
+    {
+        if(!(key instanceof Instant))
+        {
+            return null;
+        }
+        int index = lowerBound((Instant)key);
+        if(index == sortedUniqueEntries.size())
+        {
+            return null;
+        }
+        TimeSeries.Entry<E> entry = sortedUniqueEntries.get(index);
+        return key.equals(TimeSeriesEntry.eventInstantOf(entry)) ? entry : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        return Objects.nonNull(get(key));
+    }
+
+    @Override
+    public Set<Map.Entry<Instant, TimeSeries.Entry<E>>> entrySet()
+    {
+        return new AbstractSet<Map.Entry<Instant, TimeSeries.Entry<E>>>()
+        {
+            @Override
+            public Iterator<Map.Entry<Instant, TimeSeries.Entry<E>>> iterator()
+            {
+                Iterator<TimeSeries.Entry<E>> entryIterator = sortedUniqueEntries.iterator();
+                return new Iterator<Map.Entry<Instant, TimeSeries.Entry<E>>>()
+                {
+                    @Override
+                    public boolean hasNext()
+                    {
+                        return entryIterator.hasNext();
+                    }
+
+                    @Override
+                    public Map.Entry<Instant, TimeSeries.Entry<E>> next()
+                    {
+                        TimeSeries.Entry<E> entry = entryIterator.next();
+                        return new AbstractMap.SimpleImmutableEntry<>(TimeSeriesEntry.eventInstantOf(entry), entry);
+                    }
+                };
+            }
+
+            @Override
+            public int size()
+            {
+                return sortedUniqueEntries.size();
+            }
+        };
+    }
+
+    @Override
+    public int size()
+    {
+        return sortedUniqueEntries.size();
+    }
+
+    @Override
+    public Comparator<? super Instant> comparator()
+    {
+        return null;
+    }
+
+    @Override
+    public SortedMap<Instant, TimeSeries.Entry<E>> subMap(Instant fromKey, Instant toKey)
+    {
+        return range(Objects.requireNonNull(fromKey), Objects.requireNonNull(toKey));
+    }
+
+    @Override
+    public SortedMap<Instant, TimeSeries.Entry<E>> headMap(Instant toKey)
+    {
+        return range(null, Objects.requireNonNull(toKey));
+    }
+
+    @Override
+    public SortedMap<Instant, TimeSeries.Entry<E>> tailMap(Instant fromKey)
+    {
+        return range(Objects.requireNonNull(fromKey), null);
+    }
+
+    @Override
+    public Instant firstKey()
+    {
+        if(sortedUniqueEntries.isEmpty())
+        {
+            throw new NoSuchElementException();
+        }
+        return TimeSeriesEntry.eventInstantOf(sortedUniqueEntries.get(0));
+    }
+
+    @Override
+    public Instant lastKey()
+    {
+        if(sortedUniqueEntries.isEmpty())
+        {
+            throw new NoSuchElementException();
+        }
+        return TimeSeriesEntry.eventInstantOf(sortedUniqueEntries.get(sortedUniqueEntries.size() - 1));
+    }
+}
@@ -0,0 +1,277 @@
+package fop.timeseries.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.function.Consumer;
+
+import fop.timeseries.TimeSeries;
+import fop.timeseries.util.TimeSeriesUtils;
+
+/*
+ * In memory series whose every write is appended to a WriteAheadLog before the call returns, and
+ * which is rebuilt from the snapshot and the log on open. A record is the operation, the epoch
+ * nanos and zone of the point, and the payload encoded with fresh ValueCodec encoders so that
+ * every record decodes on its own.
+ *
+ * A write is encoded and appended to the log before it is applied to the series, so a value the
+ * codec cannot encode never shows up in memory without being logged.
+ *
+ * Writes are serialized on this object, which keeps the log in the same order as the series, and
+ * the fsync happens after the lock is released so concurrent writers can share it. The point
+ * lookups are synchronized as well, the entry views are live and should be iterated while holding
+ * the lock if writers run concurrently.
+ */
+public abstract class AbstractDurableTimeSeries<E, T extends TimeSeries<E>> implements TimeSeries<E>, Closeable
+{
+    public static final long DEFAULT_SNAPSHOT_THRESHOLD = 1_000_000;
+
+    protected static final int ADD = 1;
+    protected static final int REMOVE = 2;
+    protected static final int ADD_EVENT = 3;
+    protected static final int REMOVE_EVENT = 4;
+
+    private static final int INITIAL_RECORD_SIZE = 256;
+
+    protected final T timeSeries;
+    private final WriteAheadLog writeAheadLog;
+    private final long snapshotThreshold;
+    private ByteBuffer recordBuffer;
+
+    protected AbstractDurableTimeSeries(T timeSeries, WriteAheadLog writeAheadLog, long snapshotThreshold)
+    {
+        this.timeSeries = timeSeries;
+        this.writeAheadLog = writeAheadLog;
+        this.snapshotThreshold = snapshotThreshold;
+        this.recordBuffer = ByteBuffer.allocate(INITIAL_RECORD_SIZE);
+    }
+
+    @Override
+    public void add(ZonedDateTime eventDateTime, E event)
+    {
+        long sequence;
+        synchronized(this)
+        {
+            sequence = log(ADD, eventDateTime, output->encodePayload(event, output));
+            timeSeries.add(eventDateTime, event);
+        }
+        commit(sequence);
+    }
+
+    @Override
+    public E remove(ZonedDateTime eventDateTime)
+    {
+        E removed;
+        long sequence;
+        synchronized(this)
+        {
+            sequence = log(REMOVE, eventDateTime, output->{});
+            removed = timeSeries.remove(eventDateTime);
+        }
+        commit(sequence);
+        return removed;
+    }
+
+    protected abstract void encodePayload(E event, BitOutput output);
+
+    /*
+     * Must be called while holding the lock on this object.
+     */
+    protected long log(int operation, ZonedDateTime eventDateTime, Consumer<BitOutput> payload)
+    {
+        return writeAheadLog.append(encodeRecord(operation, eventDateTime, payload));
+    }
+
+    private ByteBuffer encodeRecord(int operation, ZonedDateTime eventDateTime, Consumer<BitOutput> payload)
+    {
+        while(true)
+        {
+            recordBuffer.clear();
+            try
+            {
+                BitOutput output = new BitOutput(recordBuffer);
+                output.writeBits(operation, 8);
+                output.writeZigZag(TimeSeriesUtils.toEpochNanos(eventDateTime));
+                byte[] zoneId = eventDateTime.getZone().getId().getBytes(StandardCharsets.UTF_8);
+                output.writeVarLong(zoneId.length);
+                output.writeBytes(zoneId);
+                payload.accept(output);
+                output.finish();
+                recordBuffer.flip();
+                return recordBuffer;
+            }
+            catch(BufferOverflowException e)
+            {
+                recordBuffer = ByteBuffer.allocate(recordBuffer.capacity() << 1);
+            }
+        }
+    }
+
+    protected void commit(long sequence)
+    {
+        try
+        {
+            writeAheadLog.commit(sequence);
+            if(snapshotThreshold > 0 && writeAheadLog.getRecordsSinceSnapshot() >= snapshotThreshold)
+            {
+                synchronized(this)
+                {
+                    if(writeAheadLog.getRecordsSinceSnapshot() >= snapshotThreshold)
+                    {
+                        compact();
+                    }
+                }
+            }
+        }
+        catch(IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * Compacts the log into a snapshot of the current points, one ADD record per point.
+     */
+    public synchronized void compact() throws IOException
+    {
+        Iterator<TimeSeries.Entry<E>> entries = timeSeries.iterator();
+        writeAheadLog.snapshot(()->new Iterator<ByteBuffer>()
+        {
+            @Override
+            public boolean hasNext()
+            {
+                return entries.hasNext();
+            }
+
+            @Override
+            public ByteBuffer next()
+            {
+                TimeSeries.Entry<E> entry = entries.next();
+                return encodeRecord(ADD, entry.getEventDateTime(), output->encodePayload(entry.getEvent(), output));
+            }
+        });
+    }
+
+    protected static ZonedDateTime readEventDateTime(BitInput input)
+    {
+        long epochNanos = input.readZigZag();
+        ZoneId zone = ZoneId.of(new String(input.readBytes((int)input.readVarLong()), StandardCharsets.UTF_8));
+        return TimeSeriesUtils.toZonedDateTime(epochNanos, zone);
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        writeAheadLog.close();
+    }
+
+    @Override
+    public synchronized E get(ZonedDateTime eventDateTime)
+    {
+        return timeSeries.get(eventDateTime);
+    }
+
+    @Override
+    public synchronized boolean contains(ZonedDateTime eventDateTime)
+    {
+        return timeSeries.contains(eventDateTime);
+    }
+
+    @Override
+    public synchronized int size()
+    {
+        return timeSeries.size();
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> getEntries()
+    {
+        return timeSeries.getEntries();
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesSubSet(ZonedDateTime fromEventDateTime, boolean fromInclusive, ZonedDateTime toEventDateTime, boolean toInclusive)
+    {
+        return timeSeries.getEntriesSubSet(fromEventDateTime, fromInclusive, toEventDateTime, toInclusive);
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesHeadSet(ZonedDateTime toEventDateTime, boolean inclusive)
+    {
+        return timeSeries.getEntriesHeadSet(toEventDateTime, inclusive);
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesTailSet(ZonedDateTime fromEventDateTime, boolean inclusive)
+    {
+        return timeSeries.getEntriesTailSet(fromEventDateTime, inclusive);
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesSubSet(ZonedDateTime fromEventDateTime, ZonedDateTime toEventDateTime)
+    {
+        return timeSeries.getEntriesSubSet(fromEventDateTime, toEventDateTime);
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesHeadSet(ZonedDateTime toEventDateTime)
+    {
+        return timeSeries.getEntriesHeadSet(toEventDateTime);
+    }
+
+    @Override
+    public NavigableSet<TimeSeries.Entry<E>> getEntriesTailSet(ZonedDateTime fromEventDateTime)
+    {
+        return timeSeries.getEntriesTailSet(fromEventDateTime);
+    }
+
+    @Override
+    public NavigableSet<ZonedDateTime> eventDateTimes()
+    {
+        return timeSeries.eventDateTimes();
+    }
+
+    @Override
+    public Collection<E> events()
+    {
+        return timeSeries.events();
+    }
+
+    @Override
+    public synchronized TimeSeries.Entry<E> start()
+    {
+        return timeSeries.start();
+    }
+
+    @Override
+    public synchronized TimeSeries.Entry<E> end()
+    {
+        return timeSeries.end();
+    }
+
+    @Override
+    public Iterator<TimeSeries.Entry<E>> iterator()
+    {
+        return timeSeries.iterator();
+    }
+
+    @Override
+    public Iterator<TimeSeries.Entry<E>> descendingIterator()
+    {
+        return timeSeries.descendingIterator();
+    }
+
+    @Override
+    public String toString()
+    {
+        return timeSeries.toString();
+    }
+}
@@ -0,0 +1,128 @@
+package fop.timeseries.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Objects;
+
+/*
+ * Reads back what BitOutput wrote. With a channel the buffer is refilled from it when it runs dry,
+ * so reading may consume bytes of the channel past the end of the stream.
+ */
+public final class BitInput
+{
+    private final ByteBuffer buffer;
+    private final ReadableByteChannel channel;
+    private int current;
+    private int currentBits;
+
+    public BitInput(ByteBuffer buffer)
+    {
+        this(buffer, null);
+    }
+
+    /*
+     * The buffer is used for reading ahead from the channel and is cleared first.
+     */
+    public BitInput(ByteBuffer buffer, ReadableByteChannel channel)
+    {
+        this.buffer = Objects.requireNonNull(buffer);
+        this.channel = channel;
+        if(Objects.nonNull(channel))
+        {
+            buffer.clear().flip();
+        }
+    }
+
+    public boolean readBit()
+    {
+        return readBits(1) != 0;
+    }
+
+    public long readBits(int count)
+    {
+        long value = 0;
+        while(count > 0)
+        {
+            if(currentBits == 0)
+            {
+                current = nextByte();
+                currentBits = 8;
+            }
+            int n = Math.min(currentBits, count);
+            currentBits -= n;
+            count -= n;
+            value = (value << n) | ((current >>> currentBits) & ((1 << n) - 1));
+        }
+        return value;
+    }
+
+    public long readVarLong()
+    {
+        long value = 0;
+        for(int shift = 0; shift < 64; shift += 7)
+        {
+            long b = readBits(8);
+            value |= (b & 0x7F) << shift;
+            if((b & 0x80) == 0)
+            {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed varint");
+    }
+
+    public long readZigZag()
+    {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public byte[] readBytes(int length)
+    {
+        byte[] bytes = new byte[length];
+        for(int i = 0; i < length; i++)
+        {
+            bytes[i] = (byte)readBits(8);
+        }
+        return bytes;
+    }
+
+    private int nextByte()
+    {
+        if(!buffer.hasRemaining())
+        {
+            if(Objects.isNull(channel))
+            {
+                throw new BufferUnderflowException();
+            }
+            fill();
+        }
+        return buffer.get() & 0xFF;
+    }
+
+    private void fill()
+    {
+        buffer.clear();
+        try
+        {
+            int read = 0;
+            while(read == 0)
+            {
+                read = channel.read(buffer);
+            }
+            if(read < 0)
+            {
+                throw new EOFException("Stream ended before the end of the time series");
+            }
+        }
+        catch(IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+        buffer.flip();
+    }
+}
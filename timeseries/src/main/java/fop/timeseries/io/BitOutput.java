@@ -0,0 +1,127 @@
+package fop.timeseries.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
+
+/*
+ * Writes a stream of bits most significant first into a ByteBuffer. With a channel the buffer is
+ * drained into it whenever it fills up, without one a full buffer is an overflow. finish() pads
+ * the last byte with zero bits.
+ */
+public final class BitOutput
+{
+    private final ByteBuffer buffer;
+    private final WritableByteChannel channel;
+    private int current;
+    private int currentBits;
+
+    public BitOutput(ByteBuffer buffer)
+    {
+        this(buffer, null);
+    }
+
+    public BitOutput(ByteBuffer buffer, WritableByteChannel channel)
+    {
+        this.buffer = Objects.requireNonNull(buffer);
+        this.channel = channel;
+    }
+
+    public void writeBit(boolean bit)
+    {
+        writeBits(bit ? 1 : 0, 1);
+    }
+
+    /*
+     * Writes the low count bits of value, count is between 0 and 64.
+     */
+    public void writeBits(long value, int count)
+    {
+        while(count > 0)
+        {
+            int n = Math.min(8 - currentBits, count);
+            count -= n;
+            current = (current << n) | (int)((value >>> count) & ((1 << n) - 1));
+            currentBits += n;
+            if(currentBits == 8)
+            {
+                putByte(current);
+                current = 0;
+                currentBits = 0;
+            }
+        }
+    }
+
+    /*
+     * Unsigned LEB128, seven bits per byte with the high bit set on every byte but the last.
+     */
+    public void writeVarLong(long value)
+    {
+        while((value & ~0x7FL) != 0)
+        {
+            writeBits((value & 0x7F) | 0x80, 8);
+            value >>>= 7;
+        }
+        writeBits(value, 8);
+    }
+
+    public void writeZigZag(long value)
+    {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    public void writeBytes(byte[] bytes)
+    {
+        for(byte b : bytes)
+        {
+            writeBits(b, 8);
+        }
+    }
+
+    public void finish()
+    {
+        if(currentBits > 0)
+        {
+            putByte(current << (8 - currentBits));
+            current = 0;
+            currentBits = 0;
+        }
+        if(Objects.nonNull(channel))
+        {
+            drain();
+        }
+    }
+
+    private void putByte(int b)
+    {
+        if(!buffer.hasRemaining())
+        {
+            if(Objects.isNull(channel))
+            {
+                throw new BufferOverflowException();
+            }
+            drain();
+        }
+        buffer.put((byte)b);
+    }
+
+    private void drain()
+    {
+        buffer.flip();
+        try
+        {
+            while(buffer.hasRemaining())
+            {
+                channel.write(buffer);
+            }
+        }
+        catch(IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+}
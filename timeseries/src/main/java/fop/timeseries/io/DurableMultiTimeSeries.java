@@ -0,0 +1,138 @@
+package fop.timeseries.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import fop.timeseries.MultiTimeSeries;
+import fop.timeseries.TimeSeries;
+import fop.timeseries.impl.AbstractTimeSeries.TimeSeriesEntry;
+import fop.timeseries.impl.SimpleMultiTimeSeries;
+
+/*
+ * SimpleMultiTimeSeries backed by a WriteAheadLog, see DurableTimeSeries. Whole collections are
+ * logged as a count followed by their events, single events with addEvent and remove(time, event).
+ */
+public class DurableMultiTimeSeries<E, C extends Collection<E>> extends AbstractDurableTimeSeries<C, SimpleMultiTimeSeries<E, C>> implements MultiTimeSeries<E, C>
+{
+    private final ValueCodec<E> valueCodec;
+
+    private DurableMultiTimeSeries(SimpleMultiTimeSeries<E, C> timeSeries, WriteAheadLog writeAheadLog, long snapshotThreshold, ValueCodec<E> valueCodec)
+    {
+        super(timeSeries, writeAheadLog, snapshotThreshold);
+        this.valueCodec = valueCodec;
+    }
+
+    public static <E, C extends Collection<E>> DurableMultiTimeSeries<E, C> open(Path directory, ValueCodec<E> valueCodec, Supplier<C> entryCollectionFactory, FsyncPolicy fsyncPolicy) throws IOException
+    {
+        return open(directory, valueCodec, entryCollectionFactory, fsyncPolicy, DEFAULT_SNAPSHOT_THRESHOLD);
+    }
+
+    public static <E, C extends Collection<E>> DurableMultiTimeSeries<E, C> open(Path directory, ValueCodec<E> valueCodec, Supplier<C> entryCollectionFactory, FsyncPolicy fsyncPolicy, long snapshotThreshold) throws IOException
+    {
+        List<TimeSeries.Entry<C>> snapshotEntries = new ArrayList<>();
+        List<SimpleMultiTimeSeries<E, C>> recovered = new ArrayList<>(1);
+        WriteAheadLog writeAheadLog = WriteAheadLog.open(directory, fsyncPolicy, record->{
+            BitInput input = new BitInput(record);
+            input.readBits(8);
+            ZonedDateTime eventDateTime = readEventDateTime(input);
+            snapshotEntries.add(TimeSeriesEntry.of(eventDateTime, decodeCollection(input, valueCodec, entryCollectionFactory)));
+        }, record->{
+            if(recovered.isEmpty())
+            {
+                recovered.add(new SimpleMultiTimeSeries<>(snapshotEntries, entryCollectionFactory));
+                snapshotEntries.clear();
+            }
+            replay(recovered.get(0), record, valueCodec, entryCollectionFactory);
+        });
+        if(recovered.isEmpty())
+        {
+            recovered.add(new SimpleMultiTimeSeries<>(snapshotEntries, entryCollectionFactory));
+        }
+        return new DurableMultiTimeSeries<>(recovered.get(0), writeAheadLog, snapshotThreshold, Objects.requireNonNull(valueCodec));
+    }
+
+    private static <E, C extends Collection<E>> C decodeCollection(BitInput input, ValueCodec<E> valueCodec, Supplier<C> entryCollectionFactory)
+    {
+        C events = entryCollectionFactory.get();
+        ValueCodec.Decoder<E> decoder = valueCodec.newDecoder();
+        for(long count = input.readVarLong(); count > 0; count--)
+        {
+            events.add(decoder.decode(input));
+        }
+        return events;
+    }
+
+    private static <E, C extends Collection<E>> void replay(SimpleMultiTimeSeries<E, C> timeSeries, ByteBuffer record, ValueCodec<E> valueCodec, Supplier<C> entryCollectionFactory)
+    {
+        BitInput input = new BitInput(record);
+        int operation = (int)input.readBits(8);
+        ZonedDateTime eventDateTime = readEventDateTime(input);
+        switch(operation)
+        {
+            case ADD:
+                timeSeries.add(eventDateTime, decodeCollection(input, valueCodec, entryCollectionFactory));
+                break;
+            case REMOVE:
+                timeSeries.remove(eventDateTime);
+                break;
+            case ADD_EVENT:
+                timeSeries.addEvent(eventDateTime, valueCodec.newDecoder().decode(input));
+                break;
+            case REMOVE_EVENT:
+                timeSeries.remove(eventDateTime, valueCodec.newDecoder().decode(input));
+                break;
+            default:
+                throw new IllegalStateException("Unknown log operation " + operation);
+        }
+    }
+
+    @Override
+    protected void encodePayload(C events, BitOutput output)
+    {
+        ValueCodec.Encoder<E> encoder = valueCodec.newEncoder();
+        output.writeVarLong(events.size());
+        for(E event : events)
+        {
+            encoder.encode(event, output);
+        }
+    }
+
+    @Override
+    public void addEvent(ZonedDateTime eventDateTime, E event)
+    {
+        long sequence;
+        synchronized(this)
+        {
+            sequence = log(ADD_EVENT, eventDateTime, output->valueCodec.newEncoder().encode(event, output));
+            timeSeries.addEvent(eventDateTime, event);
+        }
+        commit(sequence);
+    }
+
+    @Override
+    public synchronized boolean contains(ZonedDateTime eventDateTime, E event)
+    {
+        return timeSeries.contains(eventDateTime, event);
+    }
+
+    @Override
+    public boolean remove(ZonedDateTime eventDateTime, E event)
+    {
+        boolean removed;
+        long sequence;
+        synchronized(this)
+        {
+            sequence = log(REMOVE_EVENT, eventDateTime, output->valueCodec.newEncoder().encode(event, output));
+            removed = timeSeries.remove(eventDateTime, event);
+        }
+        commit(sequence);
+        return removed;
+    }
+}
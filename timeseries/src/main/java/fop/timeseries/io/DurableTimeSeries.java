@@ -0,0 +1,86 @@
+package fop.timeseries.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import fop.timeseries.TimeSeries;
+import fop.timeseries.impl.AbstractTimeSeries.TimeSeriesEntry;
+import fop.timeseries.impl.SimpleTimeSeries;
+
+/*
+ * SimpleTimeSeries backed by a WriteAheadLog in a directory. On open the snapshot is bulk loaded
+ * through the sorted entries constructor and the log is replayed on top of it.
+ */
+public class DurableTimeSeries<E> extends AbstractDurableTimeSeries<E, SimpleTimeSeries<E>>
+{
+    private final ValueCodec<E> valueCodec;
+
+    private DurableTimeSeries(SimpleTimeSeries<E> timeSeries, WriteAheadLog writeAheadLog, long snapshotThreshold, ValueCodec<E> valueCodec)
+    {
+        super(timeSeries, writeAheadLog, snapshotThreshold);
+        this.valueCodec = valueCodec;
+    }
+
+    public static <E> DurableTimeSeries<E> open(Path directory, ValueCodec<E> valueCodec, FsyncPolicy fsyncPolicy) throws IOException
+    {
+        return open(directory, valueCodec, fsyncPolicy, DEFAULT_SNAPSHOT_THRESHOLD);
+    }
+
+    /*
+     * The log is compacted once snapshotThreshold records were logged since the last snapshot, 0
+     * turns that off.
+     */
+    public static <E> DurableTimeSeries<E> open(Path directory, ValueCodec<E> valueCodec, FsyncPolicy fsyncPolicy, long snapshotThreshold) throws IOException
+    {
+        List<TimeSeries.Entry<E>> snapshotEntries = new ArrayList<>();
+        List<SimpleTimeSeries<E>> recovered = new ArrayList<>(1);
+        WriteAheadLog writeAheadLog = WriteAheadLog.open(directory, fsyncPolicy, record->{
+            BitInput input = new BitInput(record);
+            input.readBits(8);
+            ZonedDateTime eventDateTime = readEventDateTime(input);
+            snapshotEntries.add(TimeSeriesEntry.of(eventDateTime, valueCodec.newDecoder().decode(input)));
+        }, record->{
+            if(recovered.isEmpty())
+            {
+                recovered.add(new SimpleTimeSeries<>(snapshotEntries));
+                snapshotEntries.clear();
+            }
+            replay(recovered.get(0), record, valueCodec);
+        });
+        if(recovered.isEmpty())
+        {
+            recovered.add(new SimpleTimeSeries<>(snapshotEntries));
+        }
+        return new DurableTimeSeries<>(recovered.get(0), writeAheadLog, snapshotThreshold, Objects.requireNonNull(valueCodec));
+    }
+
+    private static <E> void replay(TimeSeries<E> timeSeries, ByteBuffer record, ValueCodec<E> valueCodec)
+    {
+        BitInput input = new BitInput(record);
+        int operation = (int)input.readBits(8);
+        ZonedDateTime eventDateTime = readEventDateTime(input);
+        if(operation == ADD)
+        {
+            timeSeries.add(eventDateTime, valueCodec.newDecoder().decode(input));
+        }
+        else if(operation == REMOVE)
+        {
+            timeSeries.remove(eventDateTime);
+        }
+        else
+        {
+            throw new IllegalStateException("Unknown log operation " + operation);
+        }
+    }
+
+    @Override
+    protected void encodePayload(E event, BitOutput output)
+    {
+        valueCodec.newEncoder().encode(event, output);
+    }
+}
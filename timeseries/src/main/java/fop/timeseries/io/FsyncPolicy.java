@@ -0,0 +1,83 @@
+package fop.timeseries.io;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/*
+ * When a WriteAheadLog forces appended records to disk: before every write returns, in the
+ * background every interval, or never, leaving it to the OS.
+ */
+public final class FsyncPolicy
+{
+    enum Kind
+    {
+        PER_WRITE, INTERVAL, NEVER
+    }
+
+    private static final FsyncPolicy PER_WRITE = new FsyncPolicy(Kind.PER_WRITE, Duration.ZERO);
+    private static final FsyncPolicy NEVER = new FsyncPolicy(Kind.NEVER, Duration.ZERO);
+
+    private final Kind kind;
+    private final Duration interval;
+
+    private FsyncPolicy(Kind kind, Duration interval)
+    {
+        this.kind = kind;
+        this.interval = interval;
+    }
+
+    /*
+     * Writers block until their record is on disk, concurrent writers share one fsync.
+     */
+    public static FsyncPolicy perWrite()
+    {
+        return PER_WRITE;
+    }
+
+    public static FsyncPolicy interval(Duration interval)
+    {
+        if(interval.isNegative() || interval.isZero())
+        {
+            throw new IllegalArgumentException("Illegal fsync interval: " + interval);
+        }
+        return new FsyncPolicy(Kind.INTERVAL, interval);
+    }
+
+    public static FsyncPolicy never()
+    {
+        return NEVER;
+    }
+
+    Kind getKind()
+    {
+        return kind;
+    }
+
+    Duration getInterval()
+    {
+        return interval;
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if(!(obj instanceof FsyncPolicy))
+        {
+            return false;
+        }
+        FsyncPolicy other = (FsyncPolicy)obj;
+        return kind == other.kind && interval.equals(other.interval);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(kind, interval);
+    }
+
+    @Override
+    public String toString()
+    {
+        return kind == Kind.INTERVAL ? "FsyncPolicy:" + kind + " " + interval : "FsyncPolicy:" + kind;
+    }
+}
@@ -0,0 +1,123 @@
+package fop.timeseries.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.Objects;
+
+import fop.timeseries.TimeSeries;
+import fop.timeseries.impl.AbstractIndexedTimeSeries;
+import fop.timeseries.impl.ColumnarTimeSeries;
+import fop.timeseries.util.TimeSeriesConstants;
+import fop.timeseries.util.TimeSeriesUtils;
+
+/*
+ * Compact binary format for a time series. Layout, as a bit stream:
+ *
+ *   magic (32 bits), zone id (varint length + UTF-8), point count (varint), then per point the
+ *   timestamp followed by the value from the ValueCodec.
+ *
+ * Timestamps are delta-of-delta encoded by TimestampEncoder. Points are written straight from the
+ * iterator of the series and decoded straight into a pre-sized columnar series. Only the zone of
+ * the series is kept, not the zone of every point.
+ */
+public final class TimeSeriesCodec<E>
+{
+    private static final int MAGIC = 0x54534331;
+    private static final int CHANNEL_BUFFER_SIZE = 1 << 16;
+
+    private final ValueCodec<E> valueCodec;
+
+    public TimeSeriesCodec(ValueCodec<E> valueCodec)
+    {
+        this.valueCodec = Objects.requireNonNull(valueCodec);
+    }
+
+    /*
+     * Throws BufferOverflowException if the series does not fit in target.
+     */
+    public void encode(TimeSeries<E> timeSeries, ByteBuffer target)
+    {
+        encode(timeSeries, new BitOutput(target));
+    }
+
+    public void encode(TimeSeries<E> timeSeries, WritableByteChannel channel) throws IOException
+    {
+        try
+        {
+            encode(timeSeries, new BitOutput(ByteBuffer.allocate(CHANNEL_BUFFER_SIZE), channel));
+        }
+        catch(UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+    }
+
+    public ColumnarTimeSeries<E> decode(ByteBuffer source)
+    {
+        return decode(new BitInput(source));
+    }
+
+    public ColumnarTimeSeries<E> decode(ReadableByteChannel channel) throws IOException
+    {
+        try
+        {
+            return decode(new BitInput(ByteBuffer.allocate(CHANNEL_BUFFER_SIZE), channel));
+        }
+        catch(UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+    }
+
+    private void encode(TimeSeries<E> timeSeries, BitOutput output)
+    {
+        output.writeBits(MAGIC, 32);
+        byte[] zoneId = zoneOf(timeSeries).getId().getBytes(StandardCharsets.UTF_8);
+        output.writeVarLong(zoneId.length);
+        output.writeBytes(zoneId);
+        output.writeVarLong(timeSeries.size());
+
+        TimestampEncoder timestampEncoder = new TimestampEncoder();
+        ValueCodec.Encoder<E> encoder = valueCodec.newEncoder();
+        for(TimeSeries.Entry<E> entry : timeSeries)
+        {
+            timestampEncoder.encode(TimeSeriesUtils.toEpochNanos(entry), output);
+            encoder.encode(entry.getEvent(), output);
+        }
+        output.finish();
+    }
+
+    private ColumnarTimeSeries<E> decode(BitInput input)
+    {
+        if((int)input.readBits(32) != MAGIC)
+        {
+            throw new IllegalArgumentException("Not an encoded time series");
+        }
+        ZoneId zone = ZoneId.of(new String(input.readBytes((int)input.readVarLong()), StandardCharsets.UTF_8));
+        int size = (int)input.readVarLong();
+
+        ColumnarTimeSeries<E> timeSeries = new ColumnarTimeSeries<>(zone, size);
+        TimestampDecoder timestampDecoder = new TimestampDecoder();
+        ValueCodec.Decoder<E> decoder = valueCodec.newDecoder();
+        for(int index = 0; index < size; index++)
+        {
+            long epochNanos = timestampDecoder.decode(input);
+            timeSeries.add(epochNanos, decoder.decode(input));
+        }
+        return timeSeries;
+    }
+
+    private static ZoneId zoneOf(TimeSeries<?> timeSeries)
+    {
+        if(timeSeries instanceof AbstractIndexedTimeSeries)
+        {
+            return ((AbstractIndexedTimeSeries<?>)timeSeries).getZone();
+        }
+        return timeSeries.isNotEmpty() ? timeSeries.start().getEventDateTime().getZone() : TimeSeriesConstants.UTC;
+    }
+}
@@ -0,0 +1,28 @@
+package fop.timeseries.io;
+
+public final class TimestampDecoder
+{
+    private long previous;
+    private long delta;
+    private int count;
+
+    public long decode(BitInput input)
+    {
+        if(count < 2)
+        {
+            long read = input.readZigZag();
+            delta = count == 0 ? 0 : read;
+            previous += read;
+        }
+        else
+        {
+            if(input.readBit())
+            {
+                delta += input.readZigZag();
+            }
+            previous += delta;
+        }
+        count++;
+        return previous;
+    }
+}
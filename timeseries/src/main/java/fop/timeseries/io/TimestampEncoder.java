@@ -0,0 +1,34 @@
+package fop.timeseries.io;
+
+/*
+ * Delta-of-delta encoding of ascending epoch nanos: the first timestamp as a zig-zag varint, the
+ * second as a zig-zag varint delta, every later one as its delta-of-delta, a single 0 bit when the
+ * spacing did not change and a 1 bit followed by the zig-zag varint otherwise.
+ */
+public final class TimestampEncoder
+{
+    private long previous;
+    private long previousDelta;
+    private int count;
+
+    public void encode(long epochNanos, BitOutput output)
+    {
+        long delta = epochNanos - previous;
+        if(count < 2)
+        {
+            output.writeZigZag(delta);
+        }
+        else if(delta == previousDelta)
+        {
+            output.writeBit(false);
+        }
+        else
+        {
+            output.writeBit(true);
+            output.writeZigZag(delta - previousDelta);
+        }
+        previousDelta = count == 0 ? 0 : delta;
+        previous = epochNanos;
+        count++;
+    }
+}
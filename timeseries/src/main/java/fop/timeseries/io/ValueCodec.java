@@ -0,0 +1,24 @@
+package fop.timeseries.io;
+
+/*
+ * Encodes the values of one series in time order. Encoders and decoders are created per stream
+ * and may keep state between values, for example the previous value to compress against.
+ */
+public interface ValueCodec<E>
+{
+    public Encoder<E> newEncoder();
+
+    public Decoder<E> newDecoder();
+
+    @FunctionalInterface
+    public static interface Encoder<E>
+    {
+        public void encode(E value, BitOutput output);
+    }
+
+    @FunctionalInterface
+    public static interface Decoder<E>
+    {
+        public E decode(BitInput input);
+    }
+}
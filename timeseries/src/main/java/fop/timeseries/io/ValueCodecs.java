@@ -0,0 +1,160 @@
+package fop.timeseries.io;
+
+import java.nio.charset.StandardCharsets;
+
+/*
+ * Value codecs for common event types. None of them accept null values.
+ */
+public final class ValueCodecs
+{
+    private ValueCodecs() {}
+
+    /*
+     * Gorilla XOR compression: a value equal to the previous one costs one bit, otherwise only the
+     * meaningful bits of the XOR with the previous value are written, reusing the previous
+     * leading/trailing zero window when they fit in it.
+     */
+    public static ValueCodec<Double> gorillaDouble()
+    {
+        return new ValueCodec<Double>()
+        {
+            @Override
+            public Encoder<Double> newEncoder()
+            {
+                return new GorillaEncoder();
+            }
+
+            @Override
+            public Decoder<Double> newDecoder()
+            {
+                return new GorillaDecoder();
+            }
+        };
+    }
+
+    /*
+     * Zig-zag varint of the difference from the previous value.
+     */
+    public static ValueCodec<Long> deltaLong()
+    {
+        return new ValueCodec<Long>()
+        {
+            @Override
+            public Encoder<Long> newEncoder()
+            {
+                long[] previous = {0};
+                return (value, output)->{
+                    output.writeZigZag(value - previous[0]);
+                    previous[0] = value;
+                };
+            }
+
+            @Override
+            public Decoder<Long> newDecoder()
+            {
+                long[] previous = {0};
+                return input->previous[0] += input.readZigZag();
+            }
+        };
+    }
+
+    public static ValueCodec<String> utf8String()
+    {
+        return new ValueCodec<String>()
+        {
+            @Override
+            public Encoder<String> newEncoder()
+            {
+                return (value, output)->{
+                    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                    output.writeVarLong(bytes.length);
+                    output.writeBytes(bytes);
+                };
+            }
+
+            @Override
+            public Decoder<String> newDecoder()
+            {
+                return input->new String(input.readBytes((int)input.readVarLong()), StandardCharsets.UTF_8);
+            }
+        };
+    }
+
+    private static final class GorillaEncoder implements ValueCodec.Encoder<Double>
+    {
+        private boolean first = true;
+        private long previous;
+        private int leading = -1;
+        private int trailing;
+
+        @Override
+        public void encode(Double value, BitOutput output)
+        {
+            long bits = Double.doubleToRawLongBits(value);
+            if(first)
+            {
+                output.writeBits(bits, 64);
+                first = false;
+            }
+            else
+            {
+                long xor = bits ^ previous;
+                if(xor == 0)
+                {
+                    output.writeBit(false);
+                }
+                else
+                {
+                    output.writeBit(true);
+                    int xorLeading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+                    int xorTrailing = Long.numberOfTrailingZeros(xor);
+                    if(leading >= 0 && xorLeading >= leading && xorTrailing >= trailing)
+                    {
+                        output.writeBit(false);
+                        output.writeBits(xor >>> trailing, 64 - leading - trailing);
+                    }
+                    else
+                    {
+                        int significant = 64 - xorLeading - xorTrailing;
+                        output.writeBit(true);
+                        output.writeBits(xorLeading, 5);
+                        output.writeBits(significant - 1, 6);
+                        output.writeBits(xor >>> xorTrailing, significant);
+                        leading = xorLeading;
+                        trailing = xorTrailing;
+                    }
+                }
+            }
+            previous = bits;
+        }
+    }
+
+    private static final class GorillaDecoder implements ValueCodec.Decoder<Double>
+    {
+        private boolean first = true;
+        private long previous;
+        private int leading;
+        private int trailing;
+
+        @Override
+        public Double decode(BitInput input)
+        {
+            if(first)
+            {
+                previous = input.readBits(64);
+                first = false;
+            }
+            else if(input.readBit())
+            {
+                if(input.readBit())
+                {
+                    leading = (int)input.readBits(5);
+                    int significant = (int)input.readBits(6) + 1;
+                    trailing = 64 - leading - significant;
+                }
+                previous ^= input.readBits(64 - leading - trailing) << trailing;
+            }
+            return Double.longBitsToDouble(previous);
+        }
+    }
+}
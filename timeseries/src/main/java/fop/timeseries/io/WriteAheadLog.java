@@ -0,0 +1,454 @@
+package fop.timeseries.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/*
+ * Append-only log of opaque records in a directory, plus a compacted snapshot. Every record is
+ * framed as length, CRC32 and payload. Logs are numbered by generation: taking a snapshot starts a
+ * new generation, writes the snapshot tagged with it next to the logs, atomically renames it into
+ * place and only then deletes older logs, so a crash at any point replays every record exactly once.
+ * The directory is forced after creating a log and after the rename, so neither can be lost to a
+ * crash that keeps a later delete.
+ * On open, a torn record at the end of the last log is cut off.
+ *
+ * append() only buffers, commit() makes the record as durable as the FsyncPolicy asks for. With
+ * perWrite the first committer writes and forces everything buffered so far while later ones wait
+ * for it and usually find their record already on disk, which is the group commit.
+ */
+public final class WriteAheadLog implements Closeable
+{
+    private static final int SNAPSHOT_MAGIC = 0x54535353;
+    private static final int FRAME_HEADER_SIZE = 8;
+    private static final int INITIAL_BUFFER_SIZE = 1 << 16;
+    private static final int MAX_PENDING_BYTES = 1 << 20;
+    private static final String LOG_PREFIX = "wal-";
+    private static final String LOG_SUFFIX = ".log";
+    private static final String SNAPSHOT_FILE = "snapshot.dat";
+    private static final String SNAPSHOT_TEMP_FILE = "snapshot.tmp";
+
+    private final Path directory;
+    private final FsyncPolicy policy;
+    private final Object writeLock = new Object();
+    private final Object commitLock = new Object();
+    private final CRC32 crc = new CRC32();
+    private final ScheduledExecutorService flusher;
+    private FileChannel log;
+    private long generation;
+    private ByteBuffer pending;
+    private ByteBuffer spare;
+    private long appendedSequence;
+    private long durableSequence;
+    private boolean committing;
+    private long recordsSinceSnapshot;
+    private volatile IOException flushFailure;
+
+    private WriteAheadLog(Path directory, FsyncPolicy policy)
+    {
+        this.directory = directory;
+        this.policy = Objects.requireNonNull(policy);
+        this.pending = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+        this.spare = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+        this.flusher = policy.getKind() == FsyncPolicy.Kind.INTERVAL ? Executors.newSingleThreadScheduledExecutor(r->{
+            Thread thread = new Thread(r, "wal-flusher-" + directory.getFileName());
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    /*
+     * Hands every snapshot record to snapshotRecords and then every logged record to logRecords,
+     * in the order they were written, before returning the log ready for appends. The buffers
+     * passed to the consumers are only valid during the call.
+     */
+    public static WriteAheadLog open(Path directory, FsyncPolicy policy, Consumer<ByteBuffer> snapshotRecords, Consumer<ByteBuffer> logRecords) throws IOException
+    {
+        Files.createDirectories(directory);
+        Files.deleteIfExists(directory.resolve(SNAPSHOT_TEMP_FILE));
+        WriteAheadLog writeAheadLog = new WriteAheadLog(directory, policy);
+
+        long firstGeneration = 0;
+        Path snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        if(Files.exists(snapshotFile))
+        {
+            ByteBuffer snapshot = ByteBuffer.wrap(Files.readAllBytes(snapshotFile));
+            if(snapshot.remaining() < Integer.BYTES + Long.BYTES || snapshot.getInt() != SNAPSHOT_MAGIC)
+            {
+                throw new IOException("Not a snapshot: " + snapshotFile);
+            }
+            firstGeneration = snapshot.getLong();
+            if(readFrames(snapshot, snapshotRecords) != snapshot.limit())
+            {
+                throw new IOException("Corrupt snapshot: " + snapshotFile);
+            }
+        }
+
+        List<Path> logFiles = writeAheadLog.logFiles();
+        long generation = firstGeneration;
+        for(Path logFile : logFiles)
+        {
+            long logGeneration = generationOf(logFile);
+            if(logGeneration < firstGeneration)
+            {
+                Files.delete(logFile);
+                continue;
+            }
+            ByteBuffer records = ByteBuffer.wrap(Files.readAllBytes(logFile));
+            int validLength = readFrames(records, logRecords);
+            if(validLength != records.limit())
+            {
+                try(FileChannel channel = FileChannel.open(logFile, StandardOpenOption.WRITE))
+                {
+                    channel.truncate(validLength);
+                    channel.force(true);
+                }
+            }
+            writeAheadLog.recordsSinceSnapshot += countFrames(records, validLength);
+            generation = logGeneration;
+        }
+
+        writeAheadLog.openLog(generation);
+        if(Objects.nonNull(writeAheadLog.flusher))
+        {
+            long intervalNanos = policy.getInterval().toNanos();
+            writeAheadLog.flusher.scheduleWithFixedDelay(writeAheadLog::backgroundFlush, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+        }
+        return writeAheadLog;
+    }
+
+    private static int readFrames(ByteBuffer records, Consumer<ByteBuffer> consumer)
+    {
+        CRC32 crc = new CRC32();
+        int validLength = records.position();
+        while(records.remaining() >= FRAME_HEADER_SIZE)
+        {
+            int length = records.getInt();
+            int checksum = records.getInt();
+            if(length < 0 || length > records.remaining())
+            {
+                break;
+            }
+            ByteBuffer record = records.slice();
+            record.limit(length);
+            crc.reset();
+            crc.update(record.duplicate());
+            if((int)crc.getValue() != checksum)
+            {
+                break;
+            }
+            consumer.accept(record.asReadOnlyBuffer());
+            records.position(records.position() + length);
+            validLength = records.position();
+        }
+        return validLength;
+    }
+
+    private static long countFrames(ByteBuffer records, int validLength)
+    {
+        long count = 0;
+        for(int position = 0; position < validLength; count++)
+        {
+            position += FRAME_HEADER_SIZE + records.getInt(position);
+        }
+        return count;
+    }
+
+    private List<Path> logFiles() throws IOException
+    {
+        try(Stream<Path> files = Files.list(directory))
+        {
+            return files.filter(f->f.getFileName().toString().startsWith(LOG_PREFIX) && f.getFileName().toString().endsWith(LOG_SUFFIX)).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static long generationOf(Path logFile)
+    {
+        String fileName = logFile.getFileName().toString();
+        return Long.parseLong(fileName.substring(LOG_PREFIX.length(), fileName.length() - LOG_SUFFIX.length()));
+    }
+
+    private Path logFile(long generation)
+    {
+        return directory.resolve(String.format("%s%016d%s", LOG_PREFIX, generation, LOG_SUFFIX));
+    }
+
+    private void openLog(long generation) throws IOException
+    {
+        this.generation = generation;
+        this.log = FileChannel.open(logFile(generation), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        forceDirectory();
+    }
+
+    /*
+     * Makes file creations, renames and deletes in the directory durable. Some platforms, Windows
+     * among them, cannot open a directory as a channel and already make these durable.
+     */
+    private void forceDirectory() throws IOException
+    {
+        FileChannel channel;
+        try
+        {
+            channel = FileChannel.open(directory, StandardOpenOption.READ);
+        }
+        catch(IOException e)
+        {
+            return;
+        }
+        try(channel)
+        {
+            channel.force(true);
+        }
+    }
+
+    /*
+     * Buffers a record and returns its sequence number for commit().
+     */
+    public synchronized long append(ByteBuffer record)
+    {
+        int length = record.remaining();
+        ensurePending(FRAME_HEADER_SIZE + length);
+        crc.reset();
+        crc.update(record.duplicate());
+        pending.putInt(length);
+        pending.putInt((int)crc.getValue());
+        pending.put(record);
+        recordsSinceSnapshot++;
+        return ++appendedSequence;
+    }
+
+    private void ensurePending(int length)
+    {
+        if(pending.remaining() < length)
+        {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(pending.capacity() << 1, pending.position() + length));
+            pending.flip();
+            pending = grown.put(pending);
+        }
+    }
+
+    public void commit(long sequence) throws IOException
+    {
+        throwFlushFailure();
+        switch(policy.getKind())
+        {
+            case PER_WRITE:
+                groupCommit(sequence);
+                break;
+            case NEVER:
+                flush(false);
+                break;
+            default:
+                if(pendingBytes() > MAX_PENDING_BYTES)
+                {
+                    flush(false);
+                }
+        }
+    }
+
+    private synchronized int pendingBytes()
+    {
+        return pending.position();
+    }
+
+    private void groupCommit(long sequence) throws IOException
+    {
+        synchronized(commitLock)
+        {
+            while(committing && durableSequence < sequence)
+            {
+                try
+                {
+                    commitLock.wait();
+                }
+                catch(InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted waiting for commit", e);
+                }
+            }
+            if(durableSequence >= sequence)
+            {
+                return;
+            }
+            committing = true;
+        }
+
+        long flushed = durableSequence;
+        try
+        {
+            flushed = flush(true);
+        }
+        finally
+        {
+            synchronized(commitLock)
+            {
+                committing = false;
+                durableSequence = Math.max(durableSequence, flushed);
+                commitLock.notifyAll();
+            }
+        }
+    }
+
+    /*
+     * Writes out everything appended so far and returns the sequence it covers. Appends carry on
+     * into the spare buffer while the batch is written and forced.
+     */
+    private long flush(boolean force) throws IOException
+    {
+        synchronized(writeLock)
+        {
+            ByteBuffer batch;
+            long sequence;
+            synchronized(this)
+            {
+                batch = pending;
+                pending = spare;
+                spare = batch;
+                sequence = appendedSequence;
+            }
+            batch.flip();
+            while(batch.hasRemaining())
+            {
+                log.write(batch);
+            }
+            batch.clear();
+            if(force)
+            {
+                log.force(false);
+            }
+            return sequence;
+        }
+    }
+
+    private void backgroundFlush()
+    {
+        try
+        {
+            long flushed = flush(true);
+            synchronized(commitLock)
+            {
+                durableSequence = Math.max(durableSequence, flushed);
+            }
+        }
+        catch(IOException e)
+        {
+            flushFailure = e;
+        }
+    }
+
+    private void throwFlushFailure() throws IOException
+    {
+        IOException failure = flushFailure;
+        if(Objects.nonNull(failure))
+        {
+            throw new IOException("Background fsync failed", failure);
+        }
+    }
+
+    public synchronized long getRecordsSinceSnapshot()
+    {
+        return recordsSinceSnapshot;
+    }
+
+    /*
+     * Replaces the snapshot with the given records and drops the logs it covers. The caller must
+     * make sure records describe the state after every record appended so far, and that nothing
+     * is appended until this returns.
+     */
+    public void snapshot(Iterable<ByteBuffer> records) throws IOException
+    {
+        synchronized(writeLock)
+        {
+            flush(true);
+            log.close();
+            openLog(generation + 1);
+            synchronized(this)
+            {
+                recordsSinceSnapshot = 0;
+            }
+        }
+
+        Path temp = directory.resolve(SNAPSHOT_TEMP_FILE);
+        try(FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+            buffer.putInt(SNAPSHOT_MAGIC).putLong(generation);
+            CRC32 snapshotCrc = new CRC32();
+            for(ByteBuffer record : records)
+            {
+                int length = record.remaining();
+                if(buffer.remaining() < FRAME_HEADER_SIZE + length)
+                {
+                    writeFully(channel, buffer);
+                    if(buffer.capacity() < FRAME_HEADER_SIZE + length)
+                    {
+                        buffer = ByteBuffer.allocate(FRAME_HEADER_SIZE + length);
+                    }
+                }
+                snapshotCrc.reset();
+                snapshotCrc.update(record.duplicate());
+                buffer.putInt(length).putInt((int)snapshotCrc.getValue()).put(record);
+            }
+            writeFully(channel, buffer);
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        forceDirectory();
+
+        for(Path logFile : logFiles())
+        {
+            if(generationOf(logFile) < generation)
+            {
+                Files.delete(logFile);
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException
+    {
+        buffer.flip();
+        while(buffer.hasRemaining())
+        {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        if(Objects.nonNull(flusher))
+        {
+            flusher.shutdown();
+            try
+            {
+                flusher.awaitTermination(1, TimeUnit.MINUTES);
+            }
+            catch(InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized(writeLock)
+        {
+            flush(policy.getKind() != FsyncPolicy.Kind.NEVER);
+            log.close();
+        }
+        throwFlushFailure();
+    }
+}
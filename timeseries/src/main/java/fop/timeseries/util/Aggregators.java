@@ -0,0 +1,383 @@
+package fop.timeseries.util;
+
+import fop.timeseries.Aggregator;
+import fop.timeseries.DoubleAggregator;
+import fop.timeseries.Ohlc;
+
+/*
+ * Factories for the usual bucket aggregations. Aggregators are stateful, every call returns a new
+ * instance that must not be shared between concurrent passes. Results for a bucket without values
+ * are null for the object aggregators and NaN for the primitive ones, resampling never asks for
+ * either since it only emits buckets that hold at least one point.
+ */
+public final class Aggregators
+{
+    private Aggregators() {}
+
+    public static <E> Aggregator<E, E> first()
+    {
+        return new Aggregator<E, E>()
+        {
+            private E first;
+            private boolean empty = true;
+
+            @Override
+            public void reset()
+            {
+                first = null;
+                empty = true;
+            }
+
+            @Override
+            public void accept(E event)
+            {
+                if(empty)
+                {
+                    first = event;
+                    empty = false;
+                }
+            }
+
+            @Override
+            public E result()
+            {
+                return first;
+            }
+        };
+    }
+
+    public static <E> Aggregator<E, E> last()
+    {
+        return new Aggregator<E, E>()
+        {
+            private E last;
+
+            @Override
+            public void reset()
+            {
+                last = null;
+            }
+
+            @Override
+            public void accept(E event)
+            {
+                last = event;
+            }
+
+            @Override
+            public E result()
+            {
+                return last;
+            }
+        };
+    }
+
+    public static Aggregator<Object, Long> count()
+    {
+        return new Aggregator<Object, Long>()
+        {
+            private long count;
+
+            @Override
+            public void reset()
+            {
+                count = 0;
+            }
+
+            @Override
+            public void accept(Object event)
+            {
+                count++;
+            }
+
+            @Override
+            public Long result()
+            {
+                return count;
+            }
+        };
+    }
+
+    public static Aggregator<Number, Double> min()
+    {
+        return boxed(doubleMin());
+    }
+
+    public static Aggregator<Number, Double> max()
+    {
+        return boxed(doubleMax());
+    }
+
+    public static Aggregator<Number, Double> sum()
+    {
+        return boxed(doubleSum());
+    }
+
+    public static Aggregator<Number, Double> mean()
+    {
+        return boxed(doubleMean());
+    }
+
+    public static Aggregator<Number, Ohlc> ohlc()
+    {
+        return new Aggregator<Number, Ohlc>()
+        {
+            private final DoubleAggregator open = doubleFirst();
+            private final DoubleAggregator high = doubleMax();
+            private final DoubleAggregator low = doubleMin();
+            private final DoubleAggregator close = doubleLast();
+            private boolean empty = true;
+
+            @Override
+            public void reset()
+            {
+                empty = true;
+                open.reset();
+                high.reset();
+                low.reset();
+                close.reset();
+            }
+
+            @Override
+            public void accept(Number event)
+            {
+                double value = event.doubleValue();
+                empty = false;
+                open.accept(value);
+                high.accept(value);
+                low.accept(value);
+                close.accept(value);
+            }
+
+            @Override
+            public Ohlc result()
+            {
+                return empty ? null : new Ohlc(open.result(), high.result(), low.result(), close.result());
+            }
+        };
+    }
+
+    /*
+     * Adapts a primitive aggregator to numeric events, boxing only the result of each bucket.
+     */
+    public static Aggregator<Number, Double> boxed(DoubleAggregator aggregator)
+    {
+        return new Aggregator<Number, Double>()
+        {
+            @Override
+            public void reset()
+            {
+                aggregator.reset();
+            }
+
+            @Override
+            public void accept(Number event)
+            {
+                aggregator.accept(event.doubleValue());
+            }
+
+            @Override
+            public Double result()
+            {
+                return aggregator.result();
+            }
+        };
+    }
+
+    public static DoubleAggregator doubleFirst()
+    {
+        return new DoubleAggregator()
+        {
+            private double first = Double.NaN;
+            private boolean empty = true;
+
+            @Override
+            public void reset()
+            {
+                first = Double.NaN;
+                empty = true;
+            }
+
+            @Override
+            public void accept(double value)
+            {
+                if(empty)
+                {
+                    first = value;
+                    empty = false;
+                }
+            }
+
+            @Override
+            public double result()
+            {
+                return first;
+            }
+        };
+    }
+
+    public static DoubleAggregator doubleLast()
+    {
+        return new DoubleAggregator()
+        {
+            private double last = Double.NaN;
+
+            @Override
+            public void reset()
+            {
+                last = Double.NaN;
+            }
+
+            @Override
+            public void accept(double value)
+            {
+                last = value;
+            }
+
+            @Override
+            public double result()
+            {
+                return last;
+            }
+        };
+    }
+
+    public static DoubleAggregator doubleCount()
+    {
+        return new DoubleAggregator()
+        {
+            private long count;
+
+            @Override
+            public void reset()
+            {
+                count = 0;
+            }
+
+            @Override
+            public void accept(double value)
+            {
+                count++;
+            }
+
+            @Override
+            public double result()
+            {
+                return count;
+            }
+        };
+    }
+
+    public static DoubleAggregator doubleMin()
+    {
+        return new DoubleAggregator()
+        {
+            private double min = Double.NaN;
+            private boolean empty = true;
+
+            @Override
+            public void reset()
+            {
+                min = Double.NaN;
+                empty = true;
+            }
+
+            @Override
+            public void accept(double value)
+            {
+                min = empty ? value : Math.min(min, value);
+                empty = false;
+            }
+
+            @Override
+            public double result()
+            {
+                return min;
+            }
+        };
+    }
+
+    public static DoubleAggregator doubleMax()
+    {
+        return new DoubleAggregator()
+        {
+            private double max = Double.NaN;
+            private boolean empty = true;
+
+            @Override
+            public void reset()
+            {
+                max = Double.NaN;
+                empty = true;
+            }
+
+            @Override
+            public void accept(double value)
+            {
+                max = empty ? value : Math.max(max, value);
+                empty = false;
+            }
+
+            @Override
+            public double result()
+            {
+                return max;
+            }
+        };
+    }
+
+    public static DoubleAggregator doubleSum()
+    {
+        return new DoubleAggregator()
+        {
+            private double sum;
+
+            @Override
+            public void reset()
+            {
+                sum = 0;
+            }
+
+            @Override
+            public void accept(double value)
+            {
+                sum += value;
+            }
+
+            @Override
+            public double result()
+            {
+                return sum;
+            }
+        };
+    }
+
+    public static DoubleAggregator doubleMean()
+    {
+        return new DoubleAggregator()
+        {
+            private double sum;
+            private long count;
+
+            @Override
+            public void reset()
+            {
+                sum = 0;
+                count = 0;
+            }
+
+            @Override
+            public void accept(double value)
+            {
+                sum += value;
+                count++;
+            }
+
+            @Override
+            public double result()
+            {
+                return count > 0 ? sum / count : Double.NaN;
+            }
+        };
+    }
+}
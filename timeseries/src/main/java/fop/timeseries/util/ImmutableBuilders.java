@@ -1,18 +1,14 @@
 package fop.timeseries.util;
 
-import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.TreeSet;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 import fop.timeseries.ImmutableMultiTimeSeries;
 import fop.timeseries.ImmutableTimeSeries;
@@ -36,6 +32,20 @@ public final class ImmutableBuilders
         return new MultiBuilder<E, C>();
     }
 
+    /*
+     * Immutable series with the entries of timeSeries. Immutable series are returned as they are,
+     * anything else is copied once straight into the immutable store. Use SimpleTimeSeries.freeze()
+     * to hand over a series without copying at all.
+     */
+    public static <E> ImmutableTimeSeries<E> from(TimeSeries<E> timeSeries)
+    {
+        if(timeSeries instanceof ImmutableTimeSeries)
+        {
+            return (ImmutableTimeSeries<E>)timeSeries;
+        }
+        return ImmutableTimeSeriesImpl.copyOf(timeSeries);
+    }
+
     public static class MultiBuilder<E, C extends Collection<E>>
     {
         private final Collection<TimeSeries.Entry<C>> entries;
@@ -101,34 +111,14 @@ public final class ImmutableBuilders
         
         private Collection<Entry<C>> buildUniqueUnmodifiableEntires(Collection<Entry<C>> entries)
         {
-            Map<Instant, Entry<C>> uniqueEntries = new HashMap<>();
-            
-            entries.forEach(e->{
+            List<Entry<C>> uniqueEntries = TimeSeriesUtils.sortedMergedEntries(entries, entryCollectionFactory);
+            uniqueEntries.replaceAll(e->{
                 
-                ZonedDateTime eventDateTime = e.getEventDateTime();
-                Instant eventInstant = Instant.from(eventDateTime);
-                C eventCollection = e.getEvent();
-                Entry<C> existingUniqueEntry = uniqueEntries.get(eventInstant);
-                if(Objects.isNull(existingUniqueEntry)) 
-                {
-                    existingUniqueEntry = TimeSeriesEntry.of(eventDateTime, entryCollectionFactory.get());
-                    uniqueEntries.put(eventInstant, existingUniqueEntry);
-                }
+                C unmodifiableEventCollection = (C)Collections.unmodifiableCollection(e.getEvent());
+                return TimeSeriesEntry.of(e.getEventDateTime(), unmodifiableEventCollection);
                 
-                existingUniqueEntry.getEvent().addAll(eventCollection);
             });
-            
-            Collection<Entry<C>> uniqueUnmodifiableEntries = 
-                    uniqueEntries.values().stream().map(e->{
-                        
-                        ZonedDateTime eventDateTime = e.getEventDateTime();
-                        C eventCollection = e.getEvent();
-                        C unmodifiableEventCollection = (C)Collections.unmodifiableCollection(eventCollection);
-                        return TimeSeriesEntry.of(eventDateTime, unmodifiableEventCollection);
-                        
-                    }).collect(Collectors.toList());
-            
-            return uniqueUnmodifiableEntries;
+            return uniqueEntries;
         }
 
         private void ensureBuilderValidity()
@@ -0,0 +1,159 @@
+package fop.timeseries.util;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+import fop.timeseries.Aggregator;
+import fop.timeseries.DoubleAggregator;
+import fop.timeseries.DoubleTimeSeries;
+import fop.timeseries.LongDoubleConsumer;
+import fop.timeseries.MultiTimeSeries;
+import fop.timeseries.TimeSeries;
+import fop.timeseries.impl.ColumnarTimeSeries;
+import fop.timeseries.impl.SimpleDoubleTimeSeries;
+import fop.timeseries.impl.SimpleMultiTimeSeries;
+
+/*
+ * Single forward pass over a series that folds the points of every TimeBuckets bucket into one
+ * output point stamped with the bucket start. Output series are sized up front and only receive in
+ * order appends. Buckets without points are skipped rather than filled.
+ */
+public final class Resampler
+{
+    private Resampler() {}
+
+    public static <E, R> TimeSeries<R> resample(TimeSeries<E> timeSeries, Duration interval, Aggregator<? super E, ? extends R> aggregator)
+    {
+        return resample(timeSeries, interval, TimeSeriesConstants.UTC, aggregator);
+    }
+
+    public static <E, R> TimeSeries<R> resample(TimeSeries<E> timeSeries, Duration interval, ZoneId zone, Aggregator<? super E, ? extends R> aggregator)
+    {
+        TimeBuckets buckets = new TimeBuckets(interval, zone);
+        ColumnarTimeSeries<R> resampled = new ColumnarTimeSeries<>(zone, outputCapacity(timeSeries, buckets));
+        boolean bucketOpen = false;
+        for(TimeSeries.Entry<E> entry : timeSeries)
+        {
+            long epochNanos = TimeSeriesUtils.toEpochNanos(entry);
+            if(!buckets.contains(epochNanos))
+            {
+                if(bucketOpen)
+                {
+                    resampled.add(buckets.startEpochNanos(), aggregator.result());
+                }
+                buckets.moveTo(epochNanos);
+                aggregator.reset();
+                bucketOpen = true;
+            }
+            aggregator.accept(entry.getEvent());
+        }
+        if(bucketOpen)
+        {
+            resampled.add(buckets.startEpochNanos(), aggregator.result());
+        }
+        return resampled;
+    }
+
+    public static <E> DoubleTimeSeries resample(TimeSeries<E> timeSeries, Duration interval, ZoneId zone, ToDoubleFunction<? super E> valueFunction, DoubleAggregator aggregator)
+    {
+        TimeBuckets buckets = new TimeBuckets(interval, zone);
+        DoubleResampling resampling = new DoubleResampling(buckets, aggregator, outputCapacity(timeSeries, buckets));
+        for(TimeSeries.Entry<E> entry : timeSeries)
+        {
+            resampling.accept(TimeSeriesUtils.toEpochNanos(entry), valueFunction.applyAsDouble(entry.getEvent()));
+        }
+        return resampling.finish();
+    }
+
+    public static DoubleTimeSeries resample(DoubleTimeSeries timeSeries, Duration interval, DoubleAggregator aggregator)
+    {
+        return resample(timeSeries, interval, TimeSeriesConstants.UTC, aggregator);
+    }
+
+    public static DoubleTimeSeries resample(DoubleTimeSeries timeSeries, Duration interval, ZoneId zone, DoubleAggregator aggregator)
+    {
+        TimeBuckets buckets = new TimeBuckets(interval, zone);
+        int capacity = timeSeries.isEmpty() ? 0 : outputCapacity(timeSeries.size(), buckets, timeSeries.startEpochNanos(), timeSeries.endEpochNanos());
+        DoubleResampling resampling = new DoubleResampling(buckets, aggregator, capacity);
+        timeSeries.forEach(resampling);
+        return resampling.finish();
+    }
+
+    public static <E, C extends Collection<E>> MultiTimeSeries<E, C> resample(TimeSeries<E> timeSeries, Duration interval, ZoneId zone, Supplier<C> bucketFactory)
+    {
+        TimeBuckets buckets = new TimeBuckets(interval, zone);
+        MultiTimeSeries<E, C> resampled = new SimpleMultiTimeSeries<>(bucketFactory);
+        C bucket = null;
+        for(TimeSeries.Entry<E> entry : timeSeries)
+        {
+            long epochNanos = TimeSeriesUtils.toEpochNanos(entry);
+            if(!buckets.contains(epochNanos))
+            {
+                bucket = bucketFactory.get();
+                resampled.add(TimeSeriesUtils.toZonedDateTime(buckets.moveTo(epochNanos), zone), bucket);
+            }
+            bucket.add(entry.getEvent());
+        }
+        return resampled;
+    }
+
+    private static int outputCapacity(TimeSeries<?> timeSeries, TimeBuckets buckets)
+    {
+        if(timeSeries.isEmpty())
+        {
+            return 0;
+        }
+        long startEpochNanos = TimeSeriesUtils.toEpochNanos(timeSeries.start());
+        long endEpochNanos = TimeSeriesUtils.toEpochNanos(timeSeries.end());
+        return outputCapacity(timeSeries.size(), buckets, startEpochNanos, endEpochNanos);
+    }
+
+    private static int outputCapacity(int size, TimeBuckets buckets, long startEpochNanos, long endEpochNanos)
+    {
+        return (int)Math.min(size, buckets.maxBucketCount(startEpochNanos, endEpochNanos));
+    }
+
+    private static final class DoubleResampling implements LongDoubleConsumer
+    {
+        private final TimeBuckets buckets;
+        private final DoubleAggregator aggregator;
+        private final SimpleDoubleTimeSeries resampled;
+        private boolean bucketOpen;
+
+        private DoubleResampling(TimeBuckets buckets, DoubleAggregator aggregator, int capacity)
+        {
+            this.buckets = buckets;
+            this.aggregator = aggregator;
+            this.resampled = new SimpleDoubleTimeSeries(buckets.getZone(), capacity);
+        }
+
+        @Override
+        public void accept(long epochNanos, double value)
+        {
+            if(!buckets.contains(epochNanos))
+            {
+                if(bucketOpen)
+                {
+                    resampled.add(buckets.startEpochNanos(), aggregator.result());
+                }
+                buckets.moveTo(epochNanos);
+                aggregator.reset();
+                bucketOpen = true;
+            }
+            aggregator.accept(value);
+        }
+
+        private DoubleTimeSeries finish()
+        {
+            if(bucketOpen)
+            {
+                resampled.add(buckets.startEpochNanos(), aggregator.result());
+                bucketOpen = false;
+            }
+            return resampled;
+        }
+    }
+}
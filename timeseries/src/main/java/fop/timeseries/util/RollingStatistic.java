@@ -0,0 +1,63 @@
+package fop.timeseries.util;
+
+public enum RollingStatistic
+{
+    COUNT
+    {
+        @Override
+        public double of(RollingWindow window)
+        {
+            return window.count();
+        }
+    },
+    SUM
+    {
+        @Override
+        public double of(RollingWindow window)
+        {
+            return window.sum();
+        }
+    },
+    MEAN
+    {
+        @Override
+        public double of(RollingWindow window)
+        {
+            return window.mean();
+        }
+    },
+    MIN
+    {
+        @Override
+        public double of(RollingWindow window)
+        {
+            return window.min();
+        }
+    },
+    MAX
+    {
+        @Override
+        public double of(RollingWindow window)
+        {
+            return window.max();
+        }
+    },
+    VARIANCE
+    {
+        @Override
+        public double of(RollingWindow window)
+        {
+            return window.variance();
+        }
+    },
+    STDDEV
+    {
+        @Override
+        public double of(RollingWindow window)
+        {
+            return window.stddev();
+        }
+    };
+
+    public abstract double of(RollingWindow window);
+}
@@ -0,0 +1,261 @@
+package fop.timeseries.util;
+
+import java.time.Duration;
+import java.util.function.ToDoubleFunction;
+
+import fop.timeseries.DoubleTimeSeries;
+import fop.timeseries.TimeSeries;
+import fop.timeseries.impl.SimpleDoubleTimeSeries;
+
+/*
+ * Trailing window over points added in ascending time order, either the last n points or the
+ * points within a duration (t - window, t] of the newest point t. Every add() evicts expired points
+ * and updates the running state in amortized O(1): a running sum, Welford mean and variance with
+ * removal, and monotonic deques for min and max. Points live in primitive ring buffers that only
+ * grow, so a window that reached its working size no longer allocates.
+ *
+ * A window can be fed live, reading statistics after each add(), or handed to apply() which makes
+ * one pass over a series and emits the chosen statistic at every point.
+ */
+public final class RollingWindow
+{
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final long windowNanos;
+    private final int windowCount;
+
+    private long[] epochNanos;
+    private double[] values;
+    private long headSequence;
+    private long tailSequence;
+
+    private long[] minSequences;
+    private int minHead;
+    private int minSize;
+    private long[] maxSequences;
+    private int maxHead;
+    private int maxSize;
+
+    private double sum;
+    private double mean;
+    private double m2;
+
+    private RollingWindow(long windowNanos, int windowCount)
+    {
+        this.windowNanos = windowNanos;
+        this.windowCount = windowCount;
+        this.epochNanos = new long[INITIAL_CAPACITY];
+        this.values = new double[INITIAL_CAPACITY];
+        this.minSequences = new long[INITIAL_CAPACITY];
+        this.maxSequences = new long[INITIAL_CAPACITY];
+    }
+
+    public static RollingWindow ofDuration(Duration window)
+    {
+        if(window.isNegative() || window.isZero())
+        {
+            throw new IllegalArgumentException("Window must be positive: " + window);
+        }
+        return new RollingWindow(window.toNanos(), Integer.MAX_VALUE);
+    }
+
+    public static RollingWindow ofCount(int count)
+    {
+        if(count <= 0)
+        {
+            throw new IllegalArgumentException("Window must hold at least one point: " + count);
+        }
+        return new RollingWindow(Long.MAX_VALUE, count);
+    }
+
+    public static <E> DoubleTimeSeries apply(TimeSeries<E> timeSeries, RollingWindow window, ToDoubleFunction<? super E> valueFunction, RollingStatistic statistic)
+    {
+        SimpleDoubleTimeSeries rolled = new SimpleDoubleTimeSeries(timeSeries.isEmpty() ? TimeSeriesConstants.UTC : timeSeries.start().getEventDateTime().getZone(), timeSeries.size());
+        window.reset();
+        for(TimeSeries.Entry<E> entry : timeSeries)
+        {
+            long eventEpochNanos = TimeSeriesUtils.toEpochNanos(entry);
+            window.add(eventEpochNanos, valueFunction.applyAsDouble(entry.getEvent()));
+            rolled.add(eventEpochNanos, statistic.of(window));
+        }
+        return rolled;
+    }
+
+    public static DoubleTimeSeries apply(DoubleTimeSeries timeSeries, RollingWindow window, RollingStatistic statistic)
+    {
+        SimpleDoubleTimeSeries rolled = new SimpleDoubleTimeSeries(timeSeries.getZone(), timeSeries.size());
+        window.reset();
+        timeSeries.forEach((eventEpochNanos, value)->{
+            window.add(eventEpochNanos, value);
+            rolled.add(eventEpochNanos, statistic.of(window));
+        });
+        return rolled;
+    }
+
+    public void add(long epochNanos, double value)
+    {
+        if(count() > 0 && epochNanos < this.epochNanos[index(tailSequence - 1)])
+        {
+            throw new IllegalArgumentException("Rolling window needs ascending timestamps: " + epochNanos);
+        }
+
+        ensureCapacity(count() + 1);
+        long sequence = tailSequence++;
+        this.epochNanos[index(sequence)] = epochNanos;
+        values[index(sequence)] = value;
+        sum += value;
+        int n = count();
+        double delta = value - mean;
+        mean += delta / n;
+        m2 += delta * (value - mean);
+
+        while(minSize > 0 && valueOf(minSequences[(minHead + minSize - 1) & (minSequences.length - 1)]) >= value)
+        {
+            minSize--;
+        }
+        minSequences[(minHead + minSize++) & (minSequences.length - 1)] = sequence;
+        while(maxSize > 0 && valueOf(maxSequences[(maxHead + maxSize - 1) & (maxSequences.length - 1)]) <= value)
+        {
+            maxSize--;
+        }
+        maxSequences[(maxHead + maxSize++) & (maxSequences.length - 1)] = sequence;
+
+        while(count() > windowCount || epochNanos - this.epochNanos[index(headSequence)] >= windowNanos)
+        {
+            evict();
+        }
+    }
+
+    public void reset()
+    {
+        headSequence = 0;
+        tailSequence = 0;
+        minHead = 0;
+        minSize = 0;
+        maxHead = 0;
+        maxSize = 0;
+        sum = 0;
+        mean = 0;
+        m2 = 0;
+    }
+
+    public int count()
+    {
+        return (int)(tailSequence - headSequence);
+    }
+
+    public double sum()
+    {
+        return sum;
+    }
+
+    public double mean()
+    {
+        return count() > 0 ? mean : Double.NaN;
+    }
+
+    public double min()
+    {
+        return minSize > 0 ? valueOf(minSequences[minHead]) : Double.NaN;
+    }
+
+    public double max()
+    {
+        return maxSize > 0 ? valueOf(maxSequences[maxHead]) : Double.NaN;
+    }
+
+    /*
+     * Sample variance, NaN until the window holds two points.
+     */
+    public double variance()
+    {
+        return count() > 1 ? Math.max(0, m2) / (count() - 1) : Double.NaN;
+    }
+
+    public double stddev()
+    {
+        return Math.sqrt(variance());
+    }
+
+    private void evict()
+    {
+        long sequence = headSequence++;
+        double value = values[index(sequence)];
+        int n = count();
+        if(n == 0)
+        {
+            sum = 0;
+            mean = 0;
+            m2 = 0;
+        }
+        else
+        {
+            sum -= value;
+            double delta = value - mean;
+            mean -= delta / n;
+            m2 -= delta * (value - mean);
+        }
+        if(minSize > 0 && minSequences[minHead] == sequence)
+        {
+            minHead = (minHead + 1) & (minSequences.length - 1);
+            minSize--;
+        }
+        if(maxSize > 0 && maxSequences[maxHead] == sequence)
+        {
+            maxHead = (maxHead + 1) & (maxSequences.length - 1);
+            maxSize--;
+        }
+    }
+
+    private double valueOf(long sequence)
+    {
+        return values[index(sequence)];
+    }
+
+    private int index(long sequence)
+    {
+        return (int)sequence & (values.length - 1);
+    }
+
+    /*
+     * Capacities stay powers of two so ring positions are a mask. Window slots are addressed by
+     * sequence number and have to be re-spread over the larger ring, the deques are unrolled.
+     */
+    private void ensureCapacity(int minCapacity)
+    {
+        if(minCapacity <= values.length)
+        {
+            return;
+        }
+        int newCapacity = values.length << 1;
+        long[] newEpochNanos = new long[newCapacity];
+        double[] newValues = new double[newCapacity];
+        for(long sequence = headSequence; sequence < tailSequence; sequence++)
+        {
+            newEpochNanos[(int)sequence & (newCapacity - 1)] = epochNanos[index(sequence)];
+            newValues[(int)sequence & (newCapacity - 1)] = values[index(sequence)];
+        }
+        epochNanos = newEpochNanos;
+        values = newValues;
+        minSequences = unroll(minSequences, minHead, minSize, newCapacity);
+        minHead = 0;
+        maxSequences = unroll(maxSequences, maxHead, maxSize, newCapacity);
+        maxHead = 0;
+    }
+
+    private static long[] unroll(long[] ring, int head, int size, int newCapacity)
+    {
+        long[] unrolled = new long[newCapacity];
+        for(int i = 0; i < size; i++)
+        {
+            unrolled[i] = ring[(head + i) & (ring.length - 1)];
+        }
+        return unrolled;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "RollingWindow[count=" + count() + ", sum=" + sum + ", mean=" + mean() + ", min=" + min() + ", max=" + max() + "]";
+    }
+}
@@ -0,0 +1,135 @@
+package fop.timeseries.util;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Objects;
+
+/*
+ * Fixed width time buckets aligned to the wall clock of a zone. Intervals of whole days start at
+ * local midnight, counted from 1970-01-01, so a day bucket follows the calendar across daylight
+ * saving changes. Shorter intervals restart at every local midnight: 1h buckets in Asia/Kolkata
+ * start at 00:00, 01:00 and so on local time, and an interval that does not divide a day ends its
+ * last bucket early at midnight. Walking forward through sorted points only recomputes bounds when
+ * a point leaves the current bucket, and for fixed offset zones that is plain arithmetic.
+ */
+public final class TimeBuckets
+{
+    private static final long NANOS_PER_DAY = 86_400_000_000_000L;
+
+    private final ZoneId zone;
+    private final long intervalNanos;
+    private final long intervalDays;
+    private final long fixedOffsetNanos;
+    private final boolean fixedOffset;
+    private long startEpochNanos;
+    private long endEpochNanos;
+
+    public TimeBuckets(Duration interval, ZoneId zone)
+    {
+        this.zone = Objects.requireNonNull(zone);
+        if(interval.isNegative() || interval.isZero())
+        {
+            throw new IllegalArgumentException("Interval must be positive: " + interval);
+        }
+        this.intervalNanos = interval.toNanos();
+        if(intervalNanos > NANOS_PER_DAY && intervalNanos % NANOS_PER_DAY != 0)
+        {
+            throw new IllegalArgumentException("Interval longer than a day must be whole days: " + interval);
+        }
+        this.intervalDays = intervalNanos % NANOS_PER_DAY == 0 ? intervalNanos / NANOS_PER_DAY : 0;
+        this.fixedOffset = zone.getRules().isFixedOffset();
+        this.fixedOffsetNanos = fixedOffset ? zone.getRules().getOffset(Instant.EPOCH).getTotalSeconds() * 1_000_000_000L : 0;
+        this.startEpochNanos = Long.MAX_VALUE;
+        this.endEpochNanos = Long.MIN_VALUE;
+    }
+
+    public ZoneId getZone()
+    {
+        return zone;
+    }
+
+    public boolean contains(long epochNanos)
+    {
+        return epochNanos >= startEpochNanos && epochNanos < endEpochNanos;
+    }
+
+    /*
+     * Moves to the bucket holding epochNanos and returns its start.
+     */
+    public long moveTo(long epochNanos)
+    {
+        if(!contains(epochNanos))
+        {
+            startEpochNanos = bucketBound(epochNanos, false);
+            endEpochNanos = bucketBound(epochNanos, true);
+        }
+        return startEpochNanos;
+    }
+
+    /*
+     * Start of the bucket holding epochNanos. Unlike moveTo this leaves the cursor alone, so one
+     * instance can answer lookups from several threads at once.
+     */
+    public long bucketStart(long epochNanos)
+    {
+        return bucketBound(epochNanos, false);
+    }
+
+    public long startEpochNanos()
+    {
+        return startEpochNanos;
+    }
+
+    public long endEpochNanos()
+    {
+        return endEpochNanos;
+    }
+
+    /*
+     * Upper bound on the number of buckets touched by points between the two instants, used to
+     * size output series up front.
+     */
+    public long maxBucketCount(long fromEpochNanos, long toEpochNanos)
+    {
+        long span = Math.max(0, toEpochNanos - fromEpochNanos);
+        return span / intervalNanos + span / NANOS_PER_DAY + 2;
+    }
+
+    private long bucketBound(long epochNanos, boolean end)
+    {
+        if(fixedOffset)
+        {
+            long localNanos = epochNanos + fixedOffsetNanos;
+            long epochDay = Math.floorDiv(localNanos, NANOS_PER_DAY);
+            long bound;
+            if(intervalDays > 0)
+            {
+                long firstDay = Math.floorDiv(epochDay, intervalDays) * intervalDays;
+                bound = (end ? firstDay + intervalDays : firstDay) * NANOS_PER_DAY;
+            }
+            else
+            {
+                long dayStart = epochDay * NANOS_PER_DAY;
+                long start = dayStart + Math.floorDiv(localNanos - dayStart, intervalNanos) * intervalNanos;
+                bound = end ? Math.min(start + intervalNanos, dayStart + NANOS_PER_DAY) : start;
+            }
+            return bound - fixedOffsetNanos;
+        }
+        long epochDay = TimeSeriesUtils.toZonedDateTime(epochNanos, zone).toLocalDate().toEpochDay();
+        if(intervalDays > 0)
+        {
+            long firstDay = Math.floorDiv(epochDay, intervalDays) * intervalDays;
+            return startOfDay(end ? firstDay + intervalDays : firstDay);
+        }
+        long dayStart = startOfDay(epochDay);
+        long start = dayStart + Math.floorDiv(epochNanos - dayStart, intervalNanos) * intervalNanos;
+        return end ? Math.min(start + intervalNanos, startOfDay(epochDay + 1)) : start;
+    }
+
+    private long startOfDay(long epochDay)
+    {
+        return TimeSeriesUtils.toEpochNanos(LocalDate.ofEpochDay(epochDay).atStartOfDay(zone));
+    }
+}
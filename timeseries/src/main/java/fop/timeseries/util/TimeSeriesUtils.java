@@ -0,0 +1,136 @@
+package fop.timeseries.util;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import fop.timeseries.TimeSeries;
+import fop.timeseries.impl.AbstractTimeSeries.TimeSeriesEntry;
+
+public class TimeSeriesUtils
+{
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final Comparator<TimeSeries.Entry<?>> EVENT_INSTANT_ORDER = Comparator.comparing(TimeSeriesEntry::eventInstantOf);
+    
+    private TimeSeriesUtils()
+    {}
+    
+    public static long toEpochNanos(Instant eventInstant)
+    {
+        return Math.addExact(Math.multiplyExact(eventInstant.getEpochSecond(), NANOS_PER_SECOND), eventInstant.getNano());
+    }
+    
+    public static long toEpochNanos(ZonedDateTime eventDateTime)
+    {
+        return Math.addExact(Math.multiplyExact(eventDateTime.toEpochSecond(), NANOS_PER_SECOND), eventDateTime.getNano());
+    }
+    
+    public static long toEpochNanos(TimeSeries.Entry<?> entry)
+    {
+        return toEpochNanos(TimeSeriesEntry.eventInstantOf(entry));
+    }
+    
+    public static Instant toInstant(long epochNanos)
+    {
+        return Instant.ofEpochSecond(0, epochNanos);
+    }
+    
+    public static ZonedDateTime toZonedDateTime(long epochNanos, ZoneId zone)
+    {
+        return ZonedDateTime.ofInstant(toInstant(epochNanos), zone);
+    }
+    
+    public static <E> NavigableSet<ZonedDateTime> extractTimeSeriesEventDateTimes(NavigableSet<TimeSeries.Entry<E>> entries)
+    {
+        return entries.stream().map(e->e.getEventDateTime()).collect(Collectors.toCollection(TreeSet::new));
+    }
+    
+    public static <E> Collection<E> extractTimeSeriesEvents(NavigableSet<TimeSeries.Entry<E>> entries)
+    {
+        return entries.stream().map(e->e.getEvent()).collect(Collectors.toCollection(LinkedList::new));
+    }
+    
+    public static <E> NavigableSet<ZonedDateTime> extractMultiTimeSeriesEventDateTimes(NavigableSet<TimeSeries.Entry<Collection<E>>> entries)
+    {
+        return entries.stream().map(e->e.getEventDateTime()).collect(Collectors.toCollection(TreeSet::new));
+    }
+    
+    public static <E> Collection<E> extractMultiTimeSeriesEvents(NavigableSet<TimeSeries.Entry<Collection<E>>> entries)
+    {
+        return entries.stream().map(e->e.getEvent()).flatMap(e->e.stream()).collect(Collectors.toCollection(LinkedList::new));
+    }
+    
+    /*
+     * Entries in ascending time order. Input that is already sorted, the common case for history
+     * loads, costs a single pass; anything else is sorted once with a stable parallel sort so that
+     * entries sharing an instant keep their input order.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> List<TimeSeries.Entry<E>> sortEntries(Collection<? extends TimeSeries.Entry<E>> entries)
+    {
+        TimeSeries.Entry<E>[] sortedEntries = entries.toArray(new TimeSeries.Entry[entries.size()]);
+        for(int i = 1; i < sortedEntries.length; i++)
+        {
+            if(EVENT_INSTANT_ORDER.compare(sortedEntries[i - 1], sortedEntries[i]) > 0)
+            {
+                Arrays.parallelSort(sortedEntries, EVENT_INSTANT_ORDER);
+                break;
+            }
+        }
+        return Arrays.asList(sortedEntries);
+    }
+    
+    /*
+     * Sorted entries with one entry per instant. Like repeated puts into a map, the entry that came
+     * last in the input wins.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> List<TimeSeries.Entry<E>> sortedUniqueEntries(Collection<? extends TimeSeries.Entry<E>> entries)
+    {
+        List<TimeSeries.Entry<E>> sortedEntries = sortEntries(entries);
+        TimeSeries.Entry<E>[] uniqueEntries = new TimeSeries.Entry[sortedEntries.size()];
+        int uniqueSize = 0;
+        for(TimeSeries.Entry<E> entry : sortedEntries)
+        {
+            if(uniqueSize > 0 && EVENT_INSTANT_ORDER.compare(uniqueEntries[uniqueSize - 1], entry) == 0)
+            {
+                uniqueEntries[uniqueSize - 1] = entry;
+            }
+            else
+            {
+                uniqueEntries[uniqueSize++] = entry;
+            }
+        }
+        return Arrays.asList(uniqueSize == uniqueEntries.length ? uniqueEntries : Arrays.copyOf(uniqueEntries, uniqueSize));
+    }
+    
+    /*
+     * Sorted entries with one entry per instant, whose event collection is a new collection from
+     * the factory holding the events of every input entry at that instant.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E, C extends Collection<E>> List<TimeSeries.Entry<C>> sortedMergedEntries(Collection<? extends TimeSeries.Entry<C>> entries, Supplier<C> entryCollectionFactory)
+    {
+        List<TimeSeries.Entry<C>> sortedEntries = sortEntries(entries);
+        TimeSeries.Entry<C>[] mergedEntries = new TimeSeries.Entry[sortedEntries.size()];
+        int mergedSize = 0;
+        for(TimeSeries.Entry<C> entry : sortedEntries)
+        {
+            if(mergedSize == 0 || EVENT_INSTANT_ORDER.compare(mergedEntries[mergedSize - 1], entry) != 0)
+            {
+                mergedEntries[mergedSize++] = TimeSeriesEntry.of(entry.getEventDateTime(), entryCollectionFactory.get());
+            }
+            mergedEntries[mergedSize - 1].getEvent().addAll(entry.getEvent());
+        }
+        return Arrays.asList(Arrays.copyOf(mergedEntries, mergedSize));
+    }
+}
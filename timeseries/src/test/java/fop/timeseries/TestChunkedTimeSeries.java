@@ -0,0 +1,105 @@
+package fop.timeseries;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import fop.timeseries.impl.ChunkedTimeSeries;
+import fop.timeseries.impl.SimpleTimeSeries;
+import fop.timeseries.io.ValueCodec;
+import fop.timeseries.io.ValueCodecs;
+import fop.timeseries.util.TimeSeriesConstants;
+
+class TestChunkedTimeSeries extends TestSimpleTimeSeries
+{
+    private static final ValueCodec<Integer> INTEGER_CODEC = new ValueCodec<Integer>()
+    {
+        @Override
+        public Encoder<Integer> newEncoder()
+        {
+            return (value, output)->output.writeZigZag(value);
+        }
+
+        @Override
+        public Decoder<Integer> newDecoder()
+        {
+            return input->(int)input.readZigZag();
+        }
+    };
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected <E> TimeSeries<E> newTimeSeries()
+    {
+        return (TimeSeries<E>)new ChunkedTimeSeries<>(TimeSeriesConstants.UTC, INTEGER_CODEC, 4, 2);
+    }
+
+    @Override
+    protected <E> TimeSeries<E> newTimeSeries(TimeSeries<E> timeSeries)
+    {
+        TimeSeries<E> copy = newTimeSeries();
+        timeSeries.forEach(e->copy.add(e.getEventDateTime(), e.getEvent()));
+        return copy;
+    }
+
+    private static <E> E eventOf(TimeSeries.Entry<E> entry)
+    {
+        return Objects.nonNull(entry) ? entry.getEvent() : null;
+    }
+
+    @Test
+    void testMatchesSimpleTimeSeriesUnderRandomUpdates()
+    {
+        ZonedDateTime start = ZonedDateTime.now(TimeSeriesConstants.UTC);
+        Random random = new Random(11);
+        ChunkedTimeSeries<Integer> chunked = new ChunkedTimeSeries<>(TimeSeriesConstants.UTC, INTEGER_CODEC, 16, 1);
+        TimeSeries<Integer> expected = new SimpleTimeSeries<>();
+        for(int i = 0; i < 5000; i++)
+        {
+            ZonedDateTime eventDateTime = start.plusSeconds(i % 10 == 0 ? random.nextInt(i + 1) : i);
+            if(i % 7 == 0)
+            {
+                assertEquals(expected.remove(eventDateTime), chunked.remove(eventDateTime));
+            }
+            else
+            {
+                chunked.add(eventDateTime, i);
+                expected.add(eventDateTime, i);
+            }
+        }
+        assertTrue(chunked.getBlockCount() > 100);
+        assertEquals(expected.size(), chunked.size());
+        assertEquals(new ArrayList<>(expected.events()), new ArrayList<>(chunked.events()));
+        for(int i = 0; i < 5000; i += 13)
+        {
+            ZonedDateTime eventDateTime = start.plusSeconds(i).plusNanos(1);
+            assertEquals(eventOf(expected.floor(eventDateTime)), eventOf(chunked.floor(eventDateTime)));
+            assertEquals(expected.get(start.plusSeconds(i)), chunked.get(start.plusSeconds(i)));
+        }
+        assertNull(chunked.get(start.minusSeconds(1)));
+    }
+
+    @Test
+    void testSealedBlocksAreCompressed()
+    {
+        ZonedDateTime start = ZonedDateTime.now(TimeSeriesConstants.UTC);
+        ChunkedTimeSeries<Double> chunked = new ChunkedTimeSeries<>(ValueCodecs.gorillaDouble());
+        double price = 100;
+        for(int i = 0; i < 100_000; i++)
+        {
+            price += (i * 7919 % 11 - 5) * 0.25;
+            chunked.add(start.plusNanos(i * 1_000_000L), price);
+        }
+        assertEquals(100_000 / ChunkedTimeSeries.DEFAULT_CHUNK_CAPACITY, chunked.getBlockCount());
+        assertTrue(chunked.getSealedBytes() < 4L * chunked.size(), "bytes: " + chunked.getSealedBytes());
+        assertEquals(Double.valueOf(price), chunked.end().getEvent());
+        assertEquals(50, chunked.getEntriesSubSet(start.plusSeconds(10), true, start.plusSeconds(10).plusNanos(50_000_000), false).size());
+    }
+}
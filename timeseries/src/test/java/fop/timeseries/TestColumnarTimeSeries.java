@@ -0,0 +1,186 @@
+package fop.timeseries;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+import fop.timeseries.impl.ColumnarTimeSeries;
+import fop.timeseries.impl.IngestStatistics;
+import fop.timeseries.util.TimeSeriesConstants;
+import fop.timeseries.util.TimeSeriesUtils;
+
+class TestColumnarTimeSeries extends TestSimpleTimeSeries
+{
+    @Override
+    protected <E> TimeSeries<E> newTimeSeries()
+    {
+        return new ColumnarTimeSeries<>();
+    }
+    
+    @Override
+    protected <E> TimeSeries<E> newTimeSeries(TimeSeries<E> timeSeries)
+    {
+        return new ColumnarTimeSeries<>(timeSeries);
+    }
+
+    @Test
+    void testSpliteratorSplitsBySize()
+    {
+        ZonedDateTime eventDateTime = ZonedDateTime.now();
+        TimeSeries<Integer> testColumnarTimeSeries = newTimeSeries();
+        for(int i = 0; i < 1001; i++)
+        {
+            testColumnarTimeSeries.add(eventDateTime.plusSeconds(i), i);
+        }
+        Spliterator<TimeSeries.Entry<Integer>> spliterator = testColumnarTimeSeries.getEntriesTailSet(eventDateTime.plusSeconds(1), true).spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+        assertEquals(1000, spliterator.getExactSizeIfKnown());
+        Spliterator<TimeSeries.Entry<Integer>> prefix = spliterator.trySplit();
+        assertEquals(500, prefix.getExactSizeIfKnown());
+        assertEquals(500, spliterator.getExactSizeIfKnown());
+        assertTrue(prefix.tryAdvance(e->assertEquals(Integer.valueOf(1), e.getEvent())));
+        spliterator.tryAdvance(e->assertEquals(Integer.valueOf(501), e.getEvent()));
+    }
+
+    private static <E> void assertSamePoints(TreeMap<Long, E> expected, ColumnarTimeSeries<E> actual)
+    {
+        List<Long> epochNanos = new ArrayList<>();
+        List<E> events = new ArrayList<>();
+        actual.forEach(e->{
+            epochNanos.add(TimeSeriesUtils.toEpochNanos(e.getEventDateTime()));
+            events.add(e.getEvent());
+        });
+        assertEquals(new ArrayList<>(expected.keySet()), epochNanos);
+        assertEquals(new ArrayList<>(expected.values()), events);
+    }
+
+    @Test
+    void testInterleavedLatePointsMatchSortedMap()
+    {
+        Random random = new Random(7);
+        ColumnarTimeSeries<Integer> testColumnarTimeSeries = new ColumnarTimeSeries<>();
+        TreeMap<Long, Integer> expected = new TreeMap<>();
+        long end = 0;
+        for(int i = 0; i < 20_000; i++)
+        {
+            long eventEpochNanos;
+            int kind = random.nextInt(10);
+            if(kind < 6 || expected.isEmpty())
+            {
+                end += 1 + random.nextInt(5);
+                eventEpochNanos = end;
+            }
+            else if(kind < 8)
+            {
+                eventEpochNanos = random.nextInt((int)end + 1);
+            }
+            else
+            {
+                eventEpochNanos = expected.ceilingKey((long)random.nextInt((int)end + 1));
+            }
+            testColumnarTimeSeries.add(eventEpochNanos, i);
+            expected.put(eventEpochNanos, i);
+            if(random.nextInt(1000) == 0)
+            {
+                assertEquals(expected.size(), testColumnarTimeSeries.size());
+            }
+        }
+        assertSamePoints(expected, testColumnarTimeSeries);
+        for(Map.Entry<Long, Integer> entry : expected.entrySet())
+        {
+            assertEquals(entry.getValue(), testColumnarTimeSeries.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    void testMoreLatePointsThanReorderBuffer()
+    {
+        ColumnarTimeSeries<String> testColumnarTimeSeries = new ColumnarTimeSeries<>();
+        TreeMap<Long, String> expected = new TreeMap<>();
+        for(long t = 0; t < 1000; t += 2)
+        {
+            testColumnarTimeSeries.add(t * 10, "in order " + t);
+            expected.put(t * 10, "in order " + t);
+        }
+        for(long t = 999; t >= 0; t--)
+        {
+            testColumnarTimeSeries.add(t * 10, "late " + t);
+            expected.put(t * 10, "late " + t);
+        }
+        assertSamePoints(expected, testColumnarTimeSeries);
+        assertEquals(1000, testColumnarTimeSeries.size());
+    }
+
+    @Test
+    void testBufferedPointWinsOnEqualTimestamp()
+    {
+        ColumnarTimeSeries<String> testColumnarTimeSeries = new ColumnarTimeSeries<>();
+        testColumnarTimeSeries.add(10, "a");
+        testColumnarTimeSeries.add(20, "b");
+        testColumnarTimeSeries.add(30, "c");
+        testColumnarTimeSeries.add(20, "late");
+        testColumnarTimeSeries.add(20, "later");
+        testColumnarTimeSeries.add(30, "last");
+        assertEquals(3, testColumnarTimeSeries.size());
+        assertEquals("later", testColumnarTimeSeries.get(20));
+        assertEquals("last", testColumnarTimeSeries.get(30));
+        testColumnarTimeSeries.add(10, "first");
+        assertEquals("first", testColumnarTimeSeries.start().getEvent());
+        assertEquals(3, testColumnarTimeSeries.size());
+    }
+
+    @Test
+    void testLookupOutsideEpochNanosRange()
+    {
+        ColumnarTimeSeries<String> testColumnarTimeSeries = new ColumnarTimeSeries<>();
+        testColumnarTimeSeries.add(Long.MIN_VALUE, "min");
+        testColumnarTimeSeries.add(Long.MAX_VALUE, "max");
+        ZonedDateTime farFuture = ZonedDateTime.of(3000, 1, 1, 0, 0, 0, 0, TimeSeriesConstants.UTC);
+        ZonedDateTime farPast = ZonedDateTime.of(1000, 1, 1, 0, 0, 0, 0, TimeSeriesConstants.UTC);
+        assertNull(testColumnarTimeSeries.get(farFuture));
+        assertNull(testColumnarTimeSeries.get(farPast.toInstant()));
+        assertFalse(testColumnarTimeSeries.contains(farFuture.toInstant()));
+        assertFalse(testColumnarTimeSeries.contains(farPast));
+        assertEquals("max", testColumnarTimeSeries.floor(farFuture).getEvent());
+        assertEquals("min", testColumnarTimeSeries.ceiling(farPast).getEvent());
+    }
+
+    @Test
+    void testIngestStatistics()
+    {
+        ColumnarTimeSeries<Integer> testColumnarTimeSeries = new ColumnarTimeSeries<>();
+        testColumnarTimeSeries.add(1, 1);
+        testColumnarTimeSeries.add(2, 2);
+        testColumnarTimeSeries.add(3, 3);
+        testColumnarTimeSeries.add(2, 20);
+        testColumnarTimeSeries.add(0, 0);
+        testColumnarTimeSeries.add(4, 4);
+        IngestStatistics ingestStatistics = testColumnarTimeSeries.getIngestStatistics();
+        assertEquals(4, ingestStatistics.getFastPathCount());
+        assertEquals(2, ingestStatistics.getSlowPathCount());
+        assertEquals(0, ingestStatistics.getReorderBufferMerges());
+        assertEquals(5, testColumnarTimeSeries.size());
+        assertEquals(1, ingestStatistics.getReorderBufferMerges());
+
+        for(int i = 1; i <= 300; i++)
+        {
+            testColumnarTimeSeries.add(-i, -i);
+        }
+        assertEquals(2, ingestStatistics.getReorderBufferMerges());
+        assertEquals(305, testColumnarTimeSeries.size());
+        assertEquals(3, ingestStatistics.getReorderBufferMerges());
+        assertEquals(4, ingestStatistics.getFastPathCount());
+        assertEquals(302, ingestStatistics.getSlowPathCount());
+    }
+}
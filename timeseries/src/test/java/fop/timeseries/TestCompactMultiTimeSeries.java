@@ -0,0 +1,113 @@
+package fop.timeseries;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import fop.timeseries.impl.CompactMultiTimeSeries;
+import fop.timeseries.impl.SimpleMultiTimeSeries;
+import fop.timeseries.util.TimeSeriesConstants;
+
+class TestCompactMultiTimeSeries
+{
+    private static final ZonedDateTime START = ZonedDateTime.of(2024, 3, 1, 9, 0, 0, 0, TimeSeriesConstants.UTC);
+
+    @Test
+    void testAddEventGroupsByInstant()
+    {
+        CompactMultiTimeSeries<String> compact = new CompactMultiTimeSeries<>();
+        compact.addEvent(START, "a");
+        compact.addEvent(START, "b");
+        compact.addEvent(START.plusSeconds(1), "c");
+        compact.addEvent(START, "a");
+        assertEquals(2, compact.size());
+        assertEquals(4, compact.getEventCount());
+        assertEquals(Arrays.asList("a", "b", "a"), compact.get(START));
+        assertEquals(Arrays.asList("c"), compact.end().getEvent());
+        assertTrue(compact.contains(START, "b"));
+        assertFalse(compact.contains(START.plusSeconds(1), "b"));
+        assertThrows(UnsupportedOperationException.class, ()->compact.get(START).add("d"));
+    }
+
+    @Test
+    void testLateEventsAreMergedInArrivalOrder()
+    {
+        CompactMultiTimeSeries<Integer> compact = new CompactMultiTimeSeries<>();
+        for(int i = 0; i < 10; i++)
+        {
+            compact.addEvent(START.plusSeconds(2 * i), i);
+        }
+        compact.addEvent(START.plusSeconds(3), 100);
+        compact.addEvent(START.plusSeconds(4), 101);
+        compact.addEvent(START.plusSeconds(3), 102);
+        compact.addEvent(START.minusSeconds(1), 103);
+        assertEquals(14, compact.getEventCount());
+        assertEquals(12, compact.size());
+        assertEquals(Arrays.asList(103), compact.start().getEvent());
+        assertEquals(Arrays.asList(100, 102), compact.get(START.plusSeconds(3)));
+        assertEquals(Arrays.asList(2, 101), compact.get(START.plusSeconds(4)));
+        assertEquals(Arrays.asList(9), compact.end().getEvent());
+    }
+
+    @Test
+    void testRemoveAndReplace()
+    {
+        CompactMultiTimeSeries<Integer> compact = new CompactMultiTimeSeries<>();
+        for(int i = 0; i < 30; i++)
+        {
+            compact.addEvent(START.plusSeconds(i / 3), i);
+        }
+        assertTrue(compact.remove(START.plusSeconds(2), 7));
+        assertFalse(compact.remove(START.plusSeconds(2), 7));
+        assertEquals(Arrays.asList(6, 8), compact.get(START.plusSeconds(2)));
+        assertEquals(Arrays.asList(9, 10, 11), compact.remove(START.plusSeconds(3)));
+        assertNull(compact.get(START.plusSeconds(3)));
+        assertNull(compact.remove(START.plusSeconds(3)));
+        compact.add(START.plusSeconds(4), Arrays.asList(-1));
+        compact.add(START.plusSeconds(3).plusNanos(1), Arrays.asList(-2, -3));
+        assertEquals(10, compact.size());
+        assertEquals(26, compact.getEventCount());
+        assertEquals(Arrays.asList(Arrays.asList(6, 8), Arrays.asList(-2, -3), Arrays.asList(-1), Arrays.asList(15, 16, 17)),
+                compact.rangeStream(START.plusSeconds(2), true, START.plusSeconds(5), true).map(TimeSeries.Entry::getEvent).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testMatchesSimpleMultiTimeSeriesUnderRandomUpdates()
+    {
+        Random random = new Random(17);
+        CompactMultiTimeSeries<Integer> compact = new CompactMultiTimeSeries<>();
+        MultiTimeSeries<Integer, List<Integer>> expected = new SimpleMultiTimeSeries<>(ArrayList::new);
+        for(int i = 0; i < 20_000; i++)
+        {
+            ZonedDateTime eventDateTime = START.plusSeconds(i % 10 == 0 ? random.nextInt(i / 3 + 1) : i / 3);
+            if(i % 13 == 0)
+            {
+                Integer event = random.nextInt(i + 1);
+                assertEquals(expected.remove(eventDateTime, event), compact.remove(eventDateTime, event));
+            }
+            else if(i % 97 == 0)
+            {
+                assertEquals(expected.remove(eventDateTime), compact.remove(eventDateTime));
+            }
+            else
+            {
+                expected.addEvent(eventDateTime, i);
+                compact.addEvent(eventDateTime, i);
+            }
+        }
+        assertEquals(expected.size(), compact.size());
+        assertEquals(new ArrayList<>(expected.events()), new ArrayList<>(compact.events()));
+        assertEquals(new ArrayList<>(expected.eventDateTimes()), new ArrayList<>(compact.eventDateTimes()));
+    }
+}
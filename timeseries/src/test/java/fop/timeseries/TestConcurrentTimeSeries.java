@@ -0,0 +1,51 @@
+package fop.timeseries;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import fop.timeseries.impl.ConcurrentMultiTimeSeries;
+import fop.timeseries.impl.ConcurrentTimeSeries;
+
+class TestConcurrentTimeSeries extends TestSimpleTimeSeries
+{
+    @Override
+    protected <E> TimeSeries<E> newTimeSeries()
+    {
+        return new ConcurrentTimeSeries<>();
+    }
+    
+    @Override
+    protected <E> TimeSeries<E> newTimeSeries(TimeSeries<E> timeSeries)
+    {
+        return new ConcurrentTimeSeries<>(timeSeries);
+    }
+
+    @Test
+    void testConcurrentAddEvent() throws InterruptedException
+    {
+        ZonedDateTime eventDateTime = ZonedDateTime.now();
+        MultiTimeSeries<Integer, Collection<Integer>> testMultiTimeSeries = new ConcurrentMultiTimeSeries<>();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for(int t = 0; t < 4; t++)
+        {
+            int offset = t * 1000;
+            executor.execute(()->{
+                for(int i = 0; i < 1000; i++)
+                {
+                    testMultiTimeSeries.addEvent(eventDateTime.plusNanos(i % 10), offset + i);
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        assertEquals(10, testMultiTimeSeries.size());
+        assertEquals(4000, testMultiTimeSeries.events().stream().mapToInt(Collection::size).sum());
+    }
+}
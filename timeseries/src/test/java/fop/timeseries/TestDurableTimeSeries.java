@@ -0,0 +1,205 @@
+package fop.timeseries;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import fop.timeseries.impl.SimpleTimeSeries;
+import fop.timeseries.io.DurableMultiTimeSeries;
+import fop.timeseries.io.DurableTimeSeries;
+import fop.timeseries.io.FsyncPolicy;
+import fop.timeseries.io.ValueCodecs;
+
+class TestDurableTimeSeries
+{
+    private static final ZonedDateTime START = ZonedDateTime.of(2021, 3, 1, 10, 0, 0, 0, ZoneId.of("Europe/London"));
+
+    private Path directory;
+
+    @BeforeEach
+    void createDirectory() throws IOException
+    {
+        directory = Files.createTempDirectory("durable-time-series");
+    }
+
+    @AfterEach
+    void deleteDirectory() throws IOException
+    {
+        try(Stream<Path> files = Files.walk(directory))
+        {
+            for(Path path : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList()))
+            {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static <E> void assertSamePoints(TimeSeries<E> expected, TimeSeries<E> actual)
+    {
+        assertEquals(new ArrayList<>(expected.getEntries()), new ArrayList<>(actual.getEntries()));
+        for(TimeSeries.Entry<E> entry : expected)
+        {
+            assertEquals(entry.getEventDateTime(), actual.getEntriesTailSet(entry.getEventDateTime(), true).first().getEventDateTime());
+        }
+    }
+
+    @Test
+    void testRecoversWithEveryFsyncPolicy() throws IOException
+    {
+        for(FsyncPolicy policy : List.of(FsyncPolicy.perWrite(), FsyncPolicy.interval(Duration.ofMillis(5)), FsyncPolicy.never()))
+        {
+            Path policyDirectory = directory.resolve(policy.toString().replaceAll("\\W", "_"));
+            TimeSeries<Double> expected = new SimpleTimeSeries<>();
+            try(DurableTimeSeries<Double> durable = DurableTimeSeries.open(policyDirectory, ValueCodecs.gorillaDouble(), policy, 300))
+            {
+                for(int i = 0; i < 1000; i++)
+                {
+                    ZonedDateTime eventDateTime = i % 5 == 0 ? START.plusSeconds(i / 2).withZoneSameInstant(ZoneId.of("Asia/Tokyo")) : START.plusSeconds(i);
+                    durable.add(eventDateTime, i * 0.5);
+                    expected.add(eventDateTime, i * 0.5);
+                    if(i % 9 == 0)
+                    {
+                        durable.remove(START.plusSeconds(i / 3));
+                        expected.remove(START.plusSeconds(i / 3));
+                    }
+                }
+                assertSamePoints(expected, durable);
+            }
+            try(DurableTimeSeries<Double> recovered = DurableTimeSeries.open(policyDirectory, ValueCodecs.gorillaDouble(), policy))
+            {
+                assertSamePoints(expected, recovered);
+            }
+        }
+    }
+
+    @Test
+    void testTornTailIsDropped() throws IOException
+    {
+        try(DurableTimeSeries<Long> durable = DurableTimeSeries.open(directory, ValueCodecs.deltaLong(), FsyncPolicy.perWrite(), 0))
+        {
+            durable.add(START, 1L);
+            durable.add(START.plusSeconds(1), 2L);
+        }
+        Path log;
+        try(Stream<Path> files = Files.list(directory))
+        {
+            log = files.filter(f->f.getFileName().toString().endsWith(".log")).findFirst().get();
+        }
+        long length = Files.size(log);
+        try(FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE))
+        {
+            channel.truncate(length - 2);
+        }
+
+        try(DurableTimeSeries<Long> recovered = DurableTimeSeries.open(directory, ValueCodecs.deltaLong(), FsyncPolicy.perWrite()))
+        {
+            assertEquals(1, recovered.size());
+            recovered.add(START.plusSeconds(2), 3L);
+        }
+        try(DurableTimeSeries<Long> recovered = DurableTimeSeries.open(directory, ValueCodecs.deltaLong(), FsyncPolicy.perWrite()))
+        {
+            assertEquals(List.of(1L, 3L), new ArrayList<>(recovered.events()));
+        }
+    }
+
+    @Test
+    void testUnencodableWriteIsNotApplied() throws IOException
+    {
+        try(DurableTimeSeries<Double> durable = DurableTimeSeries.open(directory, ValueCodecs.gorillaDouble(), FsyncPolicy.perWrite()))
+        {
+            durable.add(START, 1.0);
+            assertThrows(NullPointerException.class, ()->durable.add(START.plusSeconds(1), null));
+            assertEquals(1, durable.size());
+            assertFalse(durable.contains(START.plusSeconds(1)));
+            durable.add(START.plusSeconds(2), 2.0);
+        }
+        try(DurableTimeSeries<Double> recovered = DurableTimeSeries.open(directory, ValueCodecs.gorillaDouble(), FsyncPolicy.perWrite()))
+        {
+            assertEquals(List.of(1.0, 2.0), new ArrayList<>(recovered.events()));
+        }
+        try(DurableMultiTimeSeries<Double, List<Double>> durable = DurableMultiTimeSeries.open(directory.resolve("multi"), ValueCodecs.gorillaDouble(), ArrayList::new, FsyncPolicy.perWrite()))
+        {
+            durable.addEvent(START, 1.0);
+            assertThrows(NullPointerException.class, ()->durable.addEvent(START, null));
+            assertEquals(List.of(1.0), durable.get(START));
+        }
+        try(DurableMultiTimeSeries<Double, List<Double>> recovered = DurableMultiTimeSeries.open(directory.resolve("multi"), ValueCodecs.gorillaDouble(), ArrayList::new, FsyncPolicy.perWrite()))
+        {
+            assertEquals(List.of(1.0), recovered.get(START));
+        }
+    }
+
+    @Test
+    void testCompactedMultiTimeSeries() throws IOException
+    {
+        try(DurableMultiTimeSeries<String, List<String>> durable = DurableMultiTimeSeries.open(directory, ValueCodecs.utf8String(), ArrayList::new, FsyncPolicy.never()))
+        {
+            durable.addEvent(START, "a");
+            durable.addEvent(START, "b");
+            durable.add(START.plusSeconds(1), new ArrayList<>(List.of("c", "d")));
+            durable.compact();
+            durable.addEvent(START, "e");
+            assertTrue(durable.remove(START.plusSeconds(1), "c"));
+        }
+        try(DurableMultiTimeSeries<String, List<String>> recovered = DurableMultiTimeSeries.open(directory, ValueCodecs.utf8String(), ArrayList::new, FsyncPolicy.never()))
+        {
+            assertEquals(List.of("a", "b", "e"), recovered.get(START));
+            assertEquals(List.of("d"), recovered.get(START.plusSeconds(1)));
+            assertFalse(recovered.contains(START.plusSeconds(1), "c"));
+        }
+    }
+
+    @Test
+    void testConcurrentWritersShareCommits() throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try(DurableTimeSeries<Long> durable = DurableTimeSeries.open(directory, ValueCodecs.deltaLong(), FsyncPolicy.perWrite()))
+        {
+            List<Future<?>> writers = new ArrayList<>();
+            for(int w = 0; w < 4; w++)
+            {
+                long writer = w;
+                writers.add(executor.submit(()->{
+                    for(long i = 0; i < 200; i++)
+                    {
+                        durable.add(START.plusSeconds(i * 4 + writer), i);
+                    }
+                }));
+            }
+            for(Future<?> writer : writers)
+            {
+                writer.get();
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+        try(DurableTimeSeries<Long> recovered = DurableTimeSeries.open(directory, ValueCodecs.deltaLong(), FsyncPolicy.perWrite()))
+        {
+            assertEquals(800, recovered.size());
+        }
+    }
+}
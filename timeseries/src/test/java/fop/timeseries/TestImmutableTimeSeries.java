@@ -0,0 +1,167 @@
+package fop.timeseries;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Iterator;
+
+import org.junit.jupiter.api.Test;
+
+import fop.timeseries.impl.ImmutableTimeSeriesImpl;
+import fop.timeseries.impl.SimpleTimeSeries;
+import fop.timeseries.util.ImmutableBuilders;
+
+class TestImmutableTimeSeries
+{
+    @Test
+    void testWithLeavesOriginalUnchanged()
+    {
+        ZonedDateTime eventDateTime = ZonedDateTime.now();
+        ImmutableTimeSeries<Integer> original = ImmutableBuilders.<Integer>builder().add(eventDateTime, 1).build();
+        ImmutableTimeSeries<Integer> derived = original.with(eventDateTime.plusSeconds(1), 2).with(eventDateTime, 3);
+        assertEquals(1, original.size());
+        assertEquals(Integer.valueOf(1), original.get(eventDateTime));
+        assertEquals(2, derived.size());
+        assertEquals(Integer.valueOf(3), derived.get(eventDateTime));
+    }
+
+    @Test
+    void testWithKeepsOrder()
+    {
+        ZonedDateTime eventDateTime = ZonedDateTime.now();
+        ImmutableTimeSeries<Integer> testImmutableTimeSeries = ImmutableBuilders.<Integer>builder().build();
+        for(int i = 100; i > 0; i--)
+        {
+            testImmutableTimeSeries = testImmutableTimeSeries.with(eventDateTime.plusSeconds(i), i);
+        }
+        assertEquals(100, testImmutableTimeSeries.size());
+        Iterator<TimeSeries.Entry<Integer>> entryIterator = testImmutableTimeSeries.iterator();
+        for(int i = 1; i <= 100; i++)
+        {
+            assertEquals(Integer.valueOf(i), entryIterator.next().getEvent());
+        }
+        assertFalse(entryIterator.hasNext());
+        assertEquals(10, testImmutableTimeSeries.getEntriesSubSet(eventDateTime.plusSeconds(40), true, eventDateTime.plusSeconds(50), false).size());
+    }
+
+    @Test
+    void testMultiWithMergesIntoExistingEntries()
+    {
+        ZonedDateTime eventDateTime = ZonedDateTime.now();
+        ImmutableMultiTimeSeries<Integer, Collection<Integer>> original = ImmutableBuilders.<Integer, Collection<Integer>>multiBuilder().add(eventDateTime, 1).build();
+        ImmutableMultiTimeSeries<Integer, Collection<Integer>> derived = original.with(eventDateTime, 2).with(eventDateTime.plusSeconds(1), 3);
+        assertEquals(1, original.get(eventDateTime).size());
+        assertEquals(2, derived.size());
+        assertTrue(derived.contains(eventDateTime, 1));
+        assertTrue(derived.contains(eventDateTime, 2));
+        assertTrue(derived.contains(eventDateTime.plusSeconds(1), 3));
+    }
+
+    @Test
+    void testBuilderSortsUnorderedInput()
+    {
+        ZonedDateTime eventDateTime = ZonedDateTime.now();
+        ImmutableBuilders.Builder<Integer> builder = ImmutableBuilders.<Integer>builder();
+        for(int i = 0; i < 1000; i++)
+        {
+            int second = (i * 389) % 1000;
+            builder.add(eventDateTime.plusSeconds(second), second);
+        }
+        builder.add(eventDateTime.plusSeconds(7), -7);
+        ImmutableTimeSeries<Integer> testImmutableTimeSeries = builder.build();
+        assertEquals(1000, testImmutableTimeSeries.size());
+        assertEquals(Integer.valueOf(-7), testImmutableTimeSeries.get(eventDateTime.plusSeconds(7)));
+        Iterator<TimeSeries.Entry<Integer>> entryIterator = testImmutableTimeSeries.iterator();
+        for(int i = 0; i < 1000; i++)
+        {
+            assertEquals(eventDateTime.plusSeconds(i).toInstant(), entryIterator.next().getEventDateTime().toInstant());
+        }
+    }
+
+    @Test
+    void testMultiBuilderMergesUnorderedInput()
+    {
+        ZonedDateTime eventDateTime = ZonedDateTime.now();
+        ImmutableMultiTimeSeries<Integer, Collection<Integer>> testImmutableMultiTimeSeries = ImmutableBuilders.<Integer, Collection<Integer>>multiBuilder()
+                .add(eventDateTime.plusSeconds(2), 4)
+                .add(eventDateTime, 1)
+                .add(eventDateTime.plusSeconds(2), 5)
+                .add(eventDateTime, 2)
+                .build();
+        assertEquals(2, testImmutableMultiTimeSeries.size());
+        assertEquals(2, testImmutableMultiTimeSeries.get(eventDateTime).size());
+        assertTrue(testImmutableMultiTimeSeries.contains(eventDateTime.plusSeconds(2), 5));
+        assertEquals(eventDateTime.toInstant(), testImmutableMultiTimeSeries.start().getEventDateTime().toInstant());
+    }
+
+    @Test
+    void testParallelStream()
+    {
+        ZonedDateTime eventDateTime = ZonedDateTime.now();
+        ImmutableBuilders.Builder<Integer> builder = ImmutableBuilders.<Integer>builder();
+        for(int i = 0; i < 5000; i++)
+        {
+            builder.add(eventDateTime.plusSeconds(i), i);
+        }
+        ImmutableTimeSeries<Integer> testImmutableTimeSeries = builder.build();
+        assertEquals(12_497_500L, testImmutableTimeSeries.parallelStream().mapToLong(e->e.getEvent()).sum());
+        assertEquals(Integer.valueOf(4999), testImmutableTimeSeries.parallelStream().reduce((a, b)->b).get().getEvent());
+    }
+
+    @Test
+    void testFreezeHandsOverStore()
+    {
+        ZonedDateTime eventDateTime = ZonedDateTime.now();
+        SimpleTimeSeries<Integer> mutable = new SimpleTimeSeries<>();
+        for(int i = 0; i < 100; i++)
+        {
+            mutable.add(eventDateTime.plusSeconds(i), i);
+        }
+        ImmutableTimeSeries<Integer> frozen = mutable.freeze();
+        assertTrue(mutable.isFrozen());
+        assertThrows(IllegalStateException.class, ()->mutable.add(eventDateTime, -1));
+        assertThrows(IllegalStateException.class, ()->mutable.remove(eventDateTime));
+        assertThrows(UnsupportedOperationException.class, ()->frozen.add(eventDateTime, -1));
+        assertEquals(100, frozen.size());
+        assertEquals(Integer.valueOf(42), frozen.get(eventDateTime.plusSeconds(42)));
+        assertEquals(10, frozen.getEntriesSubSet(eventDateTime.plusSeconds(10), true, eventDateTime.plusSeconds(20), false).size());
+
+        ImmutableTimeSeries<Integer> derived = frozen.with(eventDateTime.plusSeconds(100), 100).with(eventDateTime, -1);
+        assertEquals(100, frozen.size());
+        assertEquals(Integer.valueOf(0), frozen.get(eventDateTime));
+        assertEquals(101, derived.size());
+        assertEquals(Integer.valueOf(-1), derived.get(eventDateTime));
+        assertEquals(Integer.valueOf(100), derived.end().getEvent());
+        assertSame(frozen, ImmutableBuilders.from(frozen));
+    }
+
+    @Test
+    void testFromCopiesMutableSeriesOnce()
+    {
+        ZonedDateTime eventDateTime = ZonedDateTime.now();
+        SimpleTimeSeries<Integer> mutable = new SimpleTimeSeries<>();
+        for(int i = 100; i > 0; i--)
+        {
+            mutable.add(eventDateTime.plusSeconds(i), i);
+        }
+        ImmutableTimeSeries<Integer> copy = ImmutableBuilders.from(mutable);
+        mutable.add(eventDateTime, 0);
+        assertFalse(mutable.isFrozen());
+        assertEquals(100, copy.size());
+        assertEquals(Integer.valueOf(1), copy.start().getEvent());
+        assertEquals(Integer.valueOf(100), copy.end().getEvent());
+        assertSame(copy, ImmutableBuilders.from(copy));
+    }
+
+    @Test
+    void testCloneSharesInstance()
+    {
+        ImmutableTimeSeriesImpl<Integer> immutable = (ImmutableTimeSeriesImpl<Integer>)ImmutableBuilders.<Integer>builder().add(ZonedDateTime.now(), 1).build();
+        assertSame(immutable, immutable.clone());
+    }
+}
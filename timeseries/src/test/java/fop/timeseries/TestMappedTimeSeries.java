@@ -0,0 +1,125 @@
+package fop.timeseries;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import fop.timeseries.impl.MappedTimeSeries;
+import fop.timeseries.util.TimeSeriesConstants;
+
+class TestMappedTimeSeries
+{
+    private static final ZonedDateTime START = ZonedDateTime.now(TimeSeriesConstants.UTC);
+
+    private Path directory;
+
+    @BeforeEach
+    void createDirectory() throws IOException
+    {
+        directory = Files.createTempDirectory("mapped-time-series");
+    }
+
+    @AfterEach
+    void deleteDirectory() throws IOException
+    {
+        try(Stream<Path> files = Files.walk(directory))
+        {
+            for(Path path : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList()))
+            {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    void testAppendRollsOverAndReopens() throws IOException
+    {
+        try(MappedTimeSeries<Double> timeSeries = MappedTimeSeries.open(directory, TimeSeriesConstants.UTC, MappedTimeSeries.ValueLayout.DOUBLE, 4))
+        {
+            for(int i = 0; i < 10; i++)
+            {
+                timeSeries.add(START.plusSeconds(i), i * 1.5);
+            }
+            assertEquals(10, timeSeries.size());
+            timeSeries.add(START.plusSeconds(3), -1.0);
+        }
+        try(Stream<Path> files = Files.list(directory))
+        {
+            assertEquals(3, files.count());
+        }
+
+        try(MappedTimeSeries<Double> timeSeries = MappedTimeSeries.open(directory, TimeSeriesConstants.UTC, MappedTimeSeries.ValueLayout.DOUBLE))
+        {
+            assertEquals(10, timeSeries.size());
+            assertEquals(Double.valueOf(-1.0), timeSeries.get(START.plusSeconds(3)));
+            assertEquals(Double.valueOf(13.5), timeSeries.end().getEvent());
+            assertEquals(Double.valueOf(6.0), timeSeries.floor(START.plusSeconds(4).plusNanos(500)).getEvent());
+            assertNull(timeSeries.get(START.plusSeconds(20)));
+            List<Double> range = timeSeries.getEntriesSubSet(START.plusSeconds(2), true, START.plusSeconds(6), false).stream().map(e->e.getEvent()).collect(Collectors.toList());
+            assertEquals(List.of(3.0, -1.0, 6.0, 7.5), range);
+
+            timeSeries.add(START.plusSeconds(10), 15.0);
+            assertEquals(11, timeSeries.size());
+            assertEquals(11, new ArrayList<>(timeSeries.events()).size());
+        }
+    }
+
+    @Test
+    void testRejectsOutOfOrderAppend() throws IOException
+    {
+        try(MappedTimeSeries<Long> timeSeries = MappedTimeSeries.open(directory, TimeSeriesConstants.UTC, MappedTimeSeries.ValueLayout.LONG))
+        {
+            timeSeries.add(START.plusSeconds(5), 5L);
+            assertThrows(IllegalArgumentException.class, ()->timeSeries.add(START, 0L));
+            assertThrows(UnsupportedOperationException.class, ()->timeSeries.remove(START.plusSeconds(5)));
+            assertEquals(1, timeSeries.size());
+        }
+    }
+
+    @Test
+    void testClosedSeriesRejectsReadsAndWrites() throws IOException
+    {
+        MappedTimeSeries<Double> timeSeries = MappedTimeSeries.open(directory, TimeSeriesConstants.UTC, MappedTimeSeries.ValueLayout.DOUBLE, 4);
+        for(int i = 0; i < 10; i++)
+        {
+            timeSeries.add(START.plusSeconds(i), (double)i);
+        }
+        timeSeries.close();
+        timeSeries.close();
+
+        assertThrows(IllegalStateException.class, ()->timeSeries.add(START.plusSeconds(10), 10.0));
+        assertThrows(IllegalStateException.class, ()->timeSeries.add(START.plusSeconds(12), 12.0));
+        assertThrows(IllegalStateException.class, ()->timeSeries.get(START.plusSeconds(3)));
+        assertThrows(IllegalStateException.class, ()->timeSeries.contains(START));
+        assertThrows(IllegalStateException.class, ()->timeSeries.size());
+        assertThrows(IllegalStateException.class, ()->timeSeries.end());
+        assertThrows(IllegalStateException.class, ()->timeSeries.flush());
+
+        try(MappedTimeSeries<Double> reopened = MappedTimeSeries.open(directory, TimeSeriesConstants.UTC, MappedTimeSeries.ValueLayout.DOUBLE))
+        {
+            assertEquals(10, reopened.size());
+            assertEquals(Double.valueOf(0.0), reopened.get(START));
+            assertEquals(Double.valueOf(9.0), reopened.end().getEvent());
+            reopened.add(START.plusSeconds(10), 10.0);
+        }
+        try(MappedTimeSeries<Double> reopened = MappedTimeSeries.open(directory, TimeSeriesConstants.UTC, MappedTimeSeries.ValueLayout.DOUBLE))
+        {
+            assertEquals(11, reopened.size());
+            assertEquals(Double.valueOf(10.0), reopened.end().getEvent());
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package fop.timeseries;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import fop.timeseries.impl.PartitionedTimeSeries;
+import fop.timeseries.impl.SimpleTimeSeries;
+import fop.timeseries.util.TimeSeriesConstants;
+
+class TestPartitionedTimeSeries extends TestSimpleTimeSeries
+{
+    @Override
+    protected <E> TimeSeries<E> newTimeSeries()
+    {
+        return new PartitionedTimeSeries<>(Duration.ofNanos(1000));
+    }
+
+    @Override
+    protected <E> TimeSeries<E> newTimeSeries(TimeSeries<E> timeSeries)
+    {
+        TimeSeries<E> copy = newTimeSeries();
+        timeSeries.forEach(e->copy.add(e.getEventDateTime(), e.getEvent()));
+        return copy;
+    }
+
+    @Test
+    void testMatchesSimpleTimeSeriesAcrossPartitions()
+    {
+        ZonedDateTime start = ZonedDateTime.of(2024, 3, 1, 0, 0, 0, 0, TimeSeriesConstants.UTC);
+        Random random = new Random(5);
+        PartitionedTimeSeries<Integer> partitioned = new PartitionedTimeSeries<>(Duration.ofHours(1));
+        TimeSeries<Integer> expected = new SimpleTimeSeries<>();
+        for(int i = 0; i < 5000; i++)
+        {
+            ZonedDateTime eventDateTime = start.plusMinutes(random.nextInt(24 * 60));
+            if(i % 9 == 0)
+            {
+                assertEquals(expected.remove(eventDateTime), partitioned.remove(eventDateTime));
+            }
+            else
+            {
+                partitioned.add(eventDateTime, i);
+                expected.add(eventDateTime, i);
+            }
+        }
+        assertEquals(24, partitioned.getPartitionCount());
+        assertEquals(expected.size(), partitioned.size());
+        assertEquals(new ArrayList<>(expected.events()), new ArrayList<>(partitioned.events()));
+        assertEquals(expected.start().getEvent(), partitioned.start().getEvent());
+        assertEquals(expected.end().getEvent(), partitioned.end().getEvent());
+
+        ZonedDateTime from = start.plusMinutes(90);
+        ZonedDateTime to = start.plusHours(5);
+        assertEquals(events(expected.getEntriesSubSet(from, true, to, false)), events(partitioned.getEntriesSubSet(from, true, to, false)));
+        assertEquals(expected.getEntriesSubSet(from, true, to, true).size(), partitioned.getEntriesSubSet(from, true, to, true).size());
+        assertEquals(events(expected.getEntriesHeadSet(to, true).descendingSet()), events(partitioned.getEntriesHeadSet(to, true).descendingSet()));
+        assertEquals(events(expected.getEntriesTailSet(from)), events(partitioned.getEntriesTailSet(from)));
+        assertEquals(expected.floor(from.plusSeconds(1)).getEvent(), partitioned.floor(from.plusSeconds(1)).getEvent());
+        assertEquals(expected.higher(to).getEvent(), partitioned.higher(to).getEvent());
+        assertNull(partitioned.lower(start));
+    }
+
+    @Test
+    void testDropPartitionsBefore()
+    {
+        ZoneId kolkata = ZoneId.of("Asia/Kolkata");
+        ZonedDateTime start = ZonedDateTime.of(2024, 3, 1, 0, 0, 0, 0, kolkata);
+        PartitionedTimeSeries<Integer> partitioned = new PartitionedTimeSeries<>(Duration.ofDays(1), kolkata, SimpleTimeSeries::new);
+        for(int i = 0; i < 10 * 24; i++)
+        {
+            partitioned.add(start.plusHours(i), i);
+        }
+        assertEquals(10, partitioned.getPartitionCount());
+        assertEquals(start, partitioned.getPartitions().firstKey());
+
+        assertEquals(3, partitioned.dropPartitionsBefore(start.plusDays(3).plusHours(5)));
+        assertEquals(7, partitioned.getPartitionCount());
+        assertEquals(7 * 24, partitioned.size());
+        assertEquals(Integer.valueOf(3 * 24), partitioned.start().getEvent());
+        assertEquals(0, partitioned.dropPartitionsBefore(start));
+
+        assertTrue(partitioned.dropPartition(start.plusDays(9).plusHours(1)));
+        assertFalse(partitioned.dropPartition(start.plusDays(9)));
+        assertEquals(Integer.valueOf(9 * 24 - 1), partitioned.end().getEvent());
+    }
+
+    @Test
+    void testPartitionsProcessedInParallel()
+    {
+        ZonedDateTime start = ZonedDateTime.of(2024, 3, 1, 0, 0, 0, 0, TimeSeriesConstants.UTC);
+        PartitionedTimeSeries<Integer> partitioned = new PartitionedTimeSeries<>(Duration.ofHours(1));
+        for(int i = 0; i < 48 * 60; i++)
+        {
+            partitioned.add(start.plusMinutes(i), i);
+        }
+        List<Integer> partitionSums = partitioned.mapPartitions(p->p.stream().mapToInt(TimeSeries.Entry::getEvent).sum());
+        assertEquals(48, partitionSums.size());
+        assertEquals(Integer.valueOf(59 * 60 / 2), partitionSums.get(0));
+        assertEquals(sumBelow(48 * 60), partitionSums.stream().mapToLong(Integer::longValue).sum());
+
+        assertEquals(sumBelow(48 * 60), partitioned.parallelStream().mapToLong(TimeSeries.Entry::getEvent).sum());
+        List<Integer> inOrder = partitioned.parallelStream().map(TimeSeries.Entry::getEvent).collect(Collectors.toList());
+        assertEquals(new ArrayList<>(partitioned.events()), inOrder);
+        assertEquals(120, partitioned.rangeStream(start.plusHours(2), true, start.plusHours(4), false).parallel().count());
+    }
+
+    @Test
+    void testConcurrentLookups()
+    {
+        ZoneId newYork = ZoneId.of("America/New_York");
+        ZonedDateTime start = ZonedDateTime.of(2024, 3, 9, 0, 0, 0, 0, newYork);
+        PartitionedTimeSeries<Integer> partitioned = new PartitionedTimeSeries<>(Duration.ofHours(1), newYork, SimpleTimeSeries::new);
+        for(int i = 0; i < 72 * 60; i++)
+        {
+            partitioned.add(start.plusMinutes(i), i);
+        }
+        /* Readers hit different partitions at the same time, none of them may see another's partition */
+        assertEquals(72 * 60, IntStream.range(0, 72 * 60).parallel().filter(i->Integer.valueOf(i).equals(partitioned.get(start.plusMinutes(i)))).count());
+        assertTrue(IntStream.range(0, 72 * 60).parallel().allMatch(i->partitioned.contains(start.plusMinutes(i))));
+    }
+
+    private static long sumBelow(int count)
+    {
+        return (long)count * (count - 1) / 2;
+    }
+
+    private static <E> List<E> events(Iterable<TimeSeries.Entry<E>> entries)
+    {
+        List<E> events = new ArrayList<>();
+        entries.forEach(e->events.add(e.getEvent()));
+        return events;
+    }
+}
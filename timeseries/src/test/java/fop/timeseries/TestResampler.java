@@ -0,0 +1,136 @@
+package fop.timeseries;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import fop.timeseries.impl.SimpleDoubleTimeSeries;
+import fop.timeseries.impl.SimpleTimeSeries;
+import fop.timeseries.util.Aggregators;
+import fop.timeseries.util.Resampler;
+import fop.timeseries.util.TimeSeriesConstants;
+import fop.timeseries.util.TimeSeriesUtils;
+
+class TestResampler
+{
+    private static final ZonedDateTime START = ZonedDateTime.of(2021, 3, 1, 9, 30, 0, 0, TimeSeriesConstants.UTC);
+
+    @Test
+    void testMinuteBars()
+    {
+        TimeSeries<Integer> testTimeSeries = new SimpleTimeSeries<>();
+        for(int i = 0; i < 180; i++)
+        {
+            testTimeSeries.add(START.plusSeconds(i), i);
+        }
+        TimeSeries<Double> means = Resampler.resample(testTimeSeries, Duration.ofMinutes(1), Aggregators.mean());
+        assertEquals(3, means.size());
+        assertEquals(Double.valueOf(29.5), means.get(START));
+        assertEquals(Double.valueOf(89.5), means.get(START.plusMinutes(1)));
+        assertEquals(Double.valueOf(149.5), means.get(START.plusMinutes(2)));
+
+        TimeSeries<Ohlc> bars = Resampler.resample(testTimeSeries, Duration.ofMinutes(1), Aggregators.ohlc());
+        assertEquals(new Ohlc(60, 119, 60, 119), bars.get(START.plusMinutes(1)));
+
+        TimeSeries<Long> counts = Resampler.resample(testTimeSeries, Duration.ofSeconds(45), Aggregators.count());
+        assertEquals(4, counts.size());
+        assertEquals(Long.valueOf(45), counts.start().getEvent());
+        assertEquals(START.plusSeconds(135).toInstant(), counts.end().getEventDateTime().toInstant());
+    }
+
+    @Test
+    void testEmptyBucketsAreSkipped()
+    {
+        TimeSeries<Integer> testTimeSeries = new SimpleTimeSeries<>();
+        testTimeSeries.add(START, 1);
+        testTimeSeries.add(START.plusHours(5), 2);
+        TimeSeries<Integer> last = Resampler.resample(testTimeSeries, Duration.ofHours(1), Aggregators.last());
+        assertEquals(2, last.size());
+        assertEquals(Integer.valueOf(2), last.get(START.plusHours(5).minusMinutes(30)));
+        assertEquals(0, Resampler.resample(new SimpleTimeSeries<Integer>(), Duration.ofHours(1), Aggregators.last()).size());
+    }
+
+    @Test
+    void testHourBucketsFollowZone()
+    {
+        ZoneId kolkata = ZoneId.of("Asia/Kolkata");
+        TimeSeries<Integer> testTimeSeries = new SimpleTimeSeries<>();
+        testTimeSeries.add(START.minusMinutes(1), 1);
+        testTimeSeries.add(START, 2);
+        testTimeSeries.add(START.plusMinutes(59), 3);
+        TimeSeries<Double> sums = Resampler.resample(testTimeSeries, Duration.ofHours(1), kolkata, Aggregators.sum());
+        assertEquals(2, sums.size());
+        Iterator<TimeSeries.Entry<Double>> entryIterator = sums.iterator();
+        TimeSeries.Entry<Double> first = entryIterator.next();
+        assertEquals(ZonedDateTime.of(2021, 3, 1, 14, 0, 0, 0, kolkata), first.getEventDateTime());
+        assertEquals(Double.valueOf(1), first.getEvent());
+        assertEquals(Double.valueOf(5), entryIterator.next().getEvent());
+    }
+
+    @Test
+    void testDayBucketsAcrossDaylightSaving()
+    {
+        ZoneId newYork = ZoneId.of("America/New_York");
+        TimeSeries<Integer> testTimeSeries = new SimpleTimeSeries<>();
+        ZonedDateTime localStart = ZonedDateTime.of(2021, 3, 13, 0, 0, 0, 0, newYork);
+        for(int hour = 0; hour < 72; hour++)
+        {
+            testTimeSeries.add(localStart.plusHours(hour), hour);
+        }
+        TimeSeries<Long> counts = Resampler.resample(testTimeSeries, Duration.ofDays(1), newYork, Aggregators.count());
+        List<Long> dailyCounts = new ArrayList<>(counts.events());
+        assertEquals(List.of(24L, 23L, 24L, 1L), dailyCounts);
+        assertEquals(ZonedDateTime.of(2021, 3, 14, 0, 0, 0, 0, newYork), counts.getEntries().higher(counts.start()).getEventDateTime());
+    }
+
+    @Test
+    void testPrimitiveResample()
+    {
+        DoubleTimeSeries testDoubleTimeSeries = new SimpleDoubleTimeSeries();
+        long startEpochNanos = TimeSeriesUtils.toEpochNanos(START);
+        for(int i = 0; i < 120; i++)
+        {
+            testDoubleTimeSeries.add(startEpochNanos + i * 1_000_000_000L, i);
+        }
+        DoubleTimeSeries maxima = Resampler.resample(testDoubleTimeSeries, Duration.ofSeconds(30), Aggregators.doubleMax());
+        assertEquals(4, maxima.size());
+        assertEquals(29.0, maxima.getAsDouble(startEpochNanos));
+        assertEquals(119.0, maxima.getAsDouble(startEpochNanos + 90_000_000_000L));
+
+        TimeSeries<Integer> testTimeSeries = new SimpleTimeSeries<>();
+        testTimeSeries.add(START, 4);
+        testTimeSeries.add(START.plusSeconds(1), 6);
+        DoubleTimeSeries means = Resampler.resample(testTimeSeries, Duration.ofMinutes(1), TimeSeriesConstants.UTC, Integer::doubleValue, Aggregators.doubleMean());
+        assertEquals(5.0, means.getAsDouble(startEpochNanos));
+    }
+
+    @Test
+    void testResampleIntoMultiTimeSeries()
+    {
+        TimeSeries<Integer> testTimeSeries = new SimpleTimeSeries<>();
+        for(int i = 0; i < 10; i++)
+        {
+            testTimeSeries.add(START.plusSeconds(i * 10), i);
+        }
+        MultiTimeSeries<Integer, List<Integer>> buckets = Resampler.resample(testTimeSeries, Duration.ofMinutes(1), TimeSeriesConstants.UTC, ArrayList::new);
+        assertEquals(2, buckets.size());
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), buckets.get(START));
+        assertEquals(List.of(6, 7, 8, 9), buckets.get(START.plusMinutes(1)));
+    }
+
+    @Test
+    void testInvalidInterval()
+    {
+        TimeSeries<Integer> testTimeSeries = new SimpleTimeSeries<>();
+        assertThrows(IllegalArgumentException.class, ()->Resampler.resample(testTimeSeries, Duration.ZERO, Aggregators.last()));
+        assertThrows(IllegalArgumentException.class, ()->Resampler.resample(testTimeSeries, Duration.ofHours(36), Aggregators.last()));
+    }
+}
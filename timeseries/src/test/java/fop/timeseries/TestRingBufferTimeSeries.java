@@ -0,0 +1,105 @@
+package fop.timeseries;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import fop.timeseries.impl.RingBufferTimeSeries;
+import fop.timeseries.impl.SimpleTimeSeries;
+import fop.timeseries.util.TimeSeriesConstants;
+
+class TestRingBufferTimeSeries extends TestSimpleTimeSeries
+{
+    @Override
+    protected <E> TimeSeries<E> newTimeSeries()
+    {
+        return new RingBufferTimeSeries<>(1 << 16);
+    }
+
+    @Override
+    protected <E> TimeSeries<E> newTimeSeries(TimeSeries<E> timeSeries)
+    {
+        TimeSeries<E> copy = newTimeSeries();
+        timeSeries.forEach(e->copy.add(e.getEventDateTime(), e.getEvent()));
+        return copy;
+    }
+
+    @Test
+    void testCapacityEvictsOldest()
+    {
+        ZonedDateTime start = ZonedDateTime.of(2024, 3, 1, 9, 0, 0, 0, TimeSeriesConstants.UTC);
+        RingBufferTimeSeries<Integer> ring = new RingBufferTimeSeries<>(100);
+        for(int i = 0; i < 1050; i++)
+        {
+            ring.add(start.plusSeconds(i), i);
+        }
+        assertEquals(100, ring.size());
+        assertEquals(Integer.valueOf(950), ring.start().getEvent());
+        assertEquals(Integer.valueOf(1049), ring.end().getEvent());
+        assertNull(ring.get(start.plusSeconds(949)));
+        assertEquals(10, ring.getEntriesSubSet(start.plusSeconds(1000), true, start.plusSeconds(1010), false).size());
+
+        ring.add(start.plusSeconds(900), -1);
+        assertEquals(Integer.valueOf(950), ring.start().getEvent());
+        ring.add(start.plusSeconds(1000).plusNanos(500_000_000), -2);
+        assertEquals(100, ring.size());
+        assertEquals(Integer.valueOf(951), ring.start().getEvent());
+        assertEquals(Integer.valueOf(-2), ring.higher(start.plusSeconds(1000)).getEvent());
+    }
+
+    @Test
+    void testTimeToLiveEvictsExpired()
+    {
+        ZonedDateTime start = ZonedDateTime.of(2024, 3, 1, 9, 0, 0, 0, TimeSeriesConstants.UTC);
+        RingBufferTimeSeries<Integer> ring = new RingBufferTimeSeries<>(1000, Duration.ofMinutes(5));
+        for(int i = 0; i < 600; i++)
+        {
+            ring.add(start.plusSeconds(i), i);
+        }
+        assertEquals(301, ring.size());
+        assertEquals(Integer.valueOf(299), ring.start().getEvent());
+
+        ring.add(start.plusSeconds(10), -1);
+        assertNull(ring.get(start.plusSeconds(10)));
+        assertEquals(301, ring.size());
+
+        assertEquals(101, ring.evictBefore(start.plusSeconds(400)));
+        assertEquals(Integer.valueOf(400), ring.start().getEvent());
+        assertEquals(Duration.ofMinutes(5), ring.getTimeToLive());
+    }
+
+    @Test
+    void testMatchesTrimmedSimpleTimeSeriesUnderRandomUpdates()
+    {
+        ZonedDateTime start = ZonedDateTime.of(2024, 3, 1, 9, 0, 0, 0, TimeSeriesConstants.UTC);
+        Random random = new Random(3);
+        RingBufferTimeSeries<Integer> ring = new RingBufferTimeSeries<>(64);
+        TimeSeries<Integer> expected = new SimpleTimeSeries<>();
+        for(int i = 0; i < 5000; i++)
+        {
+            ZonedDateTime eventDateTime = start.plusSeconds(i % 5 == 0 ? i - random.nextInt(40) : i);
+            if(i % 11 == 0)
+            {
+                assertEquals(expected.remove(eventDateTime), ring.remove(eventDateTime));
+                continue;
+            }
+            boolean dropped = expected.size() == 64 && eventDateTime.isBefore(expected.start().getEventDateTime());
+            if(!dropped)
+            {
+                expected.add(eventDateTime, i);
+                if(expected.size() > 64)
+                {
+                    expected.remove(expected.start().getEventDateTime());
+                }
+            }
+            ring.add(eventDateTime, i);
+            assertEquals(new ArrayList<>(expected.events()), new ArrayList<>(ring.events()));
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package fop.timeseries;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import fop.timeseries.impl.SimpleDoubleTimeSeries;
+import fop.timeseries.impl.SimpleTimeSeries;
+import fop.timeseries.util.RollingStatistic;
+import fop.timeseries.util.RollingWindow;
+import fop.timeseries.util.TimeSeriesUtils;
+
+class TestRollingWindow
+{
+    @Test
+    void testLiveCountWindow()
+    {
+        RollingWindow window = RollingWindow.ofCount(3);
+        window.add(1, 5.0);
+        window.add(2, 1.0);
+        window.add(3, 3.0);
+        assertEquals(3, window.count());
+        assertEquals(9.0, window.sum());
+        assertEquals(1.0, window.min());
+        assertEquals(5.0, window.max());
+        assertEquals(4.0, window.variance(), 1e-12);
+        window.add(4, 4.0);
+        assertEquals(3, window.count());
+        assertEquals(8.0, window.sum());
+        assertEquals(1.0, window.min());
+        assertEquals(4.0, window.max());
+        window.add(5, 2.0);
+        assertEquals(2.0, window.min());
+        assertEquals(3.0, window.mean(), 1e-12);
+    }
+
+    @Test
+    void testLiveDurationWindow()
+    {
+        RollingWindow window = RollingWindow.ofDuration(Duration.ofNanos(10));
+        window.add(0, 1.0);
+        window.add(5, 2.0);
+        window.add(9, 3.0);
+        assertEquals(3, window.count());
+        window.add(10, 4.0);
+        assertEquals(3, window.count());
+        assertEquals(9.0, window.sum());
+        window.add(100, 5.0);
+        assertEquals(1, window.count());
+        assertEquals(5.0, window.min());
+        assertEquals(5.0, window.max());
+        assertTrue(Double.isNaN(window.variance()));
+        assertThrows(IllegalArgumentException.class, ()->window.add(99, 1.0));
+    }
+
+    @Test
+    void testPassMatchesRecomputation()
+    {
+        Random random = new Random(7);
+        DoubleTimeSeries testDoubleTimeSeries = new SimpleDoubleTimeSeries();
+        long epochNanos = 0;
+        for(int i = 0; i < 2000; i++)
+        {
+            epochNanos += 1 + random.nextInt(20);
+            testDoubleTimeSeries.add(epochNanos, random.nextGaussian() * 100);
+        }
+        long[] times = new long[testDoubleTimeSeries.size()];
+        double[] values = new double[testDoubleTimeSeries.size()];
+        int[] position = new int[1];
+        testDoubleTimeSeries.forEach((t, v)->{
+            times[position[0]] = t;
+            values[position[0]++] = v;
+        });
+
+        for(RollingStatistic statistic : RollingStatistic.values())
+        {
+            DoubleTimeSeries byDuration = RollingWindow.apply(testDoubleTimeSeries, RollingWindow.ofDuration(Duration.ofNanos(150)), statistic);
+            DoubleTimeSeries byCount = RollingWindow.apply(testDoubleTimeSeries, RollingWindow.ofCount(25), statistic);
+            for(int i = 0; i < times.length; i++)
+            {
+                int from = i;
+                while(from > 0 && times[i] - times[from - 1] < 150)
+                {
+                    from--;
+                }
+                assertEquals(recompute(values, from, i + 1, statistic), byDuration.getAsDouble(times[i]), 1e-6, statistic + " by duration at " + i);
+                assertEquals(recompute(values, Math.max(0, i - 24), i + 1, statistic), byCount.getAsDouble(times[i]), 1e-6, statistic + " by count at " + i);
+            }
+        }
+    }
+
+    @Test
+    void testRollingOverTimeSeries()
+    {
+        ZonedDateTime start = ZonedDateTime.now();
+        TimeSeries<Integer> testTimeSeries = new SimpleTimeSeries<>();
+        for(int i = 1; i <= 10; i++)
+        {
+            testTimeSeries.add(start.plusSeconds(i), i);
+        }
+        DoubleTimeSeries movingAverage = RollingWindow.apply(testTimeSeries, RollingWindow.ofDuration(Duration.ofSeconds(3)), Integer::doubleValue, RollingStatistic.MEAN);
+        assertEquals(10, movingAverage.size());
+        assertEquals(1.0, movingAverage.getAsDouble(TimeSeriesUtils.toEpochNanos(start.plusSeconds(1))));
+        assertEquals(9.0, movingAverage.getAsDouble(TimeSeriesUtils.toEpochNanos(start.plusSeconds(10))));
+    }
+
+    private static double recompute(double[] values, int from, int to, RollingStatistic statistic)
+    {
+        int n = to - from;
+        double sum = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for(int i = from; i < to; i++)
+        {
+            sum += values[i];
+            min = Math.min(min, values[i]);
+            max = Math.max(max, values[i]);
+        }
+        double mean = sum / n;
+        double squares = 0;
+        for(int i = from; i < to; i++)
+        {
+            squares += (values[i] - mean) * (values[i] - mean);
+        }
+        double variance = n > 1 ? squares / (n - 1) : Double.NaN;
+        switch(statistic)
+        {
+            case COUNT:
+                return n;
+            case SUM:
+                return sum;
+            case MEAN:
+                return mean;
+            case MIN:
+                return min;
+            case MAX:
+                return max;
+            case VARIANCE:
+                return variance;
+            default:
+                return Math.sqrt(variance);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package fop.timeseries;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.ZonedDateTime;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+import fop.timeseries.impl.IngestStatistics;
+import fop.timeseries.impl.SimpleDoubleTimeSeries;
+import fop.timeseries.util.TimeSeriesUtils;
+
+class TestSimpleDoubleTimeSeries
+{
+    @Test
+    void testAddOutOfOrder()
+    {
+        DoubleTimeSeries testDoubleTimeSeries = new SimpleDoubleTimeSeries();
+        testDoubleTimeSeries.add(30, 3.0);
+        testDoubleTimeSeries.add(10, 1.0);
+        testDoubleTimeSeries.add(20, 2.0);
+        testDoubleTimeSeries.add(20, 2.5);
+        assertEquals(3, testDoubleTimeSeries.size());
+        assertEquals(10, testDoubleTimeSeries.startEpochNanos());
+        assertEquals(30, testDoubleTimeSeries.endEpochNanos());
+        assertEquals(2.5, testDoubleTimeSeries.getAsDouble(20));
+        StringBuilder order = new StringBuilder();
+        testDoubleTimeSeries.forEach((t, v)->order.append(t).append(','));
+        assertEquals("10,20,30,", order.toString());
+    }
+
+    @Test
+    void testRemove()
+    {
+        DoubleTimeSeries testDoubleTimeSeries = new SimpleDoubleTimeSeries();
+        testDoubleTimeSeries.add(10, 1.0);
+        testDoubleTimeSeries.add(20, 2.0);
+        assertTrue(testDoubleTimeSeries.remove(10));
+        assertFalse(testDoubleTimeSeries.remove(10));
+        assertFalse(testDoubleTimeSeries.contains(10));
+        assertThrows(NoSuchElementException.class, ()->testDoubleTimeSeries.getAsDouble(10));
+        assertEquals(-1.0, testDoubleTimeSeries.getOrDefault(10, -1.0));
+    }
+
+    @Test
+    void testRangeAggregations()
+    {
+        DoubleTimeSeries testDoubleTimeSeries = new SimpleDoubleTimeSeries();
+        for(int i = 1; i <= 10; i++)
+        {
+            testDoubleTimeSeries.add(i, i);
+        }
+        assertEquals(55.0, testDoubleTimeSeries.sum());
+        assertEquals(4, testDoubleTimeSeries.count(3, true, 7, false));
+        assertEquals(18.0, testDoubleTimeSeries.sum(3, true, 7, false));
+        assertEquals(4.0, testDoubleTimeSeries.min(3, false, 7, true));
+        assertEquals(7.0, testDoubleTimeSeries.max(3, false, 7, true));
+        assertEquals(5.5, testDoubleTimeSeries.mean(3, false, 8, false));
+        assertTrue(Double.isNaN(testDoubleTimeSeries.mean(11, true, 20, true)));
+    }
+
+    @Test
+    void testEmptyRangeAggregations()
+    {
+        DoubleTimeSeries testDoubleTimeSeries = new SimpleDoubleTimeSeries();
+        assertTrue(Double.isNaN(testDoubleTimeSeries.min()));
+        assertTrue(Double.isNaN(testDoubleTimeSeries.max()));
+        testDoubleTimeSeries.add(5, 5.0);
+        assertEquals(0, testDoubleTimeSeries.count(6, true, 9, true));
+        assertEquals(0.0, testDoubleTimeSeries.sum(6, true, 9, true));
+        assertTrue(Double.isNaN(testDoubleTimeSeries.mean(6, true, 9, true)));
+        assertTrue(Double.isNaN(testDoubleTimeSeries.min(6, true, 9, true)));
+        assertTrue(Double.isNaN(testDoubleTimeSeries.max(5, false, 9, true)));
+    }
+
+    @Test
+    void testAsTimeSeries()
+    {
+        DoubleTimeSeries testDoubleTimeSeries = new SimpleDoubleTimeSeries();
+        TimeSeries<Double> timeSeries = testDoubleTimeSeries.asTimeSeries();
+        ZonedDateTime eventDateTime = ZonedDateTime.now();
+        timeSeries.add(eventDateTime, 42.0);
+        assertEquals(42.0, testDoubleTimeSeries.getAsDouble(TimeSeriesUtils.toEpochNanos(eventDateTime)));
+        assertEquals(Double.valueOf(42.0), timeSeries.get(eventDateTime));
+        assertEquals(1, timeSeries.getEntriesHeadSet(eventDateTime, true).size());
+        assertEquals(Double.valueOf(42.0), timeSeries.remove(eventDateTime));
+        assertTrue(testDoubleTimeSeries.isEmpty());
+    }
+
+    @Test
+    void testAsTimeSeriesRejectsNull()
+    {
+        DoubleTimeSeries testDoubleTimeSeries = new SimpleDoubleTimeSeries();
+        TimeSeries<Double> timeSeries = testDoubleTimeSeries.asTimeSeries();
+        NullPointerException e = assertThrows(NullPointerException.class, ()->timeSeries.add(ZonedDateTime.now(), null));
+        assertEquals("Double time series cannot hold a null event", e.getMessage());
+        assertThrows(NullPointerException.class, ()->timeSeries.add(10L, null));
+        assertTrue(testDoubleTimeSeries.isEmpty());
+    }
+
+    @Test
+    void testFloorAll()
+    {
+        DoubleTimeSeries testDoubleTimeSeries = new SimpleDoubleTimeSeries();
+        for(int i = 1; i <= 50; i++)
+        {
+            testDoubleTimeSeries.add(i * 10, i);
+        }
+        long[] queries = {0, 10, 15, 19, 20, 255, 500, 501, 10_000};
+        double[] floors = testDoubleTimeSeries.floorAll(queries, -1.0);
+        assertEquals(-1.0, floors[0]);
+        assertEquals(1.0, floors[1]);
+        assertEquals(1.0, floors[2]);
+        assertEquals(1.0, floors[3]);
+        assertEquals(2.0, floors[4]);
+        assertEquals(25.0, floors[5]);
+        assertEquals(50.0, floors[6]);
+        assertEquals(50.0, floors[7]);
+        assertEquals(50.0, floors[8]);
+        assertThrows(IllegalArgumentException.class, ()->testDoubleTimeSeries.floorAll(new long[] {20, 10}, 0));
+    }
+
+    @Test
+    void testInterleavedLatePointsMatchSortedMap()
+    {
+        Random random = new Random(11);
+        SimpleDoubleTimeSeries testDoubleTimeSeries = new SimpleDoubleTimeSeries();
+        TreeMap<Long, Double> expected = new TreeMap<>();
+        long end = 0;
+        for(int i = 0; i < 5000; i++)
+        {
+            long epochNanos = random.nextInt(3) == 0 ? random.nextInt((int)end + 1) : (end += 1 + random.nextInt(3));
+            testDoubleTimeSeries.add(epochNanos, i);
+            expected.put(epochNanos, (double)i);
+        }
+        assertEquals(expected.size(), testDoubleTimeSeries.size());
+        int[] index = {0};
+        Long[] expectedEpochNanos = expected.keySet().toArray(new Long[0]);
+        testDoubleTimeSeries.forEach((t, v)->{
+            assertEquals(expectedEpochNanos[index[0]++], t);
+            assertEquals(expected.get(t), v);
+        });
+    }
+
+    @Test
+    void testIngestStatistics()
+    {
+        SimpleDoubleTimeSeries testDoubleTimeSeries = new SimpleDoubleTimeSeries();
+        testDoubleTimeSeries.add(10, 1.0);
+        testDoubleTimeSeries.add(20, 2.0);
+        testDoubleTimeSeries.add(15, 1.5);
+        testDoubleTimeSeries.add(20, 2.5);
+        testDoubleTimeSeries.add(30, 3.0);
+        testDoubleTimeSeries.add(5, 0.5);
+        IngestStatistics ingestStatistics = testDoubleTimeSeries.getIngestStatistics();
+        assertEquals(3, ingestStatistics.getFastPathCount());
+        assertEquals(3, ingestStatistics.getSlowPathCount());
+        assertEquals(0, ingestStatistics.getReorderBufferMerges());
+        assertEquals(5, testDoubleTimeSeries.size());
+    }
+}
@@ -0,0 +1,168 @@
+package fop.timeseries;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.ZonedDateTime;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+import fop.timeseries.impl.IngestStatistics;
+import fop.timeseries.impl.SimpleLongTimeSeries;
+import fop.timeseries.util.TimeSeriesUtils;
+
+class TestSimpleLongTimeSeries
+{
+    @Test
+    void testAddOutOfOrder()
+    {
+        LongTimeSeries testLongTimeSeries = new SimpleLongTimeSeries();
+        testLongTimeSeries.add(30, 300);
+        testLongTimeSeries.add(10, 100);
+        testLongTimeSeries.add(20, 200);
+        testLongTimeSeries.add(20, 250);
+        assertEquals(3, testLongTimeSeries.size());
+        assertEquals(10, testLongTimeSeries.startEpochNanos());
+        assertEquals(30, testLongTimeSeries.endEpochNanos());
+        assertEquals(250, testLongTimeSeries.getAsLong(20));
+        assertEquals(20, testLongTimeSeries.epochNanosAt(1));
+        assertEquals(300, testLongTimeSeries.valueAt(2));
+        StringBuilder order = new StringBuilder();
+        testLongTimeSeries.forEach((t, v)->order.append(t).append(','));
+        assertEquals("10,20,30,", order.toString());
+    }
+
+    @Test
+    void testRemove()
+    {
+        LongTimeSeries testLongTimeSeries = new SimpleLongTimeSeries();
+        testLongTimeSeries.add(10, 100);
+        testLongTimeSeries.add(20, 200);
+        assertTrue(testLongTimeSeries.remove(10));
+        assertFalse(testLongTimeSeries.remove(10));
+        assertFalse(testLongTimeSeries.contains(10));
+        assertThrows(NoSuchElementException.class, ()->testLongTimeSeries.getAsLong(10));
+        assertEquals(-1, testLongTimeSeries.getOrDefault(10, -1));
+        assertEquals(200, testLongTimeSeries.getOrDefault(20, -1));
+    }
+
+    @Test
+    void testRangeAggregations()
+    {
+        LongTimeSeries testLongTimeSeries = new SimpleLongTimeSeries();
+        for(int i = 1; i <= 10; i++)
+        {
+            testLongTimeSeries.add(i, i);
+        }
+        assertEquals(55, testLongTimeSeries.sum());
+        assertEquals(1, testLongTimeSeries.min());
+        assertEquals(10, testLongTimeSeries.max());
+        assertEquals(5.5, testLongTimeSeries.mean());
+        assertEquals(4, testLongTimeSeries.count(3, true, 7, false));
+        assertEquals(18, testLongTimeSeries.sum(3, true, 7, false));
+        assertEquals(4, testLongTimeSeries.min(3, false, 7, true));
+        assertEquals(7, testLongTimeSeries.max(3, false, 7, true));
+        assertEquals(5.5, testLongTimeSeries.mean(3, false, 8, false));
+        StringBuilder range = new StringBuilder();
+        testLongTimeSeries.forEach(8, true, 10, false, (t, v)->range.append(v).append(','));
+        assertEquals("8,9,", range.toString());
+    }
+
+    @Test
+    void testEmptyRangeAggregations()
+    {
+        LongTimeSeries testLongTimeSeries = new SimpleLongTimeSeries();
+        assertThrows(NoSuchElementException.class, ()->testLongTimeSeries.min());
+        assertThrows(NoSuchElementException.class, ()->testLongTimeSeries.max());
+        assertThrows(NoSuchElementException.class, ()->testLongTimeSeries.startEpochNanos());
+        testLongTimeSeries.add(5, 5);
+        assertEquals(0, testLongTimeSeries.count(6, true, 9, true));
+        assertEquals(0, testLongTimeSeries.sum(6, true, 9, true));
+        assertTrue(Double.isNaN(testLongTimeSeries.mean(6, true, 9, true)));
+        assertThrows(NoSuchElementException.class, ()->testLongTimeSeries.min(6, true, 9, true));
+        assertThrows(NoSuchElementException.class, ()->testLongTimeSeries.max(5, false, 9, true));
+    }
+
+    @Test
+    void testAsTimeSeries()
+    {
+        LongTimeSeries testLongTimeSeries = new SimpleLongTimeSeries();
+        TimeSeries<Long> timeSeries = testLongTimeSeries.asTimeSeries();
+        ZonedDateTime eventDateTime = ZonedDateTime.now();
+        timeSeries.add(eventDateTime, 42L);
+        assertEquals(42, testLongTimeSeries.getAsLong(TimeSeriesUtils.toEpochNanos(eventDateTime)));
+        assertEquals(Long.valueOf(42), timeSeries.get(eventDateTime));
+        assertEquals(1, timeSeries.getEntriesHeadSet(eventDateTime, true).size());
+        assertEquals(Long.valueOf(42), timeSeries.remove(eventDateTime));
+        assertTrue(testLongTimeSeries.isEmpty());
+    }
+
+    @Test
+    void testAsTimeSeriesRejectsNull()
+    {
+        LongTimeSeries testLongTimeSeries = new SimpleLongTimeSeries();
+        TimeSeries<Long> timeSeries = testLongTimeSeries.asTimeSeries();
+        NullPointerException e = assertThrows(NullPointerException.class, ()->timeSeries.add(ZonedDateTime.now(), null));
+        assertEquals("Long time series cannot hold a null event", e.getMessage());
+        assertThrows(NullPointerException.class, ()->timeSeries.add(10L, null));
+        assertTrue(testLongTimeSeries.isEmpty());
+    }
+
+    @Test
+    void testFloorAll()
+    {
+        LongTimeSeries testLongTimeSeries = new SimpleLongTimeSeries();
+        for(int i = 1; i <= 50; i++)
+        {
+            testLongTimeSeries.add(i * 10, i);
+        }
+        long[] queries = {0, 10, 15, 19, 20, 255, 500, 501, 10_000};
+        assertArrayEquals(new long[] {-1, 1, 1, 1, 2, 25, 50, 50, 50}, testLongTimeSeries.floorAll(queries, -1));
+        assertThrows(IllegalArgumentException.class, ()->testLongTimeSeries.floorAll(new long[] {20, 10}, 0));
+    }
+
+    @Test
+    void testInterleavedLatePointsMatchSortedMap()
+    {
+        Random random = new Random(13);
+        LongTimeSeries testLongTimeSeries = new SimpleLongTimeSeries();
+        TreeMap<Long, Long> expected = new TreeMap<>();
+        long end = 0;
+        for(long i = 0; i < 5000; i++)
+        {
+            long epochNanos = random.nextInt(3) == 0 ? random.nextInt((int)end + 1) : (end += 1 + random.nextInt(3));
+            testLongTimeSeries.add(epochNanos, i);
+            expected.put(epochNanos, i);
+        }
+        assertEquals(expected.size(), testLongTimeSeries.size());
+        Long[] expectedEpochNanos = expected.keySet().toArray(new Long[0]);
+        int[] index = {0};
+        testLongTimeSeries.forEach((t, v)->{
+            assertEquals(expectedEpochNanos[index[0]++], t);
+            assertEquals(expected.get(t), v);
+        });
+    }
+
+    @Test
+    void testIngestStatistics()
+    {
+        SimpleLongTimeSeries testLongTimeSeries = new SimpleLongTimeSeries();
+        testLongTimeSeries.add(10, 1);
+        testLongTimeSeries.add(20, 2);
+        testLongTimeSeries.add(15, 3);
+        testLongTimeSeries.add(20, 4);
+        testLongTimeSeries.add(30, 5);
+        testLongTimeSeries.add(5, 6);
+        IngestStatistics ingestStatistics = testLongTimeSeries.getIngestStatistics();
+        assertEquals(3, ingestStatistics.getFastPathCount());
+        assertEquals(3, ingestStatistics.getSlowPathCount());
+        assertEquals(0, ingestStatistics.getReorderBufferMerges());
+        assertEquals(5, testLongTimeSeries.size());
+    }
+}
@@ -0,0 +1,417 @@
+package fop.timeseries;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import fop.timeseries.impl.SimpleTimeSeries;
+import fop.timeseries.util.TimeSeriesConstants;
+import fop.timeseries.util.TimeSeriesUtils;
+
+class TestSimpleTimeSeries
+{
+    private static Random randomNumberGenerator;
+    
+    @BeforeAll
+    public static void setupBeforeClass()
+    {
+        randomNumberGenerator = new Random();
+    }
+    
+    protected <E> TimeSeries<E> newTimeSeries()
+    {
+        return new SimpleTimeSeries<>();
+    }
+    
+    protected <E> TimeSeries<E> newTimeSeries(TimeSeries<E> timeSeries)
+    {
+        return new SimpleTimeSeries<>(timeSeries);
+    }
+
+    @Test
+    void testSimpleTimeSeries()
+    {
+        TimeSeries<Integer> testSimpleTimeSeries = newTimeSeries();
+        assertNotNull(testSimpleTimeSeries);
+    }
+
+    @Test
+    void testSimpleTimeSeriesTimeSeriesOfE()
+    {
+        TimeSeries<Integer> testSimpleTimeSeries = newTimeSeries();
+        assertNotNull(testSimpleTimeSeries);
+        testSimpleTimeSeries.add(ZonedDateTime.now(), randomNumberGenerator.nextInt());
+        TimeSeries<Integer> testSimpleTimeSeriesTimeSeriesOfE = newTimeSeries(testSimpleTimeSeries);
+        assertNotNull(testSimpleTimeSeriesTimeSeriesOfE);
+        assertEquals(1, testSimpleTimeSeriesTimeSeriesOfE.size());
+    }
+
+    @Test
+    void testAdd()
+    {
+        TimeSeries<Integer> testSimpleTimeSeries = newTimeSeries();
+        assertNotNull(testSimpleTimeSeries);
+        testSimpleTimeSeries.add(ZonedDateTime.now(), randomNumberGenerator.nextInt());
+        assertEquals(1, testSimpleTimeSeries.size());
+    }
+
+    @Test
+    void testRemove()
+    {
+        ZonedDateTime eventDateTime = ZonedDateTime.now();
+        Integer event = randomNumberGenerator.nextInt();
+        TimeSeries<Integer> testSimpleTimeSeries = newTimeSeries();
+        assertNotNull(testSimpleTimeSeries);
+        testSimpleTimeSeries.add(eventDateTime, event);
+        assertEquals(1, testSimpleTimeSeries.size());
+        Integer eventRemoved = testSimpleTimeSeries.remove(eventDateTime);
+        assertEquals(event, eventRemoved);
+        assertEquals(0, testSimpleTimeSeries.size());
+    }
+
+    @Test
+    void testGet()
+    {
+        ZonedDateTime eventDateTime = ZonedDateTime.now();
+        Integer event = randomNumberGenerator.nextInt();
+        TimeSeries<Integer> testSimpleTimeSeries = newTimeSeries();
+        assertNotNull(testSimpleTimeSeries);
+        testSimpleTimeSeries.add(eventDateTime, event);
+        assertEquals(1, testSimpleTimeSeries.size());
+        Integer eventGet = testSimpleTimeSeries.get(eventDateTime);
+        assertEquals(event, eventGet);
+        assertEquals(1, testSimpleTimeSeries.size());
+    }
+
+    @Test
+    void testContains()
+    {
+        ZonedDateTime eventDateTime = ZonedDateTime.now();
+        Integer event = randomNumberGenerator.nextInt();
+        TimeSeries<Integer> testSimpleTimeSeries = newTimeSeries();
+        assertNotNull(testSimpleTimeSeries);
+        testSimpleTimeSeries.add(eventDateTime, event);
+        assertEquals(1, testSimpleTimeSeries.size());
+        boolean contains = testSimpleTimeSeries.contains(eventDateTime);
+        assertTrue(contains);
+    }
+
+    @Test
+    void testSize()
+    {
+        ZonedDateTime eventDateTime = ZonedDateTime.now();
+        Integer event = randomNumberGenerator.nextInt();
+        TimeSeries<Integer> testSimpleTimeSeries = newTimeSeries();
+        assertNotNull(testSimpleTimeSeries);
+        testSimpleTimeSeries.add(eventDateTime, event);
+        assertEquals(1, testSimpleTimeSeries.size());
+    }
+
+    @Test
+    void testGetEntries() throws InterruptedException
+    {
+        Integer event1 = randomNumberGenerator.nextInt();
+        Integer event2 = randomNumberGenerator.nextInt();
+        TimeSeries<Integer> testSimpleTimeSeries = newTimeSeries();
+        assertNotNull(testSimpleTimeSeries);
+        testSimpleTimeSeries.add(ZonedDateTime.now(), event2);
+        Thread.sleep(100);
+        testSimpleTimeSeries.add(ZonedDateTime.now(), event1);
+        assertEquals(2, testSimpleTimeSeries.size());
+        SortedSet<TimeSeries.Entry<Integer>> entries = testSimpleTimeSeries.getEntries();
+        //check if sorted by time or not.
+        ZonedDateTime lastEntryTime = null;
+        for(TimeSeries.Entry<Integer> entry:entries)
+        {
+            if(lastEntryTime != null)
+                assertFalse(lastEntryTime.isAfter(entry.getEventDateTime()));
+            lastEntryTime = entry.getEventDateTime();
+        }
+    }
+
+    @Test
+    void testEventDateTimes() throws InterruptedException
+    {
+        Integer event1 = randomNumberGenerator.nextInt();
+        Integer event2 = randomNumberGenerator.nextInt();
+        TimeSeries<Integer> testSimpleTimeSeries = newTimeSeries();
+        assertNotNull(testSimpleTimeSeries);
+        testSimpleTimeSeries.add(ZonedDateTime.now(), event2);
+        Thread.sleep(100);
+        testSimpleTimeSeries.add(ZonedDateTime.now(), event1);
+        assertEquals(2, testSimpleTimeSeries.size());
+        SortedSet<ZonedDateTime> entries = testSimpleTimeSeries.eventDateTimes();
+        //check if sorted by time or not.
+        ZonedDateTime lastEntryTime = null;
+        for(ZonedDateTime entryTime:entries)
+        {
+            if(lastEntryTime != null)
+                assertFalse(lastEntryTime.isAfter(entryTime));
+            lastEntryTime = entryTime;
+        }
+    }
+
+    @Test
+    void testEventDateTimesView()
+    {
+        ZonedDateTime start = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, TimeSeriesConstants.UTC);
+        TimeSeries<Integer> testSimpleTimeSeries = newTimeSeries();
+        NavigableSet<ZonedDateTime> eventDateTimes = testSimpleTimeSeries.eventDateTimes();
+        assertTrue(eventDateTimes.isEmpty());
+        for(int i = 0; i < 5; i++)
+        {
+            testSimpleTimeSeries.add(start.plusSeconds(2 * i), i);
+        }
+        assertEquals(5, eventDateTimes.size());
+        assertEquals(start, eventDateTimes.first());
+        assertEquals(start.plusSeconds(8), eventDateTimes.last());
+        assertTrue(eventDateTimes.contains(start.plusSeconds(4)));
+        assertFalse(eventDateTimes.contains(start.plusSeconds(3)));
+        assertEquals(start.plusSeconds(2), eventDateTimes.floor(start.plusSeconds(3)));
+        assertEquals(start.plusSeconds(4), eventDateTimes.higher(start.plusSeconds(2)));
+        assertNull(eventDateTimes.lower(start));
+        assertEquals(List.of(start.plusSeconds(2), start.plusSeconds(4)), List.copyOf(eventDateTimes.subSet(start.plusSeconds(1), start.plusSeconds(6))));
+        assertEquals(start.plusSeconds(6), eventDateTimes.descendingSet().higher(start.plusSeconds(8)));
+        assertEquals(start.plusSeconds(8), eventDateTimes.descendingIterator().next());
+
+        NavigableSet<ZonedDateTime> tail = eventDateTimes.tailSet(start.plusSeconds(5), true);
+        testSimpleTimeSeries.add(start.plusSeconds(10), 5);
+        assertEquals(6, eventDateTimes.size());
+        assertEquals(3, tail.size());
+        assertEquals(start.plusSeconds(10), tail.last());
+        assertThrows(UnsupportedOperationException.class, ()->eventDateTimes.pollFirst());
+        assertThrows(UnsupportedOperationException.class, ()->eventDateTimes.remove(start));
+        assertEquals(6, testSimpleTimeSeries.size());
+    }
+
+    @Test
+    void testEvents() throws InterruptedException
+    {
+        Integer event1 = randomNumberGenerator.nextInt();
+        Integer event2 = randomNumberGenerator.nextInt();
+        TimeSeries<Integer> testSimpleTimeSeries = newTimeSeries();
+        assertNotNull(testSimpleTimeSeries);
+        testSimpleTimeSeries.add(ZonedDateTime.now(), event2);
+        Thread.sleep(100);
+        testSimpleTimeSeries.add(ZonedDateTime.now(), event1);
+        assertEquals(2, testSimpleTimeSeries.size());
+        Collection<Integer> events = testSimpleTimeSeries.events();
+        Integer[] eventArr = events.toArray(new Integer[2]);
+        assertEquals(event2, eventArr[0]);
+        assertEquals(event1, eventArr[1]);
+    }
+
+    @Test
+    void testStart() throws InterruptedException
+    {
+        Integer event1 = randomNumberGenerator.nextInt();
+        Integer event2 = randomNumberGenerator.nextInt();
+        TimeSeries<Integer> testSimpleTimeSeries = newTimeSeries();
+        assertNotNull(testSimpleTimeSeries);
+        testSimpleTimeSeries.add(ZonedDateTime.now(), event2);
+        Thread.sleep(100);
+        testSimpleTimeSeries.add(ZonedDateTime.now(), event1);
+        assertEquals(2, testSimpleTimeSeries.size());
+        TimeSeries.Entry<Integer> start = testSimpleTimeSeries.start();
+        assertEquals(event2, start.getEvent());
+    }
+
+    @Test
+    void testEnd() throws InterruptedException
+    {
+        Integer event1 = randomNumberGenerator.nextInt();
+        Integer event2 = randomNumberGenerator.nextInt();
+        TimeSeries<Integer> testSimpleTimeSeries = newTimeSeries();
+        assertNotNull(testSimpleTimeSeries);
+        testSimpleTimeSeries.add(ZonedDateTime.now(), event2);
+        Thread.sleep(100);
+        testSimpleTimeSeries.add(ZonedDateTime.now(), event1);
+        assertEquals(2, testSimpleTimeSeries.size());
+        TimeSeries.Entry<Integer> end = testSimpleTimeSeries.end();
+        assertEquals(event1, end.getEvent());
+    }
+
+    @Test
+    void testIterator() throws InterruptedException
+    {
+        Integer event1 = randomNumberGenerator.nextInt();
+        Integer event2 = randomNumberGenerator.nextInt();
+        TimeSeries<Integer> testSimpleTimeSeries = newTimeSeries();
+        assertNotNull(testSimpleTimeSeries);
+        testSimpleTimeSeries.add(ZonedDateTime.now(), event2);
+        Thread.sleep(100);
+        testSimpleTimeSeries.add(ZonedDateTime.now(), event1);
+        assertEquals(2, testSimpleTimeSeries.size());
+        Iterator<TimeSeries.Entry<Integer>> entryIterator = testSimpleTimeSeries.iterator();
+        //validate that its ascending iterator in time and that changes to this iterator will not affect time series
+        ZonedDateTime lastEntryTime = null;
+        while(entryIterator.hasNext())
+        {
+            TimeSeries.Entry<Integer> entry = entryIterator.next();
+            if(lastEntryTime != null)
+                assertFalse(lastEntryTime.isAfter(entry.getEventDateTime()));
+            lastEntryTime = entry.getEventDateTime();
+            
+            assertThrows(UnsupportedOperationException.class, entryIterator::remove);
+        }
+        
+        assertEquals(2, testSimpleTimeSeries.size());
+    }
+
+    @Test
+    void testDescendingIterator() throws InterruptedException
+    {
+        Integer event1 = randomNumberGenerator.nextInt();
+        Integer event2 = randomNumberGenerator.nextInt();
+        TimeSeries<Integer> testSimpleTimeSeries = newTimeSeries();
+        assertNotNull(testSimpleTimeSeries);
+        testSimpleTimeSeries.add(ZonedDateTime.now(), event2);
+        Thread.sleep(100);
+        testSimpleTimeSeries.add(ZonedDateTime.now(), event1);
+        assertEquals(2, testSimpleTimeSeries.size());
+        Iterator<TimeSeries.Entry<Integer>> entryIterator = testSimpleTimeSeries.descendingIterator();
+        //validate that its descending iterator in time and that changes to this iterator will not affect time series
+        ZonedDateTime lastEntryTime = null;
+        while(entryIterator.hasNext())
+        {
+            TimeSeries.Entry<Integer> entry = entryIterator.next();
+            if(lastEntryTime != null)
+                assertFalse(lastEntryTime.isBefore(entry.getEventDateTime()));
+            lastEntryTime = entry.getEventDateTime();
+            
+            assertThrows(UnsupportedOperationException.class, entryIterator::remove);
+        }
+        
+        assertEquals(2, testSimpleTimeSeries.size());
+    }
+
+    @Test
+    void testAsOfLookups()
+    {
+        ZonedDateTime eventDateTime = ZonedDateTime.now();
+        TimeSeries<Integer> testSimpleTimeSeries = newTimeSeries();
+        assertNull(testSimpleTimeSeries.floor(eventDateTime));
+        assertNull(testSimpleTimeSeries.nearest(eventDateTime));
+        testSimpleTimeSeries.add(eventDateTime, 1);
+        testSimpleTimeSeries.add(eventDateTime.plusSeconds(10), 2);
+        assertEquals(Integer.valueOf(1), testSimpleTimeSeries.floor(eventDateTime.plusSeconds(9)).getEvent());
+        assertEquals(Integer.valueOf(2), testSimpleTimeSeries.floor(eventDateTime.plusSeconds(10)).getEvent());
+        assertEquals(Integer.valueOf(1), testSimpleTimeSeries.lower(eventDateTime.plusSeconds(10)).getEvent());
+        assertEquals(Integer.valueOf(2), testSimpleTimeSeries.ceiling(eventDateTime.plusSeconds(1)).getEvent());
+        assertEquals(Integer.valueOf(1), testSimpleTimeSeries.ceiling(eventDateTime).getEvent());
+        assertEquals(Integer.valueOf(2), testSimpleTimeSeries.higher(eventDateTime).getEvent());
+        assertNull(testSimpleTimeSeries.lower(eventDateTime));
+        assertNull(testSimpleTimeSeries.higher(eventDateTime.plusSeconds(10)));
+        assertEquals(Integer.valueOf(1), testSimpleTimeSeries.nearest(eventDateTime.plusSeconds(4)).getEvent());
+        assertEquals(Integer.valueOf(1), testSimpleTimeSeries.nearest(eventDateTime.plusSeconds(5)).getEvent());
+        assertEquals(Integer.valueOf(2), testSimpleTimeSeries.nearest(eventDateTime.plusSeconds(6)).getEvent());
+        assertEquals(Integer.valueOf(2), testSimpleTimeSeries.nearest(eventDateTime.plusSeconds(60)).getEvent());
+        assertEquals(Integer.valueOf(1), testSimpleTimeSeries.nearest(eventDateTime.minusSeconds(60)).getEvent());
+    }
+
+    @Test
+    void testFloorAll()
+    {
+        ZonedDateTime eventDateTime = ZonedDateTime.now();
+        TimeSeries<Integer> testSimpleTimeSeries = newTimeSeries();
+        for(int i = 0; i < 100; i++)
+        {
+            testSimpleTimeSeries.add(eventDateTime.plusSeconds(i * 10), i);
+        }
+        ZonedDateTime[] queries = new ZonedDateTime[300];
+        for(int i = 0; i < queries.length; i++)
+        {
+            queries[i] = eventDateTime.plusSeconds(i * 4 - 5);
+        }
+        List<TimeSeries.Entry<Integer>> floors = testSimpleTimeSeries.floorAll(queries);
+        assertEquals(queries.length, floors.size());
+        for(int i = 0; i < queries.length; i++)
+        {
+            assertEquals(testSimpleTimeSeries.floor(queries[i]), floors.get(i));
+        }
+        assertThrows(IllegalArgumentException.class, ()->testSimpleTimeSeries.floorAll(new ZonedDateTime[] {eventDateTime, eventDateTime.minusSeconds(1)}));
+    }
+
+    @Test
+    void testStreams()
+    {
+        ZonedDateTime eventDateTime = ZonedDateTime.now();
+        TimeSeries<Integer> testSimpleTimeSeries = newTimeSeries();
+        for(int i = 0; i < 10_000; i++)
+        {
+            testSimpleTimeSeries.add(eventDateTime.plusSeconds(i), i);
+        }
+        assertEquals(10_000, testSimpleTimeSeries.stream().count());
+        assertEquals(49_995_000L, testSimpleTimeSeries.parallelStream().mapToLong(e->e.getEvent()).sum());
+        List<Integer> ordered = testSimpleTimeSeries.parallelStream().map(e->e.getEvent()).collect(Collectors.toList());
+        for(int i = 0; i < ordered.size(); i++)
+        {
+            assertEquals(Integer.valueOf(i), ordered.get(i));
+        }
+        assertEquals(List.of(100, 101, 102), testSimpleTimeSeries.rangeStream(eventDateTime.plusSeconds(100), eventDateTime.plusSeconds(103)).map(e->e.getEvent()).collect(Collectors.toList()));
+        assertEquals(500, testSimpleTimeSeries.rangeStream(eventDateTime.plusSeconds(1000), eventDateTime.plusSeconds(1500)).parallel().count());
+
+        Spliterator<TimeSeries.Entry<Integer>> spliterator = testSimpleTimeSeries.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.ORDERED | Spliterator.SORTED | Spliterator.NONNULL));
+        Spliterator<TimeSeries.Entry<Integer>> prefix = spliterator.trySplit();
+        assertNotNull(prefix);
+        long[] counts = new long[2];
+        prefix.forEachRemaining(e->counts[0]++);
+        spliterator.forEachRemaining(e->counts[1]++);
+        assertEquals(10_000, counts[0] + counts[1]);
+        assertTrue(counts[0] > 0 && counts[1] > 0);
+
+        Spliterator<TimeSeries.Entry<Integer>> narrow = testSimpleTimeSeries.getEntriesSubSet(eventDateTime.plusSeconds(5000), eventDateTime.plusSeconds(5011)).spliterator();
+        assertTrue(narrow.estimateSize() >= 10 && narrow.estimateSize() < 100, "estimate " + narrow.estimateSize() + " of a 10 point range");
+    }
+
+    @Test
+    void testInstantAndEpochNanosOverloads()
+    {
+        TimeSeries<Integer> testSimpleTimeSeries = newTimeSeries();
+        Instant start = Instant.parse("2024-03-01T09:00:00Z");
+        long startEpochNanos = TimeSeriesUtils.toEpochNanos(start);
+        for(int i = 0; i < 10; i++)
+        {
+            if(i % 2 == 0)
+            {
+                testSimpleTimeSeries.add(start.plusSeconds(i), i);
+            }
+            else
+            {
+                testSimpleTimeSeries.add(startEpochNanos + i * 1_000_000_000L, i);
+            }
+        }
+        assertEquals(10, testSimpleTimeSeries.size());
+        assertEquals(Integer.valueOf(3), testSimpleTimeSeries.get(start.plusSeconds(3)));
+        assertEquals(Integer.valueOf(4), testSimpleTimeSeries.get(startEpochNanos + 4_000_000_000L));
+        assertEquals(Integer.valueOf(5), testSimpleTimeSeries.get(ZonedDateTime.ofInstant(start.plusSeconds(5), TimeSeriesConstants.UTC)));
+        assertTrue(testSimpleTimeSeries.contains(start.plusSeconds(9)));
+        assertFalse(testSimpleTimeSeries.contains(startEpochNanos + 1));
+        assertNull(testSimpleTimeSeries.get(start.minusSeconds(1)));
+        assertEquals(start, testSimpleTimeSeries.start().getEventDateTime().toInstant());
+        assertEquals(3, testSimpleTimeSeries.getEntriesSubSet(start.plusSeconds(2), true, start.plusSeconds(5), false).size());
+        assertEquals(4, testSimpleTimeSeries.getEntriesHeadSet(startEpochNanos + 3_000_000_000L, true).size());
+        assertEquals(Integer.valueOf(7), testSimpleTimeSeries.getEntriesTailSet(start.plusSeconds(6), false).first().getEvent());
+        assertEquals(Integer.valueOf(8), testSimpleTimeSeries.remove(start.plusSeconds(8)));
+        assertEquals(Integer.valueOf(9), testSimpleTimeSeries.remove(startEpochNanos + 9_000_000_000L));
+        assertEquals(8, testSimpleTimeSeries.size());
+    }
+}
@@ -0,0 +1,101 @@
+package fop.timeseries;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import fop.timeseries.impl.SimpleTimeSeries;
+import fop.timeseries.io.TimeSeriesCodec;
+import fop.timeseries.io.ValueCodecs;
+
+class TestTimeSeriesCodec
+{
+    private static final ZonedDateTime START = ZonedDateTime.of(2020, 1, 1, 9, 15, 0, 0, ZoneId.of("Asia/Kolkata"));
+
+    private static <E> void assertSamePoints(TimeSeries<E> expected, TimeSeries<E> actual)
+    {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(new ArrayList<>(expected.events()), new ArrayList<>(actual.events()));
+        for(TimeSeries.Entry<E> entry : expected)
+        {
+            assertTrue(actual.contains(entry.getEventDateTime()));
+        }
+    }
+
+    @Test
+    void testDoubleRoundTrip()
+    {
+        TimeSeries<Double> timeSeries = new SimpleTimeSeries<>();
+        Random random = new Random(7);
+        double price = 100;
+        long offsetNanos = 0;
+        for(int i = 0; i < 10000; i++)
+        {
+            offsetNanos += i % 100 == 0 ? 1 + random.nextInt(5_000_000) : 1_000_000;
+            price = i % 3 == 0 ? price : Math.round((price + random.nextGaussian() * 0.05) * 100) / 100.0;
+            timeSeries.add(START.plusNanos(offsetNanos), price);
+        }
+        timeSeries.add(START.minusYears(60), Double.NaN);
+        timeSeries.add(START.plusYears(1), -0.0);
+
+        TimeSeriesCodec<Double> codec = new TimeSeriesCodec<>(ValueCodecs.gorillaDouble());
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 20);
+        codec.encode(timeSeries, buffer);
+        assertTrue(buffer.position() < timeSeries.size() * 8, "bytes: " + buffer.position());
+        buffer.flip();
+        TimeSeries<Double> decoded = codec.decode(buffer);
+        assertSamePoints(timeSeries, decoded);
+        assertEquals(START.getZone(), decoded.start().getEventDateTime().getZone());
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(decoded.end().getEvent()));
+    }
+
+    @Test
+    void testChannelRoundTrip() throws IOException
+    {
+        TimeSeries<String> strings = new SimpleTimeSeries<>();
+        TimeSeries<Long> longs = new SimpleTimeSeries<>();
+        for(int i = 0; i < 50000; i++)
+        {
+            strings.add(START.plusSeconds(i * 7L), "event-" + i + "-€");
+            longs.add(START.plusSeconds(i), (long)i * i - 1000);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new TimeSeriesCodec<>(ValueCodecs.utf8String()).encode(strings, Channels.newChannel(bytes));
+        assertSamePoints(strings, new TimeSeriesCodec<>(ValueCodecs.utf8String()).decode(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray()))));
+
+        bytes.reset();
+        new TimeSeriesCodec<>(ValueCodecs.deltaLong()).encode(longs, Channels.newChannel(bytes));
+        assertSamePoints(longs, new TimeSeriesCodec<>(ValueCodecs.deltaLong()).decode(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray()))));
+    }
+
+    @Test
+    void testEmptyAndOverflow()
+    {
+        TimeSeriesCodec<Long> codec = new TimeSeriesCodec<>(ValueCodecs.deltaLong());
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        codec.encode(new SimpleTimeSeries<>(), buffer);
+        buffer.flip();
+        assertTrue(codec.decode(buffer).isEmpty());
+
+        TimeSeries<Long> timeSeries = new SimpleTimeSeries<>();
+        for(long i = 0; i < 100; i++)
+        {
+            timeSeries.add(START.plusSeconds(i), i << 40);
+        }
+        assertThrows(BufferOverflowException.class, ()->codec.encode(timeSeries, ByteBuffer.allocate(64)));
+    }
+}
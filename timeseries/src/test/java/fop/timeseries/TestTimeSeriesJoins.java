@@ -0,0 +1,100 @@
+package fop.timeseries;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import fop.timeseries.impl.SimpleDoubleTimeSeries;
+import fop.timeseries.impl.SimpleTimeSeries;
+
+class TestTimeSeriesJoins
+{
+    private static final ZonedDateTime START = ZonedDateTime.now();
+
+    private static TimeSeries<String> series(int... seconds)
+    {
+        TimeSeries<String> timeSeries = new SimpleTimeSeries<>();
+        for(int second : seconds)
+        {
+            timeSeries.add(START.plusSeconds(second), "" + second);
+        }
+        return timeSeries;
+    }
+
+    private static <V> List<V> events(TimeSeries<V> timeSeries)
+    {
+        return new ArrayList<>(timeSeries.events());
+    }
+
+    @Test
+    void testAsOf()
+    {
+        TimeSeries<String> trades = series(1, 5, 10, 20);
+        TimeSeries<String> quotes = series(2, 5, 9, 12);
+        TimeSeries<Pair<String, String>> joined = TimeSeriesJoins.asOf(trades, quotes, Pair::of);
+        assertEquals(4, joined.size());
+        assertEquals(List.of(Pair.of("1", null), Pair.of("5", "5"), Pair.of("10", "9"), Pair.of("20", "12")), events(joined));
+        assertEquals(START.plusSeconds(1).toInstant(), joined.start().getEventDateTime().toInstant());
+
+        TimeSeries<Pair<String, String>> fresh = TimeSeriesJoins.asOf(trades, quotes, Duration.ofSeconds(1), Pair::of);
+        assertEquals(List.of(Pair.of("1", null), Pair.of("5", "5"), Pair.of("10", "9"), Pair.of("20", null)), events(fresh));
+    }
+
+    @Test
+    void testForward()
+    {
+        TimeSeries<String> left = series(1, 5, 10, 20);
+        TimeSeries<String> right = series(2, 5, 9, 12);
+        assertEquals(List.of("1:2", "5:5", "10:12", "20:null"), events(TimeSeriesJoins.forward(left, right, (l, r)->l + ":" + r)));
+        assertEquals(List.of("1:2", "5:5", "10:null", "20:null"), events(TimeSeriesJoins.forward(left, right, Duration.ofSeconds(1), (l, r)->l + ":" + r)));
+    }
+
+    @Test
+    void testNearest()
+    {
+        TimeSeries<String> left = series(0, 4, 6, 10, 30);
+        TimeSeries<String> right = series(3, 7, 9);
+        assertEquals(List.of("0:3", "4:3", "6:7", "10:9", "30:null"), events(TimeSeriesJoins.nearest(left, right, Duration.ofSeconds(3), (l, r)->l + ":" + r)));
+        TimeSeries<String> tie = series(5);
+        assertEquals(List.of("5:3"), events(TimeSeriesJoins.nearest(tie, series(3, 7), Duration.ofSeconds(2), (l, r)->l + ":" + r)));
+    }
+
+    @Test
+    void testInnerAndOuter()
+    {
+        TimeSeries<String> left = series(1, 2, 4, 6);
+        TimeSeries<String> right = series(2, 3, 6, 7);
+        assertEquals(List.of("2:2", "6:6"), events(TimeSeriesJoins.inner(left, right, (l, r)->l + ":" + r)));
+        assertEquals(List.of("1:null", "2:2", "null:3", "4:null", "6:6", "null:7"), events(TimeSeriesJoins.outer(left, right, (l, r)->l + ":" + r)));
+        assertTrue(TimeSeriesJoins.inner(left, series(), Pair::of).isEmpty());
+        assertEquals(4, TimeSeriesJoins.outer(series(), right, Pair::of).size());
+    }
+
+    @Test
+    void testPrimitiveAsOf()
+    {
+        DoubleTimeSeries prices = new SimpleDoubleTimeSeries(ZoneId.of("Europe/London"));
+        DoubleTimeSeries fx = new SimpleDoubleTimeSeries();
+        prices.add(10, 100.0);
+        prices.add(20, 200.0);
+        prices.add(30, 300.0);
+        fx.add(15, 2.0);
+        fx.add(16, 3.0);
+        DoubleTimeSeries converted = TimeSeriesJoins.asOf(prices, fx, (p, r)->p * r);
+        assertEquals(3, converted.size());
+        assertEquals(prices.getZone(), converted.getZone());
+        assertTrue(Double.isNaN(converted.getAsDouble(10)));
+        assertEquals(600.0, converted.getAsDouble(20));
+        assertEquals(900.0, converted.getAsDouble(30));
+        DoubleTimeSeries stale = TimeSeriesJoins.asOf(prices, fx, Duration.ofNanos(5), (p, r)->p * r);
+        assertEquals(600.0, stale.getAsDouble(20));
+        assertTrue(Double.isNaN(stale.getAsDouble(30)));
+    }
+}
@@ -0,0 +1,78 @@
+package fop.timeseries;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import fop.timeseries.impl.SimpleTimeSeries;
+
+class TestTimeSeriesMerge
+{
+    private static final ZonedDateTime START = ZonedDateTime.now();
+
+    private static TimeSeries<String> series(String name, int... seconds)
+    {
+        TimeSeries<String> timeSeries = new SimpleTimeSeries<>();
+        for(int second : seconds)
+        {
+            timeSeries.add(START.plusSeconds(second), name + second);
+        }
+        return timeSeries;
+    }
+
+    @Test
+    void testMergeKeepsEveryPointInOrder()
+    {
+        List<TimeSeries<String>> sources = List.of(series("a", 1, 4, 7), series("b", 2, 4), series("c"), series("d", 0, 9));
+        List<String> merged = TimeSeriesMerge.merge(sources).map(e->e.getEvent()).collect(Collectors.toList());
+        assertEquals(List.of("d0", "a1", "b2", "a4", "b4", "a7", "d9"), merged);
+    }
+
+    @Test
+    void testCollisionPolicies()
+    {
+        List<TimeSeries<String>> sources = List.of(series("a", 1, 4), series("b", 4, 5), series("c", 4));
+        assertEquals(List.of("a1", "a4", "b5"), new ArrayList<>(TimeSeriesMerge.mergeToTimeSeries(sources, CollisionPolicy.keepFirst()).events()));
+        assertEquals(List.of("a1", "c4", "b5"), new ArrayList<>(TimeSeriesMerge.mergeToTimeSeries(sources, CollisionPolicy.keepLast()).events()));
+        assertEquals(List.of("a1", "a4+b4+c4", "b5"), TimeSeriesMerge.merge(sources, (earlier, later)->earlier + "+" + later).map(e->e.getEvent()).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testMergeToMultiTimeSeries()
+    {
+        List<TimeSeries<String>> sources = List.of(series("a", 1, 4), series("b", 4, 5), series("c", 4));
+        MultiTimeSeries<String, List<String>> merged = TimeSeriesMerge.mergeToMultiTimeSeries(sources, ArrayList::new);
+        assertEquals(3, merged.size());
+        assertEquals(List.of("a4", "b4", "c4"), merged.get(START.plusSeconds(4)));
+        assertTrue(merged.contains(START.plusSeconds(5), "b5"));
+    }
+
+    @Test
+    void testMergeMatchesSortedUnion()
+    {
+        Random random = new Random(3);
+        List<TimeSeries<Integer>> sources = new ArrayList<>();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        for(int source = 0; source < 50; source++)
+        {
+            TimeSeries<Integer> timeSeries = new SimpleTimeSeries<>();
+            for(int i = 0; i < 40; i++)
+            {
+                int second = random.nextInt(1000);
+                timeSeries.add(START.plusSeconds(second), second * 100 + source);
+            }
+            timeSeries.forEach(e->expected.merge((int)(e.getEvent() / 100), e.getEvent(), Math::max));
+            sources.add(timeSeries);
+        }
+        TimeSeries<Integer> merged = TimeSeriesMerge.mergeToTimeSeries(sources, Math::max);
+        assertEquals(new ArrayList<>(expected.values()), new ArrayList<>(merged.events()));
+    }
+}
@@ -0,0 +1,89 @@
+package fop.timeseries;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import fop.timeseries.impl.ColumnarTimeSeries;
+import fop.timeseries.impl.ConcurrentTimeSeries;
+import fop.timeseries.impl.SimpleTimeSeries;
+
+class TestTimeSeriesParallel
+{
+    private static final ZonedDateTime START = ZonedDateTime.now();
+    private static final int SIZE = 10 * TimeSeriesParallel.SEQUENTIAL_THRESHOLD + 17;
+
+    private static List<TimeSeries<Long>> sources()
+    {
+        List<TimeSeries<Long>> sources = List.of(new SimpleTimeSeries<>(), new ColumnarTimeSeries<>(), new ConcurrentTimeSeries<>());
+        for(TimeSeries<Long> timeSeries : sources)
+        {
+            for(long i = 0; i < SIZE; i++)
+            {
+                timeSeries.add(START.plusSeconds(i), i);
+            }
+        }
+        return sources;
+    }
+
+    @Test
+    void testMapValuesKeepsOrder()
+    {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try
+        {
+            for(TimeSeries<Long> timeSeries : sources())
+            {
+                TimeSeries<Long> mapped = TimeSeriesParallel.mapValues(timeSeries, v->v * 2, pool);
+                assertEquals(SIZE, mapped.size());
+                List<Long> expected = timeSeries.events().stream().map(v->v * 2).collect(Collectors.toList());
+                assertEquals(expected, new ArrayList<>(mapped.events()));
+                assertEquals(timeSeries.end().getEventDateTime().toInstant(), mapped.end().getEventDateTime().toInstant());
+            }
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testFilter()
+    {
+        for(TimeSeries<Long> timeSeries : sources())
+        {
+            TimeSeries<Long> filtered = TimeSeriesParallel.filter(timeSeries, e->e.getEvent() % 3 == 0);
+            List<Long> expected = timeSeries.events().stream().filter(v->v % 3 == 0).collect(Collectors.toList());
+            assertEquals(expected, new ArrayList<>(filtered.events()));
+        }
+    }
+
+    @Test
+    void testReduceAndAggregate()
+    {
+        long total = (long)SIZE * (SIZE - 1) / 2;
+        for(TimeSeries<Long> timeSeries : sources())
+        {
+            assertEquals((Long)total, TimeSeriesParallel.reduce(timeSeries, 0L, Long::sum));
+            assertEquals(timeSeries.events().stream().collect(Collectors.toList()), TimeSeriesParallel.aggregate(timeSeries, Collectors.toList()));
+            assertEquals((Long)14950L, TimeSeriesParallel.aggregate(timeSeries, START.plusSeconds(100), START.plusSeconds(200), Collectors.summingLong(v->v)));
+        }
+    }
+
+    @Test
+    void testSmallSeriesRunsSequentially()
+    {
+        TimeSeries<Long> timeSeries = new SimpleTimeSeries<>();
+        timeSeries.add(START, 1L);
+        timeSeries.add(START.plusSeconds(1), 2L);
+        assertEquals(List.of(2L, 4L), new ArrayList<>(TimeSeriesParallel.mapValues(timeSeries, v->v * 2).events()));
+        assertEquals((Long)3L, TimeSeriesParallel.reduce(timeSeries, 0L, Long::sum));
+        assertEquals(0, TimeSeriesParallel.filter(new SimpleTimeSeries<Long>(), e->true).size());
+    }
+}
@@ -0,0 +1,69 @@
+package fop.timeseries;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import fop.timeseries.impl.SimpleTimeSeries;
+
+class TestTimeSeriesView
+{
+    private static final ZonedDateTime START = ZonedDateTime.now();
+
+    private static TimeSeries<Integer> series(int size)
+    {
+        TimeSeries<Integer> timeSeries = new SimpleTimeSeries<>();
+        for(int i = 0; i < size; i++)
+        {
+            timeSeries.add(START.plusSeconds(i), i);
+        }
+        return timeSeries;
+    }
+
+    @Test
+    void testFusedPipeline()
+    {
+        TimeSeries<Integer> timeSeries = series(100);
+        TimeSeries<String> collected = TimeSeriesView.of(timeSeries)
+                .between(START.plusSeconds(10), START.plusSeconds(20))
+                .mapValues(v->v * 10)
+                .shift(Duration.ofMinutes(1))
+                .filter(e->e.getEvent() % 20 == 0)
+                .mapValues(String::valueOf)
+                .collect();
+        assertEquals(List.of("100", "120", "140", "160", "180"), new ArrayList<>(collected.events()));
+        assertEquals(START.plusSeconds(70).toInstant(), collected.start().getEventDateTime().toInstant());
+        assertEquals(100, timeSeries.size());
+    }
+
+    @Test
+    void testBetweenAfterShiftUsesShiftedTime()
+    {
+        TimeSeries<Integer> timeSeries = series(100);
+        TimeSeriesView<Integer> view = TimeSeriesView.of(timeSeries).shift(Duration.ofSeconds(50)).between(START.plusSeconds(60), START.plusSeconds(65));
+        assertEquals(List.of(10, 11, 12, 13, 14), view.stream().map(e->e.getEvent()).collect(Collectors.toList()));
+
+        TimeSeriesView<Integer> narrowed = TimeSeriesView.of(timeSeries).between(START.plusSeconds(10), START.plusSeconds(20)).between(START.plusSeconds(15), true, START.plusSeconds(40), true);
+        assertEquals(List.of(15, 16, 17, 18, 19), narrowed.stream().map(e->e.getEvent()).collect(Collectors.toList()));
+        assertTrue(TimeSeriesView.of(timeSeries).between(START.plusSeconds(10), START.plusSeconds(20)).between(START.plusSeconds(30), START.plusSeconds(40)).toImmutable().isEmpty());
+    }
+
+    @Test
+    void testViewIsLive()
+    {
+        TimeSeries<Integer> timeSeries = series(3);
+        TimeSeriesView<Integer> view = TimeSeriesView.of(timeSeries).filter(e->e.getEvent() > 0);
+        assertEquals(2, view.toImmutable().size());
+        timeSeries.add(START.plusSeconds(3), 3);
+        ImmutableTimeSeries<Integer> immutable = view.toImmutable();
+        assertEquals(3, immutable.size());
+        assertEquals(Integer.valueOf(3), immutable.end().getEvent());
+    }
+}